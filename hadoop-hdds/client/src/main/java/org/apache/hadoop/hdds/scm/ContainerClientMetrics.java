@@ -52,6 +52,10 @@ public final class ContainerClientMetrics {
   private MutableCounterLong totalWriteChunkCalls;
   @Metric
   private MutableCounterLong totalWriteChunkBytes;
+  @Metric(about = "Number of chunk reads served by read-ahead data")
+  private MutableCounterLong readPrefetchHits;
+  @Metric(about = "Number of chunks read ahead but discarded unused")
+  private MutableCounterLong readPrefetchMisses;
   private MutableQuantiles[] listBlockLatency;
   private MutableQuantiles[] getBlockLatency;
   private MutableQuantiles[] getCommittedBlockLengthLatency;
@@ -229,6 +233,24 @@ public void addDataNodeHsyncLatency(long hsyncLatencyTime) {
     }
   }
 
+  public void incrReadPrefetchHits() {
+    readPrefetchHits.incr();
+  }
+
+  public void incrReadPrefetchMisses() {
+    readPrefetchMisses.incr();
+  }
+
+  @VisibleForTesting
+  public MutableCounterLong getReadPrefetchHits() {
+    return readPrefetchHits;
+  }
+
+  @VisibleForTesting
+  public MutableCounterLong getReadPrefetchMisses() {
+    return readPrefetchMisses;
+  }
+
   @VisibleForTesting
   public MutableCounterLong getTotalWriteChunkBytes() {
     return totalWriteChunkBytes;
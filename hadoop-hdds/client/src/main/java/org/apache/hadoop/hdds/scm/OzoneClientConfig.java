@@ -161,6 +161,32 @@ public enum ChecksumCombineMode {
       tags = ConfigTag.CLIENT)
   private int readRetryInterval = 1;
 
+  @Config(key = "read.prefetch.enabled",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      description = "If enabled, the client detects sequential reads of a "
+          + "replicated block and reads the next chunks, and the first "
+          + "chunks of the next block, ahead of the reader. Random access "
+          + "stops the read-ahead until the reads are sequential again.",
+      tags = ConfigTag.CLIENT)
+  private boolean readPrefetchEnabled = false;
+
+  @Config(key = "read.prefetch.max.chunks",
+      defaultValue = "4",
+      description = "Maximum number of chunks read ahead of a sequential "
+          + "reader of a block. The read-ahead window starts with one chunk "
+          + "and doubles with each sequential read up to this limit.",
+      tags = ConfigTag.CLIENT)
+  private int readPrefetchMaxChunks = 4;
+
+  @Config(key = "read.prefetch.pool.limit",
+      defaultValue = "16",
+      description = "Thread pool max size for reading chunks ahead of the "
+          + "sequential readers of a client, and for reading the blocks of "
+          + "vectored reads in parallel.",
+      tags = ConfigTag.CLIENT)
+  private int readPrefetchPoolLimit = 16;
+
   @Config(key = "checksum.type",
       defaultValue = "CRC32",
       description = "The checksum type [NONE/ CRC32/ CRC32C/ SHA256/ MD5] "
@@ -457,6 +483,30 @@ public void setChecksumVerify(boolean checksumVerify) {
     this.checksumVerify = checksumVerify;
   }
 
+  public boolean isReadPrefetchEnabled() {
+    return readPrefetchEnabled;
+  }
+
+  public void setReadPrefetchEnabled(boolean readPrefetchEnabled) {
+    this.readPrefetchEnabled = readPrefetchEnabled;
+  }
+
+  public int getReadPrefetchMaxChunks() {
+    return readPrefetchMaxChunks;
+  }
+
+  public void setReadPrefetchMaxChunks(int readPrefetchMaxChunks) {
+    this.readPrefetchMaxChunks = readPrefetchMaxChunks;
+  }
+
+  public int getReadPrefetchPoolLimit() {
+    return readPrefetchPoolLimit;
+  }
+
+  public void setReadPrefetchPoolLimit(int readPrefetchPoolLimit) {
+    this.readPrefetchPoolLimit = readPrefetchPoolLimit;
+  }
+
   public int getMaxECStripeWriteRetries() {
     return this.maxECStripeWriteRetries;
   }
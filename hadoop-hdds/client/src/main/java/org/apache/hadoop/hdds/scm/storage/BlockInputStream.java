@@ -25,6 +25,7 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
@@ -115,6 +116,21 @@ public class BlockInputStream extends BlockExtendedInputStream {
 
   private final Function<BlockID, BlockLocationInfo> refreshFunction;
 
+  // Number of consecutive reads, each starting where the previous one ended,
+  // after which the next chunks are read ahead.
+  static final int SEQUENTIAL_READ_THRESHOLD = 2;
+
+  // Reads the chunks ahead of sequential reads, null if disabled.
+  private final ReadPrefetcher prefetcher;
+  // The block position where the previous read ended.
+  private long lastReadEnd = 0;
+  // Number of consecutive sequential reads, up to SEQUENTIAL_READ_THRESHOLD.
+  private int sequentialReads = 0;
+  // Number of chunks to read ahead, doubled by each sequential read once
+  // the threshold is reached, and reset by random access.
+  private int readAheadChunks = 0;
+  private boolean readAheadRequested = false;
+
   public BlockInputStream(
       BlockLocationInfo blockInfo,
       Pipeline pipeline,
@@ -122,7 +138,21 @@ public BlockInputStream(
       XceiverClientFactory xceiverClientFactory,
       Function<BlockID, BlockLocationInfo> refreshFunction,
       OzoneClientConfig config) throws IOException {
+    this(blockInfo, pipeline, token, xceiverClientFactory, refreshFunction,
+        config, null);
+  }
+
+  @SuppressWarnings("parameternumber")
+  public BlockInputStream(
+      BlockLocationInfo blockInfo,
+      Pipeline pipeline,
+      Token<OzoneBlockTokenIdentifier> token,
+      XceiverClientFactory xceiverClientFactory,
+      Function<BlockID, BlockLocationInfo> refreshFunction,
+      OzoneClientConfig config,
+      ReadPrefetcher prefetcher) throws IOException {
     this.blockInfo = blockInfo;
+    this.prefetcher = prefetcher;
     this.blockID = blockInfo.getBlockID();
     this.length = blockInfo.getLength();
     setPipeline(pipeline);
@@ -366,6 +396,19 @@ protected synchronized int readWithStrategy(ByteReaderStrategy strategy)
     }
 
     checkOpen();
+    if (prefetcher == null) {
+      return readFromChunks(strategy);
+    }
+    updateAccessPattern(getPos());
+    final int totalReadLen = readFromChunks(strategy);
+    if (totalReadLen > 0) {
+      lastReadEnd = getPos();
+      readAhead();
+    }
+    return totalReadLen;
+  }
+
+  private int readFromChunks(ByteReaderStrategy strategy) throws IOException {
     int totalReadLen = 0;
     int len = strategy.getTargetLength();
     while (len > 0) {
@@ -429,6 +472,98 @@ protected synchronized int readWithStrategy(ByteReaderStrategy strategy)
     return totalReadLen;
   }
 
+  /**
+   * Track whether the reads are sequential. Random access resets the
+   * read-ahead window and discards the chunks read ahead.
+   */
+  private void updateAccessPattern(long pos) {
+    if (pos == lastReadEnd) {
+      if (sequentialReads < SEQUENTIAL_READ_THRESHOLD) {
+        sequentialReads++;
+      }
+      if (sequentialReads == SEQUENTIAL_READ_THRESHOLD) {
+        readAheadChunks = Math.min(Math.max(1, 2 * readAheadChunks),
+            prefetcher.getMaxChunks());
+      }
+    } else {
+      sequentialReads = 1;
+      if (readAheadChunks > 0) {
+        readAheadChunks = 0;
+        discardPrefetchedData();
+      }
+    }
+  }
+
+  /**
+   * Start reading the current chunk and the next ones up to the read-ahead
+   * window in the background, if the reads are sequential.
+   */
+  private void readAhead() {
+    if (readAheadChunks == 0 || chunkStreams == null) {
+      return;
+    }
+    final int end = Math.min(chunkIndex + readAheadChunks,
+        chunkStreams.size() - 1);
+    for (int i = chunkIndex; i <= end; i++) {
+      chunkStreams.get(i).prefetch(prefetcher);
+    }
+  }
+
+  private void discardPrefetchedData() {
+    final List<ChunkInputStream> inputStreams = this.chunkStreams;
+    if (inputStreams != null) {
+      for (ChunkInputStream is : inputStreams) {
+        is.discardPrefetchedData();
+      }
+    }
+  }
+
+  /**
+   * @return true if the reads of this block are sequential and have reached
+   *         its last chunk, so that the next block is about to be read.
+   */
+  public synchronized boolean isReadingAheadLastChunk() {
+    return readAheadChunks > 0 && chunkStreams != null
+        && chunkIndex == chunkStreams.size() - 1;
+  }
+
+  /**
+   * Initialize the stream and read its first chunks in the background, for a
+   * sequential reader of the previous block. Nothing is done if read-ahead
+   * is disabled, or if the stream was already read.
+   */
+  public void readAheadFromStart() {
+    if (prefetcher == null) {
+      return;
+    }
+    synchronized (this) {
+      if (readAheadRequested || initialized) {
+        return;
+      }
+      readAheadRequested = true;
+    }
+    try {
+      prefetcher.getExecutor().execute(() -> {
+        synchronized (this) {
+          try {
+            checkOpen();
+            if (getPos() != 0) {
+              return;
+            }
+            initialize();
+            sequentialReads = SEQUENTIAL_READ_THRESHOLD;
+            readAheadChunks = 1;
+            readAhead();
+          } catch (IOException e) {
+            LOG.debug("Failed to read ahead block {}", blockID, e);
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      LOG.debug("Read ahead of block {} rejected", blockID, e);
+    }
+  }
+
   /**
    * Seeks the BlockInputStream to the specified position. If the stream is
    * not initialized, save the seeked position via blockPosition. Otherwise,
@@ -570,6 +705,8 @@ synchronized long getBlockPosition() {
   public synchronized void unbuffer() {
     storePosition();
     releaseClient();
+    sequentialReads = 0;
+    readAheadChunks = 0;
 
     final List<ChunkInputStream> inputStreams = this.chunkStreams;
     if (inputStreams != null) {
@@ -42,6 +42,8 @@
 import org.apache.hadoop.ozone.common.utils.BufferUtils;
 import org.apache.hadoop.security.token.Token;
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.EOFException;
 import java.io.IOException;
@@ -49,6 +51,11 @@
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
 /**
@@ -59,6 +66,9 @@
 public class ChunkInputStream extends InputStream
     implements Seekable, CanUnbuffer, ByteBufferReadable {
 
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ChunkInputStream.class);
+
   private final ChunkInfo chunkInfo;
   private final long length;
   private final BlockID blockID;
@@ -100,6 +110,16 @@ public class ChunkInputStream extends InputStream
 
   private final Supplier<Token<?>> tokenSupplier;
 
+  // The data from prefetchOffset to the end of the chunk, read ahead of the
+  // reader by prefetch(). It is used by the next read from the container if
+  // that read starts at or after prefetchOffset.
+  private CompletableFuture<ByteBuffer[]> prefetchedData;
+  private long prefetchOffset;
+  private ReadPrefetcher prefetcher;
+  // The last read started by prefetch() with the current xceiverClient,
+  // which is released only after that read is done.
+  private PrefetchRead prefetchRead;
+
   private static final int EOF = -1;
   private final List<Validator> validators;
 
@@ -282,14 +302,93 @@ public boolean seekToNewSource(long targetPos) {
 
   @Override
   public synchronized void close() {
+    discardPrefetchedData();
     releaseBuffers();
     releaseClient();
   }
 
+  /**
+   * Start reading the rest of the chunk in the background, unless the
+   * buffers still have data, or the rest of the chunk is already being read.
+   * @return true if the read was started
+   */
+  synchronized boolean prefetch(ReadPrefetcher readPrefetcher) {
+    if (prefetchedData != null || buffersHaveData()) {
+      return false;
+    }
+    final long pos = getPos();
+    if (pos >= length) {
+      return false;
+    }
+    try {
+      acquireClient();
+    } catch (IOException e) {
+      LOG.debug("Failed to acquire a client to prefetch chunk {}",
+          chunkInfo.getChunkName(), e);
+      return false;
+    }
+    final long offset = verifyChecksum
+        ? computeChecksumBoundaries(pos, (int) (length - pos)).getLeft()
+        : pos;
+    final ChunkInfo prefetchChunkInfo = ChunkInfo.newBuilder(chunkInfo)
+        .setOffset(chunkInfo.getOffset() + offset)
+        .setLen(length - offset)
+        .build();
+    final XceiverClientSpi client = xceiverClient;
+    final PrefetchRead read = new PrefetchRead();
+    try {
+      prefetchedData = CompletableFuture.supplyAsync(() -> {
+        if (!read.start()) {
+          throw new CancellationException("Prefetch discarded");
+        }
+        try {
+          return readChunk(client, prefetchChunkInfo);
+        } catch (IOException e) {
+          throw new CompletionException(e);
+        } finally {
+          read.finish();
+        }
+      }, readPrefetcher.getExecutor());
+    } catch (RejectedExecutionException e) {
+      LOG.debug("Prefetch of chunk {} rejected", chunkInfo.getChunkName(), e);
+      return false;
+    }
+    prefetchRead = read;
+    prefetchOffset = offset;
+    prefetcher = readPrefetcher;
+    return true;
+  }
+
+  /**
+   * Discard the data read ahead by {@link #prefetch}, if any.
+   */
+  synchronized void discardPrefetchedData() {
+    if (prefetchedData != null) {
+      prefetchedData.cancel(false);
+      prefetchedData = null;
+      prefetcher.recordMiss();
+    }
+  }
+
+  @VisibleForTesting
+  synchronized boolean isPrefetched() {
+    return prefetchedData != null;
+  }
+
+  /**
+   * Release the client, once the prefetch using it is done, if any.
+   */
   protected synchronized void releaseClient() {
     if (xceiverClientFactory != null && xceiverClient != null) {
-      xceiverClientFactory.releaseClientForReadData(xceiverClient, false);
+      final XceiverClientSpi client = xceiverClient;
       xceiverClient = null;
+      if (prefetchRead == null) {
+        xceiverClientFactory.releaseClientForReadData(client, false);
+      } else {
+        prefetchRead.skip().thenRun(() ->
+            xceiverClientFactory.releaseClientForReadData(client, false));
+        prefetchRead = null;
+      }
     }
   }
 
@@ -380,6 +479,10 @@ private synchronized void readChunkFromContainer(int len) throws IOException {
     // successful read in adjustBufferPosition()
     storePosition();
 
+    if (readPrefetchedData(startByteIndex)) {
+      return;
+    }
+
     long adjustedBuffersOffset, adjustedBuffersLen;
     if (verifyChecksum) {
       // Adjust the chunk offset and length to include required checksum
@@ -414,10 +517,46 @@ private synchronized void readChunkFromContainer(int len) throws IOException {
     adjustBufferPosition(startByteIndex - bufferOffsetWrtChunkData);
   }
 
+  /**
+   * Fill the buffers with the prefetched data if it covers the given index.
+   * If the prefetch failed, the data is read again on demand so that the
+   * read is retried as usual.
+   * @return true if the buffers were filled
+   */
+  private boolean readPrefetchedData(long startByteIndex) {
+    final CompletableFuture<ByteBuffer[]> future = prefetchedData;
+    if (future == null) {
+      return false;
+    }
+    prefetchedData = null;
+    if (startByteIndex < prefetchOffset) {
+      future.cancel(false);
+      prefetcher.recordMiss();
+      return false;
+    }
+    final ByteBuffer[] data;
+    try {
+      data = future.join();
+    } catch (CompletionException | CancellationException e) {
+      LOG.debug("Prefetch of chunk {} failed", chunkInfo.getChunkName(), e);
+      prefetcher.recordMiss();
+      return false;
+    }
+    prefetcher.recordHit();
+    setBuffers(data, length - prefetchOffset);
+    bufferOffsetWrtChunkData = prefetchOffset;
+    adjustBufferPosition(startByteIndex - bufferOffsetWrtChunkData);
+    return true;
+  }
+
   private void readChunkDataIntoBuffers(ChunkInfo readChunkInfo)
       throws IOException {
-    buffers = readChunk(readChunkInfo);
-    buffersSize = readChunkInfo.getLen();
+    setBuffers(readChunk(readChunkInfo), readChunkInfo.getLen());
+  }
+
+  private void setBuffers(ByteBuffer[] data, long size) {
+    buffers = data;
+    buffersSize = size;
 
     bufferOffsets = new long[buffers.length];
     int tempOffset = 0;
@@ -431,15 +570,22 @@ private void readChunkDataIntoBuffers(ChunkInfo readChunkInfo)
     allocated = true;
   }
 
+  private ByteBuffer[] readChunk(ChunkInfo readChunkInfo)
+      throws IOException {
+    return readChunk(xceiverClient, readChunkInfo);
+  }
+
   /**
    * Send RPC call to get the chunk from the container.
+   * @param client the client to read with, which may be called from a
+   *               prefetch thread without holding the lock of this stream.
    */
   @VisibleForTesting
-  protected ByteBuffer[] readChunk(ChunkInfo readChunkInfo)
-      throws IOException {
+  protected ByteBuffer[] readChunk(XceiverClientSpi client,
+      ChunkInfo readChunkInfo) throws IOException {
 
     ReadChunkResponseProto readChunkResponse =
-        ContainerProtocolCalls.readChunk(xceiverClient, readChunkInfo, datanodeBlockID, validators,
+        ContainerProtocolCalls.readChunk(client, readChunkInfo, datanodeBlockID, validators,
             tokenSupplier.get());
 
     if (readChunkResponse.hasData()) {
@@ -741,6 +887,7 @@ protected long getChunkPosition() {
   @Override
   public synchronized void unbuffer() {
     storePosition();
+    discardPrefetchedData();
     releaseBuffers();
     releaseClient();
   }
@@ -749,4 +896,35 @@ public synchronized void unbuffer() {
   public ByteBuffer[] getCachedBuffers() {
     return BufferUtils.getReadOnlyByteBuffers(buffers);
   }
+
+  /**
+   * The state of a read started by {@link #prefetch}, which either runs to
+   * completion or is skipped if discarded before it starts.
+   */
+  private static final class PrefetchRead {
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    /**
+     * @return false if the read was skipped and must not run.
+     */
+    boolean start() {
+      return started.compareAndSet(false, true);
+    }
+
+    void finish() {
+      done.complete(null);
+    }
+
+    /**
+     * Skip the read, unless it already started.
+     * @return a future completed when the read is done or skipped
+     */
+    CompletableFuture<Void> skip() {
+      if (start()) {
+        finish();
+      }
+      return done;
+    }
+  }
 }
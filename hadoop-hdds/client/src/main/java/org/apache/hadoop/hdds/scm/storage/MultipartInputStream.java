@@ -25,8 +25,20 @@
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 /**
  * A stream for accessing multipart streams.
@@ -56,6 +68,9 @@ public class MultipartInputStream extends ExtendedInputStream {
   // can be reset if a new position is seeked.
   private int prevPartIndex;
 
+  // Runs the reads of the parts in readFully, may be null.
+  private Supplier<? extends Executor> readExecutor;
+
   public MultipartInputStream(String keyName,
                               List<? extends PartInputStream> inputStreams) {
 
@@ -173,6 +188,143 @@ public synchronized void seek(long pos) throws IOException {
     prevPartIndex = partIndex;
   }
 
+  /**
+   * Set the executor reading the parts in parallel in
+   * {@link #readFully(long[], List)}.  Without one, the parts are read in
+   * the calling thread.
+   */
+  public void setReadExecutor(Supplier<? extends Executor> executor) {
+    this.readExecutor = executor;
+  }
+
+  /**
+   * Read ranges of the key fully, each into its buffer.
+   * <p>
+   * The ranges of each part are read in order by a single task, as a part
+   * stream is not thread-safe, and different parts are read in parallel.
+   * The position of this stream is unchanged.
+   *
+   * @param offsets the offset of each range in the key
+   * @param buffers the buffer of each range, the range length is the
+   *                remaining bytes of the buffer
+   * @throws EOFException if a range ends after the end of the key
+   */
+  public synchronized void readFully(long[] offsets, List<ByteBuffer> buffers)
+      throws IOException {
+    Preconditions.checkArgument(offsets.length == buffers.size());
+    checkOpen();
+
+    // The pieces of the ranges in each part.
+    Map<Integer, List<RangePiece>> pieces = new TreeMap<>();
+    for (int i = 0; i < offsets.length; i++) {
+      ByteBuffer buffer = buffers.get(i);
+      long offset = offsets[i];
+      if (offset < 0 || offset + buffer.remaining() > length) {
+        throw new EOFException("Range " + offset + "+" + buffer.remaining()
+            + " is beyond the end of key: " + key + " length: " + length);
+      }
+      while (buffer.hasRemaining()) {
+        int part = Arrays.binarySearch(partOffsets, offset);
+        if (part < 0) {
+          part = -part - 2;
+        }
+        // Skip empty parts sharing the offset of the next part.
+        while (partStreams.get(part).getLength() == 0) {
+          part++;
+        }
+        long partOffset = offset - partOffsets[part];
+        int n = (int) Math.min(buffer.remaining(),
+            partStreams.get(part).getLength() - partOffset);
+        ByteBuffer piece = buffer.duplicate();
+        piece.limit(piece.position() + n);
+        buffer.position(buffer.position() + n);
+        pieces.computeIfAbsent(part, k -> new ArrayList<>())
+            .add(new RangePiece(partOffset, piece));
+        offset += n;
+      }
+    }
+
+    long pos = getPos();
+    try {
+      List<CompletableFuture<Void>> reads = new ArrayList<>();
+      Executor executor = readExecutor != null ? readExecutor.get() : null;
+      for (Map.Entry<Integer, List<RangePiece>> entry : pieces.entrySet()) {
+        PartInputStream part = partStreams.get(entry.getKey());
+        Runnable read = () -> readPieces(part, entry.getValue());
+        CompletableFuture<Void> future = null;
+        if (executor != null && reads.size() < pieces.size() - 1) {
+          try {
+            future = CompletableFuture.runAsync(read, executor);
+          } catch (RejectedExecutionException e) {
+            // Read it in this thread.
+          }
+        }
+        if (future == null) {
+          future = new CompletableFuture<>();
+          try {
+            read.run();
+            future.complete(null);
+          } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+          }
+        }
+        reads.add(future);
+      }
+      CompletableFuture.allOf(reads.toArray(new CompletableFuture[0])).join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) cause).getCause();
+      }
+      throw new IOException("Failed to read key: " + key, cause);
+    } catch (CancellationException e) {
+      throw new InterruptedIOException("Read of key " + key + " cancelled");
+    } finally {
+      seek(pos);
+    }
+  }
+
+  private static void readPieces(PartInputStream part,
+      List<RangePiece> pieces) {
+    try {
+      for (RangePiece piece : pieces) {
+        part.seek(piece.getOffset());
+        ByteBufferReader reader = new ByteBufferReader(piece.getBuffer());
+        while (reader.getTargetLength() > 0) {
+          int n = reader.readFromBlock((InputStream) part,
+              reader.getTargetLength());
+          if (n < 0) {
+            throw new EOFException("EOF encountered reading part at "
+                + part.getPos());
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * A part of a range within a single part stream.
+   */
+  private static final class RangePiece {
+    private final long offset;
+    private final ByteBuffer buffer;
+
+    RangePiece(long offset, ByteBuffer buffer) {
+      this.offset = offset;
+      this.buffer = buffer;
+    }
+
+    long getOffset() {
+      return offset;
+    }
+
+    ByteBuffer getBuffer() {
+      return buffer;
+    }
+  }
+
   @Override
   public synchronized long getPos() throws IOException {
     return length == 0 ? 0 :
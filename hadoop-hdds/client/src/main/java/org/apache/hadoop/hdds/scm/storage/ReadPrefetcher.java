@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hdds.scm.storage;
+
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.apache.hadoop.hdds.scm.ContainerClientMetrics;
+
+/**
+ * The resources shared by the {@link BlockInputStream}s reading ahead of
+ * sequential readers: the executor of the chunk reads, the maximum
+ * read-ahead window, and the metrics of the read-ahead.
+ */
+public final class ReadPrefetcher {
+
+  private final Supplier<? extends Executor> executorSupplier;
+  private final int maxChunks;
+  private final ContainerClientMetrics metrics;
+
+  /**
+   * @param executorSupplier supplies the executor of the chunk reads, it is
+   *                         only called on the first read-ahead
+   * @param maxChunks maximum number of chunks read ahead of a reader
+   * @param metrics the metrics to update, may be null
+   */
+  public ReadPrefetcher(Supplier<? extends Executor> executorSupplier,
+      int maxChunks, ContainerClientMetrics metrics) {
+    this.executorSupplier = executorSupplier;
+    this.maxChunks = Math.max(1, maxChunks);
+    this.metrics = metrics;
+  }
+
+  Executor getExecutor() {
+    return executorSupplier.get();
+  }
+
+  int getMaxChunks() {
+    return maxChunks;
+  }
+
+  void recordHit() {
+    if (metrics != null) {
+      metrics.incrReadPrefetchHits();
+    }
+  }
+
+  void recordMiss() {
+    if (metrics != null) {
+      metrics.incrReadPrefetchMisses();
+    }
+  }
+}
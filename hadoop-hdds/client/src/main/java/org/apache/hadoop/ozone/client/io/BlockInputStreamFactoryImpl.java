@@ -27,6 +27,7 @@
 import org.apache.hadoop.hdds.scm.storage.BlockExtendedInputStream;
 import org.apache.hadoop.hdds.scm.storage.BlockInputStream;
 import org.apache.hadoop.hdds.scm.storage.BlockLocationInfo;
+import org.apache.hadoop.hdds.scm.storage.ReadPrefetcher;
 import org.apache.hadoop.hdds.security.token.OzoneBlockTokenIdentifier;
 import org.apache.hadoop.io.ByteBufferPool;
 import org.apache.hadoop.io.ElasticByteBufferPool;
@@ -44,6 +45,7 @@
 public class BlockInputStreamFactoryImpl implements BlockInputStreamFactory {
 
   private ECBlockInputStreamFactory ecBlockStreamFactory;
+  private final ReadPrefetcher readPrefetcher;
 
   public static BlockInputStreamFactory getInstance(
       ByteBufferPool byteBufferPool,
@@ -52,12 +54,31 @@ public static BlockInputStreamFactory getInstance(
         ecReconstructExecutorSupplier);
   }
 
+  public static BlockInputStreamFactory getInstance(
+      ByteBufferPool byteBufferPool,
+      Supplier<ExecutorService> ecReconstructExecutorSupplier,
+      ReadPrefetcher readPrefetcher) {
+    return new BlockInputStreamFactoryImpl(byteBufferPool,
+        ecReconstructExecutorSupplier, readPrefetcher);
+  }
+
   public BlockInputStreamFactoryImpl() {
     this(new ElasticByteBufferPool(), Executors::newSingleThreadExecutor);
   }
 
   public BlockInputStreamFactoryImpl(ByteBufferPool byteBufferPool,
       Supplier<ExecutorService> ecReconstructExecutorSupplier) {
+    this(byteBufferPool, ecReconstructExecutorSupplier, null);
+  }
+
+  /**
+   * @param readPrefetcher reads ahead of the sequential readers of
+   *                       replicated blocks, null to disable read-ahead
+   */
+  public BlockInputStreamFactoryImpl(ByteBufferPool byteBufferPool,
+      Supplier<ExecutorService> ecReconstructExecutorSupplier,
+      ReadPrefetcher readPrefetcher) {
+    this.readPrefetcher = readPrefetcher;
     this.ecBlockStreamFactory =
         ECBlockInputStreamFactoryImpl.getInstance(this, byteBufferPool,
             ecReconstructExecutorSupplier);
@@ -88,7 +109,7 @@ public BlockExtendedInputStream create(ReplicationConfig repConfig,
     } else {
       return new BlockInputStream(blockInfo,
           pipeline, token, xceiverFactory, refreshFunction,
-          config);
+          config, config.isReadPrefetchEnabled() ? readPrefetcher : null);
     }
   }
 
@@ -51,9 +51,25 @@ class DummyBlockInputStream extends BlockInputStream {
       List<ChunkInfo> chunkList,
       Map<String, byte[]> chunks,
       OzoneClientConfig config) throws IOException {
+    this(blockId, blockLen, pipeline, token, xceiverClientManager,
+        refreshFunction, chunkList, chunks, config, null);
+  }
+
+  @SuppressWarnings("parameternumber")
+  DummyBlockInputStream(
+      BlockID blockId,
+      long blockLen,
+      Pipeline pipeline,
+      Token<OzoneBlockTokenIdentifier> token,
+      XceiverClientFactory xceiverClientManager,
+      Function<BlockID, BlockLocationInfo> refreshFunction,
+      List<ChunkInfo> chunkList,
+      Map<String, byte[]> chunks,
+      OzoneClientConfig config,
+      ReadPrefetcher prefetcher) throws IOException {
     super(new BlockLocationInfo(new BlockLocationInfo.Builder().setBlockID(blockId).setLength(blockLen)),
         pipeline, token,
-        xceiverClientManager, refreshFunction, config);
+        xceiverClientManager, refreshFunction, config, prefetcher);
     this.chunkDataMap = chunks;
     this.chunks = chunkList;
 
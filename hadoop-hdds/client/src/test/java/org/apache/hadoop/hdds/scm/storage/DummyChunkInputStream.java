@@ -24,6 +24,7 @@
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
+import org.apache.hadoop.hdds.scm.XceiverClientSpi;
 
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.ozone.common.utils.BufferUtils;
@@ -50,7 +51,8 @@ public DummyChunkInputStream(ChunkInfo chunkInfo,
   }
 
   @Override
-  protected ByteBuffer[] readChunk(ChunkInfo readChunkInfo) {
+  protected ByteBuffer[] readChunk(XceiverClientSpi client,
+      ChunkInfo readChunkInfo) {
     int offset = (int) readChunkInfo.getOffset();
     int remainingToRead = (int) readChunkInfo.getLen();
 
@@ -26,6 +26,7 @@
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
+import org.apache.hadoop.hdds.scm.ContainerClientMetrics;
 import org.apache.hadoop.hdds.scm.OzoneClientConfig;
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
 import org.apache.hadoop.hdds.scm.XceiverClientSpi;
@@ -216,6 +217,53 @@ public void testRead() throws Exception {
     assertEquals(2, blockStream.getChunkIndex());
   }
 
+  @Test
+  public void testReadAhead() throws Exception {
+    ContainerClientMetrics metrics = ContainerClientMetrics.acquire();
+    try {
+      long hits = metrics.getReadPrefetchHits().value();
+      long misses = metrics.getReadPrefetchMisses().value();
+      OzoneClientConfig clientConfig = conf.getObject(OzoneClientConfig.class);
+      clientConfig.setChecksumVerify(false);
+      // Prefetch synchronously, so that the test is deterministic.
+      blockStream = new DummyBlockInputStream(
+          new BlockID(new ContainerBlockID(1, 1)), blockSize,
+          MockPipeline.createSingleNodePipeline(), null, null, refreshFunction,
+          chunks, chunkDataMap, clientConfig,
+          new ReadPrefetcher(() -> Runnable::run, 2, metrics));
+      List<ChunkInputStream> chunkStreams;
+      byte[] b = new byte[CHUNK_SIZE / 2];
+
+      // The second sequential read starts reading ahead.
+      blockStream.read(b, 0, b.length);
+      chunkStreams = blockStream.getChunkStreams();
+      assertFalse(chunkStreams.get(1).isPrefetched());
+      blockStream.read(b, 0, b.length);
+      matchWithInputData(b, CHUNK_SIZE / 2, b.length);
+      assertTrue(chunkStreams.get(1).isPrefetched());
+      assertTrue(chunkStreams.get(2).isPrefetched());
+      assertFalse(chunkStreams.get(3).isPrefetched());
+
+      // The next read uses the prefetched chunk and grows the window.
+      blockStream.read(b, 0, b.length);
+      matchWithInputData(b, CHUNK_SIZE, b.length);
+      assertEquals(hits + 1, metrics.getReadPrefetchHits().value());
+      assertTrue(chunkStreams.get(3).isPrefetched());
+
+      // Random access discards the prefetched chunks.
+      seekAndVerify(CHUNK_SIZE * 4);
+      blockStream.read(b, 0, 10);
+      matchWithInputData(b, CHUNK_SIZE * 4, 10);
+      for (ChunkInputStream chunkStream : chunkStreams) {
+        assertFalse(chunkStream.isPrefetched());
+      }
+      assertEquals(hits + 1, metrics.getReadPrefetchHits().value());
+      assertEquals(misses + 2, metrics.getReadPrefetchMisses().value());
+    } finally {
+      ContainerClientMetrics.release();
+    }
+  }
+
   @Test
   public void testReadWithByteBuffer() throws Exception {
     // read 200 bytes of data starting from position 50. Chunk0 contains
@@ -19,9 +19,15 @@
 package org.apache.hadoop.hdds.scm.storage;
 
 import java.io.EOFException;
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -48,9 +54,13 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.apache.hadoop.hdds.scm.protocolPB.ContainerCommandResponseBuilders.getReadChunkResponse;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyBoolean;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -279,4 +289,77 @@ public void connectsToNewPipeline() throws Exception {
       verify(newToken).encodeToUrlString();
     }
   }
+
+  @Test
+  public void releasesClientAfterPrefetch() throws Exception {
+    XceiverClientFactory clientFactory = mock(XceiverClientFactory.class);
+    XceiverClientSpi client = mock(XceiverClientSpi.class);
+    when(clientFactory.acquireClientForReadData(any())).thenReturn(client);
+    CountDownLatch readStarted = new CountDownLatch(1);
+    CountDownLatch readAllowed = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    ChunkInputStream subject = new PrefetchChunkInputStream(clientFactory,
+        () -> {
+          readStarted.countDown();
+          readAllowed.await();
+        });
+    try {
+      assertTrue(subject.prefetch(new ReadPrefetcher(() -> executor, 1, null)));
+      readStarted.await();
+
+      // The client is still used by the prefetch.
+      subject.close();
+      verify(clientFactory, never()).releaseClientForReadData(any(), anyBoolean());
+
+      readAllowed.countDown();
+      verify(clientFactory, timeout(10000)).releaseClientForReadData(client, false);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void skipsPrefetchAfterClose() throws Exception {
+    XceiverClientFactory clientFactory = mock(XceiverClientFactory.class);
+    XceiverClientSpi client = mock(XceiverClientSpi.class);
+    when(clientFactory.acquireClientForReadData(any())).thenReturn(client);
+    AtomicLong reads = new AtomicLong();
+    List<Runnable> tasks = new ArrayList<>();
+    ChunkInputStream subject = new PrefetchChunkInputStream(clientFactory,
+        reads::incrementAndGet);
+
+    assertTrue(subject.prefetch(new ReadPrefetcher(() -> tasks::add, 1, null)));
+    subject.close();
+    verify(clientFactory).releaseClientForReadData(client, false);
+
+    // The prefetch starting after close does not use the released client.
+    tasks.forEach(Runnable::run);
+    assertEquals(0, reads.get());
+  }
+
+  /**
+   * Reads the chunk data after running the given action, for prefetch tests.
+   */
+  private final class PrefetchChunkInputStream extends ChunkInputStream {
+    private final Callable<?> beforeRead;
+
+    PrefetchChunkInputStream(XceiverClientFactory clientFactory,
+        Callable<?> beforeRead) {
+      super(chunkInfo, blockID, clientFactory,
+          MockPipeline::createSingleNodePipeline, false, () -> null);
+      this.beforeRead = beforeRead;
+    }
+
+    @Override
+    protected ByteBuffer[] readChunk(XceiverClientSpi client,
+        ChunkInfo readChunkInfo) throws IOException {
+      try {
+        beforeRead.call();
+      } catch (Exception e) {
+        throw new IOException(e);
+      }
+      return new ByteBuffer[] {ByteBuffer.wrap(chunkData,
+          (int) readChunkInfo.getOffset(), (int) readChunkInfo.getLen())};
+    }
+  }
 }
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hdds.scm.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for {@link MultipartInputStream}.
+ */
+class TestMultipartInputStream {
+
+  private static final int[] PART_SIZES = {10, 0, 7, 13};
+
+  private ExecutorService executor;
+  private byte[] data;
+  private MultipartInputStream stream;
+
+  @BeforeEach
+  void setup() {
+    executor = Executors.newFixedThreadPool(2);
+    List<TestPart> parts = new ArrayList<>();
+    int length = Arrays.stream(PART_SIZES).sum();
+    data = new byte[length];
+    int offset = 0;
+    for (int size : PART_SIZES) {
+      byte[] part = new byte[size];
+      for (int i = 0; i < size; i++) {
+        data[offset] = (byte) offset;
+        part[i] = (byte) offset++;
+      }
+      parts.add(new TestPart(part));
+    }
+    stream = new MultipartInputStream("key", parts);
+    stream.setReadExecutor(() -> executor);
+  }
+
+  @AfterEach
+  void cleanup() throws IOException {
+    stream.close();
+    executor.shutdownNow();
+  }
+
+  @Test
+  void testReadFully() throws IOException {
+    stream.seek(4);
+    // Within a part, across an empty part, and up to the end of the key.
+    long[] offsets = {2, 8, 20};
+    List<ByteBuffer> buffers = Arrays.asList(ByteBuffer.allocate(3),
+        ByteBuffer.allocateDirect(5), ByteBuffer.allocate(10));
+
+    stream.readFully(offsets, buffers);
+
+    for (int i = 0; i < offsets.length; i++) {
+      ByteBuffer buffer = buffers.get(i);
+      buffer.flip();
+      byte[] actual = new byte[buffer.remaining()];
+      buffer.get(actual);
+      assertArrayEquals(Arrays.copyOfRange(data, (int) offsets[i],
+          (int) offsets[i] + actual.length), actual);
+    }
+    assertEquals(4, stream.getPos());
+    assertEquals(4, stream.read());
+  }
+
+  @Test
+  void testReadFullyWithoutExecutor() throws IOException {
+    stream.setReadExecutor(null);
+    ByteBuffer buffer = ByteBuffer.allocate(data.length);
+
+    stream.readFully(new long[] {0}, Arrays.asList(buffer));
+
+    assertArrayEquals(data, buffer.array());
+  }
+
+  @Test
+  void testReadFullyBeyondEnd() {
+    assertThrows(EOFException.class, () -> stream.readFully(
+        new long[] {data.length - 2}, Arrays.asList(ByteBuffer.allocate(3))));
+  }
+
+  /**
+   * A part with its data in memory.
+   */
+  private static final class TestPart extends ExtendedInputStream
+      implements PartInputStream {
+    private final byte[] data;
+    private int pos;
+
+    TestPart(byte[] data) {
+      this.data = data;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) {
+      return read(ByteBuffer.wrap(b, off, len));
+    }
+
+    @Override
+    public synchronized int read(ByteBuffer buf) {
+      if (pos == data.length) {
+        return EOF;
+      }
+      int n = Math.min(buf.remaining(), data.length - pos);
+      buf.put(data, pos, n);
+      pos += n;
+      return n;
+    }
+
+    @Override
+    protected int readWithStrategy(ByteReaderStrategy strategy) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public synchronized void seek(long l) {
+      pos = (int) l;
+    }
+
+    @Override
+    public synchronized long getPos() {
+      return pos;
+    }
+
+    @Override
+    public long getLength() {
+      return data.length;
+    }
+
+    @Override
+    public void unbuffer() {
+    }
+  }
+}
@@ -33,6 +33,8 @@ public enum DatanodeVersion implements ComponentVersion {
   SEPARATE_RATIS_PORTS_AVAILABLE(1, "Version with separated Ratis port."),
   COMBINED_PUTBLOCK_WRITECHUNK_RPC(2, "WriteChunk can optionally support " +
           "a PutBlock request"),
+  MULTI_FRAME_CONTAINER_IMPORT(3, "Imported containers can be compressed " +
+      "in multiple concatenated frames."),
 
   FUTURE_VERSION(-1, "Used internally in the client when the server side is "
       + " newer and an unknown server version has arrived to the client.");
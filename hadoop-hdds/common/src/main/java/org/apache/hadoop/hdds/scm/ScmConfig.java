@@ -63,6 +63,30 @@ public class ScmConfig extends ReconfigurableConfig {
   )
   private String action;
 
+  @Config(key = "container.report.batch.threads",
+      type = ConfigType.INT,
+      defaultValue = "1",
+      tags = { ConfigTag.SCM, ConfigTag.PERFORMANCE },
+      description =
+          "The number of threads used to process the replicas of a full "
+          + "container report. The replicas of a report are split into "
+          + "batches of consecutive container IDs, which are processed in "
+          + "parallel. With 1, the replicas are processed sequentially by "
+          + "the report handler thread."
+  )
+  private int containerReportBatchThreads = 1;
+
+  @Config(key = "container.report.batch.size",
+      type = ConfigType.INT,
+      defaultValue = "1000",
+      tags = { ConfigTag.SCM, ConfigTag.PERFORMANCE },
+      description =
+          "The maximum number of replicas of a full container report "
+          + "processed in a batch, see "
+          + "hdds.scm.container.report.batch.threads."
+  )
+  private int containerReportBatchSize = 1000;
+
   private static final String DESCRIPTION_COMMON_CHOICES_OF_PIPELINE_CHOOSE_POLICY_IMPL =
       "One of the following values can be used: "
       + "(1) org.apache.hadoop.hdds.scm.pipeline.choose.algorithms.RandomPipelineChoosePolicy"
@@ -161,6 +185,14 @@ public void setUnknownContainerAction(String unknownContainerAction) {
     this.action = unknownContainerAction;
   }
 
+  public void setContainerReportBatchThreads(int threads) {
+    this.containerReportBatchThreads = threads;
+  }
+
+  public void setContainerReportBatchSize(int batchSize) {
+    this.containerReportBatchSize = batchSize;
+  }
+
   public void setPipelineChoosePolicyName(String pipelineChoosePolicyName) {
     this.pipelineChoosePolicyName = pipelineChoosePolicyName;
   }
@@ -185,6 +217,14 @@ public String getUnknownContainerAction() {
     return this.action;
   }
 
+  public int getContainerReportBatchThreads() {
+    return containerReportBatchThreads;
+  }
+
+  public int getContainerReportBatchSize() {
+    return containerReportBatchSize;
+  }
+
   public String getPipelineChoosePolicyName() {
     return pipelineChoosePolicyName;
   }
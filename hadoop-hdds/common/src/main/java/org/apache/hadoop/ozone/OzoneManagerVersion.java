@@ -47,6 +47,12 @@ public enum OzoneManagerVersion implements ComponentVersion {
   LIGHTWEIGHT_LIST_STATUS(8, "OzoneManager version that supports lightweight"
       + " listStatus API."),
 
+  COPY_KEY(9, "OzoneManager version that supports copying a key by sharing"
+      + " its blocks."),
+
+  RECURSIVE_LIST_STATUS(10, "OzoneManager version that supports recursive"
+      + " listStatus in FSO buckets."),
+
   FUTURE_VERSION(-1, "Used internally in the client when the server side is "
       + " newer and an unknown server version has arrived to the client.");
 
@@ -18,11 +18,13 @@
 package org.apache.hadoop.ozone.common;
 
 import java.nio.ByteBuffer;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.function.Function;
+import java.util.Map;
 import java.util.function.Supplier;
 
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
@@ -40,8 +42,23 @@
  * This class is not thread safe.
  */
 public class Checksum {
-  private static Function<ByteBuffer, ByteString> newMessageDigestFunction(
-      String algorithm) {
+  /**
+   * Computes the checksum of a buffer into an array, so that the checksums
+   * of a chunk can be stored contiguously without an object per checksum.
+   * The functions are stateful and are not thread safe.
+   */
+  interface ChecksumFunction {
+    /** @return the size of a checksum in bytes. */
+    int size();
+
+    /**
+     * Compute the checksum of the remaining data and write its {@link #size()}
+     * bytes to the given array at the given offset.
+     */
+    void apply(ByteBuffer data, byte[] out, int offset);
+  }
+
+  private static ChecksumFunction newMessageDigestFunction(String algorithm) {
     final MessageDigest md;
     try {
       md = MessageDigest.getInstance(algorithm);
@@ -49,10 +66,24 @@ private static Function<ByteBuffer, ByteString> newMessageDigestFunction(
       throw new IllegalStateException(
           "Failed to get MessageDigest for " + algorithm,  e);
     }
-    return data -> {
-      md.reset();
-      md.update(data);
-      return ByteString.copyFrom(md.digest());
+    final int size = md.getDigestLength();
+    return new ChecksumFunction() {
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public void apply(ByteBuffer data, byte[] out, int offset) {
+        md.reset();
+        md.update(data);
+        try {
+          md.digest(out, offset, size);
+        } catch (DigestException e) {
+          throw new IllegalStateException(
+              "Failed to compute " + algorithm + " digest", e);
+        }
+      }
     };
   }
 
@@ -60,19 +91,41 @@ public static ByteString int2ByteString(int n) {
     return UnsafeByteOperations.unsafeWrap(Ints.toByteArray(n));
   }
 
-  private static Function<ByteBuffer, ByteString> newChecksumByteBufferFunction(
+  private static ChecksumFunction newChecksumByteBufferFunction(
       Supplier<ChecksumByteBuffer> constructor) {
     final ChecksumByteBuffer algorithm = constructor.get();
-    return  data -> {
-      algorithm.reset();
-      algorithm.update(data);
-      return int2ByteString((int)algorithm.getValue());
+    return new ChecksumFunction() {
+      @Override
+      public int size() {
+        return Integer.BYTES;
+      }
+
+      @Override
+      public void apply(ByteBuffer data, byte[] out, int offset) {
+        algorithm.reset();
+        algorithm.update(data);
+        // Big-endian, the same as int2ByteString.
+        final int value = (int) algorithm.getValue();
+        out[offset] = (byte) (value >>> 24);
+        out[offset + 1] = (byte) (value >>> 16);
+        out[offset + 2] = (byte) (value >>> 8);
+        out[offset + 3] = (byte) value;
+      }
     };
   }
 
   /** The algorithms for {@link ChecksumType}. */
   enum Algorithm {
-    NONE(() -> data -> ByteString.EMPTY),
+    NONE(() -> new ChecksumFunction() {
+      @Override
+      public int size() {
+        return 0;
+      }
+
+      @Override
+      public void apply(ByteBuffer data, byte[] out, int offset) {
+      }
+    }),
     CRC32(() ->
         newChecksumByteBufferFunction(ChecksumByteBufferFactory::crc32Impl)),
     CRC32C(() ->
@@ -80,21 +133,39 @@ enum Algorithm {
     SHA256(() -> newMessageDigestFunction("SHA-256")),
     MD5(() -> newMessageDigestFunction("MD5"));
 
-    private final Supplier<Function<ByteBuffer, ByteString>> constructor;
+    private final Supplier<ChecksumFunction> constructor;
 
     static Algorithm valueOf(ChecksumType type) {
       return valueOf(type.name());
     }
 
-    Algorithm(Supplier<Function<ByteBuffer, ByteString>> constructor) {
+    Algorithm(Supplier<ChecksumFunction> constructor) {
       this.constructor = constructor;
     }
 
-    Function<ByteBuffer, ByteString> newChecksumFunction() {
+    ChecksumFunction newChecksumFunction() {
       return constructor.get();
     }
   }
 
+  /**
+   * The checksum functions of the current thread. They are reused across
+   * computations, instead of creating a new CRC or MessageDigest instance
+   * per chunk.
+   */
+  private static final ThreadLocal<Map<Algorithm, ChecksumFunction>>
+      FUNCTIONS = ThreadLocal.withInitial(() -> new EnumMap<>(Algorithm.class));
+
+  private static ChecksumFunction getChecksumFunction(ChecksumType type)
+      throws OzoneChecksumException {
+    try {
+      return FUNCTIONS.get().computeIfAbsent(Algorithm.valueOf(type),
+          Algorithm::newChecksumFunction);
+    } catch (Exception e) {
+      throw new OzoneChecksumException(type);
+    }
+  }
+
   private final ChecksumType checksumType;
   private final int bytesPerChecksum;
 
@@ -161,21 +232,29 @@ public ChecksumData computeChecksum(ChunkBuffer data)
       return new ChecksumData(checksumType, bytesPerChecksum);
     }
 
-    final Function<ByteBuffer, ByteString> function;
-    try {
-      function = Algorithm.valueOf(checksumType).newChecksumFunction();
-    } catch (Exception e) {
-      throw new OzoneChecksumException(checksumType);
-    }
+    final ChecksumFunction function = getChecksumFunction(checksumType);
+    final int size = function.size();
 
     // Checksum is computed for each bytesPerChecksum number of bytes of data
     // starting at offset 0. The last checksum might be computed for the
     // remaining data with length less than bytesPerChecksum.
-    final List<ByteString> checksumList = new ArrayList<>();
+    // The checksums are written to a single array.
+    final long expected =
+        (data.remaining() + (long) bytesPerChecksum - 1) / bytesPerChecksum;
+    byte[] checksums = new byte[Math.toIntExact(expected * size)];
+    int count = 0;
     for (ByteBuffer b : data.iterate(bytesPerChecksum)) {
-      checksumList.add(computeChecksum(b, function, bytesPerChecksum));
+      final int offset = count * size;
+      if (offset + size > checksums.length) {
+        // The buffers of the iteration may be shorter than bytesPerChecksum.
+        checksums = Arrays.copyOf(checksums,
+            Math.max(2 * checksums.length, offset + size));
+      }
+      computeChecksum(b, function, bytesPerChecksum, checksums, offset);
+      count++;
     }
-    return new ChecksumData(checksumType, bytesPerChecksum, checksumList);
+    return new ChecksumData(checksumType, bytesPerChecksum, checksums, size,
+        count);
   }
 
   /**
@@ -183,17 +262,18 @@ public ChecksumData computeChecksum(ChunkBuffer data)
    * @param data input data
    * @param function the checksum function
    * @param maxLength the max length of data
-   * @return computed checksum ByteString
+   * @param out the array to write the checksum to
+   * @param offset the offset in the array
    */
-  private static ByteString computeChecksum(ByteBuffer data,
-      Function<ByteBuffer, ByteString> function, int maxLength) {
+  private static void computeChecksum(ByteBuffer data,
+      ChecksumFunction function, int maxLength, byte[] out, int offset) {
     final int limit = data.limit();
     try {
       final int maxIndex = data.position() + maxLength;
       if (limit > maxIndex) {
         data.limit(maxIndex);
       }
-      return function.apply(data);
+      function.apply(data, out, offset);
     } finally {
       data.limit(limit);
     }
@@ -19,6 +19,7 @@
 
 import com.google.common.base.Preconditions;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -27,6 +28,7 @@
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos
     .ChecksumType;
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.apache.ratis.thirdparty.com.google.protobuf.UnsafeByteOperations;
 
 /**
  * Java class that represents Checksum ProtoBuf class. This helper class allows
@@ -38,7 +40,12 @@ public class ChecksumData {
   // Checksum will be computed for every bytesPerChecksum number of bytes and
   // stored sequentially in checksumList
   private final int bytesPerChecksum;
-  private final List<ByteString> checksums;
+  // The computed checksums are stored contiguously in checksumBytes, each of
+  // checksumSize bytes. The list of checksums is only created when needed.
+  private final byte[] checksumBytes;
+  private final int checksumSize;
+  private final int numChecksums;
+  private volatile List<ByteString> checksums;
 
   public ChecksumData(ChecksumType checksumType, int bytesPerChecksum) {
     this(checksumType, bytesPerChecksum, Collections.emptyList());
@@ -48,9 +55,27 @@ public ChecksumData(ChecksumType checksumType, int bytesPerChecksum,
                       List<ByteString> checksums) {
     this.type = checksumType;
     this.bytesPerChecksum = bytesPerChecksum;
+    this.checksumBytes = null;
+    this.checksumSize = 0;
+    this.numChecksums = checksums.size();
     this.checksums = Collections.unmodifiableList(checksums);
   }
 
+  /**
+   * Constructs a ChecksumData of the given number of checksums, stored
+   * contiguously in the given array.
+   */
+  ChecksumData(ChecksumType checksumType, int bytesPerChecksum,
+      byte[] checksumBytes, int checksumSize, int numChecksums) {
+    Preconditions.checkArgument(
+        checksumBytes.length >= checksumSize * numChecksums);
+    this.type = checksumType;
+    this.bytesPerChecksum = bytesPerChecksum;
+    this.checksumBytes = checksumBytes;
+    this.checksumSize = checksumSize;
+    this.numChecksums = numChecksums;
+  }
+
   /**
    * Getter method for checksumType.
    */
@@ -69,7 +94,38 @@ public int getBytesPerChecksum() {
    * Getter method for checksums.
    */
   public List<ByteString> getChecksums() {
-    return this.checksums;
+    List<ByteString> list = checksums;
+    if (list == null) {
+      // The ByteStrings share the array instead of copying each checksum.
+      list = new ArrayList<>(numChecksums);
+      for (int i = 0; i < numChecksums; i++) {
+        list.add(UnsafeByteOperations.unsafeWrap(checksumBytes,
+            i * checksumSize, checksumSize));
+      }
+      list = Collections.unmodifiableList(list);
+      checksums = list;
+    }
+    return list;
+  }
+
+  /**
+   * @return true if the checksum at the given index is equal to the given
+   *         checksum.
+   */
+  private boolean checksumEquals(int index, ByteString checksum) {
+    if (checksumBytes == null) {
+      return checksums.get(index).equals(checksum);
+    }
+    if (checksum.size() != checksumSize) {
+      return false;
+    }
+    final int offset = index * checksumSize;
+    for (int i = 0; i < checksumSize; i++) {
+      if (checksum.byteAt(i) != checksumBytes[offset + i]) {
+        return false;
+      }
+    }
+    return true;
   }
 
   /**
@@ -82,7 +138,7 @@ public ContainerProtos.ChecksumData getProtoBufMessage() {
             .setType(this.type)
             .setBytesPerChecksum(this.bytesPerChecksum);
 
-    checksumProtoBuilder.addAllChecksums(checksums);
+    checksumProtoBuilder.addAllChecksums(getChecksums());
 
     return checksumProtoBuilder.build();
   }
@@ -119,39 +175,33 @@ public boolean verifyChecksumDataMatches(ChecksumData that, int startIndex)
       throws OzoneChecksumException {
 
     // pre checks
-    if (this.checksums.size() == 0) {
+    if (this.numChecksums == 0) {
       throw new OzoneChecksumException("Original checksumData has no " +
           "checksums");
     }
 
-    if (that.checksums.size() == 0) {
+    if (that.numChecksums == 0) {
       throw new OzoneChecksumException("Computed checksumData has no " +
           "checksums");
     }
 
-    int numChecksums = that.checksums.size();
-
-    try {
-      // Verify that checksum matches at each index
-      for (int index = 0; index < numChecksums; index++) {
-        if (!matchChecksumAtIndex(this.checksums.get(startIndex + index),
-            that.checksums.get(index))) {
-          // checksum mismatch. throw exception.
-          throw new OzoneChecksumException(index);
-        }
-      }
-    } catch (ArrayIndexOutOfBoundsException e) {
+    int numComputed = that.numChecksums;
+    if (startIndex < 0 || startIndex + numComputed > this.numChecksums) {
       throw new OzoneChecksumException("Computed checksum has "
-          + numChecksums + " number of checksums. Original checksum has " +
-          (this.checksums.size() - startIndex) + " number of checksums " +
+          + numComputed + " number of checksums. Original checksum has " +
+          (this.numChecksums - startIndex) + " number of checksums " +
           "starting from index " + startIndex);
     }
-    return true;
-  }
 
-  private static boolean matchChecksumAtIndex(
-      ByteString expectedChecksumAtIndex, ByteString computedChecksumAtIndex) {
-    return expectedChecksumAtIndex.equals(computedChecksumAtIndex);
+    // Verify that checksum matches at each index
+    final List<ByteString> expected = this.getChecksums();
+    for (int index = 0; index < numComputed; index++) {
+      if (!that.checksumEquals(index, expected.get(startIndex + index))) {
+        // checksum mismatch. throw exception.
+        throw new OzoneChecksumException(index);
+      }
+    }
+    return true;
   }
 
   @Override
@@ -168,14 +218,14 @@ public boolean equals(Object obj) {
     if (this.bytesPerChecksum != that.getBytesPerChecksum()) {
       return false;
     }
-    if (this.checksums.size() != that.checksums.size()) {
+    if (this.numChecksums != that.numChecksums) {
       return false;
     }
 
     // Match checksum at each index
-    for (int index = 0; index < this.checksums.size(); index++) {
-      if (!matchChecksumAtIndex(this.checksums.get(index),
-          that.checksums.get(index))) {
+    final List<ByteString> thatChecksums = that.getChecksums();
+    for (int index = 0; index < this.numChecksums; index++) {
+      if (!checksumEquals(index, thatChecksums.get(index))) {
         return false;
       }
     }
@@ -187,7 +237,7 @@ public int hashCode() {
     HashCodeBuilder hc = new HashCodeBuilder();
     hc.append(type);
     hc.append(bytesPerChecksum);
-    hc.append(checksums.toArray());
+    hc.append(getChecksums().toArray());
     return hc.toHashCode();
   }
 }
@@ -19,11 +19,20 @@
 
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -94,4 +103,54 @@ public void testChecksumMismatchForDifferentChecksumTypes() {
     // The two checksums should not match as they have different types
     assertNotEquals(checksum1, checksum2, "Checksums should not match for different checksum types");
   }
+
+  /**
+   * Tests that the checksums computed into a single array are the same as
+   * computing each checksum separately, also when the data is split into
+   * buffers shorter than bytesPerChecksum.
+   */
+  @ParameterizedTest
+  @EnumSource(value = ContainerProtos.ChecksumType.class, names = "NONE",
+      mode = EnumSource.Mode.EXCLUDE)
+  public void testChecksumsOfSplitData(ContainerProtos.ChecksumType type)
+      throws Exception {
+    Checksum checksum = getChecksum(type);
+    byte[] data = RandomStringUtils.randomAlphabetic(55).getBytes(UTF_8);
+
+    List<ByteString> expected = new ArrayList<>();
+    for (int off = 0; off < data.length; off += BYTES_PER_CHECKSUM) {
+      int len = Math.min(BYTES_PER_CHECKSUM, data.length - off);
+      expected.add(ByteString.copyFrom(checksum.computeChecksum(
+          Arrays.copyOfRange(data, off, off + len)).getChecksums().get(0)
+          .toByteArray()));
+    }
+
+    ChecksumData checksumData = checksum.computeChecksum(data);
+    assertEquals(expected, checksumData.getChecksums());
+    assertEquals(new ChecksumData(type, BYTES_PER_CHECKSUM, expected),
+        checksumData);
+
+    // Proto round trip
+    ChecksumData fromProto =
+        ChecksumData.getFromProtoBuf(checksumData.getProtoBufMessage());
+    assertEquals(checksumData, fromProto);
+    assertTrue(Checksum.verifyChecksum(data, fromProto));
+
+    // Buffers of 7 bytes, so that a checksum spans buffers.
+    List<ByteBuffer> buffers = new ArrayList<>();
+    for (int off = 0; off < data.length; off += 7) {
+      buffers.add(ByteBuffer.wrap(data, off, Math.min(7, data.length - off))
+          .slice());
+    }
+    ChecksumData split = checksum.computeChecksum(ChunkBuffer.wrap(buffers));
+    assertTrue(fromProto.verifyChecksumDataMatches(split, 0));
+
+    // The checksums of the second half of the data match from startIndex.
+    ChecksumData secondHalf = checksum.computeChecksum(data, 30, 25);
+    assertTrue(fromProto.verifyChecksumDataMatches(secondHalf, 3));
+    assertThrows(OzoneChecksumException.class,
+        () -> fromProto.verifyChecksumDataMatches(secondHalf, 2));
+    assertThrows(OzoneChecksumException.class,
+        () -> fromProto.verifyChecksumDataMatches(secondHalf, 4));
+  }
 }
@@ -35,7 +35,6 @@
 import java.io.IOException;
 import java.time.Clock;
 import java.time.ZoneOffset;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -326,12 +325,11 @@ public ContainerReportsProto getContainerReport() throws IOException {
     // No need for locking since containerMap is a ConcurrentSkipListMap
     // And we can never get the exact state since close might happen
     // after we iterate a point.
-    List<Container<?>> containers = new ArrayList<>(containerMap.values());
     // Incremental Container reports can read stale container information
     // This is to make sure FCR and ICR can be linearized and processed by
     // consumers such as SCM.
     synchronized (this) {
-      for (Container<?> container : containers) {
+      for (Container<?> container : containerMap.values()) {
         if (container.getContainerState()
             == ContainerProtos.ContainerDataProto.State.RECOVERING) {
           // Skip the recovering containers in ICR and FCR for now.
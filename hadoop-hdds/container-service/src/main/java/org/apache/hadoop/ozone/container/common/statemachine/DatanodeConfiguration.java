@@ -51,6 +51,8 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
       "hdds.datanode.container.delete.threads.max";
   static final String CONTAINER_CLOSE_THREADS_MAX_KEY =
       "hdds.datanode.container.close.threads.max";
+  static final String READ_PER_VOLUME_QUEUE_LIMIT_KEY =
+      "hdds.datanode.read.chunk.per.volume.queue.limit";
   static final String PERIODIC_DISK_CHECK_INTERVAL_MINUTES_KEY =
       "hdds.datanode.periodic.disk.check.interval.minutes";
   public static final String DISK_CHECK_FILE_SIZE_KEY =
@@ -74,6 +76,10 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
       "hdds.datanode.wait.on.all.followers";
   public static final String CONTAINER_SCHEMA_V3_ENABLED =
       "hdds.datanode.container.schema.v3.enabled";
+  public static final String PUT_BLOCK_GROUP_COMMIT_MAX_DELAY_KEY =
+      "hdds.datanode.put.block.group.commit.max.delay";
+  public static final String PUT_BLOCK_GROUP_COMMIT_MAX_BATCH_SIZE_KEY =
+      "hdds.datanode.put.block.group.commit.max.batch.size";
 
   static final boolean CHUNK_DATA_VALIDATION_CHECK_DEFAULT = false;
 
@@ -100,6 +106,9 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
   static final long ROCKSDB_DELETE_OBSOLETE_FILES_PERIOD_MICRO_SECONDS_DEFAULT =
       1L * 60 * 60 * 1000 * 1000;
   static final int ROCKSDB_MAX_OPEN_FILES_DEFAULT = 1024;
+  static final Duration PUT_BLOCK_GROUP_COMMIT_MAX_DELAY_DEFAULT =
+      Duration.ZERO;
+  static final int PUT_BLOCK_GROUP_COMMIT_MAX_BATCH_SIZE_DEFAULT = 64;
   public static final String ROCKSDB_LOG_MAX_FILE_SIZE_BYTES_KEY =
       "hdds.datanode.rocksdb.log.max-file-size";
   public static final String ROCKSDB_LOG_MAX_FILE_NUM_KEY =
@@ -127,6 +136,39 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
   )
   private int numReadThreadPerVolume = 10;
 
+  /**
+   * Whether the chunk reads are queued per volume.
+   */
+  @Config(key = "read.chunk.per.volume.queue.enabled",
+      type = ConfigType.BOOLEAN,
+      defaultValue = "true",
+      tags = {DATANODE},
+      description = "If true, the chunk and block reads served by the" +
+          " Datanode gRPC server are queued per volume and executed by" +
+          " threads dedicated to the volume, so that a slow volume does not" +
+          " delay the reads from the other volumes. The" +
+          " read.chunk.threads.per.volume threads of each volume are then" +
+          " split: a fifth of them, at least one, serve the other requests" +
+          " and hand the reads off, the rest serve the reads of the volume."
+  )
+  private boolean readPerVolumeQueueEnabled = true;
+
+  static final int READ_PER_VOLUME_QUEUE_LIMIT_DEFAULT = 1024;
+
+  /**
+   * The maximum number of reads queued per volume.
+   */
+  @Config(key = "read.chunk.per.volume.queue.limit",
+      type = ConfigType.INT,
+      defaultValue = "1024",
+      tags = {DATANODE},
+      description = "The maximum number of reads waiting in the queue of a" +
+          " volume, see read.chunk.per.volume.queue.enabled. Once the queue" +
+          " is full, further reads of the volume are executed by the gRPC" +
+          " server threads, which slows down the clients reading from it."
+  )
+  private int readPerVolumeQueueLimit = READ_PER_VOLUME_QUEUE_LIMIT_DEFAULT;
+
   static final int CONTAINER_DELETE_THREADS_DEFAULT = 2;
   static final int CONTAINER_CLOSE_THREADS_DEFAULT = 3;
   static final int BLOCK_DELETE_THREADS_DEFAULT = 5;
@@ -559,6 +601,40 @@ public void setWaitOnAllFollowers(boolean val) {
   private int autoCompactionSmallSstFileThreads =
       AUTO_COMPACTION_SMALL_SST_FILE_THREADS_DEFAULT;
 
+  @Config(key = "put.block.group.commit.enabled",
+      type = ConfigType.BOOLEAN,
+      defaultValue = "true",
+      tags = { DATANODE },
+      description = "If true, the putBlock RocksDB batches of the containers"
+          + " on the same schema V3 volume DB are committed in groups."
+          + " Each putBlock call still returns only after its own batch is"
+          + " written."
+  )
+  private boolean putBlockGroupCommitEnabled = true;
+
+  @Config(key = "put.block.group.commit.max.delay",
+      defaultValue = "0ms",
+      type = ConfigType.TIME,
+      tags = { DATANODE },
+      description = "The maximum time a putBlock group commit waits for more"
+          + " batches to join the group before writing it. With 0, only the"
+          + " batches which arrive while the previous group is being written"
+          + " are grouped. Unit could be defined with postfix"
+          + " (ns,ms,s,m,h,d)."
+  )
+  private Duration putBlockGroupCommitMaxDelay =
+      PUT_BLOCK_GROUP_COMMIT_MAX_DELAY_DEFAULT;
+
+  @Config(key = "put.block.group.commit.max.batch.size",
+      defaultValue = "64",
+      type = ConfigType.INT,
+      tags = { DATANODE },
+      description = "The number of putBlock batches in a group at which the"
+          + " group is written without waiting for the max delay."
+  )
+  private int putBlockGroupCommitMaxBatchSize =
+      PUT_BLOCK_GROUP_COMMIT_MAX_BATCH_SIZE_DEFAULT;
+
   /**
    * Whether to check container directory or not to determine
    * container is empty.
@@ -589,6 +665,13 @@ public void validate() {
       containerCloseThreads = CONTAINER_CLOSE_THREADS_DEFAULT;
     }
 
+    if (readPerVolumeQueueLimit < 1) {
+      LOG.warn(READ_PER_VOLUME_QUEUE_LIMIT_KEY + " must be greater than zero" +
+              " and was set to {}. Defaulting to {}",
+          readPerVolumeQueueLimit, READ_PER_VOLUME_QUEUE_LIMIT_DEFAULT);
+      readPerVolumeQueueLimit = READ_PER_VOLUME_QUEUE_LIMIT_DEFAULT;
+    }
+
     if (periodicDiskCheckIntervalMinutes < 1) {
       LOG.warn(PERIODIC_DISK_CHECK_INTERVAL_MINUTES_KEY +
               " must be greater than zero and was set to {}. Defaulting to {}",
@@ -668,6 +751,23 @@ public void validate() {
       diskCheckMinGap = DISK_CHECK_MIN_GAP_DEFAULT;
     }
 
+    if (putBlockGroupCommitMaxDelay.isNegative()) {
+      LOG.warn(PUT_BLOCK_GROUP_COMMIT_MAX_DELAY_KEY +
+              " must not be negative and was set to {}. Defaulting to {}",
+          putBlockGroupCommitMaxDelay,
+          PUT_BLOCK_GROUP_COMMIT_MAX_DELAY_DEFAULT);
+      putBlockGroupCommitMaxDelay = PUT_BLOCK_GROUP_COMMIT_MAX_DELAY_DEFAULT;
+    }
+
+    if (putBlockGroupCommitMaxBatchSize < 1) {
+      LOG.warn(PUT_BLOCK_GROUP_COMMIT_MAX_BATCH_SIZE_KEY +
+              " must be greater than zero and was set to {}. Defaulting to {}",
+          putBlockGroupCommitMaxBatchSize,
+          PUT_BLOCK_GROUP_COMMIT_MAX_BATCH_SIZE_DEFAULT);
+      putBlockGroupCommitMaxBatchSize =
+          PUT_BLOCK_GROUP_COMMIT_MAX_BATCH_SIZE_DEFAULT;
+    }
+
     if (diskCheckTimeout.isNegative()) {
       LOG.warn(DISK_CHECK_TIMEOUT_KEY +
               " must be greater than zero and was set to {}. Defaulting to {}",
@@ -854,6 +954,22 @@ public int getNumReadThreadPerVolume() {
     return numReadThreadPerVolume;
   }
 
+  public boolean isReadPerVolumeQueueEnabled() {
+    return readPerVolumeQueueEnabled;
+  }
+
+  public void setReadPerVolumeQueueEnabled(boolean enabled) {
+    this.readPerVolumeQueueEnabled = enabled;
+  }
+
+  public int getReadPerVolumeQueueLimit() {
+    return readPerVolumeQueueLimit;
+  }
+
+  public void setReadPerVolumeQueueLimit(int limit) {
+    this.readPerVolumeQueueLimit = limit;
+  }
+
   public boolean getContainerSchemaV3Enabled() {
     return this.containerSchemaV3Enabled;
   }
@@ -953,4 +1069,28 @@ public void setAutoCompactionSmallSstFileThreads(
     this.autoCompactionSmallSstFileThreads =
         autoCompactionSmallSstFileThreads;
   }
+
+  public boolean isPutBlockGroupCommitEnabled() {
+    return putBlockGroupCommitEnabled;
+  }
+
+  public void setPutBlockGroupCommitEnabled(boolean enabled) {
+    this.putBlockGroupCommitEnabled = enabled;
+  }
+
+  public Duration getPutBlockGroupCommitMaxDelay() {
+    return putBlockGroupCommitMaxDelay;
+  }
+
+  public void setPutBlockGroupCommitMaxDelay(Duration maxDelay) {
+    this.putBlockGroupCommitMaxDelay = maxDelay;
+  }
+
+  public int getPutBlockGroupCommitMaxBatchSize() {
+    return putBlockGroupCommitMaxBatchSize;
+  }
+
+  public void setPutBlockGroupCommitMaxBatchSize(int maxBatchSize) {
+    this.putBlockGroupCommitMaxBatchSize = maxBatchSize;
+  }
 }
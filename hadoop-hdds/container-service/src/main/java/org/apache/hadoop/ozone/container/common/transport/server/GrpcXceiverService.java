@@ -22,6 +22,7 @@
 import org.apache.hadoop.hdds.protocol.datanode.proto.XceiverClientProtocolServiceGrpc;
 import org.apache.hadoop.hdds.utils.IOUtils;
 import org.apache.hadoop.ozone.container.common.interfaces.ContainerDispatcher;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.ratis.grpc.util.ZeroCopyMessageMarshaller;
 import org.apache.ratis.thirdparty.com.google.protobuf.MessageLite;
 import org.apache.ratis.thirdparty.io.grpc.MethodDescriptor;
@@ -32,6 +33,7 @@
 import org.slf4j.LoggerFactory;
 
 import java.io.InputStream;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.apache.hadoop.hdds.protocol.datanode.proto.XceiverClientProtocolServiceGrpc.getSendMethod;
@@ -46,14 +48,26 @@ public class GrpcXceiverService extends
 
   private final ContainerDispatcher dispatcher;
   private final boolean zeroCopyEnabled;
+  private final VolumeReadScheduler readScheduler;
   private final ZeroCopyMessageMarshaller<ContainerCommandRequestProto>
       zeroCopyMessageMarshaller = new ZeroCopyMessageMarshaller<>(
           ContainerCommandRequestProto.getDefaultInstance());
 
   public GrpcXceiverService(ContainerDispatcher dispatcher,
       boolean zeroCopyEnabled) {
+    this(dispatcher, zeroCopyEnabled, null);
+  }
+
+  /**
+   * @param readScheduler if not null, the volume reads are executed by
+   *                      the per volume queues of the scheduler instead of
+   *                      the gRPC executor.
+   */
+  public GrpcXceiverService(ContainerDispatcher dispatcher,
+      boolean zeroCopyEnabled, VolumeReadScheduler readScheduler) {
     this.dispatcher = dispatcher;
     this.zeroCopyEnabled = zeroCopyEnabled;
+    this.readScheduler = readScheduler;
   }
 
   /**
@@ -104,18 +118,55 @@ public StreamObserver<ContainerCommandRequestProto> send(
       StreamObserver<ContainerCommandResponseProto> responseObserver) {
     return new StreamObserver<ContainerCommandRequestProto>() {
       private final AtomicBoolean isClosed = new AtomicBoolean(false);
+      // The requests still queued on the volume read queues.
+      private int pending = 0;
+      private boolean completed = false;
 
       @Override
       public void onNext(ContainerCommandRequestProto request) {
+        final HddsVolume volume = readScheduler == null ? null
+            : readScheduler.getVolume(request);
+        if (volume == null) {
+          process(request);
+          return;
+        }
+
+        synchronized (this) {
+          pending++;
+        }
+        try {
+          readScheduler.execute(volume, () -> {
+            try {
+              process(request);
+            } finally {
+              onProcessed();
+            }
+          });
+        } catch (RejectedExecutionException e) {
+          // The scheduler is closed, the volume has failed or its queue is
+          // full, process it in the gRPC executor.
+          try {
+            process(request);
+          } finally {
+            onProcessed();
+          }
+        }
+      }
+
+      private void process(ContainerCommandRequestProto request) {
         try {
           ContainerCommandResponseProto resp =
               dispatcher.dispatch(request, null);
-          responseObserver.onNext(resp);
+          synchronized (this) {
+            responseObserver.onNext(resp);
+          }
         } catch (Throwable e) {
           LOG.error("Got exception when processing"
                     + " ContainerCommandRequestProto {}", request, e);
           isClosed.set(true);
-          responseObserver.onError(e);
+          synchronized (this) {
+            responseObserver.onError(e);
+          }
         } finally {
           InputStream popStream = zeroCopyMessageMarshaller.popStream(request);
           if (popStream != null) {
@@ -124,6 +175,13 @@ public void onNext(ContainerCommandRequestProto request) {
         }
       }
 
+      private synchronized void onProcessed() {
+        pending--;
+        if (pending == 0 && completed) {
+          complete();
+        }
+      }
+
       @Override
       public void onError(Throwable t) {
         // for now we just log a msg
@@ -131,7 +189,15 @@ public void onError(Throwable t) {
       }
 
       @Override
-      public void onCompleted() {
+      public synchronized void onCompleted() {
+        // Complete the response once the queued requests are processed.
+        completed = true;
+        if (pending == 0) {
+          complete();
+        }
+      }
+
+      private void complete() {
         if (isClosed.compareAndSet(false, true)) {
           LOG.debug("ContainerCommand send completed");
           responseObserver.onCompleted();
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.transport.server;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
+import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
+import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules the read requests served by {@link XceiverServerGrpc} on a queue
+ * per {@link HddsVolume}, each with its own bounded set of threads.
+ * <p>
+ * A slow or saturated volume then only delays the reads from that volume,
+ * instead of occupying all the threads of the shared gRPC executor.
+ * The queue depth, wait time and service time of each queue are tracked by
+ * the {@link VolumeIOStats} of the volume.
+ * <p>
+ * The queues are bounded. A read is rejected when the queue of its volume
+ * is full, or when the volume has failed; the caller then executes it
+ * itself. The queue of a failed volume is shut down and removed by
+ * {@link #removeFailedVolumes()}.
+ */
+public class VolumeReadScheduler implements Closeable {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(VolumeReadScheduler.class);
+
+  private final ContainerSet containerSet;
+  private final int threadsPerVolume;
+  private final int queueLimit;
+  private final String threadNamePrefix;
+  private final Map<HddsVolume, ThreadPoolExecutor> executors =
+      new ConcurrentHashMap<>();
+  private volatile boolean closed = false;
+
+  /**
+   * @param threadsPerVolume the number of threads serving a volume queue
+   * @param queueLimit the maximum number of reads waiting in a volume queue
+   */
+  public VolumeReadScheduler(ContainerSet containerSet, int threadsPerVolume,
+      int queueLimit, String threadNamePrefix) {
+    this.containerSet = containerSet;
+    this.threadsPerVolume = threadsPerVolume;
+    this.queueLimit = queueLimit;
+    this.threadNamePrefix = threadNamePrefix;
+  }
+
+  /**
+   * @return true if the given request reads from a volume.
+   */
+  static boolean isVolumeRead(ContainerCommandRequestProto request) {
+    switch (request.getCmdType()) {
+    case ReadChunk:
+    case GetSmallFile:
+    case GetBlock:
+      return true;
+    default:
+      return false;
+    }
+  }
+
+  /**
+   * @return the volume the given request reads from;
+   *         or null if the request is not scheduled per volume.
+   */
+  HddsVolume getVolume(ContainerCommandRequestProto request) {
+    if (closed || !isVolumeRead(request)) {
+      return null;
+    }
+    final Container<?> container =
+        containerSet.getContainer(request.getContainerID());
+    // Unknown containers are left to the dispatcher to report.
+    return container == null ? null : container.getContainerData().getVolume();
+  }
+
+  /**
+   * Execute the given task on the queue of the given volume.
+   *
+   * @throws java.util.concurrent.RejectedExecutionException
+   *         if the scheduler is closed, the volume has failed or its queue
+   *         is full.
+   */
+  void execute(HddsVolume volume, Runnable task) {
+    if (closed) {
+      throw new RejectedExecutionException("Read scheduler is closed");
+    }
+    if (volume.isFailed()) {
+      removeExecutor(volume);
+      throw new RejectedExecutionException("Volume " + volume + " failed");
+    }
+    final VolumeIOStats stats = volume.getVolumeIOStats();
+    final long enqueued = System.nanoTime();
+    final Runnable timed = () -> {
+      final long started = System.nanoTime();
+      if (stats != null) {
+        stats.decReadQueueDepth(started - enqueued);
+      }
+      try {
+        task.run();
+      } finally {
+        if (stats != null) {
+          stats.addReadServiceTime(System.nanoTime() - started);
+        }
+      }
+    };
+
+    if (stats != null) {
+      stats.incReadQueueDepth();
+    }
+    try {
+      executors.computeIfAbsent(volume, this::newExecutor).execute(timed);
+    } catch (RuntimeException e) {
+      if (stats != null) {
+        stats.decReadQueueDepth(0);
+      }
+      throw e;
+    }
+  }
+
+  private ThreadPoolExecutor newExecutor(HddsVolume volume) {
+    LOG.info("Creating read queue with {} threads and limit {} for volume {}",
+        threadsPerVolume, queueLimit, volume);
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+        threadsPerVolume, threadsPerVolume,
+        60, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(queueLimit),
+        new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat(threadNamePrefix + "ChunkReader-"
+                + volume.getStorageID() + "-%d")
+            .build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Shut down and remove the queues of the failed volumes. The reads
+   * already queued are still executed, and fail in the dispatcher.
+   */
+  public void removeFailedVolumes() {
+    for (HddsVolume volume : executors.keySet()) {
+      if (volume.isFailed()) {
+        removeExecutor(volume);
+      }
+    }
+  }
+
+  private void removeExecutor(HddsVolume volume) {
+    final ThreadPoolExecutor executor = executors.remove(volume);
+    if (executor != null) {
+      LOG.info("Removing read queue of failed volume {}", volume);
+      executor.shutdown();
+    }
+  }
+
+  @VisibleForTesting
+  boolean hasExecutor(HddsVolume volume) {
+    return executors.containsKey(volume);
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    for (ThreadPoolExecutor executor : executors.values()) {
+      executor.shutdown();
+    }
+    try {
+      for (ThreadPoolExecutor executor : executors.values()) {
+        executor.awaitTermination(5L, TimeUnit.SECONDS);
+      }
+    } catch (InterruptedException e) {
+      LOG.error("Interrupted while waiting for the read queues", e);
+      Thread.currentThread().interrupt();
+    }
+  }
+}
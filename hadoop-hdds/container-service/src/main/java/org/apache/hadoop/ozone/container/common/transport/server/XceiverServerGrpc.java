@@ -44,6 +44,7 @@
 import org.apache.hadoop.hdds.utils.HddsServerUtil;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
 import org.apache.hadoop.ozone.container.common.interfaces.ContainerDispatcher;
 
 import com.google.common.base.Preconditions;
@@ -85,6 +86,7 @@ public final class XceiverServerGrpc implements XceiverServerSpi {
   private boolean isStarted;
   private DatanodeDetails datanodeDetails;
   private ThreadPoolExecutor readExecutors;
+  private final VolumeReadScheduler readScheduler;
   private EventLoopGroup eventLoopGroup;
   private Class<? extends ServerChannel> channelType;
 
@@ -96,6 +98,19 @@ public final class XceiverServerGrpc implements XceiverServerSpi {
   public XceiverServerGrpc(DatanodeDetails datanodeDetails,
       ConfigurationSource conf,
       ContainerDispatcher dispatcher, CertificateClient caClient) {
+    this(datanodeDetails, conf, dispatcher, caClient, null);
+  }
+
+  /**
+   * Constructs a Grpc server class.
+   *
+   * @param containerSet if not null, the volume reads of the containers in
+   *                     the set are queued per volume,
+   *                     see {@link VolumeReadScheduler}.
+   */
+  public XceiverServerGrpc(DatanodeDetails datanodeDetails,
+      ConfigurationSource conf, ContainerDispatcher dispatcher,
+      CertificateClient caClient, ContainerSet containerSet) {
     Preconditions.checkNotNull(conf);
 
     this.id = datanodeDetails.getUuid();
@@ -108,13 +123,22 @@ public XceiverServerGrpc(DatanodeDetails datanodeDetails,
       this.port = 0;
     }
 
-    final int threadCountPerDisk =
-        conf.getObject(DatanodeConfiguration.class).getNumReadThreadPerVolume();
+    final DatanodeConfiguration dnConf =
+        conf.getObject(DatanodeConfiguration.class);
+    final int threadCountPerDisk = dnConf.getNumReadThreadPerVolume();
     final int numberOfDisks =
         HddsServerUtil.getDatanodeStorageDirs(conf).size();
     final int poolSize = threadCountPerDisk * numberOfDisks;
+    final boolean perVolumeQueue =
+        containerSet != null && dnConf.isReadPerVolumeQueueEnabled();
+    // With the per volume queues, the threads of each volume are split
+    // between the volume queue and the gRPC executor, which then only hands
+    // the reads off and serves the other requests.
+    final int executorThreadsPerDisk = perVolumeQueue
+        ? Math.max(1, threadCountPerDisk / 5) : threadCountPerDisk;
+    final int executorPoolSize = executorThreadsPerDisk * numberOfDisks;
 
-    readExecutors = new ThreadPoolExecutor(poolSize, poolSize,
+    readExecutors = new ThreadPoolExecutor(executorPoolSize, executorPoolSize,
         60, TimeUnit.SECONDS,
         new LinkedBlockingQueue<>(),
         new ThreadFactoryBuilder().setDaemon(true)
@@ -140,8 +164,16 @@ public XceiverServerGrpc(DatanodeDetails datanodeDetails,
         OZONE_EC_GRPC_ZERO_COPY_ENABLED_DEFAULT);
 
     LOG.info("GrpcServer channel type {}", channelType.getSimpleName());
+    if (perVolumeQueue) {
+      readScheduler = new VolumeReadScheduler(containerSet,
+          Math.max(1, threadCountPerDisk - executorThreadsPerDisk),
+          dnConf.getReadPerVolumeQueueLimit(),
+          datanodeDetails.threadNamePrefix());
+    } else {
+      readScheduler = null;
+    }
     GrpcXceiverService xceiverService = new GrpcXceiverService(dispatcher,
-        zeroCopyEnabled);
+        zeroCopyEnabled, readScheduler);
     NettyServerBuilder nettyServerBuilder = NettyServerBuilder.forPort(port)
         .maxInboundMessageSize(OzoneConsts.OZONE_SCM_CHUNK_MAX_SIZE)
         .bossEventLoopGroup(eventLoopGroup)
@@ -213,10 +245,23 @@ public void start() throws IOException {
     }
   }
 
+  /**
+   * Remove the read queues of the failed volumes, if the reads are queued
+   * per volume.
+   */
+  public void handleVolumeFailures() {
+    if (readScheduler != null) {
+      readScheduler.removeFailedVolumes();
+    }
+  }
+
   @Override
   public void stop() {
     if (isStarted) {
       try {
+        if (readScheduler != null) {
+          readScheduler.close();
+        }
         readExecutors.shutdown();
         readExecutors.awaitTermination(5L, TimeUnit.SECONDS);
         server.shutdown();
@@ -22,6 +22,9 @@
 import org.apache.hadoop.metrics2.annotation.Metric;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
+import org.apache.hadoop.metrics2.lib.MutableRate;
+import org.apache.hadoop.metrics2.lib.MutableStat;
 
 /**
  * This class is used to track Volume IO stats for each HDDS Volume.
@@ -35,6 +38,21 @@ public class VolumeIOStats {
   private @Metric MutableCounterLong writeOpCount;
   private @Metric MutableCounterLong readTime;
   private @Metric MutableCounterLong writeTime;
+  @Metric(about = "Number of read requests waiting in the volume read queue")
+  private MutableGaugeLong readQueueDepth;
+  @Metric(about = "Time in nanoseconds read requests waited in the volume"
+      + " read queue")
+  private MutableRate readQueueWaitTime;
+  @Metric(about = "Time in nanoseconds taken to serve read requests from the"
+      + " volume read queue")
+  private MutableRate readServiceTime;
+  @Metric(about = "Number of putBlock batches written by a group commit"
+      + " to the volume DB", sampleName = "GroupCommits",
+      valueName = "Batches")
+  private MutableStat putBlockGroupCommitBatchSize;
+  @Metric(about = "Time in nanoseconds taken to write a putBlock group"
+      + " commit to the volume DB")
+  private MutableRate putBlockGroupCommitLatency;
 
   @Deprecated
   public VolumeIOStats() {
@@ -110,6 +128,48 @@ public void incWriteTime(long time) {
     writeTime.incr(time);
   }
 
+  /**
+   * A read request is added to the volume read queue.
+   */
+  public void incReadQueueDepth() {
+    readQueueDepth.incr();
+  }
+
+  /**
+   * A read request is taken from the volume read queue.
+   * @param waitTime time in nanoseconds the request waited in the queue.
+   */
+  public void decReadQueueDepth(long waitTime) {
+    readQueueDepth.decr();
+    readQueueWaitTime.add(waitTime);
+  }
+
+  /**
+   * Add the time taken to serve a request from the volume read queue.
+   * @param time in nanoseconds
+   */
+  public void addReadServiceTime(long time) {
+    readServiceTime.add(time);
+  }
+
+  /**
+   * A group of putBlock batches is written to the volume DB.
+   * @param batches the number of batches in the group.
+   * @param time in nanoseconds taken to write the group.
+   */
+  public void addPutBlockGroupCommit(int batches, long time) {
+    putBlockGroupCommitBatchSize.add(batches);
+    putBlockGroupCommitLatency.add(time);
+  }
+
+  /**
+   * Returns the number of read requests in the volume read queue.
+   * @return long
+   */
+  public long getReadQueueDepth() {
+    return readQueueDepth.value();
+  }
+
   /**
    * Returns total number of bytes read from the volume.
    * @return long
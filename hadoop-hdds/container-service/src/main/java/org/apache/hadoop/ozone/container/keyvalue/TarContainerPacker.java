@@ -27,9 +27,12 @@
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Stream;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.apache.hadoop.hdds.HddsUtils;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
@@ -45,9 +48,11 @@
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.ReadAheadInputStream;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerLocationUtil;
 import org.apache.hadoop.ozone.container.metadata.DatanodeStoreSchemaThreeImpl;
 import org.apache.hadoop.ozone.container.replication.CopyContainerCompression;
+import org.apache.hadoop.ozone.container.replication.ParallelCompressingOutputStream;
 
 import static java.util.stream.Collectors.toList;
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.CONTAINER_ALREADY_EXISTS;
@@ -65,10 +70,31 @@
 
   static final String CONTAINER_FILE_NAME = "container.yaml";
 
+  /** Size of the independently compressed frames of a parallel export. */
+  static final int COMPRESSION_FRAME_SIZE = 4 * 1024 * 1024;
+
   private final CopyContainerCompression compression;
+  private final int compressionThreads;
 
   public TarContainerPacker(CopyContainerCompression compression) {
+    this(compression, 1);
+  }
+
+  /**
+   * @param compressionThreads if more than 1, the archive is compressed by
+   *                           this many threads in independent frames, and it
+   *                           is decompressed ahead of the extraction by a
+   *                           separate thread.
+   */
+  public TarContainerPacker(CopyContainerCompression compression,
+      int compressionThreads) {
     this.compression = compression;
+    this.compressionThreads = compressionThreads;
+  }
+
+  private boolean isParallel() {
+    return compressionThreads > 1
+        && compression != CopyContainerCompression.NO_COMPRESSION;
   }
 
   /**
@@ -156,7 +182,15 @@ public void pack(Container<KeyValueContainerData> container,
 
     KeyValueContainerData containerData = container.getContainerData();
 
-    try (ArchiveOutputStream<TarArchiveEntry> archiveOutput = tar(compress(output))) {
+    final ExecutorService executor = isParallel()
+        ? Executors.newFixedThreadPool(compressionThreads,
+            new ThreadFactoryBuilder().setDaemon(true)
+                .setNameFormat("ContainerCompressor-" +
+                    containerData.getContainerID() + "-%d")
+                .build())
+        : null;
+    try (ArchiveOutputStream<TarArchiveEntry> archiveOutput =
+             tar(executor != null ? compress(output, executor) : compress(output))) {
       includeFile(container.getContainerFile(), CONTAINER_FILE_NAME,
           archiveOutput);
 
@@ -165,6 +199,10 @@ public void pack(Container<KeyValueContainerData> container,
 
       includePath(Paths.get(containerData.getChunksPath()), CHUNKS_DIR_NAME,
           archiveOutput);
+    } finally {
+      if (executor != null) {
+        executor.shutdownNow();
+      }
     }
   }
 
@@ -284,10 +322,34 @@ OutputStream compress(OutputStream output) throws IOException {
     return compression.wrap(output);
   }
 
+  @VisibleForTesting
+  OutputStream compress(OutputStream output, ExecutorService executor) {
+    return new ParallelCompressingOutputStream(compression, output, executor,
+        COMPRESSION_FRAME_SIZE, 2 * compressionThreads);
+  }
+
+  /**
+   * Decompress the input for the extraction.  If parallel, decompress ahead
+   * of the extraction on a separate thread, so that the decompression and
+   * the writes of the extracted files overlap.
+   */
+  private InputStream decompressForExtraction(InputStream input)
+      throws IOException {
+    final InputStream decompressed = decompress(input);
+    if (!isParallel()) {
+      return decompressed;
+    }
+    return ReadAheadInputStream.builder()
+        .setInputStream(decompressed)
+        .setBufferSize(COMPRESSION_FRAME_SIZE)
+        .get();
+  }
+
   private byte[] innerUnpack(InputStream input, Path dbRoot, Path chunksRoot)
       throws IOException {
     byte[] descriptorFileContent = null;
-    try (ArchiveInputStream<TarArchiveEntry> archiveInput = untar(decompress(input))) {
+    try (ArchiveInputStream<TarArchiveEntry> archiveInput =
+             untar(decompressForExtraction(input))) {
       ArchiveEntry entry = archiveInput.getNextEntry();
       while (entry != null) {
         String name = entry.getName();
@@ -20,7 +20,11 @@
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
@@ -28,10 +32,15 @@
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.hdds.upgrade.HDDSLayoutFeature;
 import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.DBStore;
+import org.apache.hadoop.hdds.utils.db.RDBBatchOperation;
+import org.apache.hadoop.hdds.utils.db.RDBStore;
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.ozone.container.common.helpers.BlockData;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
@@ -43,6 +52,7 @@
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.BCSID_MISMATCH;
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.UNSUPPORTED_REQUEST;
 import static org.apache.hadoop.ozone.OzoneConsts.INCREMENTAL_CHUNK_LIST;
+import static org.apache.hadoop.ozone.OzoneConsts.SCHEMA_V3;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,6 +76,13 @@ public class BlockManagerImpl implements BlockManager {
   private final int readMappedBufferThreshold;
   private final int readMappedBufferMaxCount;
 
+  private final boolean groupCommitEnabled;
+  private final long groupCommitMaxDelayNanos;
+  private final int groupCommitMaxBatchSize;
+  /** The group committers of the schema V3 volume DBs. */
+  private final Map<DBStore, PutBlockGroupCommitter> groupCommitters =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
   /**
    * Constructs a Block Manager.
    *
@@ -83,6 +100,13 @@ public BlockManagerImpl(ConfigurationSource conf) {
     this.readMappedBufferMaxCount = config.getInt(
         ScmConfigKeys.OZONE_CHUNK_READ_MAPPED_BUFFER_MAX_COUNT_KEY,
         ScmConfigKeys.OZONE_CHUNK_READ_MAPPED_BUFFER_MAX_COUNT_DEFAULT);
+
+    final DatanodeConfiguration dnConf =
+        config.getObject(DatanodeConfiguration.class);
+    this.groupCommitEnabled = dnConf.isPutBlockGroupCommitEnabled();
+    this.groupCommitMaxDelayNanos =
+        dnConf.getPutBlockGroupCommitMaxDelay().toNanos();
+    this.groupCommitMaxBatchSize = dnConf.getPutBlockGroupCommitMaxBatchSize();
   }
 
   @Override
@@ -187,7 +211,7 @@ public long persistPutBlock(KeyValueContainer container,
               containerData.getBlockCount() + 1);
         }
 
-        db.getStore().getBatchHandler().commitBatchOperation(batch);
+        commitPutBlockBatch(db, containerData, batch);
       }
 
       if (bcsId != 0) {
@@ -366,9 +390,43 @@ public List<BlockData> listBlock(Container container, long startLocalID, int
    */
   @Override
   public void shutdown() {
+    groupCommitters.clear();
     BlockUtils.shutdownCache(config);
   }
 
+  /**
+   * Commit the given putBlock batch.  The batches of the containers sharing
+   * a schema V3 volume DB are committed in groups.
+   */
+  private void commitPutBlockBatch(DBHandle db,
+      KeyValueContainerData containerData, BatchOperation batch)
+      throws IOException {
+    final PutBlockGroupCommitter committer =
+        getGroupCommitter(db, containerData);
+    if (committer != null && batch instanceof RDBBatchOperation) {
+      committer.commit((RDBBatchOperation) batch);
+    } else {
+      db.getStore().getBatchHandler().commitBatchOperation(batch);
+    }
+  }
+
+  private PutBlockGroupCommitter getGroupCommitter(DBHandle db,
+      KeyValueContainerData containerData) {
+    if (!groupCommitEnabled || !containerData.hasSchema(SCHEMA_V3)) {
+      return null;
+    }
+    final DBStore store = db.getStore().getStore();
+    if (!(store instanceof RDBStore)) {
+      return null;
+    }
+    final HddsVolume volume = containerData.getVolume();
+    return groupCommitters.computeIfAbsent(store,
+        s -> new PutBlockGroupCommitter(((RDBStore) s).getDb(),
+            groupCommitMaxDelayNanos, TimeUnit.NANOSECONDS,
+            groupCommitMaxBatchSize,
+            volume == null ? null : volume.getVolumeIOStats()));
+  }
+
   private BlockData getBlockByID(DBHandle db, BlockID blockID,
       KeyValueContainerData containerData) throws IOException {
     String blockKey = containerData.getBlockKey(blockID.getLocalID());
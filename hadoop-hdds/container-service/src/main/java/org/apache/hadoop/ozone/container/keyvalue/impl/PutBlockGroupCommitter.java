@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import org.apache.hadoop.hdds.utils.db.RDBBatchOperation;
+import org.apache.hadoop.hdds.utils.db.RocksDatabase;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedWriteBatch;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.rocksdb.RocksDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Commits the putBlock batches of the containers sharing a schema V3 volume
+ * DB in groups, so that the concurrent batches are written to the DB with a
+ * single write.
+ * <p>
+ * The first caller of a group becomes its leader: it waits up to the max
+ * delay, or until the group has max batch size batches, and then writes the
+ * group while the next group is formed. Each {@link #commit} call returns
+ * only after the group containing its batch is written, and fails if the
+ * write of the group fails, so the durability of each call is the same as
+ * when the batch is committed on its own.
+ */
+public class PutBlockGroupCommitter {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(PutBlockGroupCommitter.class);
+
+  /** The batches written to the DB with a single write. */
+  private static final class Group {
+    private final CompletableFuture<Void> written = new CompletableFuture<>();
+    /** Created by the first batch, so that an empty group has no resources. */
+    private ManagedWriteBatch writeBatch;
+    private int size;
+
+    /** Add the operations of the given batch to this group. */
+    void add(RDBBatchOperation batch) throws IOException {
+      if (writeBatch == null) {
+        writeBatch = new ManagedWriteBatch();
+      }
+      try {
+        writeBatch.setSavePoint();
+      } catch (RocksDBException e) {
+        throw new IOException("Failed to add " + batch + " to the group", e);
+      }
+      try {
+        batch.prepareBatchWrite(writeBatch);
+        writeBatch.popSavePoint();
+      } catch (IOException | RocksDBException e) {
+        // Do not leave a partial batch in the group.
+        try {
+          writeBatch.rollbackToSavePoint();
+        } catch (RocksDBException re) {
+          e.addSuppressed(re);
+          written.completeExceptionally(e);
+        }
+        throw e instanceof IOException ? (IOException) e
+            : new IOException("Failed to add " + batch + " to the group", e);
+      }
+      size++;
+    }
+  }
+
+  private final RocksDatabase db;
+  private final long maxDelayNanos;
+  private final int maxBatchSize;
+  private final VolumeIOStats stats;
+
+  /** The group the new batches are added to. */
+  private Group current = new Group();
+  /** Is a group being written? */
+  private boolean writing = false;
+
+  public PutBlockGroupCommitter(RocksDatabase db, long maxDelay,
+      TimeUnit unit, int maxBatchSize, VolumeIOStats stats) {
+    this.db = db;
+    this.maxDelayNanos = unit.toNanos(maxDelay);
+    this.maxBatchSize = maxBatchSize;
+    this.stats = stats;
+  }
+
+  /**
+   * Commit the given batch with the other batches of its group.
+   * The given batch must not be closed before this method returns.
+   *
+   * @throws IOException if the batch could not be written to the DB.
+   */
+  public void commit(RDBBatchOperation batch) throws IOException {
+    final Group group;
+    synchronized (this) {
+      group = current;
+      try {
+        group.add(batch);
+      } catch (IOException e) {
+        if (!group.written.isDone()) {
+          // The batch is not in the group.
+          throw e;
+        }
+        // Otherwise, the group is broken and all its batches fail below.
+      }
+      if (group.size >= maxBatchSize) {
+        notifyAll();
+      }
+    }
+
+    if (awaitLeadership(group)) {
+      write(group);
+    }
+    try {
+      group.written.join();
+    } catch (CompletionException e) {
+      final Throwable cause = e.getCause();
+      throw cause instanceof IOException ? (IOException) cause
+          : new IOException("Failed to commit " + batch, cause);
+    }
+  }
+
+  /**
+   * Wait until either the given group is written by another thread,
+   * or this thread becomes the leader of the group.
+   *
+   * @return true if this thread is the leader and has to write the group.
+   */
+  private synchronized boolean awaitLeadership(Group group) {
+    boolean interrupted = false;
+    try {
+      while (true) {
+        if (!writing && current == group) {
+          writing = true;
+          if (!group.written.isDone()) {
+            interrupted |= awaitMoreBatches(group);
+          }
+          current = new Group();
+          return true;
+        } else if (group.written.isDone()) {
+          return false;
+        }
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          // The batch is already in the group, wait for the group anyway.
+          interrupted = true;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Wait up to the max delay for more batches to join the given group.
+   *
+   * @return true if interrupted.
+   */
+  private boolean awaitMoreBatches(Group group) {
+    final long deadline = System.nanoTime() + maxDelayNanos;
+    long remaining = maxDelayNanos;
+    while (group.size < maxBatchSize && remaining > 0) {
+      try {
+        TimeUnit.NANOSECONDS.timedWait(this, remaining);
+      } catch (InterruptedException e) {
+        return true;
+      }
+      remaining = deadline - System.nanoTime();
+    }
+    return false;
+  }
+
+  private void write(Group group) {
+    final long start = System.nanoTime();
+    try {
+      if (!group.written.isDone()) {
+        db.batchWrite(group.writeBatch);
+        if (stats != null) {
+          stats.addPutBlockGroupCommit(group.size, System.nanoTime() - start);
+        }
+        group.written.complete(null);
+      }
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Failed to write a group of {} putBlock batches",
+          group.size, e);
+      group.written.completeExceptionally(e);
+    } finally {
+      group.writeBatch.close();
+      synchronized (this) {
+        writing = false;
+        notifyAll();
+      }
+    }
+  }
+}
@@ -24,12 +24,15 @@
 import org.apache.hadoop.ozone.container.common.impl.ContainerData;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.util.Time;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 
 import static org.apache.hadoop.ozone.container.common.interfaces.Container.ScanResult;
@@ -60,9 +63,11 @@ public BackgroundContainerDataScanner(ContainerScannerConfiguration conf,
     super(String.format(NAME_FORMAT, volume), conf.getDataScanInterval());
     this.controller = controller;
     this.volume = volume;
-    throttler = new HddsDataTransferThrottler(conf.getBandwidthPerVolume());
-    canceler = new Canceler();
     this.metrics = ContainerDataScannerMetrics.create(volume.toString());
+    throttler = new HddsDataTransferThrottler(new ScanBandwidthController(
+        String.format(NAME_FORMAT, volume), conf, volume.getVolumeIOStats(),
+        Time.monotonicNow()));
+    canceler = new Canceler();
     this.minScanGap = conf.getContainerScanMinGap();
   }
 
@@ -110,7 +115,10 @@ public void scanContainer(Container<?> c)
 
   @Override
   public Iterator<Container<?>> getContainerIterator() {
-    return controller.getContainers(volume);
+    final List<Container<?>> containers = new ArrayList<>();
+    controller.getContainers(volume).forEachRemaining(containers::add);
+    metrics.setNumContainersToScan(containers.size());
+    return containers.iterator();
   }
 
   private static void logScanStart(ContainerData containerData) {
@@ -155,22 +163,38 @@ public String toString() {
   }
 
   private class HddsDataTransferThrottler extends DataTransferThrottler {
-    HddsDataTransferThrottler(long bandwidthPerSec) {
-      super(bandwidthPerSec);
+    private final ScanBandwidthController bandwidthController;
+
+    HddsDataTransferThrottler(ScanBandwidthController bandwidthController) {
+      super(bandwidthController.getBandwidth());
+      this.bandwidthController = bandwidthController;
+      metrics.setBandwidth(bandwidthController.getBandwidth());
     }
 
     @Override
     public synchronized void throttle(long numOfBytes) {
-      BackgroundContainerDataScanner.this.metrics.incNumBytesScanned(
-          numOfBytes);
+      onBytesScanned(numOfBytes);
       super.throttle(numOfBytes);
     }
 
     @Override
     public synchronized void throttle(long numOfBytes, Canceler c) {
-      BackgroundContainerDataScanner.this.metrics.incNumBytesScanned(
-          numOfBytes);
+      onBytesScanned(numOfBytes);
       super.throttle(numOfBytes, c);
     }
+
+    private void onBytesScanned(long numOfBytes) {
+      metrics.incNumBytesScanned(numOfBytes);
+      if (bandwidthController.onBytesScanned(numOfBytes,
+          Time.monotonicNow())) {
+        final long bandwidth = bandwidthController.getBandwidth();
+        if (bandwidth != getBandwidth()) {
+          setBandwidth(bandwidth);
+        }
+        metrics.setBandwidth(bandwidth);
+        metrics.setAchievedBandwidth(
+            bandwidthController.getAchievedBandwidth());
+      }
+    }
   }
 }
@@ -22,6 +22,8 @@
 import org.apache.hadoop.metrics2.annotation.Metric;
 import org.apache.hadoop.metrics2.annotation.Metrics;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableGaugeInt;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
 import org.apache.hadoop.metrics2.lib.MutableRate;
 
 import java.util.concurrent.ThreadLocalRandom;
@@ -37,6 +39,17 @@
   @Metric("disk bandwidth used by the container data scanner per volume")
   private MutableRate numBytesScanned;
 
+  @Metric("number of containers to scan in the current iteration")
+  private MutableGaugeInt numContainersToScan;
+
+  @Metric("I/O bandwidth in bytes per second the container data scanner is"
+      + " throttled to")
+  private MutableGaugeLong bandwidth;
+
+  @Metric("I/O bandwidth in bytes per second achieved by the container data"
+      + " scanner in the last interval")
+  private MutableGaugeLong achievedBandwidth;
+
   public double getNumBytesScannedMean() {
     return numBytesScanned.lastStat().mean();
   }
@@ -53,6 +66,30 @@ public void incNumBytesScanned(long bytes) {
     numBytesScanned.add(bytes);
   }
 
+  public int getNumContainersToScan() {
+    return numContainersToScan.value();
+  }
+
+  public void setNumContainersToScan(int count) {
+    numContainersToScan.set(count);
+  }
+
+  public long getBandwidth() {
+    return bandwidth.value();
+  }
+
+  public void setBandwidth(long bytesPerSecond) {
+    bandwidth.set(bytesPerSecond);
+  }
+
+  public long getAchievedBandwidth() {
+    return achievedBandwidth.value();
+  }
+
+  public void setAchievedBandwidth(long bytesPerSecond) {
+    achievedBandwidth.set(bytesPerSecond);
+  }
+
   private ContainerDataScannerMetrics(String name, MetricsSystem ms) {
     super(name, ms);
   }
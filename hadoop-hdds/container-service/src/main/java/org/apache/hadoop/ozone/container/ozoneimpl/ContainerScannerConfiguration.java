@@ -56,6 +56,16 @@ public class ContainerScannerConfiguration {
       "hdds.container.scrub.on.demand.volume.bytes.per.second";
   public static final String CONTAINER_SCAN_MIN_GAP =
       "hdds.container.scrub.min.gap";
+  public static final String ADAPTIVE_MIN_VOLUME_BYTES_PER_SECOND_KEY =
+      "hdds.container.scrub.adaptive.min.volume.bytes.per.second";
+  public static final String ADAPTIVE_MAX_VOLUME_BYTES_PER_SECOND_KEY =
+      "hdds.container.scrub.adaptive.max.volume.bytes.per.second";
+  public static final String ADAPTIVE_TARGET_LATENCY_KEY =
+      "hdds.container.scrub.adaptive.target.latency";
+  public static final String ADAPTIVE_MAX_QUEUE_DEPTH_KEY =
+      "hdds.container.scrub.adaptive.max.queue.depth";
+  public static final String ADAPTIVE_INTERVAL_KEY =
+      "hdds.container.scrub.adaptive.interval";
 
   static final long CONTAINER_SCAN_MIN_GAP_DEFAULT =
       Duration.ofMinutes(15).toMillis();
@@ -69,6 +79,14 @@ public class ContainerScannerConfiguration {
   public static final long ON_DEMAND_BANDWIDTH_PER_VOLUME_DEFAULT =
       OzoneConsts.MB * 5L;
 
+  static final long ADAPTIVE_MIN_BANDWIDTH_PER_VOLUME_DEFAULT = OzoneConsts.MB;
+  static final long ADAPTIVE_MAX_BANDWIDTH_PER_VOLUME_DEFAULT =
+      OzoneConsts.MB * 100L;
+  static final long ADAPTIVE_TARGET_LATENCY_DEFAULT = 20;
+  static final int ADAPTIVE_MAX_QUEUE_DEPTH_DEFAULT = 8;
+  static final long ADAPTIVE_INTERVAL_DEFAULT =
+      Duration.ofSeconds(10).toMillis();
+
   @Config(key = "enabled",
       type = ConfigType.BOOLEAN,
       defaultValue = "true",
@@ -138,6 +156,66 @@ public class ContainerScannerConfiguration {
   )
   private long containerScanMinGap = CONTAINER_SCAN_MIN_GAP_DEFAULT;
 
+  @Config(key = "adaptive.enabled",
+      type = ConfigType.BOOLEAN,
+      defaultValue = "false",
+      tags = {ConfigTag.STORAGE},
+      description = "If true, the I/O bandwidth of the background container"
+          + " data scanner of each volume is adjusted to the foreground load"
+          + " of the volume, between adaptive.min.volume.bytes.per.second and"
+          + " adaptive.max.volume.bytes.per.second, starting from"
+          + " volume.bytes.per.second.  The bandwidth is halved when the"
+          + " average latency of the chunk reads and writes exceeds"
+          + " adaptive.target.latency or the volume read queue is deeper"
+          + " than adaptive.max.queue.depth, and increased otherwise.")
+  private boolean adaptiveEnabled = false;
+
+  @Config(key = "adaptive.min.volume.bytes.per.second",
+      type = ConfigType.LONG,
+      defaultValue = "1048576",
+      tags = {ConfigTag.STORAGE},
+      description = "The minimum I/O bandwidth of the adaptive background"
+          + " container data scanner per volume.")
+  private long adaptiveMinBandwidthPerVolume =
+      ADAPTIVE_MIN_BANDWIDTH_PER_VOLUME_DEFAULT;
+
+  @Config(key = "adaptive.max.volume.bytes.per.second",
+      type = ConfigType.LONG,
+      defaultValue = "104857600",
+      tags = {ConfigTag.STORAGE},
+      description = "The maximum I/O bandwidth of the adaptive background"
+          + " container data scanner per volume, used when the volume is"
+          + " idle.")
+  private long adaptiveMaxBandwidthPerVolume =
+      ADAPTIVE_MAX_BANDWIDTH_PER_VOLUME_DEFAULT;
+
+  @Config(key = "adaptive.target.latency",
+      type = ConfigType.TIME,
+      defaultValue = "20ms",
+      tags = {ConfigTag.STORAGE},
+      description = "The average latency of the chunk reads and writes of a"
+          + " volume above which the adaptive background container data"
+          + " scanner backs off. Unit could be defined with postfix"
+          + " (ns,ms,s,m,h,d).")
+  private long adaptiveTargetLatency = ADAPTIVE_TARGET_LATENCY_DEFAULT;
+
+  @Config(key = "adaptive.max.queue.depth",
+      type = ConfigType.INT,
+      defaultValue = "8",
+      tags = {ConfigTag.STORAGE},
+      description = "The depth of the read queue of a volume above which the"
+          + " adaptive background container data scanner backs off.")
+  private int adaptiveMaxQueueDepth = ADAPTIVE_MAX_QUEUE_DEPTH_DEFAULT;
+
+  @Config(key = "adaptive.interval",
+      type = ConfigType.TIME,
+      defaultValue = "10s",
+      tags = {ConfigTag.STORAGE},
+      description = "The interval at which the background container data"
+          + " scanner bandwidth is adjusted, and its achieved bandwidth is"
+          + " measured. Unit could be defined with postfix (ns,ms,s,m,h,d).")
+  private long adaptiveInterval = ADAPTIVE_INTERVAL_DEFAULT;
+
   @PostConstruct
   public void validate() {
     if (metadataScanInterval < 0) {
@@ -173,6 +251,39 @@ public void validate() {
           onDemandBandwidthPerVolume, ON_DEMAND_BANDWIDTH_PER_VOLUME_DEFAULT);
       onDemandBandwidthPerVolume = ON_DEMAND_BANDWIDTH_PER_VOLUME_DEFAULT;
     }
+
+    if (adaptiveMinBandwidthPerVolume <= 0) {
+      LOG.warn(ADAPTIVE_MIN_VOLUME_BYTES_PER_SECOND_KEY +
+              " must be > 0 and was set to {}. Defaulting to {}",
+          adaptiveMinBandwidthPerVolume,
+          ADAPTIVE_MIN_BANDWIDTH_PER_VOLUME_DEFAULT);
+      adaptiveMinBandwidthPerVolume = ADAPTIVE_MIN_BANDWIDTH_PER_VOLUME_DEFAULT;
+    }
+    if (adaptiveMaxBandwidthPerVolume < adaptiveMinBandwidthPerVolume) {
+      LOG.warn(ADAPTIVE_MAX_VOLUME_BYTES_PER_SECOND_KEY +
+              " must be >= {} and was set to {}. Defaulting to {}",
+          adaptiveMinBandwidthPerVolume, adaptiveMaxBandwidthPerVolume,
+          adaptiveMinBandwidthPerVolume);
+      adaptiveMaxBandwidthPerVolume = adaptiveMinBandwidthPerVolume;
+    }
+    if (adaptiveTargetLatency <= 0) {
+      LOG.warn(ADAPTIVE_TARGET_LATENCY_KEY +
+              " must be > 0 and was set to {}. Defaulting to {}",
+          adaptiveTargetLatency, ADAPTIVE_TARGET_LATENCY_DEFAULT);
+      adaptiveTargetLatency = ADAPTIVE_TARGET_LATENCY_DEFAULT;
+    }
+    if (adaptiveMaxQueueDepth < 0) {
+      LOG.warn(ADAPTIVE_MAX_QUEUE_DEPTH_KEY +
+              " must be >= 0 and was set to {}. Defaulting to {}",
+          adaptiveMaxQueueDepth, ADAPTIVE_MAX_QUEUE_DEPTH_DEFAULT);
+      adaptiveMaxQueueDepth = ADAPTIVE_MAX_QUEUE_DEPTH_DEFAULT;
+    }
+    if (adaptiveInterval <= 0) {
+      LOG.warn(ADAPTIVE_INTERVAL_KEY +
+              " must be > 0 and was set to {}. Defaulting to {}",
+          adaptiveInterval, ADAPTIVE_INTERVAL_DEFAULT);
+      adaptiveInterval = ADAPTIVE_INTERVAL_DEFAULT;
+    }
   }
 
   public void setEnabled(boolean enabled) {
@@ -218,4 +329,36 @@ public long getOnDemandBandwidthPerVolume() {
   public long getContainerScanMinGap() {
     return containerScanMinGap;
   }
+
+  public boolean isAdaptiveEnabled() {
+    return adaptiveEnabled;
+  }
+
+  public void setAdaptiveEnabled(boolean adaptiveEnabled) {
+    this.adaptiveEnabled = adaptiveEnabled;
+  }
+
+  public long getAdaptiveMinBandwidthPerVolume() {
+    return adaptiveMinBandwidthPerVolume;
+  }
+
+  public long getAdaptiveMaxBandwidthPerVolume() {
+    return adaptiveMaxBandwidthPerVolume;
+  }
+
+  public long getAdaptiveTargetLatency() {
+    return adaptiveTargetLatency;
+  }
+
+  public int getAdaptiveMaxQueueDepth() {
+    return adaptiveMaxQueueDepth;
+  }
+
+  public long getAdaptiveInterval() {
+    return adaptiveInterval;
+  }
+
+  public void setAdaptiveInterval(long adaptiveInterval) {
+    this.adaptiveInterval = adaptiveInterval;
+  }
 }
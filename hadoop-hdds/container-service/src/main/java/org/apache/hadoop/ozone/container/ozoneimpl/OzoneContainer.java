@@ -112,7 +112,7 @@ public class OzoneContainer {
   private final StorageVolumeChecker volumeChecker;
   private final ContainerSet containerSet;
   private final XceiverServerSpi writeChannel;
-  private final XceiverServerSpi readChannel;
+  private final XceiverServerGrpc readChannel;
   private final ContainerController controller;
   private BackgroundContainerMetadataScanner metadataScanner;
   private List<BackgroundContainerDataScanner> dataScanners;
@@ -236,7 +236,7 @@ public OzoneContainer(HddsDatanodeService hddsDatanodeService,
         datanodeDetails.threadNamePrefix());
 
     readChannel = new XceiverServerGrpc(
-        datanodeDetails, config, hddsDispatcher, certClient);
+        datanodeDetails, config, hddsDispatcher, certClient, containerSet);
     Duration blockDeletingSvcInterval = dnConf.getBlockDeletionInterval();
 
     long blockDeletingServiceTimeout = config
@@ -519,6 +519,9 @@ public void handleVolumeFailures() {
     if (containerSet != null) {
       containerSet.handleVolumeFailures(context);
     }
+    if (readChannel != null) {
+      readChannel.handleVolumeFailures();
+    }
   }
 
   @VisibleForTesting
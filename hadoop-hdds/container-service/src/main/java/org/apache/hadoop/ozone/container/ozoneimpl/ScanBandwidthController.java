@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.ozoneimpl;
+
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Controls the I/O bandwidth of the {@link BackgroundContainerDataScanner}
+ * of a volume.
+ * <p>
+ * Once per interval, the bandwidth achieved by the scanner is measured.
+ * When adaptive, the bandwidth is also adjusted to the foreground load of
+ * the volume, as observed by its {@link VolumeIOStats}:
+ * it is halved when the average latency of the chunk reads and writes or
+ * the depth of the volume read queue exceeds its target,
+ * doubled when the volume had no foreground I/O,
+ * and increased by the minimum bandwidth otherwise.
+ * The scanner reads the containers directly, so its own reads are not
+ * counted in the {@link VolumeIOStats}.
+ */
+class ScanBandwidthController {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ScanBandwidthController.class);
+
+  private final String name;
+  private final VolumeIOStats stats;
+  private final boolean adaptive;
+  private final long minBandwidth;
+  private final long maxBandwidth;
+  private final long targetLatency;
+  private final int maxQueueDepth;
+  private final long interval;
+
+  private long bandwidth;
+  private long achievedBandwidth;
+  private long bytesInInterval;
+  private long intervalStart;
+  private long lastOpCount;
+  private long lastOpTime;
+
+  /**
+   * @param stats the stats of the volume; if null, the bandwidth is fixed.
+   * @param now the current monotonic time in milliseconds.
+   */
+  ScanBandwidthController(String name, ContainerScannerConfiguration conf,
+      VolumeIOStats stats, long now) {
+    this.name = name;
+    this.stats = stats;
+    this.adaptive = conf.isAdaptiveEnabled() && stats != null;
+    this.minBandwidth = conf.getAdaptiveMinBandwidthPerVolume();
+    this.maxBandwidth = conf.getAdaptiveMaxBandwidthPerVolume();
+    this.targetLatency = conf.getAdaptiveTargetLatency();
+    this.maxQueueDepth = conf.getAdaptiveMaxQueueDepth();
+    this.interval = conf.getAdaptiveInterval();
+
+    this.bandwidth = adaptive
+        ? clamp(conf.getBandwidthPerVolume())
+        : conf.getBandwidthPerVolume();
+    this.intervalStart = now;
+    if (adaptive) {
+      lastOpCount = getOpCount();
+      lastOpTime = getOpTime();
+    }
+  }
+
+  /**
+   * Account for the given bytes scanned.
+   *
+   * @param now the current monotonic time in milliseconds.
+   * @return true if an interval has elapsed, i.e. the bandwidth may have
+   *         changed and the achieved bandwidth has been measured.
+   */
+  synchronized boolean onBytesScanned(long bytes, long now) {
+    bytesInInterval += bytes;
+    final long elapsed = now - intervalStart;
+    if (elapsed < interval) {
+      return false;
+    }
+    achievedBandwidth = bytesInInterval * 1000 / elapsed;
+    bytesInInterval = 0;
+    intervalStart = now;
+    if (adaptive) {
+      adjust();
+    }
+    return true;
+  }
+
+  private void adjust() {
+    final long opCount = getOpCount();
+    final long opTime = getOpTime();
+    final long ops = opCount - lastOpCount;
+    final long latency = ops > 0 ? (opTime - lastOpTime) / ops : 0;
+    final long queueDepth = stats.getReadQueueDepth();
+    lastOpCount = opCount;
+    lastOpTime = opTime;
+
+    final long previous = bandwidth;
+    if (latency > targetLatency || queueDepth > maxQueueDepth) {
+      bandwidth = clamp(bandwidth / 2);
+    } else if (ops == 0 && queueDepth == 0) {
+      bandwidth = clamp(bandwidth * 2);
+    } else {
+      bandwidth = clamp(bandwidth + minBandwidth);
+    }
+    if (bandwidth != previous) {
+      LOG.debug("{}: bandwidth {} -> {} bytes/s, foreground ops={}," +
+              " latency={}ms, queueDepth={}, achieved {} bytes/s",
+          name, previous, bandwidth, ops, latency, queueDepth,
+          achievedBandwidth);
+    }
+  }
+
+  private long clamp(long value) {
+    return Math.min(maxBandwidth, Math.max(minBandwidth, value));
+  }
+
+  private long getOpCount() {
+    return stats.getReadOpCount() + stats.getWriteOpCount();
+  }
+
+  private long getOpTime() {
+    return stats.getReadTime() + stats.getWriteTime();
+  }
+
+  /** @return the bandwidth in bytes per second to throttle the scanner to. */
+  synchronized long getBandwidth() {
+    return bandwidth;
+  }
+
+  /** @return the bandwidth in bytes per second achieved in last interval. */
+  synchronized long getAchievedBandwidth() {
+    return achievedBandwidth;
+  }
+}
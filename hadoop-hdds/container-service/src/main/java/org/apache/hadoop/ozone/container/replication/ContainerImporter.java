@@ -42,6 +42,7 @@
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.keyvalue.TarContainerPacker;
 import org.apache.hadoop.ozone.container.ozoneimpl.ContainerController;
+import org.apache.hadoop.ozone.container.replication.ReplicationServer.ReplicationConfig;
 import jakarta.annotation.Nonnull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,6 +62,7 @@ public class ContainerImporter {
   private final MutableVolumeSet volumeSet;
   private final VolumeChoosingPolicy volumeChoosingPolicy;
   private final long containerSize;
+  private final int compressionThreads;
 
   private final Set<Long> importContainerProgress
       = Collections.synchronizedSet(new HashSet<>());
@@ -82,6 +84,8 @@ public ContainerImporter(@Nonnull ConfigurationSource conf,
     containerSize = (long) conf.getStorageSize(
         ScmConfigKeys.OZONE_SCM_CONTAINER_SIZE,
         ScmConfigKeys.OZONE_SCM_CONTAINER_SIZE_DEFAULT, StorageUnit.BYTES);
+    compressionThreads = conf.getObject(ReplicationConfig.class)
+        .getCompressionThreads();
     this.conf = conf;
   }
 
@@ -169,7 +173,7 @@ protected Set<Long> getImportContainerProgress() {
   }
 
   protected TarContainerPacker getPacker(CopyContainerCompression compression) {
-    return new TarContainerPacker(compression);
+    return new TarContainerPacker(compression, compressionThreads);
   }
 
 }
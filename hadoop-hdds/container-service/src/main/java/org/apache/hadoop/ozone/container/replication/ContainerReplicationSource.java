@@ -20,6 +20,8 @@
 import java.io.IOException;
 import java.io.OutputStream;
 
+import org.apache.hadoop.hdds.DatanodeVersion;
+
 /**
  * Contract to prepare provide the container in binary form..
  * <p>
@@ -48,4 +50,20 @@ void copyData(long containerId, OutputStream destination,
       CopyContainerCompression compression)
       throws IOException;
 
+  /**
+   * Copy the container data to an output stream, in a format the importer
+   * running the given version can read.
+   *
+   * @param containerId Container to replicate
+   * @param destination The destination stream to copy all the container data.
+   * @param compression Compression algorithm.
+   * @param importerVersion Version of the datanode importing the container.
+   * @throws IOException
+   */
+  default void copyData(long containerId, OutputStream destination,
+      CopyContainerCompression compression, DatanodeVersion importerVersion)
+      throws IOException {
+    copyData(containerId, destination, compression);
+  }
+
 }
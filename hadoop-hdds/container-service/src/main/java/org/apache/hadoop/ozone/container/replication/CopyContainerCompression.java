@@ -101,9 +101,14 @@ public static CopyContainerCompression fromProto(
     }
   }
 
+  /**
+   * Wrap the given input stream to decompress it.  The input may consist of
+   * multiple concatenated compressed streams, as written by
+   * {@link ParallelCompressingOutputStream}.
+   */
   public InputStream wrap(InputStream input) throws IOException {
     try {
-      return new CompressorStreamFactory().createCompressorInputStream(
+      return new CompressorStreamFactory(true).createCompressorInputStream(
           compressorFactoryName, input);
     } catch (CompressorException e) {
       throw toIOException(e);
@@ -28,6 +28,7 @@
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.apache.hadoop.hdds.DatanodeVersion;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.CopyContainerRequestProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.CopyContainerResponseProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.SendContainerRequest;
@@ -108,6 +109,7 @@ public CompletableFuture<Path> download(long containerId, Path dir) {
             .setLen(-1)
             .setReadOffset(0)
             .setCompression(compression.toProto())
+            .setVersion(DatanodeVersion.CURRENT_VERSION)
             .build();
 
     CompletableFuture<Path> response = new CompletableFuture<>();
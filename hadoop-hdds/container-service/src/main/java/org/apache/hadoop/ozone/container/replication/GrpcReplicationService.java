@@ -24,6 +24,7 @@
 import java.util.HashSet;
 import java.util.Set;
 
+import org.apache.hadoop.hdds.DatanodeVersion;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.CopyContainerRequestProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.CopyContainerResponseProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.SendContainerRequest;
@@ -148,7 +149,8 @@ public void download(CopyContainerRequestProto request,
           // that allows flow control.
           (CallStreamObserver<CopyContainerResponseProto>) responseObserver,
           containerID, BUFFER_SIZE);
-      source.copyData(containerID, outputStream, compression);
+      source.copyData(containerID, outputStream, compression,
+          DatanodeVersion.fromProtoValue(request.getVersion()));
     } catch (IOException e) {
       LOG.warn("Error streaming container {}", containerID, e);
       responseObserver.onError(e);
@@ -20,12 +20,14 @@
 import java.io.IOException;
 import java.io.OutputStream;
 
+import org.apache.hadoop.hdds.DatanodeVersion;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 
 import org.apache.hadoop.ozone.container.keyvalue.TarContainerPacker;
 import org.apache.hadoop.ozone.container.ozoneimpl.ContainerController;
 
+import static org.apache.hadoop.hdds.DatanodeVersion.MULTI_FRAME_CONTAINER_IMPORT;
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.CONTAINER_NOT_FOUND;
 
 /**
@@ -36,10 +38,22 @@
     implements ContainerReplicationSource {
 
   private final ContainerController controller;
+  private final int compressionThreads;
 
   public OnDemandContainerReplicationSource(
       ContainerController controller) {
+    this(controller, 1);
+  }
+
+  /**
+   * @param compressionThreads the number of threads compressing each
+   *                           exported container, if the importer can read
+   *                           the multi-frame output.
+   */
+  public OnDemandContainerReplicationSource(
+      ContainerController controller, int compressionThreads) {
     this.controller = controller;
+    this.compressionThreads = compressionThreads;
   }
 
   @Override
@@ -51,7 +65,24 @@ public void prepare(long containerId) {
   public void copyData(long containerId, OutputStream destination,
                        CopyContainerCompression compression)
       throws IOException {
+    exportContainer(containerId, destination,
+        new TarContainerPacker(compression));
+  }
 
+  @Override
+  public void copyData(long containerId, OutputStream destination,
+      CopyContainerCompression compression, DatanodeVersion importerVersion)
+      throws IOException {
+    // Older importers stop decompressing after the first frame.
+    final int threads =
+        importerVersion.compareTo(MULTI_FRAME_CONTAINER_IMPORT) >= 0
+            ? compressionThreads : 1;
+    exportContainer(containerId, destination,
+        new TarContainerPacker(compression, threads));
+  }
+
+  private void exportContainer(long containerId, OutputStream destination,
+      TarContainerPacker packer) throws IOException {
     Container container = controller.getContainer(containerId);
 
     if (container == null) {
@@ -60,7 +91,6 @@ public void copyData(long containerId, OutputStream destination,
     }
 
     controller.exportContainer(
-        container.getContainerType(), containerId, destination,
-        new TarContainerPacker(compression));
+        container.getContainerType(), containerId, destination, packer);
   }
 }
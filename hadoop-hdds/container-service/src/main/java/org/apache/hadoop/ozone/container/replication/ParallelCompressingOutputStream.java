@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.replication;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Compresses the data written to it on multiple threads.
+ * <p>
+ * The data is split into frames of a fixed size, each frame is compressed
+ * independently by the given executor, and the compressed frames are written
+ * to the underlying stream in order.  The result is a concatenation of
+ * complete compressed streams, which {@link CopyContainerCompression#wrap}
+ * decompresses as a single stream.
+ */
+public class ParallelCompressingOutputStream extends OutputStream {
+
+  private final CopyContainerCompression compression;
+  private final OutputStream out;
+  private final ExecutorService executor;
+  private final int frameSize;
+  private final int maxPendingFrames;
+
+  /** The frames being compressed, in order. */
+  private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+  private byte[] frame;
+  private int frameLength;
+  private long frameCount;
+  private boolean closed;
+
+  /**
+   * @param maxPendingFrames the max number of frames being compressed,
+   *                         which bounds the memory used by this stream.
+   */
+  public ParallelCompressingOutputStream(CopyContainerCompression compression,
+      OutputStream out, ExecutorService executor, int frameSize,
+      int maxPendingFrames) {
+    this.compression = compression;
+    this.out = out;
+    this.executor = executor;
+    this.frameSize = frameSize;
+    this.maxPendingFrames = maxPendingFrames;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    write(new byte[] {(byte) b}, 0, 1);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    checkNotClosed();
+    while (len > 0) {
+      if (frame == null) {
+        frame = new byte[frameSize];
+      }
+      final int n = Math.min(len, frameSize - frameLength);
+      System.arraycopy(b, off, frame, frameLength, n);
+      frameLength += n;
+      off += n;
+      len -= n;
+      if (frameLength == frameSize) {
+        submitFrame();
+      }
+    }
+  }
+
+  /**
+   * Compress the buffered data as a frame and write all the frames.
+   */
+  @Override
+  public void flush() throws IOException {
+    checkNotClosed();
+    if (frameLength > 0) {
+      submitFrame();
+    }
+    while (!pending.isEmpty()) {
+      writeFrame(pending.poll());
+    }
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    try {
+      // An empty stream is still a valid compressed stream.
+      if (frameLength > 0 || frameCount == 0) {
+        submitFrame();
+      }
+      while (!pending.isEmpty()) {
+        writeFrame(pending.poll());
+      }
+    } finally {
+      closed = true;
+      pending.forEach(f -> f.cancel(true));
+      pending.clear();
+      out.close();
+    }
+  }
+
+  private void submitFrame() throws IOException {
+    final byte[] data = frame != null ? frame : new byte[0];
+    final int length = frameLength;
+    frame = null;
+    frameLength = 0;
+    frameCount++;
+    pending.add(executor.submit(() -> compress(data, length)));
+    while (pending.size() > maxPendingFrames) {
+      writeFrame(pending.poll());
+    }
+  }
+
+  private byte[] compress(byte[] data, int length) throws IOException {
+    final ByteArrayOutputStream compressed =
+        new ByteArrayOutputStream(length / 2 + 64);
+    try (OutputStream output = compression.wrap(compressed)) {
+      output.write(data, 0, length);
+    }
+    return compressed.toByteArray();
+  }
+
+  private void writeFrame(Future<byte[]> future) throws IOException {
+    final byte[] compressed;
+    try {
+      compressed = future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while compressing");
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      throw cause instanceof IOException ? (IOException) cause
+          : new IOException("Failed to compress a frame", cause);
+    }
+    out.write(compressed);
+  }
+
+  private void checkNotClosed() throws IOException {
+    if (closed) {
+      throw new IOException("Stream is closed");
+    }
+  }
+}
@@ -17,6 +17,7 @@
  */
 package org.apache.hadoop.ozone.container.replication;
 
+import org.apache.hadoop.hdds.DatanodeVersion;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.utils.IOUtils;
@@ -64,7 +65,8 @@ public void replicate(ReplicationTask task) {
     try {
       output = new CountingOutputStream(
           uploader.startUpload(containerID, target, fut, compression));
-      source.copyData(containerID, output, compression);
+      source.copyData(containerID, output, compression,
+          DatanodeVersion.fromProtoValue(target.getCurrentVersion()));
       fut.get();
 
       task.setTransferredBytes(output.getByteCount());
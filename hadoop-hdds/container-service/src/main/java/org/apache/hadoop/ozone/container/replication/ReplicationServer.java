@@ -65,6 +65,7 @@ public class ReplicationServer {
   private ContainerController controller;
 
   private int port;
+  private final int compressionThreads;
   private final ContainerImporter importer;
 
   private ThreadPoolExecutor executor;
@@ -78,6 +79,7 @@ public ReplicationServer(ContainerController controller,
     this.controller = controller;
     this.importer = importer;
     this.port = replicationConfig.getPort();
+    this.compressionThreads = replicationConfig.getCompressionThreads();
 
     int replicationServerWorkers =
         replicationConfig.getReplicationMaxStreams();
@@ -104,7 +106,8 @@ public ReplicationServer(ContainerController controller,
 
   public void init(boolean enableZeroCopy) {
     GrpcReplicationService grpcReplicationService = new GrpcReplicationService(
-        new OnDemandContainerReplicationSource(controller), importer,
+        new OnDemandContainerReplicationSource(controller, compressionThreads),
+        importer,
         enableZeroCopy);
     NettyServerBuilder nettyServerBuilder = NettyServerBuilder.forPort(port)
         .maxInboundMessageSize(OzoneConsts.OZONE_SCM_CHUNK_MAX_SIZE)
@@ -208,6 +211,10 @@ public static final class ReplicationConfig {
     private static final String ZEROCOPY_ENABLE_DEFAULT_VALUE =
         "true";
 
+    public static final String COMPRESSION_THREADS_KEY =
+        "compression.threads";
+    private static final int COMPRESSION_THREADS_DEFAULT = 1;
+
     /**
      * The maximum number of replication commands a single datanode can execute
      * simultaneously.
@@ -258,6 +265,21 @@ public static final class ReplicationConfig {
     )
     private boolean zeroCopyEnable = ZEROCOPY_ENABLE_DEFAULT;
 
+    @Config(key = COMPRESSION_THREADS_KEY,
+        type = ConfigType.INT,
+        defaultValue = "1",
+        tags = {DATANODE},
+        description = "The number of threads compressing a container " +
+            "exported for replication, if hdds.container.replication." +
+            "compression is enabled.  With more than 1 thread, the " +
+            "container is compressed in independent frames in parallel, " +
+            "and imported containers are decompressed ahead of the " +
+            "extraction by a separate thread.  Importers running an older " +
+            "version, which cannot read multiple frames, still receive a " +
+            "single frame."
+    )
+    private int compressionThreads = COMPRESSION_THREADS_DEFAULT;
+
     public double getOutOfServiceFactor() {
       return outOfServiceFactor;
     }
@@ -299,6 +321,14 @@ public void setZeroCopyEnable(boolean zeroCopyEnable) {
       this.zeroCopyEnable = zeroCopyEnable;
     }
 
+    public int getCompressionThreads() {
+      return compressionThreads;
+    }
+
+    public void setCompressionThreads(int compressionThreads) {
+      this.compressionThreads = compressionThreads;
+    }
+
     @PostConstruct
     public void validate() {
       if (replicationMaxStreams < 1) {
@@ -319,6 +349,13 @@ public void validate() {
             OUTOFSERVICE_FACTOR_DEFAULT);
         outOfServiceFactor = OUTOFSERVICE_FACTOR_DEFAULT;
       }
+
+      if (compressionThreads < 1) {
+        LOG.warn("{}.{} must be greater than zero and was set to {}. " +
+                "Defaulting to {}", PREFIX, COMPRESSION_THREADS_KEY,
+            compressionThreads, COMPRESSION_THREADS_DEFAULT);
+        compressionThreads = COMPRESSION_THREADS_DEFAULT;
+      }
     }
 
   }
@@ -81,6 +81,9 @@ public final class ReplicationSupervisor {
   private final Map<String, AtomicLong> timeoutCounter = new ConcurrentHashMap<>();
   private final Map<String, AtomicLong> skippedCounter = new ConcurrentHashMap<>();
   private final Map<String, AtomicLong> queuedCounter = new ConcurrentHashMap<>();
+  // Bytes transferred and time spent by the successful replication tasks.
+  private final AtomicLong transferredBytes = new AtomicLong();
+  private final AtomicLong transferTimeMs = new AtomicLong();
 
   private final MetricsRegistry registry;
   private final Map<String, MutableRate> opsLatencyMs = new ConcurrentHashMap<>();
@@ -405,6 +408,11 @@ public void run() {
         } else if (task.getStatus() == Status.DONE) {
           LOG.info("Successful {}", this);
           successCounter.get(task.getMetricName()).incrementAndGet();
+          if (task instanceof ReplicationTask) {
+            transferredBytes.addAndGet(
+                ((ReplicationTask) task).getTransferredBytes());
+            transferTimeMs.addAndGet(Time.monotonicNow() - startTime);
+          }
         } else if (task.getStatus() == Status.SKIPPED) {
           LOG.info("Skipped {}", this);
           skippedCounter.get(task.getMetricName()).incrementAndGet();
@@ -535,6 +543,30 @@ public long getReplicationQueuedCount(String metricsName) {
     return counter != null ? counter.get() : 0;
   }
 
+  /**
+   * @return the bytes transferred by the successful container replications.
+   */
+  public long getReplicationTransferredBytes() {
+    return transferredBytes.get();
+  }
+
+  /**
+   * @return the time in milliseconds spent by the successful container
+   *         replications.
+   */
+  public long getReplicationTransferTime() {
+    return transferTimeMs.get();
+  }
+
+  /**
+   * @return the average throughput in bytes per second of the successful
+   *         container replications.
+   */
+  public long getReplicationThroughput() {
+    final long time = transferTimeMs.get();
+    return time > 0 ? transferredBytes.get() * 1000 / time : 0;
+  }
+
   public long getReplicationRequestAvgTime(String metricsName) {
     MutableRate rate = opsLatencyMs.get(metricsName);
     return rate != null ? (long) rate.lastStat().mean() : 0;
@@ -86,7 +86,16 @@ public void getMetrics(MetricsCollector collector, boolean all) {
             supervisor.getReplicationSkippedCount())
         .addGauge(Interns.info("maxReplicationStreams", "Maximum number of "
             + "concurrent replication tasks which can run simultaneously"),
-            supervisor.getMaxReplicationStreams());
+            supervisor.getMaxReplicationStreams())
+        .addGauge(Interns.info("numTransferredBytes", "Number of bytes "
+            + "transferred by successful container replications"),
+            supervisor.getReplicationTransferredBytes())
+        .addGauge(Interns.info("transferTimeMs", "Time spent by successful "
+            + "container replications in milliseconds"),
+            supervisor.getReplicationTransferTime())
+        .addGauge(Interns.info("transferThroughput", "Average throughput of "
+            + "successful container replications in bytes per second"),
+            supervisor.getReplicationThroughput());
 
     Map<String, String> metricsMap = ReplicationSupervisor.getMetricsMap();
     if (!metricsMap.isEmpty()) {
@@ -0,0 +1,45 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.protocol.commands;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Commands for the same datanode, which are queued together.
+ */
+public class CommandsForDatanode {
+
+  private final UUID datanodeId;
+
+  private final List<SCMCommand<?>> commands;
+
+  public CommandsForDatanode(UUID datanodeId, List<SCMCommand<?>> commands) {
+    this.datanodeId = datanodeId;
+    this.commands = Collections.unmodifiableList(commands);
+  }
+
+  public UUID getDatanodeId() {
+    return datanodeId;
+  }
+
+  public List<SCMCommand<?>> getCommands() {
+    return commands;
+  }
+}
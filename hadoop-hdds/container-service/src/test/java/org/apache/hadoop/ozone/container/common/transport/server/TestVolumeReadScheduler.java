@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.transport.server;
+
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Type;
+import org.apache.hadoop.ozone.container.common.impl.ContainerData;
+import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
+import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link VolumeReadScheduler}.
+ */
+public class TestVolumeReadScheduler {
+
+  private final ContainerSet containerSet = mock(ContainerSet.class);
+  private HddsVolume slowVolume;
+  private HddsVolume fastVolume;
+  private VolumeReadScheduler scheduler;
+
+  @BeforeEach
+  public void setup() {
+    slowVolume = mockVolume(1L);
+    fastVolume = mockVolume(2L);
+    scheduler = new VolumeReadScheduler(containerSet, 1, 2, "test-");
+  }
+
+  @AfterEach
+  public void cleanup() {
+    scheduler.close();
+    slowVolume.getVolumeIOStats().unregister();
+    fastVolume.getVolumeIOStats().unregister();
+  }
+
+  private HddsVolume mockVolume(long containerID) {
+    HddsVolume volume = mock(HddsVolume.class);
+    String id = UUID.randomUUID().toString();
+    when(volume.getStorageID()).thenReturn(id);
+    VolumeIOStats stats = new VolumeIOStats(id, "/" + id);
+    when(volume.getVolumeIOStats()).thenReturn(stats);
+
+    ContainerData data = mock(ContainerData.class);
+    when(data.getVolume()).thenReturn(volume);
+    @SuppressWarnings("unchecked")
+    Container<ContainerData> container = mock(Container.class);
+    when(container.getContainerData()).thenReturn(data);
+    when(containerSet.getContainer(containerID))
+        .thenAnswer(invocation -> container);
+    return volume;
+  }
+
+  private static ContainerCommandRequestProto request(Type type,
+      long containerID) {
+    return ContainerCommandRequestProto.newBuilder()
+        .setCmdType(type)
+        .setContainerID(containerID)
+        .setDatanodeUuid(UUID.randomUUID().toString())
+        .buildPartial();
+  }
+
+  @Test
+  public void testGetVolume() {
+    assertSame(slowVolume, scheduler.getVolume(request(Type.ReadChunk, 1)));
+    assertSame(fastVolume, scheduler.getVolume(request(Type.GetBlock, 2)));
+    assertSame(fastVolume,
+        scheduler.getVolume(request(Type.GetSmallFile, 2)));
+    // Not a volume read.
+    assertNull(scheduler.getVolume(request(Type.WriteChunk, 1)));
+    // Unknown container.
+    assertNull(scheduler.getVolume(request(Type.ReadChunk, 3)));
+
+    scheduler.close();
+    assertNull(scheduler.getVolume(request(Type.ReadChunk, 1)));
+  }
+
+  @Test
+  public void testSlowVolumeDoesNotBlockOtherVolumes() throws Exception {
+    CountDownLatch slowStarted = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch slowDone = new CountDownLatch(2);
+
+    // Occupy the only thread of the slow volume and queue another read.
+    for (int i = 0; i < 2; i++) {
+      scheduler.execute(slowVolume, () -> {
+        slowStarted.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        slowDone.countDown();
+      });
+    }
+    assertTrue(slowStarted.await(10, TimeUnit.SECONDS));
+    assertEquals(1, slowVolume.getVolumeIOStats().getReadQueueDepth());
+
+    // The fast volume is still served.
+    CountDownLatch fastDone = new CountDownLatch(1);
+    scheduler.execute(fastVolume, fastDone::countDown);
+    assertTrue(fastDone.await(10, TimeUnit.SECONDS));
+    assertEquals(0, fastVolume.getVolumeIOStats().getReadQueueDepth());
+
+    release.countDown();
+    assertTrue(slowDone.await(10, TimeUnit.SECONDS));
+    assertEquals(0, slowVolume.getVolumeIOStats().getReadQueueDepth());
+  }
+
+  @Test
+  public void testQueueIsBounded() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Runnable blocked = () -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    };
+
+    // One read runs on the only thread, two more fill the queue.
+    scheduler.execute(slowVolume, blocked);
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    scheduler.execute(slowVolume, blocked);
+    scheduler.execute(slowVolume, blocked);
+    assertThrows(RejectedExecutionException.class,
+        () -> scheduler.execute(slowVolume, () -> { }));
+    assertEquals(2, slowVolume.getVolumeIOStats().getReadQueueDepth());
+
+    release.countDown();
+  }
+
+  @Test
+  public void testFailedVolumeIsRemoved() throws Exception {
+    CountDownLatch done = new CountDownLatch(1);
+    scheduler.execute(slowVolume, done::countDown);
+    scheduler.execute(fastVolume, () -> { });
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+    assertTrue(scheduler.hasExecutor(slowVolume));
+
+    when(slowVolume.isFailed()).thenReturn(true);
+    scheduler.removeFailedVolumes();
+    assertFalse(scheduler.hasExecutor(slowVolume));
+    assertTrue(scheduler.hasExecutor(fastVolume));
+
+    // Reads of the failed volume are left to the caller.
+    assertThrows(RejectedExecutionException.class,
+        () -> scheduler.execute(slowVolume, () -> { }));
+    assertFalse(scheduler.hasExecutor(slowVolume));
+    assertEquals(0, slowVolume.getVolumeIOStats().getReadQueueDepth());
+  }
+
+  @Test
+  public void testExecuteAfterClose() {
+    scheduler.execute(fastVolume, () -> { });
+    scheduler.close();
+    assertThrows(RejectedExecutionException.class,
+        () -> scheduler.execute(fastVolume, () -> { }));
+    assertEquals(0, fastVolume.getVolumeIOStats().getReadQueueDepth());
+  }
+}
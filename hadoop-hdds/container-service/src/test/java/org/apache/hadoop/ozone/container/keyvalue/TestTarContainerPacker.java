@@ -170,6 +170,19 @@ private KeyValueContainerData createContainer(Path dir, boolean createDir)
   public void pack(ContainerTestVersionInfo versionInfo,
       CopyContainerCompression compression) throws IOException {
     initTests(versionInfo, compression);
+    packAndUnpack();
+  }
+
+  @ParameterizedTest
+  @MethodSource("getLayoutAndCompression")
+  public void packInParallel(ContainerTestVersionInfo versionInfo,
+      CopyContainerCompression compression) throws IOException {
+    initTests(versionInfo, compression);
+    packer = new TarContainerPacker(compression, 4);
+    packAndUnpack();
+  }
+
+  private void packAndUnpack() throws IOException {
     //GIVEN
     KeyValueContainerData sourceContainerData =
         createContainer(SOURCE_CONTAINER_ROOT);
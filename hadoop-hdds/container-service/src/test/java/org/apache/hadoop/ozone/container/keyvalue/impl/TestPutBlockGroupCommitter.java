@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import org.apache.hadoop.hdds.StringUtils;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.db.DBStoreBuilder;
+import org.apache.hadoop.hdds.utils.db.RDBBatchOperation;
+import org.apache.hadoop.hdds.utils.db.RDBStore;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link PutBlockGroupCommitter}.
+ */
+public class TestPutBlockGroupCommitter {
+  private static final String TABLE = "testTable";
+
+  @TempDir
+  private Path folder;
+  private RDBStore store;
+  private Table<byte[], byte[]> table;
+  private final VolumeIOStats stats = mock(VolumeIOStats.class);
+
+  @BeforeEach
+  public void setup() throws Exception {
+    store = (RDBStore) DBStoreBuilder.newBuilder(new OzoneConfiguration())
+        .setName("test.db")
+        .setPath(folder)
+        .addTable(TABLE)
+        .build();
+    table = store.getTable(TABLE);
+  }
+
+  @AfterEach
+  public void cleanup() throws Exception {
+    store.close();
+  }
+
+  private void put(PutBlockGroupCommitter committer, String key)
+      throws IOException {
+    try (RDBBatchOperation batch =
+             (RDBBatchOperation) store.initBatchOperation()) {
+      table.putWithBatch(batch, StringUtils.string2Bytes(key),
+          StringUtils.string2Bytes("value-" + key));
+      committer.commit(batch);
+    }
+  }
+
+  private void assertValue(String key) throws IOException {
+    assertArrayEquals(StringUtils.string2Bytes("value-" + key),
+        table.get(StringUtils.string2Bytes(key)));
+  }
+
+  @Test
+  public void testCommitWithoutDelay() throws Exception {
+    PutBlockGroupCommitter committer = new PutBlockGroupCommitter(
+        store.getDb(), 0, TimeUnit.MILLISECONDS, 64, stats);
+    put(committer, "a");
+    put(committer, "b");
+    assertValue("a");
+    assertValue("b");
+    verify(stats, times(2)).addPutBlockGroupCommit(eq(1), anyLong());
+  }
+
+  @Test
+  public void testConcurrentCommitsInOneGroup() throws Exception {
+    final int batches = 4;
+    // The group is written as soon as it is full, not after the max delay.
+    PutBlockGroupCommitter committer = new PutBlockGroupCommitter(
+        store.getDb(), 1, TimeUnit.HOURS, batches, stats);
+    ExecutorService executor = Executors.newFixedThreadPool(batches);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < batches; i++) {
+        final String key = "key-" + i;
+        futures.add(executor.submit(() -> {
+          put(committer, key);
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    for (int i = 0; i < batches; i++) {
+      assertValue("key-" + i);
+    }
+    verify(stats).addPutBlockGroupCommit(eq(batches), anyLong());
+  }
+
+  @Test
+  public void testFailedWrite() throws Exception {
+    PutBlockGroupCommitter committer = new PutBlockGroupCommitter(
+        store.getDb(), 0, TimeUnit.MILLISECONDS, 64, stats);
+    RDBBatchOperation batch = (RDBBatchOperation) store.initBatchOperation();
+    table.putWithBatch(batch, StringUtils.string2Bytes("a"),
+        StringUtils.string2Bytes("value-a"));
+    store.getDb().close();
+    try {
+      assertThrows(IOException.class, () -> committer.commit(batch));
+    } finally {
+      batch.close();
+    }
+    verify(stats, never()).addPutBlockGroupCommit(anyInt(), anyLong());
+  }
+}
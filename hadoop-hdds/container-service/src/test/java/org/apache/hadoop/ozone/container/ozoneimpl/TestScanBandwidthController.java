@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.ozoneimpl;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.apache.hadoop.ozone.container.ozoneimpl.ContainerScannerConfiguration.ADAPTIVE_INTERVAL_KEY;
+import static org.apache.hadoop.ozone.container.ozoneimpl.ContainerScannerConfiguration.ADAPTIVE_MAX_QUEUE_DEPTH_KEY;
+import static org.apache.hadoop.ozone.container.ozoneimpl.ContainerScannerConfiguration.ADAPTIVE_MAX_VOLUME_BYTES_PER_SECOND_KEY;
+import static org.apache.hadoop.ozone.container.ozoneimpl.ContainerScannerConfiguration.ADAPTIVE_MIN_VOLUME_BYTES_PER_SECOND_KEY;
+import static org.apache.hadoop.ozone.container.ozoneimpl.ContainerScannerConfiguration.ADAPTIVE_TARGET_LATENCY_KEY;
+import static org.apache.hadoop.ozone.container.ozoneimpl.ContainerScannerConfiguration.VOLUME_BYTES_PER_SECOND_KEY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link ScanBandwidthController}.
+ */
+public class TestScanBandwidthController {
+  private static final long INTERVAL = 1000;
+  private static final long MIN = 100;
+  private static final long MAX = 1600;
+
+  private VolumeIOStats stats;
+  private ContainerScannerConfiguration conf;
+  private long now;
+
+  @BeforeEach
+  public void setup() {
+    String id = UUID.randomUUID().toString();
+    stats = new VolumeIOStats(id, "/" + id);
+
+    OzoneConfiguration ozoneConf = new OzoneConfiguration();
+    ozoneConf.setLong(VOLUME_BYTES_PER_SECOND_KEY, 400);
+    ozoneConf.setLong(ADAPTIVE_MIN_VOLUME_BYTES_PER_SECOND_KEY, MIN);
+    ozoneConf.setLong(ADAPTIVE_MAX_VOLUME_BYTES_PER_SECOND_KEY, MAX);
+    ozoneConf.set(ADAPTIVE_TARGET_LATENCY_KEY, "10ms");
+    ozoneConf.setInt(ADAPTIVE_MAX_QUEUE_DEPTH_KEY, 2);
+    ozoneConf.set(ADAPTIVE_INTERVAL_KEY, INTERVAL + "ms");
+    conf = ozoneConf.getObject(ContainerScannerConfiguration.class);
+    conf.setAdaptiveEnabled(true);
+  }
+
+  @AfterEach
+  public void cleanup() {
+    stats.unregister();
+  }
+
+  private ScanBandwidthController newController() {
+    return new ScanBandwidthController("test", conf, stats, now);
+  }
+
+  private long nextInterval(ScanBandwidthController controller) {
+    now += INTERVAL;
+    assertTrue(controller.onBytesScanned(0, now));
+    return controller.getBandwidth();
+  }
+
+  private void foregroundOps(int ops, long latency) {
+    for (int i = 0; i < ops; i++) {
+      stats.incReadOpCount();
+      stats.incReadTime(latency);
+    }
+  }
+
+  @Test
+  public void testFixedBandwidth() {
+    conf.setAdaptiveEnabled(false);
+    ScanBandwidthController controller = newController();
+    assertEquals(400, controller.getBandwidth());
+
+    assertFalse(controller.onBytesScanned(300, now + INTERVAL / 2));
+    now += 2 * INTERVAL;
+    assertTrue(controller.onBytesScanned(300, now));
+    assertEquals(300, controller.getAchievedBandwidth());
+    assertEquals(400, controller.getBandwidth());
+  }
+
+  @Test
+  public void testSpeedUpWhenIdle() {
+    ScanBandwidthController controller = newController();
+    assertEquals(800, nextInterval(controller));
+    assertEquals(MAX, nextInterval(controller));
+    assertEquals(MAX, nextInterval(controller));
+  }
+
+  @Test
+  public void testBackOffOnForegroundLatency() {
+    ScanBandwidthController controller = newController();
+    foregroundOps(10, 50);
+    assertEquals(200, nextInterval(controller));
+    foregroundOps(10, 50);
+    assertEquals(MIN, nextInterval(controller));
+    foregroundOps(10, 50);
+    assertEquals(MIN, nextInterval(controller));
+
+    // Foreground I/O within the target latency.
+    foregroundOps(10, 5);
+    assertEquals(2 * MIN, nextInterval(controller));
+  }
+
+  @Test
+  public void testBackOffOnQueueDepth() {
+    ScanBandwidthController controller = newController();
+    for (int i = 0; i < 3; i++) {
+      stats.incReadQueueDepth();
+    }
+    assertEquals(200, nextInterval(controller));
+
+    stats.decReadQueueDepth(0);
+    assertEquals(200 + MIN, nextInterval(controller));
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.replication;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.apache.hadoop.ozone.container.replication.GrpcOutputStreamTest.getRandomBytes;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link ParallelCompressingOutputStream}.
+ */
+class TestParallelCompressingOutputStream {
+
+  private static final int FRAME_SIZE = 1000;
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setup() {
+    executor = Executors.newFixedThreadPool(3);
+  }
+
+  @AfterEach
+  void cleanup() {
+    executor.shutdownNow();
+  }
+
+  private byte[] compress(CopyContainerCompression compression,
+      byte[] original) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (OutputStream compressed = new ParallelCompressingOutputStream(
+        compression, out, executor, FRAME_SIZE, 2)) {
+      // Writes not aligned to the frames.
+      int off = 0;
+      while (off < original.length) {
+        int len = Math.min(original.length - off, 777);
+        compressed.write(original, off, len);
+        off += len;
+      }
+    }
+    return out.toByteArray();
+  }
+
+  private byte[] decompress(CopyContainerCompression compression,
+      byte[] compressed) throws IOException {
+    try (InputStream uncompressed =
+             compression.wrap(new ByteArrayInputStream(compressed))) {
+      return IOUtils.toByteArray(uncompressed);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource
+  void testMultipleFrames(CopyContainerCompression compression)
+      throws Exception {
+    byte[] original = getRandomBytes(10 * FRAME_SIZE + 123);
+    byte[] compressed = compress(compression, original);
+    assertArrayEquals(original, decompress(compression, compressed));
+  }
+
+  @ParameterizedTest
+  @EnumSource
+  void testEmpty(CopyContainerCompression compression) throws Exception {
+    byte[] compressed = compress(compression, new byte[0]);
+    assertArrayEquals(new byte[0], decompress(compression, compressed));
+  }
+
+  @ParameterizedTest
+  @EnumSource
+  void testWriteAfterClose(CopyContainerCompression compression)
+      throws Exception {
+    OutputStream out = new ParallelCompressingOutputStream(compression,
+        new ByteArrayOutputStream(), executor, FRAME_SIZE, 2);
+    out.close();
+    assertThrows(IOException.class, () -> out.write(1));
+  }
+}
@@ -17,6 +17,7 @@
  */
 package org.apache.hadoop.ozone.container.replication;
 
+import org.apache.hadoop.hdds.DatanodeVersion;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.MockDatanodeDetails;
@@ -156,7 +157,8 @@ private ContainerReplicator createSubject(
       return null;
     })
         .when(source)
-        .copyData(eq(containerID), any(), compressionArgument.capture());
+        .copyData(eq(containerID), any(), compressionArgument.capture(),
+            eq(DatanodeVersion.CURRENT));
 
     return new PushReplicator(conf, source, uploader);
   }
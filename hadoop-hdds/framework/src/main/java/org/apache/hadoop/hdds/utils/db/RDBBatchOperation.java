@@ -147,7 +147,7 @@ private class FamilyCache {
       }
 
       /** Prepare batch write for the entire family. */
-      void prepareBatchWrite() throws IOException {
+      void prepareBatchWrite(ManagedWriteBatch writeBatch) throws IOException {
         Preconditions.checkState(!isCommit, "%s is already committed.", this);
         isCommit = true;
         for (Map.Entry<Bytes, Object> op : ops.entrySet()) {
@@ -283,9 +283,10 @@ void delete(ColumnFamily family, byte[] key) {
     }
 
     /** Prepare batch write for the entire cache. */
-    Closeable prepareBatchWrite() throws IOException {
+    Closeable prepareBatchWrite(ManagedWriteBatch writeBatch)
+        throws IOException {
       for (Map.Entry<String, FamilyCache> e : name2cache.entrySet()) {
-        e.getValue().prepareBatchWrite();
+        e.getValue().prepareBatchWrite(writeBatch);
       }
       return this::clear;
     }
@@ -344,7 +345,7 @@ public String toString() {
   public void commit(RocksDatabase db) throws IOException {
     debug(() -> String.format("%s: commit %s",
         name, opCache.getCommitString()));
-    try (Closeable ignored = opCache.prepareBatchWrite()) {
+    try (Closeable ignored = opCache.prepareBatchWrite(writeBatch)) {
       db.batchWrite(writeBatch);
     }
   }
@@ -353,11 +354,25 @@ public void commit(RocksDatabase db, ManagedWriteOptions writeOptions)
       throws IOException {
     debug(() -> String.format("%s: commit-with-writeOptions %s",
         name, opCache.getCommitString()));
-    try (Closeable ignored = opCache.prepareBatchWrite()) {
+    try (Closeable ignored = opCache.prepareBatchWrite(writeBatch)) {
       db.batchWrite(writeBatch, writeOptions);
     }
   }
 
+  /**
+   * Add the operations of this batch to the given write batch,
+   * so that they can be committed together with other batches
+   * in a single write.
+   * <p>
+   * The given write batch must be committed (or discarded)
+   * before this batch is closed.
+   */
+  public void prepareBatchWrite(ManagedWriteBatch target) throws IOException {
+    debug(() -> String.format("%s: prepare %s",
+        name, opCache.getCommitString()));
+    opCache.prepareBatchWrite(target);
+  }
+
   @Override
   public void close() {
     debug(() -> String.format("%s: close", name));
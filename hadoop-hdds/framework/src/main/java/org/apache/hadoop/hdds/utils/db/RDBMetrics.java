@@ -57,6 +57,8 @@ public static synchronized RDBMetrics create() {
   private @Metric MutableCounterLong numDBKeyGetIfExistChecks;
   private @Metric MutableCounterLong numDBKeyGetIfExistMisses;
   private @Metric MutableCounterLong numDBKeyGetIfExistGets;
+  private @Metric MutableCounterLong numDBMultiGets;
+  private @Metric MutableCounterLong numDBMultiGetKeys;
   // WAL Update data size and sequence count
   private @Metric MutableCounterLong walUpdateDataSize;
   private @Metric MutableCounterLong walUpdateSequenceCount;
@@ -93,6 +95,19 @@ public void incNumDBKeyGetIfExistMisses() {
     this.numDBKeyGetIfExistMisses.incr();
   }
 
+  public long getNumDBMultiGets() {
+    return numDBMultiGets.value();
+  }
+
+  public long getNumDBMultiGetKeys() {
+    return numDBMultiGetKeys.value();
+  }
+
+  public void incNumDBMultiGets(int numKeys) {
+    numDBMultiGets.incr();
+    numDBMultiGetKeys.incr(numKeys);
+  }
+
   public void incNumDBKeyMayExistChecks() {
     numDBKeyMayExistChecks.incr();
   }
@@ -479,6 +479,15 @@ public String getProperty(ColumnFamily family, String property)
     return db.getProperty(family, property);
   }
 
+  /**
+   * @return the estimated native memory used by the memtables and the table
+   *         readers of this DB, excluding the memory of its block cache.
+   */
+  public long getEstimatedNativeMemory() throws IOException {
+    return db.getAggregatedLongProperty(RocksDatabase.ESTIMATE_TABLE_READERS_MEM)
+        + db.getAggregatedLongProperty(RocksDatabase.CUR_SIZE_ALL_MEM_TABLES);
+  }
+
   public RDBMetrics getMetrics() {
     return rdbMetrics;
   }
@@ -134,6 +134,26 @@ Integer get(ByteBuffer key, ByteBuffer outValue) throws IOException {
     return db.get(family, key, outValue);
   }
 
+  @Override
+  public List<byte[]> multiGet(List<byte[]> keys) throws IOException {
+    rdbMetrics.incNumDBMultiGets(keys.size());
+    return db.multiGet(family, keys);
+  }
+
+  /**
+   * Similar to {@link #multiGet(List)} except that the keys and the values
+   * are in direct buffers.
+   *
+   * @return for each key, null if the key is not found;
+   *         otherwise, the size of the value.
+   * @see RocksDatabase#multiGet(RocksDatabase.ColumnFamily, List, List)
+   */
+  List<Integer> multiGet(List<ByteBuffer> keys, List<ByteBuffer> outValues)
+      throws IOException {
+    rdbMetrics.incNumDBMultiGets(keys.size());
+    return db.multiGet(family, keys, outValues);
+  }
+
   /**
    * Skip checking cache and get the value mapped to the given key in byte
    * array or returns null if the key is not found.
@@ -37,12 +37,14 @@
 import org.apache.ozone.rocksdiff.RocksDiffUtils;
 import org.apache.ratis.util.UncheckedAutoCloseable;
 import org.apache.ratis.util.MemoizedSupplier;
+import org.rocksdb.ByteBufferGetStatus;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.Holder;
 import org.rocksdb.KeyMayExist;
 import org.rocksdb.LiveFileMetaData;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.Status;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -79,6 +81,10 @@ public final class RocksDatabase implements Closeable {
   static final Logger LOG = LoggerFactory.getLogger(RocksDatabase.class);
 
   public static final String ESTIMATE_NUM_KEYS = "rocksdb.estimate-num-keys";
+  public static final String ESTIMATE_TABLE_READERS_MEM =
+      "rocksdb.estimate-table-readers-mem";
+  public static final String CUR_SIZE_ALL_MEM_TABLES =
+      "rocksdb.cur-size-all-mem-tables";
   static {
     ManagedRocksObjectUtils.loadRocksDBLibrary();
   }
@@ -691,6 +697,68 @@ Integer get(ColumnFamily family, ByteBuffer key, ByteBuffer outValue)
     }
   }
 
+  /**
+   * Get the values mapped to the given keys with a single MultiGet.
+   *
+   * @param family the table to get from.
+   * @param keys the keys to get.
+   * @return the values in the order of the keys, null for the keys not found.
+   * @throws IOException if the db is closed or the db throws an exception.
+   * @see org.rocksdb.RocksDB#multiGetAsList(org.rocksdb.ReadOptions, List,
+   *                                         List)
+   */
+  List<byte[]> multiGet(ColumnFamily family, List<byte[]> keys)
+      throws IOException {
+    try (UncheckedAutoCloseable ignored = acquire()) {
+      return db.get().multiGetAsList(DEFAULT_READ_OPTION,
+          Collections.nCopies(keys.size(), family.getHandle()), keys);
+    } catch (RocksDBException e) {
+      closeOnError(e);
+      throw toIOException(this, "multiGet " + keys.size() + " keys from "
+          + family, e);
+    }
+  }
+
+  /**
+   * Get the values mapped to the given keys with a single MultiGet.
+   *
+   * @param family the table to get from.
+   * @param keys the direct buffers containing the keys.
+   * @param outValues the direct buffers to store the output values, one for
+   *                  each key. When a buffer size is smaller than the size
+   *                  of the value, partial result will be written.
+   * @return for each key, null if the key is not found;
+   *         otherwise, the size (possibly 0) of the value.
+   * @throws IOException if the db is closed or the db throws an exception.
+   * @see org.rocksdb.RocksDB#multiGetByteBuffers(org.rocksdb.ReadOptions,
+   *                                              List, List, List)
+   */
+  List<Integer> multiGet(ColumnFamily family, List<ByteBuffer> keys,
+      List<ByteBuffer> outValues) throws IOException {
+    try (UncheckedAutoCloseable ignored = acquire()) {
+      final List<ByteBufferGetStatus> results = db.get().multiGetByteBuffers(
+          DEFAULT_READ_OPTION,
+          Collections.nCopies(keys.size(), family.getHandle()),
+          keys, outValues);
+      final List<Integer> sizes = new ArrayList<>(results.size());
+      for (ByteBufferGetStatus result : results) {
+        final Status.Code code = result.status.getCode();
+        if (code == Status.Code.Ok) {
+          sizes.add(result.requiredSize);
+        } else if (code == Status.Code.NotFound) {
+          sizes.add(null);
+        } else {
+          throw new RocksDBException(result.status);
+        }
+      }
+      return sizes;
+    } catch (RocksDBException e) {
+      closeOnError(e);
+      throw toIOException(this, "multiGet " + keys.size() + " keys from "
+          + family, e);
+    }
+  }
+
   public long estimateNumKeys() throws IOException {
     return getLongProperty(ESTIMATE_NUM_KEYS);
   }
@@ -699,6 +767,18 @@ public long estimateNumKeys(ColumnFamily family) throws IOException {
     return getLongProperty(family, ESTIMATE_NUM_KEYS);
   }
 
+  /**
+   * @return the sum of the given property over all the column families.
+   */
+  public long getAggregatedLongProperty(String key) throws IOException {
+    try (UncheckedAutoCloseable ignored = acquire()) {
+      return db.get().getAggregatedLongProperty(key);
+    } catch (RocksDBException e) {
+      closeOnError(e);
+      throw toIOException(this, "getAggregatedLongProperty " + key, e);
+    }
+  }
+
   private long getLongProperty(String key) throws IOException {
     try (UncheckedAutoCloseable ignored = acquire()) {
       return db.get().getLongProperty(key);
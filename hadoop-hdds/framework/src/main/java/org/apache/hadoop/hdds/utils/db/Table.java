@@ -21,6 +21,7 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -85,6 +86,23 @@ void putWithBatch(BatchOperation batch, KEY key, VALUE value)
    */
   VALUE get(KEY key) throws IOException;
 
+  /**
+   * Returns the values mapped to the given keys, checking the cache first
+   * like {@link #get(Object)}. The keys not found in the cache are looked up
+   * from the DB in a single batch, if the implementation supports it.
+   *
+   * @param keys metadata keys
+   * @return the values in the same order as the keys, where the value of a
+   *         key not found is null.
+   * @throws IOException on Failure
+   */
+  default List<VALUE> multiGet(List<KEY> keys) throws IOException {
+    final List<VALUE> values = new ArrayList<>(keys.size());
+    for (KEY key : keys) {
+      values.add(get(key));
+    }
+    return values;
+  }
 
   /**
    * Skip checking cache and get the value mapped to the given key in byte
@@ -56,6 +56,10 @@
 public class TypedTable<KEY, VALUE> implements Table<KEY, VALUE> {
   private static final long EPOCH_DEFAULT = -1L;
   static final int BUFFER_SIZE_DEFAULT = 4 << 10; // 4 KB
+  // The max size of the buffer of each key in a multiGet.
+  static final int MULTI_GET_BUFFER_SIZE_MAX = 64 << 10; // 64 KB
+  // The max number of keys read from RocksDB by a single MultiGet.
+  static final int MULTI_GET_BATCH_SIZE_MAX = 128;
 
   private final RDBTable rawTable;
 
@@ -238,6 +242,117 @@ public VALUE get(KEY key) throws IOException {
     }
   }
 
+  /**
+   * Similar to {@link #get(Object)} except that the keys not found in the
+   * cache are looked up from the RocksDB table with MultiGets of up to
+   * {@link #MULTI_GET_BATCH_SIZE_MAX} keys.
+   */
+  @Override
+  public List<VALUE> multiGet(List<KEY> keys) throws IOException {
+    final List<VALUE> values = new ArrayList<>(keys.size());
+    final List<Integer> missed = new ArrayList<>();
+    for (KEY key : keys) {
+      final CacheResult<VALUE> cacheResult =
+          cache.lookup(new CacheKey<>(key));
+      if (cacheResult.getCacheStatus() == EXISTS) {
+        values.add(valueCodec.copyObject(
+            cacheResult.getValue().getCacheValue()));
+      } else {
+        if (cacheResult.getCacheStatus() != NOT_EXIST) {
+          missed.add(values.size());
+        }
+        values.add(null);
+      }
+    }
+
+    if (missed.size() == 1) {
+      final int i = missed.get(0);
+      values.set(i, getFromTable(keys.get(i)));
+    } else {
+      for (int start = 0; start < missed.size();
+           start += MULTI_GET_BATCH_SIZE_MAX) {
+        final List<Integer> batch = missed.subList(start,
+            Math.min(start + MULTI_GET_BATCH_SIZE_MAX, missed.size()));
+        final List<KEY> batchKeys = new ArrayList<>(batch.size());
+        for (int i : batch) {
+          batchKeys.add(keys.get(i));
+        }
+        final List<VALUE> batchValues = supportCodecBuffer
+            ? multiGetFromTable(batchKeys)
+            : multiGetFromTableBytes(batchKeys);
+        for (int j = 0; j < batch.size(); j++) {
+          values.set(batch.get(j), batchValues.get(j));
+        }
+      }
+    }
+    return values;
+  }
+
+  private List<VALUE> multiGetFromTableBytes(List<KEY> keys)
+      throws IOException {
+    final List<byte[]> keyBytes = new ArrayList<>(keys.size());
+    for (KEY key : keys) {
+      keyBytes.add(encodeKey(key));
+    }
+    final List<byte[]> valueBytes = rawTable.multiGet(keyBytes);
+    final List<VALUE> values = new ArrayList<>(valueBytes.size());
+    for (byte[] value : valueBytes) {
+      values.add(decodeValue(value));
+    }
+    return values;
+  }
+
+  /**
+   * Use {@link RDBTable#multiGet(List, List)} with a direct buffer per key
+   * of the current {@link #bufferCapacity}, up to
+   * {@link #MULTI_GET_BUFFER_SIZE_MAX}, so that a few large values do not
+   * make every later batch allocate large buffers.
+   * A value larger than its buffer is read again by
+   * {@link #getFromTable(Object)}, which resizes its buffer as required.
+   */
+  private List<VALUE> multiGetFromTable(List<KEY> keys) throws IOException {
+    final int n = keys.size();
+    final List<CodecBuffer> inKeys = new ArrayList<>(n);
+    final List<CodecBuffer> outValues = new ArrayList<>(n);
+    try {
+      final List<ByteBuffer> keyBuffers = new ArrayList<>(n);
+      final List<ByteBuffer> valueBuffers = new ArrayList<>(n);
+      final int capacity =
+          Math.min(bufferCapacity.get(), MULTI_GET_BUFFER_SIZE_MAX);
+      for (KEY key : keys) {
+        final CodecBuffer inKey = keyCodec.toDirectCodecBuffer(key);
+        inKeys.add(inKey);
+        keyBuffers.add(inKey.asReadOnlyByteBuffer());
+        final CodecBuffer outValue = CodecBuffer.allocateDirect(capacity);
+        outValues.add(outValue);
+        outValue.putFromSource(buffer -> {
+          valueBuffers.add(buffer);
+          return null;
+        });
+      }
+
+      final List<Integer> sizes = rawTable.multiGet(keyBuffers, valueBuffers);
+      final List<VALUE> values = new ArrayList<>(n);
+      for (int i = 0; i < n; i++) {
+        final Integer size = sizes.get(i);
+        if (size == null) {
+          values.add(null);
+        } else if (size <= valueBuffers.get(i).capacity()) {
+          final CodecBuffer outValue = outValues.get(i);
+          outValue.putFromSource(buffer -> size);
+          values.add(valueCodec.fromCodecBuffer(outValue));
+        } else {
+          // buffer size too small
+          values.add(getFromTable(keys.get(i)));
+        }
+      }
+      return values;
+    } finally {
+      IOUtils.closeQuietly(inKeys);
+      IOUtils.closeQuietly(outValues);
+    }
+  }
+
   /**
    * Skip checking cache and get the value mapped to the given key in byte
    * array or returns null if the key is not found.
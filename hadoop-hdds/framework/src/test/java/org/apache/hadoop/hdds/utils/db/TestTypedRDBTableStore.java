@@ -428,4 +428,73 @@ public void testByteArrayTypedTable() throws Exception {
       assertSame(value, testTable.get(key));
     }
   }
+
+  @Test
+  public void testMultiGet() throws Exception {
+    try (Table<String, String> testTable = createTypedTable(
+        "Fifth")) {
+      List<String> keys = new ArrayList<>();
+      List<String> expected = new ArrayList<>();
+      for (int x = 0; x < 10; x++) {
+        String key = "key" + x;
+        String value = "value" + x;
+        testTable.put(key, value);
+        keys.add(key);
+        expected.add(value);
+      }
+
+      // A value larger than the default buffer size.
+      String largeValue = RandomStringUtils.randomAlphanumeric(
+          2 * TypedTable.BUFFER_SIZE_DEFAULT);
+      testTable.put("large", largeValue);
+      keys.add("large");
+      expected.add(largeValue);
+
+      // Not found in the DB.
+      keys.add("missing");
+      expected.add(null);
+
+      // Overlaid by the cache.
+      testTable.addCacheEntry(new CacheKey<>("key1"),
+          CacheValue.get(1L, "cached"));
+      expected.set(1, "cached");
+      testTable.addCacheEntry(new CacheKey<>("key2"),
+          CacheValue.get(1L));
+      expected.set(2, null);
+
+      assertEquals(expected, testTable.multiGet(keys));
+      for (int i = 0; i < keys.size(); i++) {
+        assertEquals(testTable.get(keys.get(i)), expected.get(i));
+      }
+      assertThat(testTable.multiGet(new ArrayList<>())).isEmpty();
+    }
+  }
+
+  @Test
+  public void testMultiGetInBatches() throws Exception {
+    try (Table<String, String> testTable = createTypedTable(
+        "Sixth")) {
+      List<String> keys = new ArrayList<>();
+      List<String> expected = new ArrayList<>();
+      // More keys than a single MultiGet reads.
+      for (int x = 0; x < 2 * TypedTable.MULTI_GET_BATCH_SIZE_MAX + 5; x++) {
+        String key = "key" + x;
+        String value = "value" + x;
+        testTable.put(key, value);
+        keys.add(key);
+        expected.add(value);
+      }
+
+      // A value larger than the max buffer size of a multiGet.
+      String largeValue = RandomStringUtils.randomAlphanumeric(
+          2 * TypedTable.MULTI_GET_BUFFER_SIZE_MAX);
+      testTable.put("large", largeValue);
+      keys.add(TypedTable.MULTI_GET_BATCH_SIZE_MAX, "large");
+      expected.add(TypedTable.MULTI_GET_BATCH_SIZE_MAX, largeValue);
+
+      assertEquals(expected, testTable.multiGet(keys));
+      // Again after the large value increased the buffer capacity.
+      assertEquals(expected, testTable.multiGet(keys));
+    }
+  }
 }
@@ -18,6 +18,8 @@
 
 package org.apache.hadoop.hdds.scm.container;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.proto
@@ -25,28 +27,45 @@
 import org.apache.hadoop.hdds.protocol.proto
     .StorageContainerDatanodeProtocolProtos.ContainerReportsProto;
 import org.apache.hadoop.hdds.scm.ScmConfig;
+import org.apache.hadoop.hdds.scm.container.metrics.SCMContainerReportMetrics;
 import org.apache.hadoop.hdds.scm.container.report.ContainerReportValidator;
+import org.apache.hadoop.hdds.scm.events.SCMEvents;
 import org.apache.hadoop.hdds.scm.ha.SCMContext;
 import org.apache.hadoop.hdds.scm.node.NodeManager;
 import org.apache.hadoop.hdds.scm.node.states.NodeNotFoundException;
 import org.apache.hadoop.hdds.scm.server.SCMDatanodeHeartbeatDispatcher
     .ContainerReportFromDatanode;
+import org.apache.hadoop.hdds.server.events.Event;
 import org.apache.hadoop.hdds.server.events.EventHandler;
 import org.apache.hadoop.hdds.server.events.EventPublisher;
 import org.apache.hadoop.ozone.common.statemachine.InvalidStateTransitionException;
+import org.apache.hadoop.ozone.protocol.commands.CommandForDatanode;
+import org.apache.hadoop.ozone.protocol.commands.CommandsForDatanode;
+import org.apache.hadoop.ozone.protocol.commands.SCMCommand;
+import org.apache.hadoop.util.Time;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 /**
  * Handles container reports from datanode.
  */
 public class ContainerReportHandler extends AbstractContainerReportHandler
-    implements EventHandler<ContainerReportFromDatanode> {
+    implements EventHandler<ContainerReportFromDatanode>, Closeable {
 
   private static final Logger LOG =
       LoggerFactory.getLogger(ContainerReportHandler.class);
@@ -54,6 +73,10 @@ public class ContainerReportHandler extends AbstractContainerReportHandler
   private final NodeManager nodeManager;
   private final ContainerManager containerManager;
   private final String unknownContainerHandleAction;
+  private final int batchSize;
+  /** Processes the batches of a full report, null if not parallel. */
+  private final ExecutorService batchExecutor;
+  private final SCMContainerReportMetrics metrics;
 
   /**
    * The action taken by ContainerReportHandler to handle
@@ -78,12 +101,27 @@ public ContainerReportHandler(final NodeManager nodeManager,
     this.nodeManager = nodeManager;
     this.containerManager = containerManager;
 
+    final int batchThreads;
     if (conf != null) {
       ScmConfig scmConfig = conf.getObject(ScmConfig.class);
       unknownContainerHandleAction = scmConfig.getUnknownContainerAction();
+      batchThreads = scmConfig.getContainerReportBatchThreads();
+      batchSize = Math.max(1, scmConfig.getContainerReportBatchSize());
     } else {
       unknownContainerHandleAction = UNKNOWN_CONTAINER_ACTION_WARN;
+      batchThreads = 1;
+      batchSize = Integer.MAX_VALUE;
     }
+    if (batchThreads > 1) {
+      batchExecutor = Executors.newFixedThreadPool(batchThreads,
+          new ThreadFactoryBuilder().setDaemon(true)
+              .setNameFormat("ContainerReportBatch-%d").build());
+      LOG.info("Processing full container reports in batches of {} " +
+          "replicas with {} threads", batchSize, batchThreads);
+    } else {
+      batchExecutor = null;
+    }
+    metrics = SCMContainerReportMetrics.create();
   }
 
   public ContainerReportHandler(final NodeManager nodeManager,
@@ -91,6 +129,31 @@ public ContainerReportHandler(final NodeManager nodeManager,
     this(nodeManager, containerManager, SCMContext.emptyContext(), null);
   }
 
+  /**
+   * Stops the batch executor and unregisters the metrics.
+   * The reports must no longer be dispatched to this handler.
+   */
+  @Override
+  public void close() {
+    if (batchExecutor != null) {
+      batchExecutor.shutdown();
+      try {
+        if (!batchExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+          batchExecutor.shutdownNow();
+        }
+      } catch (InterruptedException e) {
+        batchExecutor.shutdownNow();
+        Thread.currentThread().interrupt();
+      }
+    }
+    SCMContainerReportMetrics.unRegister();
+  }
+
+  @VisibleForTesting
+  SCMContainerReportMetrics getMetrics() {
+    return metrics;
+  }
+
   /**
    * Process the container reports from datanodes. The datanode sends a list
    * of all containers it knows about, including their State and stats, such as
@@ -137,6 +200,15 @@ public ContainerReportHandler(final NodeManager nodeManager,
    *  full and incremental reports processing in parallel for the same datanode
    *  on SCM.
    *
+   *  When hdds.scm.container.report.batch.threads is more than 1, the
+   *  replicas of the report are split into batches after the container list
+   *  in NodeManager has been updated. Since the datanode reports its
+   *  containers ordered by ID, each batch covers a distinct range of
+   *  container IDs, so no two batches update the same container. The
+   *  batches are processed in parallel. The commands for the datanode
+   *  issued while processing a batch are published as a single
+   *  DATANODE_COMMANDS event once the batch is done.
+   *
    * @param reportFromDatanode Container Report
    * @param publisher EventPublisher reference
    */
@@ -161,10 +233,16 @@ public void onMessage(final ContainerReportFromDatanode reportFromDatanode,
       // issue between the container list in NodeManager and the replicas in
       // ContainerManager.
       synchronized (datanodeDetails) {
+        final long startNanos = Time.monotonicNowNanos();
         final List<ContainerReplicaProto> replicas =
             containerReport.getReportsList();
         final Set<ContainerID> expectedContainersInDatanode =
             nodeManager.getContainers(datanodeDetails);
+        // The replicas to process, with their container or null if unknown.
+        final List<ContainerReplicaProto> toProcess =
+            new ArrayList<>(replicas.size());
+        final List<ContainerInfo> containers =
+            new ArrayList<>(replicas.size());
 
         for (ContainerReplicaProto replica : replicas) {
           ContainerID cid = ContainerID.valueOf(replica.getContainerID());
@@ -190,15 +268,22 @@ public void onMessage(final ContainerReportFromDatanode reportFromDatanode,
           }
           if (container == null || ContainerReportValidator
                   .validate(container, datanodeDetails, replica)) {
-            processSingleReplica(datanodeDetails, container,
-                    replica, publisher);
+            toProcess.add(replica);
+            containers.add(container);
           }
         }
+        if (batchExecutor == null || toProcess.size() <= batchSize) {
+          processReplicas(datanodeDetails, containers, toProcess, publisher);
+        } else {
+          processReplicasInBatches(datanodeDetails, containers, toProcess,
+              publisher);
+        }
         // Anything left in expectedContainersInDatanode was not in the full
         // report, so it is now missing on the DN. We need to remove it from the
         // list
         processMissingReplicas(datanodeDetails, expectedContainersInDatanode);
         containerManager.notifyContainerReportProcessing(true, true);
+        metrics.addFullReportLatency(Time.monotonicNowNanos() - startNanos);
       }
     } catch (NodeNotFoundException ex) {
       containerManager.notifyContainerReportProcessing(true, false);
@@ -208,6 +293,48 @@ public void onMessage(final ContainerReportFromDatanode reportFromDatanode,
 
   }
 
+  private void processReplicas(final DatanodeDetails datanodeDetails,
+      final List<ContainerInfo> containers,
+      final List<ContainerReplicaProto> replicas,
+      final EventPublisher publisher) {
+    for (int i = 0; i < replicas.size(); i++) {
+      processSingleReplica(datanodeDetails, containers.get(i),
+          replicas.get(i), publisher);
+    }
+  }
+
+  /**
+   * Processes the replicas in batches of consecutive replicas using the
+   * batch executor, and waits for all the batches to complete.
+   */
+  private void processReplicasInBatches(final DatanodeDetails datanodeDetails,
+      final List<ContainerInfo> containers,
+      final List<ContainerReplicaProto> replicas,
+      final EventPublisher publisher) {
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int from = 0; from < replicas.size(); from += batchSize) {
+      final int to = Math.min(from + batchSize, replicas.size());
+      final List<ContainerInfo> batchContainers = containers.subList(from, to);
+      final List<ContainerReplicaProto> batchReplicas =
+          replicas.subList(from, to);
+      metrics.incrFullReportBatchQueueDepth();
+      futures.add(CompletableFuture.runAsync(() -> {
+        metrics.decrFullReportBatchQueueDepth();
+        final long startNanos = Time.monotonicNowNanos();
+        final BatchEventPublisher batchPublisher = new BatchEventPublisher();
+        try {
+          processReplicas(datanodeDetails, batchContainers, batchReplicas,
+              batchPublisher);
+        } finally {
+          batchPublisher.publishTo(publisher);
+          metrics.addFullReportBatchLatency(
+              Time.monotonicNowNanos() - startNanos);
+        }
+      }, batchExecutor));
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+  }
+
   /**
    * Processes the ContainerReport.
    * Any unknown container reported by DN and not present in SCM
@@ -280,4 +407,36 @@ private void processMissingReplicas(final DatanodeDetails datanodeDetails,
       }
     }
   }
+
+  /**
+   * An {@link EventPublisher} buffering the events fired while processing a
+   * batch. At the end of the batch, the datanode commands are published as
+   * one {@link SCMEvents#DATANODE_COMMANDS} event per datanode, and any
+   * other event as it was fired.
+   */
+  private static final class BatchEventPublisher implements EventPublisher {
+    private final Map<UUID, List<SCMCommand<?>>> commands =
+        new LinkedHashMap<>();
+    private final List<Consumer<EventPublisher>> events = new ArrayList<>();
+
+    @Override
+    public <PAYLOAD, EVENT_TYPE extends Event<PAYLOAD>> void fireEvent(
+        EVENT_TYPE event, PAYLOAD payload) {
+      if (event == SCMEvents.DATANODE_COMMAND) {
+        final CommandForDatanode<?> command = (CommandForDatanode<?>) payload;
+        commands.computeIfAbsent(command.getDatanodeId(),
+            id -> new ArrayList<>()).add(command.getCommand());
+      } else {
+        events.add(publisher -> publisher.fireEvent(event, payload));
+      }
+    }
+
+    void publishTo(EventPublisher publisher) {
+      commands.forEach((id, list) -> publisher.fireEvent(
+          SCMEvents.DATANODE_COMMANDS, new CommandsForDatanode(id, list)));
+      commands.clear();
+      events.forEach(e -> e.accept(publisher));
+      events.clear();
+    }
+  }
 }
@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.hadoop.hdds.scm.container.metrics;
+
+import org.apache.hadoop.metrics2.MetricsSystem;
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeInt;
+import org.apache.hadoop.metrics2.lib.MutableRate;
+import org.apache.hadoop.ozone.OzoneConsts;
+
+/**
+ * Class contains metrics related to the batched processing of full
+ * container reports in SCM.
+ */
+@Metrics(about = "SCM container report metrics", context = OzoneConsts.OZONE)
+public final class SCMContainerReportMetrics {
+
+  private static final String SOURCE_NAME =
+      SCMContainerReportMetrics.class.getSimpleName();
+
+  private static SCMContainerReportMetrics instance;
+  // The number of container report handlers using the instance.
+  private static int referenceCount;
+
+  @Metric(about = "Number of full container report batches processed")
+  private MutableCounterLong numFullReportBatches;
+  @Metric(about = "Number of full container report batches waiting for a " +
+      "worker thread")
+  private MutableGaugeInt fullReportBatchQueueDepth;
+  @Metric(about = "Latency to process a full container report batch in " +
+      "nanoseconds")
+  private MutableRate fullReportBatchLatencyNs;
+  @Metric(about = "Latency to process a full container report in " +
+      "nanoseconds")
+  private MutableRate fullReportLatencyNs;
+
+  private SCMContainerReportMetrics() {
+  }
+
+  /**
+   * Create and return metrics instance, the instance is shared by all the
+   * container report handlers. Each call must be paired with a call to
+   * {@link #unRegister()}.
+   * @return SCMContainerReportMetrics
+   */
+  public static synchronized SCMContainerReportMetrics create() {
+    if (instance == null) {
+      MetricsSystem ms = DefaultMetricsSystem.instance();
+      instance = ms.register(SOURCE_NAME, "SCM container report metrics",
+          new SCMContainerReportMetrics());
+    }
+    referenceCount++;
+    return instance;
+  }
+
+  /**
+   * Unregister metrics once they are no longer used by any handler.
+   */
+  public static synchronized void unRegister() {
+    if (instance != null && --referenceCount == 0) {
+      MetricsSystem ms = DefaultMetricsSystem.instance();
+      ms.unregisterSource(SOURCE_NAME);
+      instance = null;
+    }
+  }
+
+  public void incrFullReportBatchQueueDepth() {
+    fullReportBatchQueueDepth.incr();
+  }
+
+  public void decrFullReportBatchQueueDepth() {
+    fullReportBatchQueueDepth.decr();
+  }
+
+  public void addFullReportBatchLatency(long latencyNs) {
+    numFullReportBatches.incr();
+    fullReportBatchLatencyNs.add(latencyNs);
+  }
+
+  public void addFullReportLatency(long latencyNs) {
+    fullReportLatencyNs.add(latencyNs);
+  }
+
+  public long getNumFullReportBatches() {
+    return numFullReportBatches.value();
+  }
+
+  public int getFullReportBatchQueueDepth() {
+    return fullReportBatchQueueDepth.value();
+  }
+}
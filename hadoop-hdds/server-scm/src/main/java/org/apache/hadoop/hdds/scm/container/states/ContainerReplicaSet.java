@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.apache.hadoop.hdds.scm.container.states;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import org.apache.hadoop.hdds.scm.container.ContainerReplica;
+
+/**
+ * An immutable set of the replicas of a container.
+ * <p>
+ * A container has only a handful of replicas, so the replicas are kept in a
+ * plain array and looked up linearly. An update creates a new set sharing
+ * nothing mutable with the previous one, hence a set returned to a reader
+ * never changes, but it only copies the array of references instead of
+ * rebuilding a hash table.
+ * <p>
+ * Moreover, most of the replicas in a full container report are unchanged
+ * since the previous report. {@link #with(ContainerReplica)} returns the same
+ * set if it already contains an identical replica, so that such reports do
+ * not allocate at all.
+ */
+final class ContainerReplicaSet extends AbstractSet<ContainerReplica> {
+
+  private static final ContainerReplicaSet EMPTY =
+      new ContainerReplicaSet(new ContainerReplica[0]);
+
+  static ContainerReplicaSet empty() {
+    return EMPTY;
+  }
+
+  private final ContainerReplica[] replicas;
+
+  private ContainerReplicaSet(ContainerReplica[] replicas) {
+    this.replicas = replicas;
+  }
+
+  /**
+   * @return a set with the given replica replacing the equal replica, if any.
+   */
+  ContainerReplicaSet with(ContainerReplica replica) {
+    Objects.requireNonNull(replica, "replica == null");
+    final int i = indexOf(replica);
+    if (i < 0) {
+      final ContainerReplica[] newReplicas =
+          Arrays.copyOf(replicas, replicas.length + 1);
+      newReplicas[replicas.length] = replica;
+      return new ContainerReplicaSet(newReplicas);
+    }
+    if (isIdentical(replicas[i], replica)) {
+      return this;
+    }
+    final ContainerReplica[] newReplicas = replicas.clone();
+    newReplicas[i] = replica;
+    return new ContainerReplicaSet(newReplicas);
+  }
+
+  /**
+   * @return a set without the replica equal to the given replica.
+   */
+  ContainerReplicaSet without(ContainerReplica replica) {
+    final int i = indexOf(replica);
+    if (i < 0) {
+      return this;
+    }
+    if (replicas.length == 1) {
+      return EMPTY;
+    }
+    final ContainerReplica[] newReplicas =
+        new ContainerReplica[replicas.length - 1];
+    System.arraycopy(replicas, 0, newReplicas, 0, i);
+    System.arraycopy(replicas, i + 1, newReplicas, i,
+        replicas.length - i - 1);
+    return new ContainerReplicaSet(newReplicas);
+  }
+
+  private int indexOf(Object o) {
+    for (int i = 0; i < replicas.length; i++) {
+      if (replicas[i].equals(o)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * {@link ContainerReplica#equals(Object)} only compares the container and
+   * the datanode, this compares all the reported fields.
+   */
+  private static boolean isIdentical(ContainerReplica a, ContainerReplica b) {
+    return a.getDatanodeDetails() == b.getDatanodeDetails()
+        && a.getState() == b.getState()
+        && a.getReplicaIndex() == b.getReplicaIndex()
+        && a.getKeyCount() == b.getKeyCount()
+        && a.getBytesUsed() == b.getBytesUsed()
+        && a.isEmpty() == b.isEmpty()
+        && Objects.equals(a.getSequenceId(), b.getSequenceId())
+        && Objects.equals(a.getOriginDatanodeId(), b.getOriginDatanodeId());
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return indexOf(o) >= 0;
+  }
+
+  @Override
+  public int size() {
+    return replicas.length;
+  }
+
+  @Override
+  public Iterator<ContainerReplica> iterator() {
+    return new Iterator<ContainerReplica>() {
+      private int next = 0;
+
+      @Override
+      public boolean hasNext() {
+        return next < replicas.length;
+      }
+
+      @Override
+      public ContainerReplica next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return replicas[next++];
+      }
+    };
+  }
+}
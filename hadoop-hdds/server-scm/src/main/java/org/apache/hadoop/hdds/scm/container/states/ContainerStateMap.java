@@ -18,7 +18,6 @@
 
 package org.apache.hadoop.hdds.scm.container.states;
 
-import java.util.HashSet;
 import java.util.Set;
 import java.util.Collections;
 import java.util.Map;
@@ -89,7 +88,7 @@ public class ContainerStateMap {
   private final ContainerAttribute<ReplicationConfig> repConfigMap;
   private final ContainerAttribute<ReplicationType> typeMap;
   private final Map<ContainerID, ContainerInfo> containerMap;
-  private final Map<ContainerID, Set<ContainerReplica>> replicaMap;
+  private final Map<ContainerID, ContainerReplicaSet> replicaMap;
   private final Map<ContainerQueryKey, NavigableSet<ContainerID>> resultCache;
 
   /**
@@ -121,7 +120,7 @@ public void addContainer(final ContainerInfo info)
       ownerMap.insert(info.getOwner(), id);
       repConfigMap.insert(info.getReplicationConfig(), id);
       typeMap.insert(info.getReplicationType(), id);
-      replicaMap.put(id, Collections.emptySet());
+      replicaMap.put(id, ContainerReplicaSet.empty());
 
       // Flush the cache of this container type, will be added later when
       // get container queries are executed.
@@ -168,7 +167,8 @@ public ContainerInfo getContainerInfo(final ContainerID containerID) {
 
   /**
    * Returns the latest list of DataNodes where replica for given containerId
-   * exist.
+   * exist. The returned set is immutable, it is not affected by later
+   * updates of the replicas.
    */
   public Set<ContainerReplica> getContainerReplicas(
       final ContainerID containerID) {
@@ -185,10 +185,8 @@ public void updateContainerReplica(final ContainerID containerID,
       final ContainerReplica replica) {
     Preconditions.checkNotNull(containerID);
     if (contains(containerID)) {
-      final Set<ContainerReplica> newSet = createNewReplicaSet(containerID);
-      newSet.remove(replica);
-      newSet.add(replica);
-      replaceReplicaSet(containerID, newSet);
+      replicaMap.computeIfPresent(containerID,
+          (id, replicas) -> replicas.with(replica));
     }
   }
 
@@ -200,22 +198,11 @@ public void removeContainerReplica(final ContainerID containerID,
     Preconditions.checkNotNull(containerID);
     Preconditions.checkNotNull(replica);
     if (contains(containerID)) {
-      final Set<ContainerReplica> newSet = createNewReplicaSet(containerID);
-      newSet.remove(replica);
-      replaceReplicaSet(containerID, newSet);
+      replicaMap.computeIfPresent(containerID,
+          (id, replicas) -> replicas.without(replica));
     }
   }
 
-  private Set<ContainerReplica> createNewReplicaSet(ContainerID containerID) {
-    Set<ContainerReplica> existingSet = replicaMap.get(containerID);
-    return existingSet == null ? new HashSet<>() : new HashSet<>(existingSet);
-  }
-
-  private void replaceReplicaSet(ContainerID containerID,
-      Set<ContainerReplica> newSet) {
-    replicaMap.put(containerID, Collections.unmodifiableSet(newSet));
-  }
-
   /**
    * Just update the container State.
    * @param info ContainerInfo.
@@ -34,6 +34,7 @@
 import org.apache.hadoop.hdds.server.events.Event;
 import org.apache.hadoop.hdds.server.events.TypedEvent;
 import org.apache.hadoop.ozone.protocol.commands.CommandForDatanode;
+import org.apache.hadoop.ozone.protocol.commands.CommandsForDatanode;
 
 /**
  * Class that acts as the namespace for all SCM Events.
@@ -132,6 +133,13 @@ public final class SCMEvents {
       RETRIABLE_DATANODE_COMMAND =
       new TypedEvent<>(CommandForDatanode.class, "Retriable_Datanode_Command");
 
+  /**
+   * The commands for a datanode issued while processing a batch of its full
+   * container report. NodeManager queues them together.
+   */
+  public static final TypedEvent<CommandsForDatanode> DATANODE_COMMANDS =
+      new TypedEvent<>(CommandsForDatanode.class, "Datanode_Commands");
+
   /**
    * A Close Container Event can be triggered under many condition. Some of them
    * are: 1. A Container is full, then we stop writing further information to
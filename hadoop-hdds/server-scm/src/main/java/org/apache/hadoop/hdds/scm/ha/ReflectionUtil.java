@@ -18,15 +18,23 @@
 package org.apache.hadoop.hdds.scm.ha;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Reflection util for SCM HA.
+ * <p>
+ * The lookups are cached since they are made for every request applied by
+ * the SCM state machine and for every argument encoded in a request.
  */
 public final class ReflectionUtil {
 
-  private static Map<String, Class<?>> classCache = new HashMap<>();
+  private static final Map<String, Class<?>> CLASS_CACHE =
+      new ConcurrentHashMap<>();
+  private static final Map<MethodKey, Method> METHOD_CACHE =
+      new ConcurrentHashMap<>();
 
   private ReflectionUtil() {
   }
@@ -41,10 +49,12 @@ private ReflectionUtil() {
    */
   public static Class<?> getClass(String className)
       throws ClassNotFoundException {
-    if (!classCache.containsKey(className)) {
-      classCache.put(className, Class.forName(className));
+    Class<?> clazz = CLASS_CACHE.get(className);
+    if (clazz == null) {
+      clazz = Class.forName(className);
+      CLASS_CACHE.put(className, clazz);
     }
-    return classCache.get(className);
+    return clazz;
   }
 
   /**
@@ -62,6 +72,48 @@ public static Class<?> getClass(String className)
   public static Method getMethod(
       final Class<?> clazz, final String methodName, final Class<?>... arg)
       throws NoSuchMethodException {
-    return clazz.getMethod(methodName, arg);
+    final MethodKey key = new MethodKey(clazz, methodName, arg);
+    Method method = METHOD_CACHE.get(key);
+    if (method == null) {
+      method = clazz.getMethod(methodName, arg);
+      METHOD_CACHE.put(key, method);
+    }
+    return method;
+  }
+
+  /**
+   * The key of a method in {@link #METHOD_CACHE}.
+   */
+  private static final class MethodKey {
+    private final Class<?> clazz;
+    private final String name;
+    private final Class<?>[] parameterTypes;
+    private final int hash;
+
+    private MethodKey(Class<?> clazz, String name, Class<?>[] parameterTypes) {
+      this.clazz = clazz;
+      this.name = name;
+      this.parameterTypes = parameterTypes.clone();
+      this.hash = Objects.hash(clazz, name) * 31
+          + Arrays.hashCode(parameterTypes);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof MethodKey)) {
+        return false;
+      }
+      final MethodKey that = (MethodKey) obj;
+      return clazz == that.clazz && name.equals(that.name)
+          && Arrays.equals(parameterTypes, that.parameterTypes);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
   }
 }
@@ -18,9 +18,14 @@
 package org.apache.hadoop.hdds.scm.ha;
 
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 
@@ -36,6 +41,10 @@
 /**
  * InvocationHandler which checks for {@link Replicate} annotation and
  * dispatches the request to Ratis Server.
+ * <p>
+ * The annotation lookup and the local dispatch are resolved once per
+ * {@link Method}: local calls go through a cached {@link MethodHandle}
+ * instead of {@link Method#invoke}.
  */
 public class SCMHAInvocationHandler implements InvocationHandler {
 
@@ -43,9 +52,13 @@ public class SCMHAInvocationHandler implements InvocationHandler {
   private static final Logger LOG = LoggerFactory
       .getLogger(SCMHAInvocationHandler.class);
 
+  private static final Object[] NO_ARGS = {};
+
   private final RequestType requestType;
   private final Object localHandler;
   private final SCMRatisServer ratisHandler;
+  private final Map<Method, MethodInvoker> invokers =
+      new ConcurrentHashMap<>();
 
   /**
    * TODO.
@@ -67,12 +80,14 @@ public Object invoke(final Object proxy, final Method method,
     // Javadoc for InvocationHandler#invoke specifies that args will be null
     // if the method takes no arguments. Convert this to an empty array for
     // easier handling.
-    Object[] convertedArgs = (args == null) ? new Object[]{} : args;
+    Object[] convertedArgs = (args == null) ? NO_ARGS : args;
     long startTime = Time.monotonicNow();
+    final MethodInvoker invoker =
+        invokers.computeIfAbsent(method, MethodInvoker::new);
     final Object result =
-        ratisHandler != null && method.isAnnotationPresent(Replicate.class) ?
-            invokeRatis(method, convertedArgs) :
-            invokeLocal(method, convertedArgs);
+        ratisHandler != null && invoker.getInvocationType() != null ?
+            invokeRatis(invoker, convertedArgs) :
+            invokeLocal(invoker, convertedArgs);
     if (LOG.isDebugEnabled()) {
       LOG.debug("Call: {} took {} ms", method, Time.monotonicNow() - startTime);
     }
@@ -82,44 +97,45 @@ public Object invoke(final Object proxy, final Method method,
   /**
    * TODO.
    */
-  private Object invokeLocal(Method method, Object[] args)
+  private Object invokeLocal(MethodInvoker invoker, Object[] args)
       throws SCMException {
     if (LOG.isTraceEnabled()) {
       LOG.trace("Invoking method {} on target {} with arguments {}",
-          method, localHandler, args);
+          invoker.getMethod(), localHandler, args);
     }
     try {
-      return method.invoke(localHandler, args);
-    } catch (Exception e) {
-      throw translateException(e);
+      return invoker.invoke(localHandler, args);
+    } catch (Throwable t) {
+      throw translateException(t);
     }
   }
 
   /**
    * TODO.
    */
-  private Object invokeRatis(Method method, Object[] args)
+  private Object invokeRatis(MethodInvoker invoker, Object[] args)
       throws SCMException {
     if (LOG.isTraceEnabled()) {
-      LOG.trace("Invoking method {} on target {}", method, ratisHandler);
+      LOG.trace("Invoking method {} on target {}", invoker.getMethod(),
+          ratisHandler);
     }
     try {
-      switch (method.getAnnotation(Replicate.class).invocationType()) {
+      switch (invoker.getInvocationType()) {
       case CLIENT:
-        return invokeRatisClient(method, args);
+        return invokeRatisClient(invoker, args);
       case DIRECT:
       default:
-        return invokeRatisServer(method, args);
+        return invokeRatisServer(invoker, args);
       }
     } catch (Exception e) {
       throw translateException(e);
     }
   }
 
-  private Object invokeRatisServer(Method method, Object[] args)
+  private Object invokeRatisServer(MethodInvoker invoker, Object[] args)
       throws Exception {
     SCMRatisRequest scmRatisRequest = SCMRatisRequest.of(requestType,
-        method.getName(), method.getParameterTypes(), args);
+        invoker.getName(), invoker.getParameterTypes(), args);
     final SCMRatisResponse response = ratisHandler.submitRequest(
         scmRatisRequest);
     if (response.isSuccess()) {
@@ -128,10 +144,10 @@ private Object invokeRatisServer(Method method, Object[] args)
     throw response.getException();
   }
 
-  private Object invokeRatisClient(Method method, Object[] args)
+  private Object invokeRatisClient(MethodInvoker invoker, Object[] args)
       throws Exception {
     final SCMRatisRequest scmRatisRequest = SCMRatisRequest.of(requestType,
-        method.getName(), method.getParameterTypes(), args);
+        invoker.getName(), invoker.getParameterTypes(), args);
     final SCMRatisResponse response = HASecurityUtils.submitScmRequestToRatis(
         ratisHandler.getDivision().getGroup(),
         ratisHandler.getGrpcTlsConfig(),
@@ -165,4 +181,68 @@ private static SCMException translateException(Throwable t) {
     return new SCMException(t, result);
   }
 
+  /**
+   * The dispatch information of a proxied method, resolved once.
+   */
+  private static final class MethodInvoker {
+    /** The type of the spread handle: (target, args) -> result. */
+    private static final MethodType SPREAD_TYPE = MethodType.methodType(
+        Object.class, Object.class, Object[].class);
+
+    private final Method method;
+    private final String name;
+    private final Class<?>[] parameterTypes;
+    private final Replicate.InvocationType invocationType;
+    private final MethodHandle handle;
+
+    private MethodInvoker(Method method) {
+      this.method = method;
+      this.name = method.getName();
+      this.parameterTypes = method.getParameterTypes();
+      final Replicate replicate = method.getAnnotation(Replicate.class);
+      this.invocationType = replicate != null
+          ? replicate.invocationType() : null;
+      this.handle = spread(method);
+    }
+
+    /**
+     * @return the handle invoking the method with an argument array, or
+     *         null if the method is not accessible to a lookup, in which
+     *         case it is invoked by reflection.
+     */
+    private static MethodHandle spread(Method method) {
+      try {
+        return MethodHandles.lookup().unreflect(method)
+            .asSpreader(Object[].class, method.getParameterCount())
+            .asType(SPREAD_TYPE);
+      } catch (IllegalAccessException e) {
+        LOG.debug("Falling back to reflection for {}", method, e);
+        return null;
+      }
+    }
+
+    Object invoke(Object target, Object[] args) throws Throwable {
+      return handle != null
+          ? handle.invokeExact(target, args)
+          : method.invoke(target, args);
+    }
+
+    Method getMethod() {
+      return method;
+    }
+
+    String getName() {
+      return name;
+    }
+
+    /** The returned array is shared, callers must not modify it. */
+    Class<?>[] getParameterTypes() {
+      return parameterTypes;
+    }
+
+    /** @return the {@link Replicate} invocation type, null if absent. */
+    Replicate.InvocationType getInvocationType() {
+      return invocationType;
+    }
+  }
 }
@@ -189,7 +189,7 @@ private Message process(final SCMRatisRequest request) throws Exception {
             request.getType());
       }
 
-      final Object result = handler.getClass().getMethod(
+      final Object result = ReflectionUtil.getMethod(handler.getClass(),
           request.getOperation(), request.getParameterTypes())
           .invoke(handler, request.getArguments());
       return SCMRatisResponse.encode(result);
@@ -285,6 +285,17 @@ Set<ContainerID> getContainers(DatanodeDetails datanodeDetails)
    */
   void addDatanodeCommand(UUID dnId, SCMCommand command);
 
+  /**
+   * Add {@link SCMCommand}s for the same datanode to the command queue.
+   * @param dnId datanode uuid
+   * @param commands the commands, in the order they are sent
+   */
+  default void addDatanodeCommands(UUID dnId, List<SCMCommand<?>> commands) {
+    for (SCMCommand<?> command : commands) {
+      addDatanodeCommand(dnId, command);
+    }
+  }
+
 
   /**
    * send refresh command to all the healthy datanodes to refresh
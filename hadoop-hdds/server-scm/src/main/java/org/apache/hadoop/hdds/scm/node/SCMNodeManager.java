@@ -1645,6 +1645,18 @@ public void addDatanodeCommand(UUID dnId, SCMCommand command) {
     }
   }
 
+  @Override
+  public void addDatanodeCommands(UUID dnId, List<SCMCommand<?>> commands) {
+    writeLock().lock();
+    try {
+      for (SCMCommand<?> command : commands) {
+        this.commandQueue.addCommand(dnId, command);
+      }
+    } finally {
+      writeLock().unlock();
+    }
+  }
+
   /**
    * send refresh command to all the healthy datanodes to refresh
    * volume usage info immediately.
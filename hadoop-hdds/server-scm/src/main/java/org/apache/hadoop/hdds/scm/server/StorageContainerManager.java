@@ -298,6 +298,7 @@ public final class StorageContainerManager extends ServiceRuntimeInfoImpl
   private final JvmPauseMonitor jvmPauseMonitor;
   private final OzoneConfiguration configuration;
   private SCMContainerMetrics scmContainerMetrics;
+  private ContainerReportHandler containerReportHandler;
   private SCMContainerPlacementMetrics placementMetrics;
   private PlacementPolicy containerPlacementPolicy;
   private PlacementPolicy ecContainerPlacementPolicy;
@@ -498,9 +499,8 @@ private void initializeEventHandlers() {
             pipelineManager);
     ContainerActionsHandler actionsHandler = new ContainerActionsHandler();
 
-    ContainerReportHandler containerReportHandler =
-        new ContainerReportHandler(scmNodeManager, containerManager,
-            scmContext, configuration);
+    containerReportHandler = new ContainerReportHandler(scmNodeManager,
+        containerManager, scmContext, configuration);
 
     IncrementalContainerReportHandler incrementalContainerReportHandler =
         new IncrementalContainerReportHandler(
@@ -510,6 +510,9 @@ private void initializeEventHandlers() {
 
     eventQueue.addHandler(SCMEvents.DATANODE_COMMAND, scmNodeManager);
     eventQueue.addHandler(SCMEvents.RETRIABLE_DATANODE_COMMAND, scmNodeManager);
+    eventQueue.addHandler(SCMEvents.DATANODE_COMMANDS,
+        (commands, publisher) -> scmNodeManager.addDatanodeCommands(
+            commands.getDatanodeId(), commands.getCommands()));
     eventQueue.addHandler(SCMEvents.NODE_REPORT, nodeReportHandler);
     eventQueue.addHandler(SCMEvents.DATANODE_COMMAND_COUNT_UPDATED,
         new DatanodeCommandCountUpdatedHandler(replicationManager));
@@ -1737,6 +1740,7 @@ public void stop() {
     } catch (Exception ex) {
       LOG.error("SCM Event Queue stop failed", ex);
     }
+    IOUtils.cleanupWithLogger(LOG, containerReportHandler);
 
     if (jvmPauseMonitor != null) {
       jvmPauseMonitor.stop();
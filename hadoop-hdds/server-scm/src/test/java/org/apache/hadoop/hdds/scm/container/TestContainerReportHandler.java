@@ -27,7 +27,11 @@
 import org.apache.hadoop.hdds.protocol.proto
     .StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
 import org.apache.hadoop.hdds.scm.HddsTestUtils;
+import org.apache.hadoop.hdds.scm.ScmConfig;
+import org.apache.hadoop.hdds.scm.container.metrics.SCMContainerReportMetrics;
 import org.apache.hadoop.hdds.scm.container.replication.ContainerReplicaPendingOps;
+import org.apache.hadoop.hdds.scm.events.SCMEvents;
+import org.apache.hadoop.hdds.scm.ha.SCMContext;
 import org.apache.hadoop.hdds.scm.ha.SCMHAManagerStub;
 import org.apache.hadoop.hdds.scm.ha.SCMHAManager;
 import org.apache.hadoop.hdds.scm.metadata.SCMDBDefinition;
@@ -46,6 +50,10 @@
 import org.apache.hadoop.ozone.common.statemachine.InvalidStateTransitionException;
 import org.apache.hadoop.ozone.container.common.SCMTestUtils;
 import org.apache.hadoop.ozone.protocol.commands.CommandForDatanode;
+import org.apache.hadoop.ozone.protocol.commands.CommandsForDatanode;
+import org.apache.hadoop.ozone.protocol.commands.DeleteContainerCommand;
+import org.apache.hadoop.ozone.protocol.commands.SCMCommand;
+import org.mockito.ArgumentCaptor;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -71,6 +79,7 @@
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -92,6 +101,7 @@ public class TestContainerReportHandler {
   private DBStore dbStore;
   private SCMHAManager scmhaManager;
   private PipelineManager pipelineManager;
+  private ContainerReportHandler batchedReportHandler;
 
   @BeforeEach
   void setup() throws IOException, InvalidStateTransitionException {
@@ -158,6 +168,9 @@ void setup() throws IOException, InvalidStateTransitionException {
 
   @AfterEach
   public void tearDown() throws Exception {
+    if (batchedReportHandler != null) {
+      batchedReportHandler.close();
+    }
     containerStateManager.close();
     if (dbStore != null) {
       dbStore.close();
@@ -1083,6 +1096,75 @@ public void testStaleReplicaOfDeletedContainer() throws NodeNotFoundException,
         containerOne.containerID()).size());
   }
 
+  @Test
+  public void testBatchedFullReport() throws NodeNotFoundException,
+      IOException, TimeoutException {
+    final OzoneConfiguration conf = new OzoneConfiguration();
+    final ScmConfig scmConfig = conf.getObject(ScmConfig.class);
+    scmConfig.setContainerReportBatchThreads(4);
+    scmConfig.setContainerReportBatchSize(3);
+    conf.setFromObject(scmConfig);
+    batchedReportHandler = new ContainerReportHandler(
+        nodeManager, containerManager, SCMContext.emptyContext(), conf);
+    final SCMContainerReportMetrics metrics =
+        batchedReportHandler.getMetrics();
+    final long batches = metrics.getNumFullReportBatches();
+
+    final DatanodeDetails datanode = nodeManager.getNodes(
+        NodeStatus.inServiceHealthy()).iterator().next();
+    final List<ContainerInfo> closed = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      final ContainerInfo container = getContainer(LifeCycleState.CLOSED);
+      containerStateManager.addContainer(container.getProtobuf());
+      closed.add(container);
+    }
+    // Reported last, in the same batch.
+    final List<ContainerInfo> deleted = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      final ContainerInfo container = getContainer(LifeCycleState.DELETED);
+      containerStateManager.addContainer(container.getProtobuf());
+      deleted.add(container);
+    }
+
+    final ContainerReportsProto.Builder report =
+        ContainerReportsProto.newBuilder();
+    Stream.concat(
+            closed.stream().map(ContainerInfo::containerID).sorted(),
+            deleted.stream().map(ContainerInfo::containerID))
+        .forEach(id -> report.addAllReports(getContainerReportsProto(id,
+            ContainerReplicaProto.State.CLOSED, datanode.getUuidString())
+            .getReportsList()));
+    batchedReportHandler.onMessage(
+        new ContainerReportFromDatanode(datanode, report.build()), publisher);
+
+    for (ContainerInfo container : closed) {
+      assertEquals(1, containerManager.getContainerReplicas(
+          container.containerID()).size());
+    }
+    assertEquals(12, nodeManager.getContainers(datanode).size());
+    // The replicas of the deleted containers are deleted by the commands
+    // published in a single event for their batch.
+    final ArgumentCaptor<CommandsForDatanode> commands =
+        ArgumentCaptor.forClass(CommandsForDatanode.class);
+    verify(publisher, times(1)).fireEvent(any(), any());
+    verify(publisher).fireEvent(eq(SCMEvents.DATANODE_COMMANDS),
+        commands.capture());
+    assertEquals(datanode.getUuid(), commands.getValue().getDatanodeId());
+    final List<Long> deletedIds = new ArrayList<>();
+    for (SCMCommand<?> command : commands.getValue().getCommands()) {
+      deletedIds.add(((DeleteContainerCommand) command).getContainerID());
+    }
+    assertEquals(deleted.stream().map(c -> c.containerID().getId())
+        .collect(Collectors.toList()), deletedIds);
+    for (ContainerInfo container : deleted) {
+      assertEquals(0, containerManager.getContainerReplicas(
+          container.containerID()).size());
+    }
+    // 12 replicas in batches of 3.
+    assertEquals(batches + 4, metrics.getNumFullReportBatches());
+    assertEquals(0, metrics.getFullReportBatchQueueDepth());
+  }
+
   private ContainerReportFromDatanode getContainerReportFromDatanode(
       ContainerID containerId, ContainerReplicaProto.State state,
       DatanodeDetails dn, long bytesUsed, long keyCount) {
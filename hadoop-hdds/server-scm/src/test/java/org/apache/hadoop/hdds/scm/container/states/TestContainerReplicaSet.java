@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.apache.hadoop.hdds.scm.container.states;
+
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.MockDatanodeDetails;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
+import org.apache.hadoop.hdds.scm.container.ContainerID;
+import org.apache.hadoop.hdds.scm.container.ContainerInfo;
+import org.apache.hadoop.hdds.scm.container.ContainerReplica;
+import org.apache.hadoop.hdds.scm.exceptions.SCMException;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test the replica index of {@link ContainerStateMap}.
+ */
+public class TestContainerReplicaSet {
+
+  private static final ContainerID CONTAINER_ID = ContainerID.valueOf(1);
+
+  @Test
+  public void testWithAndWithout() {
+    DatanodeDetails dn1 = MockDatanodeDetails.randomDatanodeDetails();
+    DatanodeDetails dn2 = MockDatanodeDetails.randomDatanodeDetails();
+    ContainerReplica r1 = replica(dn1, 10);
+    ContainerReplica r2 = replica(dn2, 10);
+
+    ContainerReplicaSet empty = ContainerReplicaSet.empty();
+    ContainerReplicaSet one = empty.with(r1);
+    ContainerReplicaSet two = one.with(r2);
+    assertTrue(empty.isEmpty());
+    assertEquals(1, one.size());
+    assertEquals(2, two.size());
+    assertThat(two).containsExactlyInAnyOrder(r1, r2);
+    assertEquals(new HashSet<>(two), two);
+
+    // An identical replica does not change the set.
+    assertSame(two, two.with(replica(dn1, 10)));
+
+    // An updated replica replaces the previous one.
+    ContainerReplica updated = replica(dn1, 20);
+    ContainerReplicaSet replaced = two.with(updated);
+    assertNotSame(two, replaced);
+    assertEquals(2, replaced.size());
+    assertTrue(replaced.stream().anyMatch(r -> r.getKeyCount() == 20));
+    assertTrue(two.stream().allMatch(r -> r.getKeyCount() == 10));
+
+    assertThat(replaced.without(r1)).containsExactly(r2);
+    assertSame(replaced, replaced.without(
+        replica(MockDatanodeDetails.randomDatanodeDetails(), 10)));
+    assertSame(empty, one.without(r1));
+
+    assertThrows(UnsupportedOperationException.class, () -> two.add(r1));
+  }
+
+  @Test
+  public void testReplicaSetIsNotModified() throws SCMException {
+    ContainerStateMap stateMap = new ContainerStateMap();
+    stateMap.addContainer(new ContainerInfo.Builder()
+        .setContainerID(CONTAINER_ID.getId())
+        .setState(HddsProtos.LifeCycleState.CLOSED)
+        .setOwner("test")
+        .setReplicationConfig(RatisReplicationConfig.getInstance(
+            HddsProtos.ReplicationFactor.THREE))
+        .build());
+
+    DatanodeDetails dn1 = MockDatanodeDetails.randomDatanodeDetails();
+    DatanodeDetails dn2 = MockDatanodeDetails.randomDatanodeDetails();
+    stateMap.updateContainerReplica(CONTAINER_ID, replica(dn1, 10));
+    Set<ContainerReplica> replicas = stateMap.getContainerReplicas(CONTAINER_ID);
+    assertEquals(1, replicas.size());
+
+    stateMap.updateContainerReplica(CONTAINER_ID, replica(dn1, 10));
+    assertSame(replicas, stateMap.getContainerReplicas(CONTAINER_ID));
+
+    stateMap.updateContainerReplica(CONTAINER_ID, replica(dn2, 10));
+    stateMap.removeContainerReplica(CONTAINER_ID, replica(dn1, 10));
+    assertThat(stateMap.getContainerReplicas(CONTAINER_ID))
+        .containsExactly(replica(dn2, 10));
+    // The set returned before the updates is unchanged.
+    assertThat(replicas).containsExactly(replica(dn1, 10));
+  }
+
+  private static ContainerReplica replica(DatanodeDetails dn, long keyCount) {
+    return ContainerReplica.newBuilder()
+        .setContainerID(CONTAINER_ID)
+        .setContainerState(ContainerReplicaProto.State.CLOSED)
+        .setDatanodeDetails(dn)
+        .setOriginNodeId(dn.getUuid())
+        .setSequenceId(1L)
+        .setKeyCount(keyCount)
+        .setBytesUsed(keyCount * 1024)
+        .build();
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.hadoop.hdds.scm.ha;
+
+import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.RequestType;
+import org.apache.hadoop.hdds.scm.exceptions.SCMException;
+import org.apache.hadoop.hdds.scm.exceptions.SCMException.ResultCodes;
+import org.apache.hadoop.hdds.scm.metadata.Replicate;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the local dispatch of {@link SCMHAInvocationHandler}.
+ */
+public class TestSCMHAInvocationHandler {
+
+  /**
+   * The interface proxied in the test.
+   */
+  interface Counter {
+    @Replicate
+    long add(int delta, Long offset) throws IOException;
+
+    int get();
+
+    void fail(boolean io) throws IOException;
+  }
+
+  private static final class CounterImpl implements Counter {
+    private int value;
+
+    @Override
+    public long add(int delta, Long offset) {
+      value += delta;
+      return value + offset;
+    }
+
+    @Override
+    public int get() {
+      return value;
+    }
+
+    @Override
+    public void fail(boolean io) throws IOException {
+      if (io) {
+        throw new IOException("fail");
+      }
+      throw new IllegalStateException("fail");
+    }
+  }
+
+  @Test
+  public void testInvokeLocal() throws Exception {
+    final Counter counter = (Counter) Proxy.newProxyInstance(
+        SCMHAInvocationHandler.class.getClassLoader(),
+        new Class<?>[]{Counter.class},
+        new SCMHAInvocationHandler(RequestType.CONTAINER, new CounterImpl(),
+            null));
+
+    // Without a Ratis server, replicated methods are invoked locally too.
+    assertEquals(12L, counter.add(2, 10L));
+    assertEquals(13L, counter.add(1, 10L));
+    assertEquals(3, counter.get());
+
+    SCMException e = assertThrows(SCMException.class,
+        () -> counter.fail(true));
+    assertEquals(ResultCodes.IO_EXCEPTION, e.getResult());
+    e = assertThrows(SCMException.class, () -> counter.fail(false));
+    assertEquals(ResultCodes.INTERNAL_ERROR, e.getResult());
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.hadoop.ozone.common.Checksum;
+import org.apache.hadoop.ozone.common.ChecksumData;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.common.OzoneChecksumException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark {@link Checksum#computeChecksum(ChunkBuffer)}
+ * for each {@link ChecksumType}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkChecksum {
+
+  @Param({"NONE", "CRC32", "CRC32C", "SHA256", "MD5"})
+  private ChecksumType checksumType;
+
+  @Param({"16384", "1048576"})
+  private int bytesPerChecksum;
+
+  @Param({"4194304"})
+  private int chunkSize;
+
+  @Param({"false", "true"})
+  private boolean direct;
+
+  private Checksum checksum;
+  private ByteBuffer data;
+
+  @Setup
+  public void setup() {
+    checksum = new Checksum(checksumType, bytesPerChecksum);
+    final byte[] bytes = new byte[chunkSize];
+    ThreadLocalRandom.current().nextBytes(bytes);
+    final ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(chunkSize)
+        : ByteBuffer.allocate(chunkSize);
+    buffer.put(bytes).flip();
+    data = buffer.asReadOnlyBuffer();
+  }
+
+  @Benchmark
+  public ChecksumData computeChecksum() throws OzoneChecksumException {
+    return checksum.computeChecksum(ChunkBuffer.wrap(data.duplicate()));
+  }
+}
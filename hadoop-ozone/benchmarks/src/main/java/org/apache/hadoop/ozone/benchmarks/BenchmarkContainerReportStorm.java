@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
+import org.apache.hadoop.hdds.scm.container.ContainerID;
+import org.apache.hadoop.hdds.scm.container.ContainerInfo;
+import org.apache.hadoop.hdds.scm.container.ContainerReplica;
+import org.apache.hadoop.hdds.scm.container.states.ContainerStateMap;
+import org.apache.hadoop.hdds.scm.exceptions.SCMException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark the replica updates of {@link ContainerStateMap} when every
+ * datanode of a large cluster sends its full container report.
+ * <p>
+ * Each container has three replicas placed on consecutive datanodes.
+ * With {@code changed} set, every report carries a different key count
+ * than the previous one, otherwise the reports repeat the same replicas,
+ * which is the common case for closed containers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class BenchmarkContainerReportStorm {
+
+  private static final int REPLICATION = 3;
+
+  @Param({"5000"})
+  private int numDatanodes;
+
+  @Param({"100"})
+  private int containersPerDatanode;
+
+  @Param({"false", "true"})
+  private boolean changed;
+
+  private ContainerStateMap stateMap;
+  /** The full report of each datanode, two versions each. */
+  private ContainerReplica[][][] reports;
+  private ContainerID[][] reportContainerIds;
+  private int round;
+
+  @Setup
+  public void setup() throws SCMException {
+    final DatanodeDetails[] datanodes = new DatanodeDetails[numDatanodes];
+    for (int i = 0; i < numDatanodes; i++) {
+      datanodes[i] = DatanodeDetails.newBuilder()
+          .setUuid(UUID.randomUUID())
+          .setHostName("dn-" + i)
+          .setIpAddress("10.0." + (i >> 8) + "." + (i & 0xff))
+          .build();
+    }
+
+    final int numContainers =
+        numDatanodes * containersPerDatanode / REPLICATION;
+    stateMap = new ContainerStateMap();
+    reports = new ContainerReplica[2][numDatanodes][containersPerDatanode];
+    reportContainerIds = new ContainerID[numDatanodes][containersPerDatanode];
+    final int[] reportSizes = new int[numDatanodes];
+    for (int c = 0; c < numContainers; c++) {
+      final ContainerID id = ContainerID.valueOf(c + 1);
+      stateMap.addContainer(new ContainerInfo.Builder()
+          .setContainerID(id.getId())
+          .setState(HddsProtos.LifeCycleState.CLOSED)
+          .setOwner("benchmark")
+          .setReplicationConfig(RatisReplicationConfig.getInstance(
+              HddsProtos.ReplicationFactor.THREE))
+          .build());
+      for (int r = 0; r < REPLICATION; r++) {
+        final int dn = (c * REPLICATION + r) % numDatanodes;
+        final int index = reportSizes[dn]++;
+        reportContainerIds[dn][index] = id;
+        for (int v = 0; v < 2; v++) {
+          reports[v][dn][index] = ContainerReplica.newBuilder()
+              .setContainerID(id)
+              .setContainerState(ContainerReplicaProto.State.CLOSED)
+              .setDatanodeDetails(datanodes[dn])
+              .setOriginNodeId(datanodes[dn].getUuid())
+              .setSequenceId(1000L)
+              .setKeyCount(changed ? 100 + v : 100)
+              .setBytesUsed(5L << 30)
+              .build();
+        }
+      }
+    }
+    // Initial reports.
+    fullReportStorm(null);
+  }
+
+  @Benchmark
+  public void fullReportStorm(Blackhole blackhole) {
+    final ContainerReplica[][] report = reports[round++ & 1];
+    for (int dn = 0; dn < numDatanodes; dn++) {
+      final ContainerReplica[] datanodeReport = report[dn];
+      for (int i = 0; i < datanodeReport.length; i++) {
+        final ContainerReplica replica = datanodeReport[i];
+        if (replica == null) {
+          break;
+        }
+        final ContainerID id = reportContainerIds[dn][i];
+        stateMap.updateContainerReplica(id, replica);
+        if (blackhole != null) {
+          blackhole.consume(stateMap.getContainerReplicas(id));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.hadoop.ozone.common.Checksum;
+import org.apache.hadoop.ozone.common.ChecksumByteBuffer;
+import org.apache.hadoop.ozone.common.ChecksumData;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.common.OzoneChecksumException;
+import org.apache.hadoop.ozone.common.PureJavaCrc32CByteBuffer;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark the CRC32C checksum proto of a chunk computed by
+ * {@link Checksum}, which uses {@code java.util.zip.CRC32C} and stores the
+ * checksums contiguously, against computing a {@link ByteString} per
+ * checksum with {@link PureJavaCrc32CByteBuffer}.
+ * Run with {@code -prof gc} to compare the allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkCrc32C {
+
+  @Param({"16384", "1048576"})
+  private int bytesPerChecksum;
+
+  @Param({"4194304"})
+  private int chunkSize;
+
+  @Param({"false", "true"})
+  private boolean direct;
+
+  private Checksum checksum;
+  private ChecksumByteBuffer pureJavaCrc32C;
+  private ByteBuffer data;
+
+  @Setup
+  public void setup() {
+    checksum = new Checksum(ChecksumType.CRC32C, bytesPerChecksum);
+    pureJavaCrc32C = new PureJavaCrc32CByteBuffer();
+    final byte[] bytes = new byte[chunkSize];
+    ThreadLocalRandom.current().nextBytes(bytes);
+    final ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(chunkSize)
+        : ByteBuffer.allocate(chunkSize);
+    buffer.put(bytes).flip();
+    data = buffer.asReadOnlyBuffer();
+  }
+
+  @Benchmark
+  public ContainerProtos.ChecksumData checksum()
+      throws OzoneChecksumException {
+    return checksum.computeChecksum(ChunkBuffer.wrap(data.duplicate()))
+        .getProtoBufMessage();
+  }
+
+  @Benchmark
+  public ContainerProtos.ChecksumData pureJavaCrc32CByteStrings() {
+    final List<ByteString> checksums = new ArrayList<>();
+    for (ByteBuffer b : ChunkBuffer.wrap(data.duplicate())
+        .iterate(bytesPerChecksum)) {
+      pureJavaCrc32C.reset();
+      pureJavaCrc32C.update(b);
+      checksums.add(Checksum.int2ByteString((int) pureJavaCrc32C.getValue()));
+    }
+    return new ChecksumData(ChecksumType.CRC32C, bytesPerChecksum, checksums)
+        .getProtoBufMessage();
+  }
+}
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.ozone.OzoneConfigKeys;
+import org.apache.hadoop.ozone.audit.AuditLogger;
+import org.apache.hadoop.ozone.om.OMConfigKeys;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OMMetrics;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
+import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.PrefixManager;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmVolumeArgs;
+import org.apache.hadoop.ozone.om.lock.OzoneLockProvider;
+import org.apache.hadoop.ozone.om.request.key.OMKeyCreateRequest;
+import org.apache.hadoop.ozone.om.request.key.OMKeyCreateRequestWithFSO;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.apache.hadoop.util.Time;
+import org.apache.ratis.server.protocol.TermIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmark {@link OMKeyCreateRequest#validateAndUpdateCache} against an
+ * {@link OmMetadataManagerImpl} and a mocked {@link OzoneManager}.
+ * The responses are not flushed, so only the table caches are updated.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkOMKeyCreateRequest {
+  private static final String VOLUME = "volume";
+  private static final String BUCKET = "bucket";
+  /** Object IDs of the volume and bucket, above the IDs derived from the transaction index. */
+  private static final long VOLUME_ID = 1L << 40;
+  private static final long BUCKET_ID = VOLUME_ID + 1;
+
+  @Param({"OBJECT_STORE", "LEGACY", "FILE_SYSTEM_OPTIMIZED"})
+  private BucketLayout bucketLayout;
+
+  /**
+   * The depth of the key path.
+   * With LEGACY layout, the paths are normalized and the parent directories are created.
+   * With FILE_SYSTEM_OPTIMIZED layout, the parent directories are added to the directory table.
+   */
+  @Param({"1", "8"})
+  private int depth;
+
+  private Path dbDir;
+  private OMMetadataManager omMetadataManager;
+  private OzoneManager ozoneManager;
+  private OMKeyCreateRequest request;
+  private long transactionIndex;
+  private long lastCleanedIndex;
+
+  @Setup
+  public void setup() throws Exception {
+    dbDir = Files.createTempDirectory(BenchmarkOMKeyCreateRequest.class.getSimpleName());
+    final OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(OMConfigKeys.OZONE_OM_DB_DIRS, dbDir.toString());
+    conf.set(OzoneConfigKeys.OZONE_METADATA_DIRS, dbDir.toString());
+
+    ozoneManager = mock(OzoneManager.class);
+    omMetadataManager = new OmMetadataManagerImpl(conf, ozoneManager);
+    when(ozoneManager.getConfiguration()).thenReturn(conf);
+    when(ozoneManager.getMetadataManager()).thenReturn(omMetadataManager);
+    when(ozoneManager.getMetrics()).thenReturn(OMMetrics.create());
+    when(ozoneManager.getAuditLogger()).thenReturn(mock(AuditLogger.class));
+    when(ozoneManager.getPrefixManager()).thenReturn(mock(PrefixManager.class));
+    when(ozoneManager.getEnableFileSystemPaths()).thenReturn(true);
+    when(ozoneManager.getOzoneLockProvider()).thenReturn(new OzoneLockProvider(false, true));
+    when(ozoneManager.getScmBlockSize()).thenReturn(256L << 20);
+    when(ozoneManager.isRatisEnabled()).thenReturn(true);
+    when(ozoneManager.getObjectIdFromTxId(anyLong())).thenAnswer(i -> i.getArgument(0));
+
+    addVolumeAndBucket();
+
+    final StringBuilder keyName = new StringBuilder();
+    for (int i = 1; i < depth; i++) {
+      keyName.append("dir").append(i).append('/');
+    }
+    keyName.append("key");
+
+    final KeyArgs keyArgs = KeyArgs.newBuilder()
+        .setVolumeName(VOLUME)
+        .setBucketName(BUCKET)
+        .setKeyName(keyName.toString())
+        .setDataSize(4096)
+        .setType(HddsProtos.ReplicationType.RATIS)
+        .setFactor(HddsProtos.ReplicationFactor.THREE)
+        .setModificationTime(Time.now())
+        .build();
+    final OMRequest omRequest = OMRequest.newBuilder()
+        .setCmdType(Type.CreateKey)
+        .setClientId(UUID.randomUUID().toString())
+        .setCreateKeyRequest(CreateKeyRequest.newBuilder()
+            .setKeyArgs(keyArgs)
+            .setClientID(Time.now()))
+        .build();
+    request = bucketLayout.isFileSystemOptimized()
+        ? new OMKeyCreateRequestWithFSO(omRequest, bucketLayout)
+        : new OMKeyCreateRequest(omRequest, bucketLayout);
+  }
+
+  private void addVolumeAndBucket() throws IOException {
+    final OmVolumeArgs volumeArgs = OmVolumeArgs.newBuilder()
+        .setVolume(VOLUME)
+        .setObjectID(VOLUME_ID)
+        .setAdminName("admin")
+        .setOwnerName("owner")
+        .setCreationTime(Time.now())
+        .build();
+    final String volumeKey = omMetadataManager.getVolumeKey(VOLUME);
+    omMetadataManager.getVolumeTable().put(volumeKey, volumeArgs);
+    omMetadataManager.getVolumeTable().addCacheEntry(
+        new CacheKey<>(volumeKey), CacheValue.get(0L, volumeArgs));
+
+    final OmBucketInfo bucketInfo = OmBucketInfo.newBuilder()
+        .setVolumeName(VOLUME)
+        .setBucketName(BUCKET)
+        .setBucketLayout(bucketLayout)
+        .setObjectID(BUCKET_ID)
+        .setCreationTime(Time.now())
+        .build();
+    final String bucketKey = omMetadataManager.getBucketKey(VOLUME, BUCKET);
+    omMetadataManager.getBucketTable().put(bucketKey, bucketInfo);
+    omMetadataManager.getBucketTable().addCacheEntry(
+        new CacheKey<>(bucketKey), CacheValue.get(0L, bucketInfo));
+  }
+
+  /** Since the responses are never flushed, cleanup the cache entries added in the last iteration. */
+  @TearDown(Level.Iteration)
+  public void cleanupCache() {
+    final List<Long> epochs = LongStream.rangeClosed(lastCleanedIndex + 1, transactionIndex)
+        .boxed()
+        .collect(Collectors.toList());
+    omMetadataManager.getOpenKeyTable(bucketLayout).cleanupCache(epochs);
+    omMetadataManager.getKeyTable(bucketLayout).cleanupCache(epochs);
+    omMetadataManager.getDirectoryTable().cleanupCache(epochs);
+    lastCleanedIndex = transactionIndex;
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    omMetadataManager.stop();
+    FileUtils.deleteDirectory(dbDir.toFile());
+  }
+
+  @Benchmark
+  public OMClientResponse validateAndUpdateCache() {
+    return request.validateAndUpdateCache(ozoneManager,
+        TermIndex.valueOf(1, ++transactionIndex));
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.utils.db.Codec;
+import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
+import org.apache.hadoop.util.Time;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark the DB codecs of {@link OmKeyInfo} and {@link OmDirectoryInfo}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkOmKeyInfoCodec {
+
+  /** The number of blocks of the key. */
+  @Param({"1", "16"})
+  private int numBlocks;
+
+  private Codec<OmKeyInfo> keyCodec;
+  private OmKeyInfo keyInfo;
+  private byte[] encodedKeyInfo;
+
+  private Codec<OmDirectoryInfo> directoryCodec;
+  private OmDirectoryInfo directoryInfo;
+  private byte[] encodedDirectoryInfo;
+
+  @Setup
+  public void setup() throws IOException {
+    keyCodec = OmKeyInfo.getCodec(true);
+    keyInfo = newKeyInfo(numBlocks);
+    encodedKeyInfo = keyCodec.toPersistedFormat(keyInfo);
+
+    directoryCodec = OmDirectoryInfo.getCodec();
+    directoryInfo = new OmDirectoryInfo.Builder()
+        .setName("dir-0123456789")
+        .setCreationTime(Time.now())
+        .setModificationTime(Time.now())
+        .setObjectID(1L << 40)
+        .setParentObjectID(1L << 39)
+        .setUpdateID(50)
+        .build();
+    encodedDirectoryInfo = directoryCodec.toPersistedFormat(directoryInfo);
+  }
+
+  static OmKeyInfo newKeyInfo(int numBlocks) {
+    final long blockSize = 256L << 20;
+    final List<OmKeyLocationInfo> locations = new ArrayList<>(numBlocks);
+    for (int i = 0; i < numBlocks; i++) {
+      locations.add(new OmKeyLocationInfo.Builder()
+          .setBlockID(new BlockID(1000L + i, 100_000L + i))
+          .setLength(blockSize)
+          .setOffset(i * blockSize)
+          .build());
+    }
+    final String keyName = "dir1/dir2/key-0123456789";
+    return new OmKeyInfo.Builder()
+        .setVolumeName("volume")
+        .setBucketName("bucket")
+        .setKeyName(keyName)
+        .setFileName("key-0123456789")
+        .setReplicationConfig(RatisReplicationConfig.getInstance(ReplicationFactor.THREE))
+        .setObjectID(1L << 40)
+        .setParentObjectID(1L << 39)
+        .setUpdateID(100L)
+        .setCreationTime(Time.now())
+        .setModificationTime(Time.now())
+        .addOmKeyLocationInfoGroup(new OmKeyLocationInfoGroup(0L, locations))
+        .setDataSize(numBlocks * blockSize)
+        .build();
+  }
+
+  @Benchmark
+  public byte[] encodeKeyInfo() throws IOException {
+    return keyCodec.toPersistedFormat(keyInfo);
+  }
+
+  @Benchmark
+  public OmKeyInfo decodeKeyInfo() throws IOException {
+    return keyCodec.fromPersistedFormat(encodedKeyInfo);
+  }
+
+  @Benchmark
+  public byte[] encodeDirectoryInfo() throws IOException {
+    return directoryCodec.toPersistedFormat(directoryInfo);
+  }
+
+  @Benchmark
+  public OmDirectoryInfo decodeDirectoryInfo() throws IOException {
+    return directoryCodec.fromPersistedFormat(encodedDirectoryInfo);
+  }
+}
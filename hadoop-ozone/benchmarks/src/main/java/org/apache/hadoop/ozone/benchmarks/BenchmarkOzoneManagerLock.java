@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.om.lock.OzoneManagerLock;
+import org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark {@link OzoneManagerLock} acquire/release under contention.
+ * The contention is controlled by the number of buckets shared by the threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class BenchmarkOzoneManagerLock {
+  private static final String VOLUME = "volume";
+
+  @Param({"1", "16", "1024"})
+  private int numBuckets;
+
+  private OzoneManagerLock lock;
+  private String[] buckets;
+
+  @Setup
+  public void setup() {
+    lock = new OzoneManagerLock(new OzoneConfiguration());
+    buckets = new String[numBuckets];
+    for (int i = 0; i < numBuckets; i++) {
+      buckets[i] = "bucket-" + i;
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    lock.cleanup();
+  }
+
+  private String nextBucket() {
+    return buckets[ThreadLocalRandom.current().nextInt(numBuckets)];
+  }
+
+  @Benchmark
+  public void bucketWriteLock() {
+    final String bucket = nextBucket();
+    lock.acquireWriteLock(Resource.BUCKET_LOCK, VOLUME, bucket);
+    lock.releaseWriteLock(Resource.BUCKET_LOCK, VOLUME, bucket);
+  }
+
+  @Benchmark
+  public void bucketReadLock() {
+    final String bucket = nextBucket();
+    lock.acquireReadLock(Resource.BUCKET_LOCK, VOLUME, bucket);
+    lock.releaseReadLock(Resource.BUCKET_LOCK, VOLUME, bucket);
+  }
+
+  /** Volume read lock and then bucket write lock, as the key write requests. */
+  @Benchmark
+  public void volumeReadBucketWriteLock() {
+    final String bucket = nextBucket();
+    lock.acquireReadLock(Resource.VOLUME_LOCK, VOLUME);
+    lock.acquireWriteLock(Resource.BUCKET_LOCK, VOLUME, bucket);
+    lock.releaseWriteLock(Resource.BUCKET_LOCK, VOLUME, bucket);
+    lock.releaseReadLock(Resource.VOLUME_LOCK, VOLUME);
+  }
+}
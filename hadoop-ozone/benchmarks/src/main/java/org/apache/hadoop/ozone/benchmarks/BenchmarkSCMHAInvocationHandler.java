@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmarks;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.RequestType;
+import org.apache.hadoop.hdds.scm.ha.ReflectionUtil;
+import org.apache.hadoop.hdds.scm.ha.SCMHAInvocationHandler;
+import org.apache.hadoop.hdds.scm.metadata.Replicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark the dispatch of SCM state manager calls through
+ * {@link SCMHAInvocationHandler}, compared to the reflective dispatch it
+ * used to do for every call, and to a direct call.
+ * <p>
+ * The state machine lookup of the method applying a request is benchmarked
+ * as well, with and without the {@link ReflectionUtil} cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkSCMHAInvocationHandler {
+
+  /**
+   * A state manager with the shape of the SCM ones.
+   */
+  public interface StateManager {
+    @Replicate
+    long updateState(long id, HddsProtos.LifeCycleEvent event);
+
+    long getState(long id);
+  }
+
+  /**
+   * A trivial implementation, so that the dispatch dominates.
+   */
+  public static final class StateManagerImpl implements StateManager {
+    private long state;
+
+    @Override
+    public long updateState(long id, HddsProtos.LifeCycleEvent event) {
+      state += id + event.getNumber();
+      return state;
+    }
+
+    @Override
+    public long getState(long id) {
+      return state + id;
+    }
+  }
+
+  private static final HddsProtos.LifeCycleEvent EVENT =
+      HddsProtos.LifeCycleEvent.FINALIZE;
+
+  private StateManager direct;
+  private StateManager proxy;
+  private Method updateState;
+  private Class<?>[] parameterTypes;
+  private long id;
+
+  @Setup
+  public void setup() throws Exception {
+    direct = new StateManagerImpl();
+    // No Ratis server: all the calls, replicated or not, are local.
+    proxy = (StateManager) Proxy.newProxyInstance(
+        SCMHAInvocationHandler.class.getClassLoader(),
+        new Class<?>[]{StateManager.class},
+        new SCMHAInvocationHandler(RequestType.CONTAINER, direct, null));
+    updateState = StateManager.class.getMethod("updateState", long.class,
+        HddsProtos.LifeCycleEvent.class);
+    parameterTypes = updateState.getParameterTypes();
+  }
+
+  @Benchmark
+  public long directCall() {
+    return direct.updateState(id++, EVENT);
+  }
+
+  @Benchmark
+  public long reflectiveCall() throws Exception {
+    // What the handler used to do for every local call.
+    if (updateState.isAnnotationPresent(Replicate.class)) {
+      updateState.getAnnotation(Replicate.class).invocationType();
+    }
+    return (Long) updateState.invoke(direct, id++, EVENT);
+  }
+
+  @Benchmark
+  public long proxyCall() {
+    return proxy.updateState(id++, EVENT);
+  }
+
+  @Benchmark
+  public Method lookupMethod() throws Exception {
+    return direct.getClass().getMethod("updateState", parameterTypes);
+  }
+
+  @Benchmark
+  public Method lookupCachedMethod() throws Exception {
+    return ReflectionUtil.getMethod(direct.getClass(), "updateState",
+        parameterTypes);
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.db.DBStore;
+import org.apache.hadoop.hdds.utils.db.DBStoreBuilder;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.hdds.utils.db.TypedTable;
+import org.apache.hadoop.hdds.utils.db.cache.TableCache.CacheType;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark {@link TypedTable} get/put of {@link OmKeyInfo} values
+ * with a full or a partial table cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class BenchmarkTypedTable {
+  private static final String TABLE_NAME = "keyTable";
+
+  @Param({"FULL_CACHE", "PARTIAL_CACHE"})
+  private CacheType cacheType;
+
+  @Param({"100000"})
+  private int numKeys;
+
+  private Path dbDir;
+  private DBStore store;
+  private Table<String, OmKeyInfo> table;
+  private OmKeyInfo value;
+
+  @Setup
+  public void setup() throws IOException {
+    dbDir = Files.createTempDirectory(BenchmarkTypedTable.class.getSimpleName());
+    store = DBStoreBuilder.newBuilder(new OzoneConfiguration())
+        .setName("benchmark.db")
+        .setPath(dbDir)
+        .addTable(TABLE_NAME)
+        .addCodec(OmKeyInfo.class, OmKeyInfo.getCodec(true))
+        .build();
+
+    value = BenchmarkOmKeyInfoCodec.newKeyInfo(1);
+    try (Table<String, OmKeyInfo> writer = store.getTable(TABLE_NAME,
+        String.class, OmKeyInfo.class, CacheType.PARTIAL_CACHE)) {
+      for (int i = 0; i < numKeys; i++) {
+        writer.put(getKey(i), value);
+      }
+    }
+    // A new table loads the full cache from the DB.
+    table = store.getTable(TABLE_NAME, String.class, OmKeyInfo.class, cacheType);
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    table.close();
+    store.close();
+    FileUtils.deleteDirectory(dbDir.toFile());
+  }
+
+  private static String getKey(int i) {
+    return "/volume/bucket/key-" + i;
+  }
+
+  private String nextKey() {
+    return getKey(ThreadLocalRandom.current().nextInt(numKeys));
+  }
+
+  @Benchmark
+  public OmKeyInfo get() throws IOException {
+    return table.get(nextKey());
+  }
+
+  @Benchmark
+  public OmKeyInfo getIfExist() throws IOException {
+    return table.getIfExist(nextKey());
+  }
+
+  @Benchmark
+  public OmKeyInfo getMissing() throws IOException {
+    return table.get(getKey(numKeys + ThreadLocalRandom.current().nextInt(numKeys)));
+  }
+
+  @Benchmark
+  public void put() throws IOException {
+    table.put(nextKey(), value);
+  }
+}
@@ -719,6 +719,18 @@ public void renameKey(String fromKeyName, String toKeyName)
     proxy.renameKey(volumeName, name, fromKeyName, toKeyName);
   }
 
+  /**
+   * Copy the key fromKeyName to toKeyName, sharing its data.
+   * Supported only in OBJECT_STORE and LEGACY buckets without versioning.
+   * @param fromKeyName The original key name.
+   * @param toKeyName New key name.
+   * @throws IOException
+   */
+  public void copyKey(String fromKeyName, String toKeyName)
+      throws IOException {
+    proxy.copyKey(volumeName, name, fromKeyName, toKeyName);
+  }
+
   /**
    * Rename the key by keyMap, The key is fromKeyName and value is toKeyName.
    * @param keyMap The key is original key name nad value is new key name.
@@ -28,6 +28,7 @@
 import org.apache.hadoop.hdds.scm.OzoneClientConfig;
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
 import org.apache.hadoop.hdds.scm.storage.BlockExtendedInputStream;
+import org.apache.hadoop.hdds.scm.storage.BlockInputStream;
 import org.apache.hadoop.hdds.scm.storage.BlockLocationInfo;
 import org.apache.hadoop.hdds.scm.storage.ByteReaderStrategy;
 import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
@@ -179,6 +180,33 @@ public static List<LengthInputStream> getStreamsFromKeyInfo(OmKeyInfo keyInfo,
     return lengthInputStreams;
   }
 
+  @Override
+  protected synchronized int readWithStrategy(ByteReaderStrategy strategy)
+      throws IOException {
+    final int numBytesRead = super.readWithStrategy(strategy);
+    readAheadNextBlock();
+    return numBytesRead;
+  }
+
+  /**
+   * Start reading the next block in the background when the sequential reads
+   * of the current block have reached its last chunk.
+   */
+  private void readAheadNextBlock() {
+    final List<BlockExtendedInputStream> streams = getPartStreams();
+    final int index = getCurrentStreamIndex();
+    if (index + 1 >= streams.size()) {
+      return;
+    }
+    final BlockExtendedInputStream current = streams.get(index);
+    final BlockExtendedInputStream next = streams.get(index + 1);
+    if (current instanceof BlockInputStream
+        && next instanceof BlockInputStream
+        && ((BlockInputStream) current).isReadingAheadLastChunk()) {
+      ((BlockInputStream) next).readAheadFromStart();
+    }
+  }
+
   @Override
   protected int getNumBytesToRead(ByteReaderStrategy strategy,
                                   PartInputStream current) throws IOException {
@@ -33,6 +33,7 @@
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.ozone.OzoneAcl;
 import org.apache.hadoop.ozone.OzoneFsServerDefaults;
+import org.apache.hadoop.ozone.OzoneManagerVersion;
 import org.apache.hadoop.ozone.client.BucketArgs;
 import org.apache.hadoop.ozone.client.OzoneBucket;
 import org.apache.hadoop.ozone.client.OzoneKey;
@@ -486,6 +487,18 @@ Map<String, ErrorInfo> deleteKeys(String volumeName, String bucketName,
   void renameKey(String volumeName, String bucketName, String fromKeyName,
                  String toKeyName) throws IOException;
 
+  /**
+   * Copies an existing key to another key within a bucket, without copying
+   * the data: the new key shares the blocks of the existing key.
+   * @param volumeName Name of the Volume
+   * @param bucketName Name of the Bucket
+   * @param fromKeyName Name of the Key to be copied
+   * @param toKeyName Name of the new Key
+   * @throws IOException
+   */
+  void copyKey(String volumeName, String bucketName, String fromKeyName,
+               String toKeyName) throws IOException;
+
   /**
    * Renames existing keys within a bucket.
    * @param volumeName Name of the Volume
@@ -832,6 +845,12 @@ TenantUserList listUsersInTenant(String tenantId, String prefix)
    */
   OzoneFsServerDefaults getServerDefaults() throws IOException;
 
+  /**
+   * Get the version of the OzoneManager, the oldest one of an OM HA cluster.
+   * @return the OzoneManager version
+   */
+  OzoneManagerVersion getOmVersion();
+
   /**
    * Get KMS client provider.
    * @return KMS client provider.
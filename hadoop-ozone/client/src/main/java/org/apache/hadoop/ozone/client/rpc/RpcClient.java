@@ -58,6 +58,7 @@
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
 import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
+import org.apache.hadoop.hdds.scm.storage.ReadPrefetcher;
 import org.apache.hadoop.hdds.tracing.TracingUtil;
 import org.apache.hadoop.hdds.utils.IOUtils;
 import org.apache.hadoop.io.ByteBufferPool;
@@ -156,6 +157,7 @@
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.security.InvalidKeyException;
@@ -170,6 +172,7 @@
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -227,6 +230,7 @@ public class RpcClient implements ClientProtocol {
   private final MemoizedSupplier<ExecutorService> ecReconstructExecutor;
   private final ContainerClientMetrics clientMetrics;
   private final MemoizedSupplier<ExecutorService> writeExecutor;
+  private final MemoizedSupplier<ExecutorService> readPrefetchExecutor;
   private final AtomicBoolean isS3GRequest = new AtomicBoolean(false);
   private volatile OzoneFsServerDefaults serverDefaults;
   private volatile long serverDefaultsLastUpdate;
@@ -257,6 +261,11 @@ public RpcClient(ConfigurationSource conf, String omServiceId)
         "ec-reconstruct-reader-TID-%d"));
     this.writeExecutor = MemoizedSupplier.valueOf(() -> createThreadPoolExecutor(
         WRITE_POOL_MIN_SIZE, Integer.MAX_VALUE, "client-write-TID-%d"));
+    // A saturated pool rejects the read-ahead instead of running it in the
+    // reader thread.
+    this.readPrefetchExecutor = MemoizedSupplier.valueOf(() -> createThreadPoolExecutor(
+        0, clientConfig.getReadPrefetchPoolLimit(), "client-read-prefetch-TID-%d",
+        new ThreadPoolExecutor.AbortPolicy()));
 
     OmTransport omTransport = createOmTransport(omServiceId);
     OzoneManagerProtocolClientSideTranslatorPB
@@ -333,9 +342,11 @@ public void onRemoval(
           }
         }).build();
     this.byteBufferPool = new ElasticByteBufferPool();
-    this.blockInputStreamFactory = BlockInputStreamFactoryImpl
-        .getInstance(byteBufferPool, ecReconstructExecutor);
     this.clientMetrics = ContainerClientMetrics.acquire();
+    this.blockInputStreamFactory = BlockInputStreamFactoryImpl
+        .getInstance(byteBufferPool, ecReconstructExecutor,
+            new ReadPrefetcher(readPrefetchExecutor,
+                clientConfig.getReadPrefetchMaxChunks(), clientMetrics));
 
     this.serverDefaultsValidityPeriod = conf.getTimeDuration(
         OZONE_CLIENT_SERVER_DEFAULTS_VALIDITY_PERIOD_MS,
@@ -1721,6 +1732,28 @@ public void renameKey(String volumeName, String bucketName,
     ozoneManagerClient.renameKey(keyArgs, toKeyName);
   }
 
+  @Override
+  public void copyKey(String volumeName, String bucketName,
+      String fromKeyName, String toKeyName) throws IOException {
+    if (omVersion.compareTo(OzoneManagerVersion.COPY_KEY) < 0) {
+      throw new OMException("OzoneManager does not support copying a key by"
+          + " sharing its blocks.", OMException.ResultCodes.NOT_SUPPORTED_OPERATION);
+    }
+    verifyVolumeName(volumeName);
+    verifyBucketName(bucketName);
+    if (checkKeyNameEnabled) {
+      HddsClientUtils.verifyKeyName(toKeyName);
+    }
+    HddsClientUtils.checkNotNull(fromKeyName, toKeyName);
+    OmKeyArgs keyArgs = new OmKeyArgs.Builder()
+        .setVolumeName(volumeName)
+        .setBucketName(bucketName)
+        .setKeyName(fromKeyName)
+        .setOwnerName(getRealUserInfo().getShortUserName())
+        .build();
+    ozoneManagerClient.copyKey(keyArgs, toKeyName);
+  }
+
   @Override
   @Deprecated
   public void renameKeys(String volumeName, String bucketName,
@@ -1886,6 +1919,9 @@ public void close() throws IOException {
     if (writeExecutor.isInitialized()) {
       writeExecutor.get().shutdownNow();
     }
+    if (readPrefetchExecutor.isInitialized()) {
+      readPrefetchExecutor.get().shutdownNow();
+    }
     IOUtils.cleanupWithLogger(LOG, ozoneManagerClient, xceiverClientManager);
     keyProviderCache.invalidateAll();
     keyProviderCache.cleanUp();
@@ -2421,6 +2457,7 @@ private OzoneInputStream createInputStream(
       } catch (Exception ex) {
         throw new IOException(ex);
       }
+      setReadExecutor(lengthInputStream.getWrappedStream());
       return new OzoneInputStream(lengthInputStream.getWrappedStream());
     } else if (!keyInfo.getLatestVersionLocations().isMultipartKey()) {
       // Regular Key with FileEncryptionInfo
@@ -2450,8 +2487,20 @@ private OzoneInputStream createInputStream(
                 keyInfo.getKeyName(), i);
         cryptoInputStreams.add(ozoneCryptoInputStream);
       }
-      return new OzoneInputStream(
-          new MultipartInputStream(keyInfo.getKeyName(), cryptoInputStreams));
+      MultipartInputStream multipartInputStream =
+          new MultipartInputStream(keyInfo.getKeyName(), cryptoInputStreams);
+      setReadExecutor(multipartInputStream);
+      return new OzoneInputStream(multipartInputStream);
+    }
+  }
+
+  /**
+   * Read the parts of multipart streams in parallel on the read-ahead pool,
+   * for ranged reads.
+   */
+  private void setReadExecutor(InputStream in) {
+    if (in instanceof MultipartInputStream) {
+      ((MultipartInputStream) in).setReadExecutor(readPrefetchExecutor);
     }
   }
   private OzoneDataStreamOutput createDataStreamOutput(OpenKeySession openKey)
@@ -2585,6 +2634,11 @@ public KeyProvider call() throws Exception {
     }
   }
 
+  @Override
+  public OzoneManagerVersion getOmVersion() {
+    return omVersion;
+  }
+
   @Override
   public OzoneFsServerDefaults getServerDefaults() throws IOException {
     long now = Time.monotonicNow();
@@ -2729,9 +2783,16 @@ public void recoverKey(OmKeyArgs args, long clientID) throws IOException {
 
   private static ExecutorService createThreadPoolExecutor(
        int corePoolSize, int maximumPoolSize, String threadNameFormat) {
+    return createThreadPoolExecutor(corePoolSize, maximumPoolSize, threadNameFormat,
+        new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  private static ExecutorService createThreadPoolExecutor(
+       int corePoolSize, int maximumPoolSize, String threadNameFormat,
+       RejectedExecutionHandler rejectedExecutionHandler) {
     return new ThreadPoolExecutor(corePoolSize, maximumPoolSize,
             60, TimeUnit.SECONDS, new SynchronousQueue<>(),
                new ThreadFactoryBuilder().setNameFormat(threadNameFormat).setDaemon(true).build(),
-               new ThreadPoolExecutor.CallerRunsPolicy());
+               rejectedExecutionHandler);
   }
 }
@@ -399,6 +399,9 @@ private OMConfigKeys() {
       "ozone.directory.deleting.service.interval";
   public static final String OZONE_DIR_DELETING_SERVICE_INTERVAL_DEFAULT
       = "60s";
+  public static final String OZONE_DIR_DELETING_SERVICE_WORKERS =
+      "ozone.directory.deleting.service.workers";
+  public static final int OZONE_DIR_DELETING_SERVICE_WORKERS_DEFAULT = 1;
 
   /**
    * Configuration properties for Snapshot Directory Service.
@@ -476,6 +479,21 @@ private OMConfigKeys() {
       "ozone.om.unflushed.transaction.max.count";
   public static final int OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT_DEFAULT
       = 10000;
+  /**
+   * How the OM double buffer hands over responses to its flush thread:
+   * SWAP (two queues swapped under a lock) or RING (lock-free ring buffer).
+   */
+  public static final String OZONE_OM_DOUBLE_BUFFER_MODE =
+      "ozone.om.double.buffer.mode";
+  public static final String OZONE_OM_DOUBLE_BUFFER_MODE_DEFAULT = "SWAP";
+  /**
+   * Encode the next flush batch while the previous batch is being committed,
+   * and cleanup the cache in a separate thread.
+   */
+  public static final String OZONE_OM_DOUBLE_BUFFER_FLUSH_PIPELINE_ENABLED =
+      "ozone.om.double.buffer.flush.pipeline.enabled";
+  public static final boolean
+      OZONE_OM_DOUBLE_BUFFER_FLUSH_PIPELINE_ENABLED_DEFAULT = false;
 
   /**
    * This configuration shall be enabled to utilize the functionality of the
@@ -485,6 +503,15 @@ private OMConfigKeys() {
       "ozone.om.key.path.lock.enabled";
   public static final boolean OZONE_OM_KEY_PATH_LOCK_ENABLED_DEFAULT = false;
 
+  /**
+   * This configuration shall be enabled to replace the BUCKET_LOCK by the
+   * hierarchical KEY_PATH_LOCK for the create requests in FSO buckets.
+   */
+  public static final String OZONE_OM_FSO_KEY_PATH_LOCK_ENABLED =
+      "ozone.om.fso.key.path.lock.enabled";
+  public static final boolean OZONE_OM_FSO_KEY_PATH_LOCK_ENABLED_DEFAULT =
+      false;
+
   public static final String OZONE_OM_MULTITENANCY_ENABLED =
       "ozone.om.multitenancy.enabled";
   public static final boolean OZONE_OM_MULTITENANCY_ENABLED_DEFAULT = false;
@@ -546,6 +573,16 @@ private OMConfigKeys() {
       "ozone.om.snapshot.cache.max.size";
   public static final int OZONE_OM_SNAPSHOT_CACHE_MAX_SIZE_DEFAULT = 10;
 
+  public static final String OZONE_OM_SNAPSHOT_CACHE_MAX_NATIVE_MEMORY =
+      "ozone.om.snapshot.cache.max.native.memory";
+  public static final String
+      OZONE_OM_SNAPSHOT_CACHE_MAX_NATIVE_MEMORY_DEFAULT = "0";
+
+  public static final String OZONE_OM_SNAPSHOT_DB_BLOCK_CACHE_SIZE =
+      "ozone.om.snapshot.db.block.cache.size";
+  public static final String OZONE_OM_SNAPSHOT_DB_BLOCK_CACHE_SIZE_DEFAULT =
+      "256MB";
+
   public static final String OZONE_OM_SNAPSHOT_FORCE_FULL_DIFF =
       "ozone.om.snapshot.force.full.diff";
 
@@ -574,6 +611,16 @@ private OMConfigKeys() {
   public static final int OZONE_OM_SNAPSHOT_DIFF_THREAD_POOL_SIZE_DEFAULT
       = 10;
 
+  public static final String OZONE_OM_SNAPSHOT_DIFF_WORKER_THREAD_POOL_SIZE
+      = "ozone.om.snapshot.diff.worker.thread.pool.size";
+  public static final int
+      OZONE_OM_SNAPSHOT_DIFF_WORKER_THREAD_POOL_SIZE_DEFAULT = 1;
+
+  public static final String OZONE_OM_SNAPSHOT_DIFF_WORKER_BATCH_SIZE
+      = "ozone.om.snapshot.diff.worker.batch.size";
+  public static final int OZONE_OM_SNAPSHOT_DIFF_WORKER_BATCH_SIZE_DEFAULT
+      = 1000;
+
   public static final String OZONE_OM_SNAPSHOT_DIFF_JOB_DEFAULT_WAIT_TIME
       = "ozone.om.snapshot.diff.job.default.wait.time";
   public static final long OZONE_OM_SNAPSHOT_DIFF_JOB_DEFAULT_WAIT_TIME_DEFAULT
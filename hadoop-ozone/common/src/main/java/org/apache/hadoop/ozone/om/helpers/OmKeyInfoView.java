@@ -0,0 +1,282 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.om.helpers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import jakarta.annotation.Nonnull;
+import org.apache.hadoop.hdds.utils.db.Codec;
+import org.apache.hadoop.hdds.utils.db.CodecBuffer;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyInfo;
+
+/**
+ * A read-only, lazily-decoded view of a serialized {@link OmKeyInfo}.
+ * <p>
+ * Unlike {@link OmKeyInfo#getCodec(boolean)}, which builds the full
+ * {@link KeyInfo} proto including all the block locations, ACLs and
+ * metadata, this view only keeps the serialized bytes. The scalar fields
+ * are parsed by a single scan on first access, which skips over the nested
+ * messages, and the string fields are decoded only when requested.
+ * The full {@link OmKeyInfo} is materialized by {@link #getKeyInfo()}.
+ * <p>
+ * The serialized bytes are copied once out of the {@link CodecBuffer},
+ * since the DB iterators reuse their buffers.
+ */
+public final class OmKeyInfoView {
+  private static final Codec<OmKeyInfoView> CODEC = new ViewCodec();
+
+  public static Codec<OmKeyInfoView> getCodec() {
+    return CODEC;
+  }
+
+  private static final int VOLUME_NAME = KeyInfo.VOLUMENAME_FIELD_NUMBER;
+  private static final int BUCKET_NAME = KeyInfo.BUCKETNAME_FIELD_NUMBER;
+  private static final int KEY_NAME = KeyInfo.KEYNAME_FIELD_NUMBER;
+  private static final int OWNER_NAME = KeyInfo.OWNERNAME_FIELD_NUMBER;
+
+  private final byte[] bytes;
+
+  // Set by scan().
+  private volatile boolean scanned;
+  private long dataSize;
+  private long creationTime;
+  private long modificationTime;
+  private long objectID;
+  private long updateID;
+  private long parentObjectID;
+  private boolean isFile;
+  /** The (offset, length) pairs of the string fields, indexed by field. */
+  private final int[] stringFields = new int[2 * (OWNER_NAME + 1)];
+
+  // Decoded on demand.
+  private String volumeName;
+  private String bucketName;
+  private String keyName;
+  private String ownerName;
+  private OmKeyInfo keyInfo;
+
+  private OmKeyInfoView(byte[] bytes) {
+    this.bytes = Objects.requireNonNull(bytes, "bytes == null");
+  }
+
+  /** @return the view of the given serialized {@link KeyInfo}. */
+  public static OmKeyInfoView valueOf(byte[] bytes) {
+    return new OmKeyInfoView(bytes);
+  }
+
+  public String getVolumeName() {
+    if (volumeName == null) {
+      volumeName = decodeString(VOLUME_NAME);
+    }
+    return volumeName;
+  }
+
+  public String getBucketName() {
+    if (bucketName == null) {
+      bucketName = decodeString(BUCKET_NAME);
+    }
+    return bucketName;
+  }
+
+  public String getKeyName() {
+    if (keyName == null) {
+      keyName = decodeString(KEY_NAME);
+    }
+    return keyName;
+  }
+
+  public String getOwnerName() {
+    if (ownerName == null) {
+      ownerName = decodeString(OWNER_NAME);
+    }
+    return ownerName;
+  }
+
+  public long getDataSize() {
+    scan();
+    return dataSize;
+  }
+
+  public long getCreationTime() {
+    scan();
+    return creationTime;
+  }
+
+  public long getModificationTime() {
+    scan();
+    return modificationTime;
+  }
+
+  public long getObjectID() {
+    scan();
+    return objectID;
+  }
+
+  public long getUpdateID() {
+    scan();
+    return updateID;
+  }
+
+  public long getParentObjectID() {
+    scan();
+    return parentObjectID;
+  }
+
+  public boolean isFile() {
+    scan();
+    return isFile;
+  }
+
+  /** @return the serialized size of the {@link KeyInfo}. */
+  public int getSerializedSize() {
+    return bytes.length;
+  }
+
+  /**
+   * Materialize the full {@link OmKeyInfo}, including the block locations.
+   * The returned object is cached, repeated calls return the same object.
+   */
+  public OmKeyInfo getKeyInfo() throws IOException {
+    if (keyInfo == null) {
+      keyInfo = OmKeyInfo.getFromProtobuf(KeyInfo.parseFrom(bytes));
+    }
+    return keyInfo;
+  }
+
+  private String decodeString(int field) {
+    scan();
+    final int length = stringFields[2 * field + 1];
+    return length == 0 ? ""
+        : new String(bytes, stringFields[2 * field], length,
+            StandardCharsets.UTF_8);
+  }
+
+  private void scan() {
+    if (scanned) {
+      return;
+    }
+    try {
+      scanFields();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to parse KeyInfo", e);
+    }
+    scanned = true;
+  }
+
+  /** Parse the top level scalar fields and skip the nested messages. */
+  private void scanFields() throws IOException {
+    final CodedInputStream in = CodedInputStream.newInstance(bytes);
+    for (int tag; (tag = in.readTag()) != 0;) {
+      final int field = WireFormat.getTagFieldNumber(tag);
+      switch (field) {
+      case VOLUME_NAME:
+      case BUCKET_NAME:
+      case KEY_NAME:
+      case OWNER_NAME:
+        final int length = in.readRawVarint32();
+        stringFields[2 * field] = in.getTotalBytesRead();
+        stringFields[2 * field + 1] = length;
+        in.skipRawBytes(length);
+        break;
+      case KeyInfo.DATASIZE_FIELD_NUMBER:
+        dataSize = in.readUInt64();
+        break;
+      case KeyInfo.CREATIONTIME_FIELD_NUMBER:
+        creationTime = in.readUInt64();
+        break;
+      case KeyInfo.MODIFICATIONTIME_FIELD_NUMBER:
+        modificationTime = in.readUInt64();
+        break;
+      case KeyInfo.OBJECTID_FIELD_NUMBER:
+        objectID = in.readUInt64();
+        break;
+      case KeyInfo.UPDATEID_FIELD_NUMBER:
+        updateID = in.readUInt64();
+        break;
+      case KeyInfo.PARENTID_FIELD_NUMBER:
+        parentObjectID = in.readUInt64();
+        break;
+      case KeyInfo.ISFILE_FIELD_NUMBER:
+        isFile = in.readBool();
+        break;
+      default:
+        // Block locations, ACLs, metadata, etc.
+        in.skipField(tag);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return getVolumeName() + "/" + getBucketName() + "/" + getKeyName()
+        + " (size=" + getDataSize() + ", objectID=" + getObjectID() + ")";
+  }
+
+  /**
+   * A read-only {@link Codec} for {@link OmKeyInfoView}.
+   */
+  private static final class ViewCodec implements Codec<OmKeyInfoView> {
+    @Override
+    public Class<OmKeyInfoView> getTypeClass() {
+      return OmKeyInfoView.class;
+    }
+
+    @Override
+    public boolean supportCodecBuffer() {
+      return true;
+    }
+
+    @Override
+    public CodecBuffer toCodecBuffer(@Nonnull OmKeyInfoView view,
+        CodecBuffer.Allocator allocator) {
+      return allocator.apply(view.bytes.length).put(
+          ByteBuffer.wrap(view.bytes));
+    }
+
+    @Override
+    public OmKeyInfoView fromCodecBuffer(@Nonnull CodecBuffer buffer) {
+      // Do not move the reader index of the buffer.
+      final ByteBuffer readOnly = buffer.asReadOnlyByteBuffer();
+      final byte[] array = new byte[readOnly.remaining()];
+      readOnly.get(array);
+      return new OmKeyInfoView(array);
+    }
+
+    @Override
+    public byte[] toPersistedFormat(OmKeyInfoView view) {
+      return view.bytes.clone();
+    }
+
+    @Override
+    public OmKeyInfoView fromPersistedFormat(byte[] rawData) {
+      return new OmKeyInfoView(rawData);
+    }
+
+    @Override
+    public OmKeyInfoView copyObject(OmKeyInfoView view) {
+      // The view is immutable.
+      return view;
+    }
+  }
+}
@@ -25,6 +25,7 @@
 import org.apache.hadoop.metrics2.annotation.Metrics;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MetricsRegistry;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
 import org.apache.hadoop.metrics2.lib.MutableStat;
 import org.apache.hadoop.ozone.OzoneConsts;
 
@@ -42,6 +43,9 @@ public final class OMLockMetrics implements MetricsSource {
   private final MutableStat readLockHeldTimeMsStat;
   private final MutableStat writeLockWaitingTimeMsStat;
   private final MutableStat writeLockHeldTimeMsStat;
+  private final MutableStat keyPathLockWaitingTimeMsStat;
+  private final MutableStat keyPathLockHeldTimeMsStat;
+  private final MutableCounterLong keyPathLockRetries;
 
   private OMLockMetrics() {
     registry = new MetricsRegistry(SOURCE_NAME);
@@ -57,6 +61,15 @@ private OMLockMetrics() {
     writeLockHeldTimeMsStat = registry.newStat("WriteLockHeldTime",
         "Time (in milliseconds) spent holding the write lock",
         "Ops", "Time", true);
+    keyPathLockWaitingTimeMsStat = registry.newStat("KeyPathLockWaitingTime",
+        "Time (in milliseconds) spent waiting for acquiring the " +
+            "hierarchical KEY_PATH_LOCK", "Ops", "Time", true);
+    keyPathLockHeldTimeMsStat = registry.newStat("KeyPathLockHeldTime",
+        "Time (in milliseconds) spent holding the hierarchical KEY_PATH_LOCK",
+        "Ops", "Time", true);
+    keyPathLockRetries = registry.newCounter("KeyPathLockRetries",
+        "Number of times a hierarchical KEY_PATH_LOCK was re-acquired " +
+            "because the locked directory was created concurrently", 0L);
   }
 
   /**
@@ -114,6 +127,40 @@ public void setWriteLockHeldTimeMsStat(long writeLockHeldTimeMs) {
     this.writeLockHeldTimeMsStat.add(writeLockHeldTimeMs);
   }
 
+  /**
+   * Adds a snapshot to the metric keyPathLockWaitingTimeMsStat.
+   *
+   * @param keyPathLockWaitingTimeMs KEY_PATH_LOCK waiting time (ms)
+   */
+  public void setKeyPathLockWaitingTimeMsStat(long keyPathLockWaitingTimeMs) {
+    this.keyPathLockWaitingTimeMsStat.add(keyPathLockWaitingTimeMs);
+  }
+
+  /**
+   * Adds a snapshot to the metric keyPathLockHeldTimeMsStat.
+   *
+   * @param keyPathLockHeldTimeMs KEY_PATH_LOCK held time (ms)
+   */
+  public void setKeyPathLockHeldTimeMsStat(long keyPathLockHeldTimeMs) {
+    this.keyPathLockHeldTimeMsStat.add(keyPathLockHeldTimeMs);
+  }
+
+  /**
+   * Increments the number of hierarchical KEY_PATH_LOCK retries.
+   */
+  public void incKeyPathLockRetries() {
+    keyPathLockRetries.incr();
+  }
+
+  /**
+   * Returns the number of hierarchical KEY_PATH_LOCK retries.
+   *
+   * @return number of retries
+   */
+  public long getKeyPathLockRetries() {
+    return keyPathLockRetries.value();
+  }
+
   /**
    * Returns a string representation of the object. Provides information on the
    * total number of samples, minimum value, maximum value, arithmetic mean,
@@ -205,5 +252,8 @@ public void getMetrics(MetricsCollector collector, boolean all) {
     readLockWaitingTimeMsStat.snapshot(builder, all);
     writeLockHeldTimeMsStat.snapshot(builder, all);
     writeLockWaitingTimeMsStat.snapshot(builder, all);
+    keyPathLockWaitingTimeMsStat.snapshot(builder, all);
+    keyPathLockHeldTimeMsStat.snapshot(builder, all);
+    keyPathLockRetries.snapshot(builder, all);
   }
 }
@@ -338,6 +338,19 @@ default void renameKey(OmKeyArgs args, String toKeyName) throws IOException {
         "this to be implemented, as write requests use a new approach.");
   }
 
+  /**
+   * Copy an existing key to another key within the same bucket, without
+   * copying its data: the new key shares the blocks of the existing key.
+   * @param args the args of the key, with the metadata to replace the
+   *             metadata of the existing key, if any.
+   * @param toKeyName Name of the new key
+   * @throws IOException
+   */
+  default void copyKey(OmKeyArgs args, String toKeyName) throws IOException {
+    throw new UnsupportedOperationException("OzoneManager does not require " +
+        "this to be implemented, as write requests use a new approach.");
+  }
+
 
   /**
    * Rename existing keys within a bucket.
@@ -93,6 +93,7 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CancelPrepareResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CheckVolumeAccessRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CommitKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CopyKeyRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateBucketRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateDirectoryRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateFileRequest;
@@ -935,6 +936,32 @@ public void renameKey(OmKeyArgs args, String toKeyName) throws IOException {
     handleError(submitRequest(omRequest));
   }
 
+  @Override
+  public void copyKey(OmKeyArgs args, String toKeyName) throws IOException {
+    CopyKeyRequest.Builder req = CopyKeyRequest.newBuilder();
+    KeyArgs.Builder keyArgs = KeyArgs.newBuilder()
+        .setVolumeName(args.getVolumeName())
+        .setBucketName(args.getBucketName())
+        .setKeyName(args.getKeyName());
+    if (args.getMetadata() != null && args.getMetadata().size() > 0) {
+      keyArgs.addAllMetadata(KeyValueUtil.toProtobuf(args.getMetadata()));
+    }
+    if (args.getTags() != null && args.getTags().size() > 0) {
+      keyArgs.addAllTags(KeyValueUtil.toProtobuf(args.getTags()));
+    }
+    if (args.getOwner() != null) {
+      keyArgs.setOwnerName(args.getOwner());
+    }
+    req.setKeyArgs(keyArgs.build());
+    req.setToKeyName(toKeyName);
+
+    OMRequest omRequest = createOMRequest(Type.CopyKey)
+        .setCopyKeyRequest(req)
+        .build();
+
+    handleError(submitRequest(omRequest));
+  }
+
   /**
    * Deletes an existing key.
    *
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.om.helpers;
+
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.utils.db.Codec;
+import org.apache.hadoop.hdds.utils.db.CodecBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test {@link OmKeyInfoView}.
+ */
+public class TestOmKeyInfoView {
+
+  @Test
+  public void testFromPersistedFormat() throws IOException {
+    final OmKeyInfo key = createOmKeyInfo();
+    final byte[] bytes = OmKeyInfo.getCodec(true).toPersistedFormat(key);
+
+    final OmKeyInfoView view =
+        OmKeyInfoView.getCodec().fromPersistedFormat(bytes);
+    assertView(key, view);
+    assertEquals(bytes.length, view.getSerializedSize());
+  }
+
+  @Test
+  public void testCodecBuffer() throws IOException {
+    final OmKeyInfo key = createOmKeyInfo();
+    final byte[] bytes = OmKeyInfo.getCodec(true).toPersistedFormat(key);
+    final Codec<OmKeyInfoView> codec = OmKeyInfoView.getCodec();
+    assertTrue(codec.supportCodecBuffer());
+
+    final OmKeyInfoView view;
+    try (CodecBuffer buffer = CodecBuffer.wrap(bytes)) {
+      view = codec.fromCodecBuffer(buffer);
+      // The reader index must not be moved.
+      assertEquals(bytes.length, buffer.readableBytes());
+    }
+    assertView(key, view);
+
+    try (CodecBuffer buffer = codec.toCodecBuffer(view,
+        CodecBuffer::allocateHeap)) {
+      assertEquals(bytes.length, buffer.readableBytes());
+      assertView(key, codec.fromCodecBuffer(buffer));
+    }
+  }
+
+  private static void assertView(OmKeyInfo expected, OmKeyInfoView view)
+      throws IOException {
+    assertEquals(expected.getVolumeName(), view.getVolumeName());
+    assertEquals(expected.getBucketName(), view.getBucketName());
+    assertEquals(expected.getKeyName(), view.getKeyName());
+    assertEquals(expected.getOwnerName(), view.getOwnerName());
+    assertEquals(expected.getDataSize(), view.getDataSize());
+    assertEquals(expected.getCreationTime(), view.getCreationTime());
+    assertEquals(expected.getModificationTime(),
+        view.getModificationTime());
+    assertEquals(expected.getObjectID(), view.getObjectID());
+    assertEquals(expected.getUpdateID(), view.getUpdateID());
+    assertEquals(expected.getParentObjectID(), view.getParentObjectID());
+    assertEquals(expected.isFile(), view.isFile());
+    assertEquals(expected, view.getKeyInfo());
+  }
+
+  private static OmKeyInfo createOmKeyInfo() {
+    final OmKeyLocationInfo location = new OmKeyLocationInfo.Builder()
+        .setBlockID(new BlockID(1L, 2L))
+        .setLength(1024L)
+        .build();
+    return new OmKeyInfo.Builder()
+        .setVolumeName("vol1")
+        .setBucketName("bucket1")
+        .setKeyName("dir1/key1")
+        .setOwnerName("user1")
+        .setCreationTime(123L)
+        .setModificationTime(456L)
+        .setDataSize(1024L)
+        .setObjectID(1000L)
+        .setUpdateID(2000L)
+        .setParentObjectID(3000L)
+        .setFile(true)
+        .setReplicationConfig(
+            RatisReplicationConfig.getInstance(ReplicationFactor.THREE))
+        .setOmKeyLocationInfos(Collections.singletonList(
+            new OmKeyLocationInfoGroup(0, Collections.singletonList(location))))
+        .addMetadata("key1", "value1")
+        .build();
+  }
+}
@@ -36,6 +36,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmDBUserPrincipalInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfoView;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmPrefixInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDBTenantState;
@@ -389,6 +390,16 @@ List<ExpiredMultipartUploadsBucket> getExpiredMultipartUploads(
    */
   Table<String, OmKeyInfo> getFileTable();
 
+  /**
+   * Returns a lazily-decoded view of the KeyTable, see {@link OmKeyInfoView}.
+   * The view reads the DB directly, it does not see the entries which are
+   * only in the table cache of {@link #getKeyTable(BucketLayout)}.
+   *
+   * @return KeyTable view.
+   */
+  Table<String, OmKeyInfoView> getKeyTableView(BucketLayout bucketLayout)
+      throws IOException;
+
   /**
    * Get Deleted Table.
    *
@@ -463,6 +474,12 @@ String getMultipartKeyFSO(String volume, String bucket, String key, String
   Table<String, String> getSnapshotRenamedTable();
 
   Table<String, CompactionLogEntry> getCompactionLogTable();
+
+  /**
+   * Returns the table of the blocks shared by more than one key, mapping
+   * each block to the number of extra keys referring to it.
+   */
+  Table<String, Long> getSharedBlockTable();
   /**
    * Gets the OM Meta table.
    * @return meta table reference.
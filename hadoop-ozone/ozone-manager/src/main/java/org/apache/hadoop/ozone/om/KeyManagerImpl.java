@@ -83,6 +83,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfoView;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartKeyInfo;
@@ -1648,14 +1649,16 @@ public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
     }
 
     if (isBucketFSOptimized(volumeName, bucketName)) {
-      Preconditions.checkArgument(!recursive);
+      Preconditions.checkArgument(!recursive || !allowPartialPrefixes);
       OzoneListStatusHelper statusHelper =
           new OzoneListStatusHelper(metadataManager, scmBlockSize,
               this::getOzoneFileStatusFSO,
               ozoneManager.getDefaultReplicationConfig());
-      Collection<OzoneFileStatus> statuses =
-          statusHelper.listStatusFSO(args, startKey, numEntries,
-          clientAddress, allowPartialPrefixes);
+      Collection<OzoneFileStatus> statuses = recursive
+          ? statusHelper.listStatusFSORecursive(args, startKey, numEntries,
+              clientAddress)
+          : statusHelper.listStatusFSO(args, startKey, numEntries,
+              clientAddress, allowPartialPrefixes);
       return buildFinalStatusList(statuses, args, clientAddress);
     }
 
@@ -1675,15 +1678,18 @@ public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
     String keyArgs = OzoneFSUtils.addTrailingSlashIfNeeded(
         metadataManager.getOzoneKey(volumeName, bucketName, keyName));
 
-    TableIterator<String, ? extends Table.KeyValue<String, OmKeyInfo>> iterator;
+    TableIterator<String, ? extends Table.KeyValue<String, OmKeyInfoView>>
+        iterator;
     Table<String, OmKeyInfo> keyTable;
     metadataManager.getLock().acquireReadLock(BUCKET_LOCK, volumeName,
         bucketName);
     try {
-      keyTable = metadataManager.getKeyTable(
-          getBucketLayout(metadataManager, volumeName, bucketName));
+      BucketLayout bucketLayout =
+          getBucketLayout(metadataManager, volumeName, bucketName);
+      keyTable = metadataManager.getKeyTable(bucketLayout);
       iterator = getIteratorForKeyInTableCache(recursive, startKey,
-          volumeName, bucketName, cacheKeyMap, keyArgs, keyTable);
+          volumeName, bucketName, cacheKeyMap, keyArgs, keyTable,
+          metadataManager.getKeyTableView(bucketLayout));
     } finally {
       metadataManager.getLock().releaseReadLock(BUCKET_LOCK, volumeName,
           bucketName);
@@ -1732,12 +1738,21 @@ public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
     return fileStatusList;
   }
 
-  private TableIterator<String, ? extends Table.KeyValue<String, OmKeyInfo>>
+  /**
+   * Finds the keys to list in the table cache of the key table, and returns
+   * an iterator over the lazily-decoded view of the key table for the keys
+   * in the DB. The cache entries, deleted ones included, are put in
+   * cacheKeyMap first, so that the DB entries they shadow are never decoded.
+   */
+  @SuppressWarnings("parameternumber")
+  private TableIterator<String, ? extends Table.KeyValue<String, OmKeyInfoView>>
       getIteratorForKeyInTableCache(
       boolean recursive, String startKey, String volumeName, String bucketName,
       TreeMap<String, OzoneFileStatus> cacheKeyMap, String keyArgs,
-      Table<String, OmKeyInfo> keyTable) throws IOException {
-    TableIterator<String, ? extends Table.KeyValue<String, OmKeyInfo>> iterator;
+      Table<String, OmKeyInfo> keyTable,
+      Table<String, OmKeyInfoView> keyTableView) throws IOException {
+    TableIterator<String, ? extends Table.KeyValue<String, OmKeyInfoView>>
+        iterator;
     Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>>
         cacheIter = keyTable.cacheIterator();
     String startCacheKey = metadataManager.getOzoneKey(volumeName, bucketName, startKey);
@@ -1745,7 +1760,7 @@ public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
     // First, find key in TableCache
     listStatusFindKeyInTableCache(cacheIter, keyArgs, startCacheKey,
         recursive, cacheKeyMap);
-    iterator = keyTable.iterator();
+    iterator = keyTableView.iterator();
     return iterator;
   }
 
@@ -1755,12 +1770,12 @@ private void findKeyInDbWithIterator(boolean recursive, String startKey,
       TreeMap<String, OzoneFileStatus> cacheKeyMap, String keyArgs,
       Table<String, OmKeyInfo> keyTable,
       TableIterator<String,
-          ? extends Table.KeyValue<String, OmKeyInfo>> iterator)
+          ? extends Table.KeyValue<String, OmKeyInfoView>> iterator)
       throws IOException {
     // Then, find key in DB
     String seekKeyInDb =
         metadataManager.getOzoneKey(volumeName, bucketName, startKey);
-    Table.KeyValue<String, OmKeyInfo> entry = iterator.seek(seekKeyInDb);
+    Table.KeyValue<String, OmKeyInfoView> entry = iterator.seek(seekKeyInDb);
     int countEntries = 0;
     if (iterator.hasNext()) {
       if (entry.getKey().equals(keyArgs)) {
@@ -1771,14 +1786,16 @@ private void findKeyInDbWithIterator(boolean recursive, String startKey,
       while (iterator.hasNext() && numEntries - countEntries > 0) {
         entry = iterator.next();
         String entryInDb = entry.getKey();
-        OmKeyInfo omKeyInfo = entry.getValue();
         if (entryInDb.startsWith(keyArgs)) {
-          String entryKeyName = omKeyInfo.getKeyName();
+          // Decode the full key info only for the entries which are listed.
+          OmKeyInfoView keyInfoView = entry.getValue();
+          String entryKeyName = keyInfoView.getKeyName();
           if (recursive) {
             // for recursive list all the entries
             if (!cacheKeyMap.containsKey(entryInDb)) {
-              cacheKeyMap.put(entryInDb, new OzoneFileStatus(omKeyInfo,
-                  scmBlockSize, !OzoneFSUtils.isFile(entryKeyName)));
+              cacheKeyMap.put(entryInDb, new OzoneFileStatus(
+                  keyInfoView.getKeyInfo(), scmBlockSize,
+                  !OzoneFSUtils.isFile(entryKeyName)));
               countEntries++;
             }
           } else {
@@ -1791,8 +1808,8 @@ private void findKeyInDbWithIterator(boolean recursive, String startKey,
             boolean isFile = OzoneFSUtils.isFile(immediateChild);
             if (isFile) {
               if (!cacheKeyMap.containsKey(entryInDb)) {
-                cacheKeyMap.put(entryInDb,
-                    new OzoneFileStatus(omKeyInfo, scmBlockSize, !isFile));
+                cacheKeyMap.put(entryInDb, new OzoneFileStatus(
+                    keyInfoView.getKeyInfo(), scmBlockSize, !isFile));
                 countEntries++;
               }
             } else {
@@ -1800,7 +1817,7 @@ private void findKeyInDbWithIterator(boolean recursive, String startKey,
               if (!cacheKeyMap.containsKey(entryInDb)) {
                 if (!entryKeyName.equals(immediateChild)) {
                   OmKeyInfo fakeDirEntry = createDirectoryKey(
-                      omKeyInfo, immediateChild);
+                      keyInfoView.getKeyInfo(), immediateChild);
                   String fakeDirKey = ozoneManager.getMetadataManager()
                       .getOzoneKey(fakeDirEntry.getVolumeName(),
                           fakeDirEntry.getBucketName(),
@@ -1811,7 +1828,7 @@ private void findKeyInDbWithIterator(boolean recursive, String startKey,
                 } else {
                   // If entryKeyName matches dir name, we have the info
                   cacheKeyMap.put(entryInDb,
-                      new OzoneFileStatus(omKeyInfo, 0, true));
+                      new OzoneFileStatus(keyInfoView.getKeyInfo(), 0, true));
                 }
                 countEntries++;
               }
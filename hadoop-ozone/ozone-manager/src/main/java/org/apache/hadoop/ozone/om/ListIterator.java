@@ -18,6 +18,7 @@
 
 package org.apache.hadoop.ozone.om;
 
+import com.google.common.base.Preconditions;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.hdds.utils.IOUtils;
 import org.apache.hadoop.hdds.utils.db.CopyObject;
@@ -31,12 +32,13 @@
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.PriorityQueue;
-import java.util.TreeMap;
 import java.util.function.Predicate;
 
 import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.BUCKET_LOCK;
@@ -87,9 +89,12 @@ public Object getValue() {
       return value;
     }
 
+    @Override
     public int compareTo(HeapEntry other) {
-      return Comparator.comparing(HeapEntry::getKey)
-          .thenComparing(HeapEntry::getEntryIteratorId).compare(this, other);
+      // Called O(log k) times per entry, avoid allocating comparators.
+      final int c = key.compareTo(other.key);
+      return c != 0 ? c
+          : Integer.compare(entryIteratorId, other.entryIteratorId);
     }
 
     public boolean equals(Object other) {
@@ -180,13 +185,17 @@ public void close() throws IOException {
 
   /**
    * Iterator for Cache entries in a Dir and File Table.
+   * <p>
+   * The cache is not sorted, so the entries under the prefix are collected
+   * into a hash map, used to hide the DB entries overridden by the cache,
+   * and the keys of the non-deleted entries are sorted once. The values are
+   * only copied when they are returned.
    */
   public static class CacheIter<Value>
       implements ClosableIterator {
     private final Map<String, Value> cacheKeyMap;
 
-    private final Iterator<Map.Entry<String, Value>>
-        cacheCreatedKeyIter;
+    private final Iterator<String> cacheCreatedKeyIter;
     private final String prefixKey;
     private final String startKey;
     private final String tableName;
@@ -196,7 +205,7 @@ public void close() throws IOException {
               Iterator<Map.Entry<CacheKey<String>,
                   CacheValue<Value>>> cacheIter, String startKey,
               String prefixKey) {
-      this.cacheKeyMap = new TreeMap<>();
+      this.cacheKeyMap = new HashMap<>();
       this.startKey = startKey;
       this.prefixKey = prefixKey;
       this.tableName = tableName;
@@ -204,7 +213,14 @@ public void close() throws IOException {
 
       populateCacheMap(cacheIter);
 
-      cacheCreatedKeyIter = cacheKeyMap.entrySet().stream().filter(e -> e.getValue() != null).iterator();
+      final List<String> createdKeys = new ArrayList<>(cacheKeyMap.size());
+      for (Map.Entry<String, Value> e : cacheKeyMap.entrySet()) {
+        if (e.getValue() != null) {
+          createdKeys.add(e.getKey());
+        }
+      }
+      Collections.sort(createdKeys);
+      cacheCreatedKeyIter = createdKeys.iterator();
     }
 
     private void populateCacheMap(Iterator<Map.Entry<CacheKey<String>,
@@ -215,10 +231,6 @@ private void populateCacheMap(Iterator<Map.Entry<CacheKey<String>,
         String cacheKey = entry.getKey().getCacheKey();
         Value cacheOmInfo = entry.getValue().getCacheValue();
 
-        // Copy cache value to local copy and work on it
-        if (cacheOmInfo instanceof CopyObject) {
-          cacheOmInfo = ((CopyObject<Value>) cacheOmInfo).copyObject();
-        }
         if (StringUtils.isBlank(startKey)) {
           // startKey is null or empty, then the seekKeyInDB="1024/"
           if (cacheKey.startsWith(prefixKey)) {
@@ -247,9 +259,14 @@ public boolean hasNext() {
     }
 
     public HeapEntry next() {
-      Map.Entry<String, Value> entry = cacheCreatedKeyIter.next();
+      String key = cacheCreatedKeyIter.next();
+      Value value = cacheKeyMap.get(key);
+      // Copy cache value to local copy and work on it
+      if (value instanceof CopyObject) {
+        value = ((CopyObject<Value>) value).copyObject();
+      }
       return new HeapEntry(this.entryIteratorId, this.tableName,
-          entry.getKey(), entry.getValue());
+          key, value);
     }
 
     public void close() {
@@ -285,25 +302,44 @@ public static class MinHeapIterator implements ClosableIterator {
                     BucketLayout bucketLayout, String startKey,
                     String volumeName, String bucketName) throws IOException {
 
-      this(omMetadataManager, prefixKey, startKey, volumeName,
-          bucketName, omMetadataManager.getDirectoryTable(),
-          omMetadataManager.getKeyTable(bucketLayout));
+      // The files in the DB are read through the lazily-decoded view, see
+      // OmKeyInfoView, so the files which are not listed are never decoded.
+      this(omMetadataManager, prefixKey, startKey, volumeName, bucketName,
+          new Table[] {omMetadataManager.getDirectoryTable(),
+              omMetadataManager.getKeyTable(bucketLayout)},
+          new Table[] {omMetadataManager.getDirectoryTable(),
+              omMetadataManager.getKeyTableView(bucketLayout)});
     }
 
     MinHeapIterator(OMMetadataManager omMetadataManager, String prefixKey,
                     String startKey, String volumeName, String bucketName,
                     Table... tables) throws IOException {
+      this(omMetadataManager, prefixKey, startKey, volumeName, bucketName,
+          tables, tables);
+    }
+
+    /**
+     * @param tables the tables whose cache is merged
+     * @param dbTables the tables to read the DB entries from, in the same
+     *                 order as tables
+     */
+    private MinHeapIterator(OMMetadataManager omMetadataManager,
+        String prefixKey, String startKey, String volumeName,
+        String bucketName, Table[] tables, Table[] dbTables)
+        throws IOException {
+      Preconditions.checkArgument(tables.length == dbTables.length);
       omMetadataManager.getLock().acquireReadLock(BUCKET_LOCK, volumeName,
           bucketName);
       try {
         int iteratorId = 0;
-        for (Table table : tables) {
+        for (int i = 0; i < tables.length; i++) {
+          Table table = tables[i];
           CacheIter cacheIter = new CacheIter<>(iteratorId, table.getName(),
               table.cacheIterator(), startKey, prefixKey);
           Predicate<String> doesKeyExistInCache = cacheIter::doesKeyExistInCache;
           iterators.add(cacheIter);
           iteratorId++;
-          iterators.add(new DbTableIter<>(iteratorId, table, prefixKey,
+          iterators.add(new DbTableIter<>(iteratorId, dbTables[i], prefixKey,
               startKey, doesKeyExistInCache));
           iteratorId++;
         }
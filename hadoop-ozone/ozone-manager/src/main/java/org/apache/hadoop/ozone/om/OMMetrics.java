@@ -58,6 +58,7 @@ public class OMMetrics implements OmMetadataReaderMetrics {
   private @Metric MutableCounterLong numKeyAllocate;
   private @Metric MutableCounterLong numKeyLookup;
   private @Metric MutableCounterLong numKeyRenames;
+  private @Metric MutableCounterLong numKeyCopies;
   private @Metric MutableCounterLong numKeyDeletes;
   private @Metric MutableCounterLong numBucketLists;
   private @Metric MutableCounterLong numKeyLists;
@@ -116,6 +117,7 @@ public class OMMetrics implements OmMetadataReaderMetrics {
   private @Metric MutableCounterLong numKeyAllocateFails;
   private @Metric MutableCounterLong numKeyLookupFails;
   private @Metric MutableCounterLong numKeyRenameFails;
+  private @Metric MutableCounterLong numKeyCopyFails;
   private @Metric MutableCounterLong numKeyDeleteFails;
   private @Metric MutableCounterLong numBucketListFails;
   private @Metric MutableCounterLong numKeyListFails;
@@ -789,6 +791,15 @@ public void incNumKeyRenameFails() {
     numKeyRenameFails.incr();
   }
 
+  public void incNumKeyCopies() {
+    numKeyOps.incr();
+    numKeyCopies.incr();
+  }
+
+  public void incNumKeyCopyFails() {
+    numKeyCopyFails.incr();
+  }
+
   public void incNumKeyDeleteFails() {
     numKeyDeleteFails.incr();
   }
@@ -1063,6 +1074,16 @@ public long getNumKeyRenameFails() {
     return numKeyRenameFails.value();
   }
 
+  @VisibleForTesting
+  public long getNumKeyCopies() {
+    return numKeyCopies.value();
+  }
+
+  @VisibleForTesting
+  public long getNumKeyCopyFails() {
+    return numKeyCopyFails.value();
+  }
+
   @VisibleForTesting
   public long getNumKeyDeletes() {
     return numKeyDeletes.value();
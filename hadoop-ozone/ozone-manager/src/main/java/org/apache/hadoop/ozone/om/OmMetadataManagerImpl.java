@@ -53,6 +53,7 @@
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.hdds.utils.db.cache.TableCache.CacheType;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedColumnFamilyOptions;
 import org.apache.hadoop.ozone.ClientVersion;
 import org.apache.hadoop.ozone.OmUtils;
 import org.apache.hadoop.ozone.OzoneConsts;
@@ -67,6 +68,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmDBUserPrincipalInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfoView;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartUpload;
@@ -120,6 +122,7 @@
 import org.apache.hadoop.util.Time;
 import org.apache.ozone.compaction.log.CompactionLogEntry;
 import org.apache.ratis.util.ExitUtils;
+import org.apache.ratis.util.function.CheckedSupplier;
 import org.eclipse.jetty.util.StringUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -223,6 +226,17 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
    * |-------------------------------------------------------------------------|
    * }
    * </pre>
+   * <pre>
+   * {@code
+   * Copy Tables:
+   * |-------------------------------------------------------------------------|
+   * |  Column Family        |        VALUE                                    |
+   * |-------------------------------------------------------------------------|
+   * | sharedBlockTable      | containerID/localID -> number of extra keys     |
+   * |                       |                        referring to the block   |
+   * |-------------------------------------------------------------------------|
+   * }
+   * </pre>
    */
 
   public static final String USER_TABLE = "userTable";
@@ -253,6 +267,7 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
       "snapshotRenamedTable";
   public static final String COMPACTION_LOG_TABLE =
       "compactionLogTable";
+  public static final String SHARED_BLOCK_TABLE = "sharedBlockTable";
 
   static final String[] ALL_TABLES = new String[] {
       USER_TABLE,
@@ -276,7 +291,8 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
       TENANT_STATE_TABLE,
       SNAPSHOT_INFO_TABLE,
       SNAPSHOT_RENAMED_TABLE,
-      COMPACTION_LOG_TABLE
+      COMPACTION_LOG_TABLE,
+      SHARED_BLOCK_TABLE
   };
 
   private DBStore store;
@@ -295,6 +311,9 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
   private Table prefixTable;
   private Table<String, OmDirectoryInfo> dirTable;
   private Table<String, OmKeyInfo> fileTable;
+  // Lazily-decoded views of keyTable and fileTable, created on demand.
+  private Table<String, OmKeyInfoView> keyTableView;
+  private Table<String, OmKeyInfoView> fileTableView;
   private Table<String, OmKeyInfo> openFileTable;
   private Table transactionInfoTable;
   private Table metaTable;
@@ -307,6 +326,7 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
   private Table snapshotInfoTable;
   private Table snapshotRenamedTable;
   private Table compactionLogTable;
+  private Table<String, Long> sharedBlockTable;
 
   private boolean isRatisEnabled;
   private boolean ignorePipelineinKey;
@@ -408,9 +428,14 @@ private OmMetadataManagerImpl(OzoneConfiguration conf, File dir, String name)
   }
 
 
-  // metadata constructor for snapshots
+  /**
+   * Metadata constructor for snapshots.
+   * @param cfOptions the column family options shared by the snapshot DBs;
+   *                  or null to use the default options of the DB profile.
+   */
   OmMetadataManagerImpl(OzoneConfiguration conf, String snapshotDirName,
-      boolean isSnapshotInCache, int maxOpenFiles) throws IOException {
+      boolean isSnapshotInCache, int maxOpenFiles,
+      ManagedColumnFamilyOptions cfOptions) throws IOException {
     try {
       lock = new OmReadOnlyLock();
       omEpoch = 0;
@@ -436,7 +461,7 @@ private OmMetadataManagerImpl(OzoneConfiguration conf, File dir, String name)
       }
       setStore(loadDB(conf, metaDir, dbName, false,
           java.util.Optional.of(Boolean.TRUE),
-          Optional.of(maxOpenFiles), false, false));
+          Optional.of(maxOpenFiles), false, false, cfOptions));
       initializeOmTables(CacheType.PARTIAL_CACHE, false);
     } catch (IOException e) {
       stop();
@@ -482,6 +507,23 @@ public Table<String, OmKeyInfo> getFileTable() {
     return fileTable;
   }
 
+  @Override
+  public synchronized Table<String, OmKeyInfoView> getKeyTableView(
+      BucketLayout bucketLayout) throws IOException {
+    if (bucketLayout.isFileSystemOptimized()) {
+      if (fileTableView == null) {
+        fileTableView = store.getTable(FILE_TABLE, String.class,
+            OmKeyInfoView.class);
+      }
+      return fileTableView;
+    }
+    if (keyTableView == null) {
+      keyTableView = store.getTable(KEY_TABLE, String.class,
+          OmKeyInfoView.class);
+    }
+    return keyTableView;
+  }
+
   @Override
   public Table<String, RepeatedOmKeyInfo> getDeletedTable() {
     return deletedTable;
@@ -616,6 +658,25 @@ public static DBStore loadDB(OzoneConfiguration configuration, File metaDir,
                                boolean enableCompactionDag,
                                boolean createCheckpointDirs)
       throws IOException {
+    return loadDB(configuration, metaDir, dbName, readOnly,
+        disableAutoCompaction, maxOpenFiles, enableCompactionDag,
+        createCheckpointDirs, null);
+  }
+
+  /**
+   * @param defaultCfOptions the column family options of the tables;
+   *                         or null to use the default options.
+   */
+  @SuppressWarnings("checkstyle:parameternumber")
+  public static DBStore loadDB(OzoneConfiguration configuration, File metaDir,
+                               String dbName, boolean readOnly,
+                               java.util.Optional<Boolean>
+                                   disableAutoCompaction,
+                               java.util.Optional<Integer> maxOpenFiles,
+                               boolean enableCompactionDag,
+                               boolean createCheckpointDirs,
+                               ManagedColumnFamilyOptions defaultCfOptions)
+      throws IOException {
     final int maxFSSnapshots = configuration.getInt(
         OZONE_OM_FS_SNAPSHOT_MAX_LIMIT, OZONE_OM_FS_SNAPSHOT_MAX_LIMIT_DEFAULT);
     RocksDBConfiguration rocksDBConfiguration =
@@ -627,6 +688,9 @@ public static DBStore loadDB(OzoneConfiguration configuration, File metaDir,
         .setMaxFSSnapshots(maxFSSnapshots)
         .setEnableCompactionDag(enableCompactionDag)
         .setCreateCheckpointDirs(createCheckpointDirs);
+    if (defaultCfOptions != null) {
+      dbStoreBuilder.setDefaultCFOptions(defaultCfOptions);
+    }
     disableAutoCompaction.ifPresent(
             dbStoreBuilder::disableDefaultCFAutoCompaction);
     maxOpenFiles.ifPresent(dbStoreBuilder::setMaxNumberOfOpenFiles);
@@ -657,8 +721,10 @@ public static DBStoreBuilder addOMTablesAndCodecs(DBStoreBuilder builder) {
         .addTable(SNAPSHOT_INFO_TABLE)
         .addTable(SNAPSHOT_RENAMED_TABLE)
         .addTable(COMPACTION_LOG_TABLE)
+        .addTable(SHARED_BLOCK_TABLE)
         .addCodec(OzoneTokenIdentifier.class, TokenIdentifierCodec.get())
         .addCodec(OmKeyInfo.class, OmKeyInfo.getCodec(true))
+        .addCodec(OmKeyInfoView.class, OmKeyInfoView.getCodec())
         .addCodec(RepeatedOmKeyInfo.class, RepeatedOmKeyInfo.getCodec(true))
         .addCodec(OmBucketInfo.class, OmBucketInfo.getCodec())
         .addCodec(OmVolumeArgs.class, OmVolumeArgs.getCodec())
@@ -683,6 +749,12 @@ public static DBStoreBuilder addOMTablesAndCodecs(DBStoreBuilder builder) {
   protected void initializeOmTables(CacheType cacheType,
                                     boolean addCacheMetrics)
       throws IOException {
+    synchronized (this) {
+      // The views are bound to the previous store, if any.
+      keyTableView = null;
+      fileTableView = null;
+    }
+
     userTable =
         this.store.getTable(USER_TABLE, String.class,
             PersistedUserVolumeInfo.class);
@@ -787,6 +859,11 @@ protected void initializeOmTables(CacheType cacheType,
         String.class, CompactionLogEntry.class);
     checkTableStatus(compactionLogTable, COMPACTION_LOG_TABLE,
         addCacheMetrics);
+
+    // containerID/localID -> number of extra keys referring to the block
+    sharedBlockTable = this.store.getTable(SHARED_BLOCK_TABLE,
+        String.class, Long.class);
+    checkTableStatus(sharedBlockTable, SHARED_BLOCK_TABLE, addCacheMetrics);
   }
 
   /**
@@ -1320,7 +1397,10 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
     int currentCount = 0;
 
 
-    TreeMap<String, OmKeyInfo> cacheKeyMap = new TreeMap<>();
+    // The DB entries are kept as lazily-decoded views, only the entries
+    // which are returned are fully decoded.
+    TreeMap<String, CheckedSupplier<OmKeyInfo, IOException>> cacheKeyMap =
+        new TreeMap<>();
     Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>> iterator =
         keyTable.cacheIterator();
 
@@ -1343,15 +1423,15 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
       if (omKeyInfo != null
           && key.startsWith(seekPrefix)
           && key.compareTo(seekKey) >= 0) {
-        cacheKeyMap.put(key, omKeyInfo);
+        cacheKeyMap.put(key, () -> omKeyInfo);
       }
     }
     long readFromRDbStartNs, readFromRDbStopNs = 0;
     // Get maxKeys from DB if it has.
-    try (TableIterator<String, ? extends KeyValue<String, OmKeyInfo>>
-             keyIter = getKeyTable(getBucketLayout()).iterator()) {
+    try (TableIterator<String, ? extends KeyValue<String, OmKeyInfoView>>
+             keyIter = getKeyTableView(getBucketLayout()).iterator()) {
       readFromRDbStartNs = Time.monotonicNowNanos();
-      KeyValue< String, OmKeyInfo > kv;
+      KeyValue<String, OmKeyInfoView> kv;
       keyIter.seek(seekKey);
       // we need to iterate maxKeys + 1 here because if skipStartKey is true,
       // we should skip that entry and return the result.
@@ -1364,7 +1444,7 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
           CacheValue<OmKeyInfo> cacheValue =
               keyTable.getCacheValue(new CacheKey<>(kv.getKey()));
           if (cacheValue == null || cacheValue.getCacheValue() != null) {
-            cacheKeyMap.put(kv.getKey(), kv.getValue());
+            cacheKeyMap.put(kv.getKey(), kv.getValue()::getKeyInfo);
             currentCount++;
           }
         } else {
@@ -1395,12 +1475,13 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
     // of maxKeys from the sorted map.
     currentCount = 0;
 
-    for (Map.Entry<String, OmKeyInfo>  cacheKey : cacheKeyMap.entrySet()) {
+    for (Map.Entry<String, CheckedSupplier<OmKeyInfo, IOException>> cacheKey
+        : cacheKeyMap.entrySet()) {
       if (cacheKey.getKey().equals(seekKey) && skipStartKey) {
         continue;
       }
 
-      result.add(cacheKey.getValue());
+      result.add(cacheKey.getValue().get());
       currentCount++;
 
       if (currentCount == maxKeys) {
@@ -2057,6 +2138,18 @@ public Table<String, CompactionLogEntry> getCompactionLogTable() {
     return compactionLogTable;
   }
 
+  @Override
+  public Table<String, Long> getSharedBlockTable() {
+    return sharedBlockTable;
+  }
+
+  /**
+   * Returns the key of the given block in the sharedBlockTable.
+   */
+  public static String getSharedBlockKey(long containerID, long localID) {
+    return containerID + OM_KEY_PREFIX + localID;
+  }
+
   /**
    * Get Snapshot Chain Manager.
    *
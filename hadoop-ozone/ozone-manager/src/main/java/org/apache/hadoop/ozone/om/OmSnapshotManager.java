@@ -40,11 +40,13 @@
 import com.google.common.cache.RemovalListener;
 import org.apache.hadoop.hdds.StringUtils;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.conf.StorageUnit;
 import org.apache.hadoop.hdds.server.ServerUtils;
 import org.apache.hadoop.hdds.utils.TransactionInfo;
 import org.apache.hadoop.hdds.utils.db.BatchOperation;
 import org.apache.hadoop.hdds.utils.db.CodecRegistry;
 import org.apache.hadoop.hdds.utils.db.DBCheckpoint;
+import org.apache.hadoop.hdds.utils.db.DBProfile;
 import org.apache.hadoop.hdds.utils.db.RDBStore;
 import org.apache.hadoop.hdds.utils.db.RocksDBCheckpoint;
 import org.apache.hadoop.hdds.utils.db.RocksDatabase;
@@ -52,8 +54,10 @@
 import org.apache.hadoop.hdds.utils.db.TableIterator;
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedBlockBasedTableConfig;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedColumnFamilyOptions;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedDBOptions;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedLRUCache;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedRocksDB;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
@@ -80,6 +84,8 @@
 
 import static org.apache.hadoop.ozone.OzoneConsts.OM_DB_NAME;
 import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.apache.hadoop.hdds.HddsConfigKeys.HDDS_DB_PROFILE;
+import static org.apache.hadoop.hdds.utils.db.DBStoreBuilder.HDDS_DEFAULT_DB_PROFILE;
 import static org.apache.hadoop.hdds.utils.db.DBStoreBuilder.DEFAULT_COLUMN_FAMILY_NAME;
 import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
 import static org.apache.hadoop.ozone.OzoneConsts.OM_SNAPSHOT_CHECKPOINT_DIR;
@@ -89,6 +95,10 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_CACHE_CLEANUP_SERVICE_RUN_INTERVAL_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_CACHE_MAX_SIZE;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_CACHE_MAX_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_CACHE_MAX_NATIVE_MEMORY;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_CACHE_MAX_NATIVE_MEMORY_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DB_BLOCK_CACHE_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DB_BLOCK_CACHE_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DB_MAX_OPEN_FILES;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DB_MAX_OPEN_FILES_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_CLEANUP_SERVICE_RUN_INTERVAL;
@@ -175,6 +185,10 @@ public final class OmSnapshotManager implements AutoCloseable {
   // Soft limit of the snapshot cache size.
   private final int softCacheSize;
 
+  // Column family options shared by all snapshot DBs, so that they share
+  // a single block cache.
+  private ManagedColumnFamilyOptions snapshotColumnFamilyOptions;
+
   public OmSnapshotManager(OzoneManager ozoneManager) {
 
     boolean isFilesystemSnapshotEnabled =
@@ -249,7 +263,14 @@ public OmSnapshotManager(OzoneManager ozoneManager) {
     this.softCacheSize = ozoneManager.getConfiguration().getInt(
         OZONE_OM_SNAPSHOT_CACHE_MAX_SIZE,
         OZONE_OM_SNAPSHOT_CACHE_MAX_SIZE_DEFAULT);
-
+    // Soft-limit of the native memory of the DB instances in cache
+    long maxCacheNativeMemory = (long) ozoneManager.getConfiguration()
+        .getStorageSize(OZONE_OM_SNAPSHOT_CACHE_MAX_NATIVE_MEMORY,
+            OZONE_OM_SNAPSHOT_CACHE_MAX_NATIVE_MEMORY_DEFAULT,
+            StorageUnit.BYTES);
+
+    this.snapshotColumnFamilyOptions =
+        createSnapshotColumnFamilyOptions(ozoneManager.getConfiguration());
     CacheLoader<UUID, OmSnapshot> loader = createCacheLoader();
 
     // TODO: [SNAPSHOT] Remove this if not going to make SnapshotCache impl
@@ -281,8 +302,9 @@ public OmSnapshotManager(OzoneManager ozoneManager) {
         .getTimeDuration(OZONE_OM_SNAPSHOT_CACHE_CLEANUP_SERVICE_RUN_INTERVAL,
             OZONE_OM_SNAPSHOT_CACHE_CLEANUP_SERVICE_RUN_INTERVAL_DEFAULT,
             TimeUnit.MILLISECONDS);
-    this.snapshotCache = new SnapshotCache(loader, softCacheSize, ozoneManager.getMetrics(),
-        cacheCleanupServiceInterval);
+    this.snapshotCache = new SnapshotCache(loader, softCacheSize,
+        maxCacheNativeMemory, SnapshotCache::estimateNativeMemory,
+        ozoneManager.getMetrics(), cacheCleanupServiceInterval);
 
     this.snapshotDiffManager = new SnapshotDiffManager(snapshotDiffDb, differ,
         ozoneManager, snapDiffJobCf, snapDiffReportCf,
@@ -336,6 +358,31 @@ public boolean canDisableFsSnapshot(OMMetadataManager ommm) {
     return isSnapshotInfoTableEmpty;
   }
 
+  /**
+   * Create the column family options of the snapshot DBs.
+   * The block cache is shared by all snapshot DBs, and it also holds the
+   * index and filter blocks, so that they are loaded on first access and
+   * bounded by the cache size rather than by the number of open snapshots.
+   */
+  private static ManagedColumnFamilyOptions createSnapshotColumnFamilyOptions(
+      OzoneConfiguration conf) {
+    final long blockCacheSize = (long) conf.getStorageSize(
+        OZONE_OM_SNAPSHOT_DB_BLOCK_CACHE_SIZE,
+        OZONE_OM_SNAPSHOT_DB_BLOCK_CACHE_SIZE_DEFAULT, StorageUnit.BYTES);
+    final DBProfile profile =
+        conf.getEnum(HDDS_DB_PROFILE, HDDS_DEFAULT_DB_PROFILE);
+    final ManagedBlockBasedTableConfig tableConfig =
+        profile.getBlockBasedTableConfig();
+    tableConfig.closeAndSetBlockCache(new ManagedLRUCache(blockCacheSize));
+    tableConfig.setCacheIndexAndFilterBlocks(true);
+    tableConfig.setPinL0FilterAndIndexBlocksInCache(false);
+
+    final ManagedColumnFamilyOptions options =
+        profile.getColumnFamilyOptions();
+    options.setReused(true);
+    return options.closeAndSetTableFormatConfig(tableConfig);
+  }
+
   private CacheLoader<UUID, OmSnapshot> createCacheLoader() {
     return new CacheLoader<UUID, OmSnapshot>() {
 
@@ -373,7 +420,7 @@ public OmSnapshot load(@Nonnull UUID snapshotId) throws IOException {
         try {
           snapshotMetadataManager = new OmMetadataManagerImpl(conf,
               snapshotInfo.getCheckpointDirName(), isSnapshotInCache,
-              maxOpenSstFilesInSnapshotDb);
+              maxOpenSstFilesInSnapshotDb, snapshotColumnFamilyOptions);
         } catch (IOException e) {
           LOG.error("Failed to retrieve snapshot: {}", snapshotTableKey, e);
           throw e;
@@ -1007,6 +1054,12 @@ public void close() {
       snapshotCache.close();
     }
 
+    if (snapshotColumnFamilyOptions != null) {
+      // Shared by the snapshot DBs, which are closed with the cache.
+      ManagedColumnFamilyOptions.closeDeeply(snapshotColumnFamilyOptions);
+      snapshotColumnFamilyOptions = null;
+    }
+
     if (snapshotDiffCleanupService != null) {
       snapshotDiffCleanupService.shutdown();
     }
@@ -23,6 +23,7 @@
 import org.apache.hadoop.metrics2.annotation.Metrics;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
 import org.apache.ratis.util.MemoizedSupplier;
 
 import java.util.function.Supplier;
@@ -162,5 +163,45 @@ public void incNumGetAcl() {
       MutableCounterLong numKeyOps;
   private @Metric
       MutableCounterLong numFSOps;
-}
 
+  private @Metric
+      MutableCounterLong numSnapshotCacheHits;
+  private @Metric
+      MutableCounterLong numSnapshotCacheMisses;
+  private @Metric
+      MutableCounterLong numSnapshotCacheEvictions;
+  @Metric("Estimated native memory of the snapshot DB instances in cache")
+  private MutableGaugeLong snapshotCacheNativeMemory;
+
+  public void incNumSnapshotCacheHits() {
+    numSnapshotCacheHits.incr();
+  }
+
+  public void incNumSnapshotCacheMisses() {
+    numSnapshotCacheMisses.incr();
+  }
+
+  public void incNumSnapshotCacheEvictions() {
+    numSnapshotCacheEvictions.incr();
+  }
+
+  public void setSnapshotCacheNativeMemory(long bytes) {
+    snapshotCacheNativeMemory.set(bytes);
+  }
+
+  public long getNumSnapshotCacheHits() {
+    return numSnapshotCacheHits.value();
+  }
+
+  public long getNumSnapshotCacheMisses() {
+    return numSnapshotCacheMisses.value();
+  }
+
+  public long getNumSnapshotCacheEvictions() {
+    return numSnapshotCacheEvictions.value();
+  }
+
+  public long getSnapshotCacheNativeMemory() {
+    return snapshotCacheNativeMemory.value();
+  }
+}
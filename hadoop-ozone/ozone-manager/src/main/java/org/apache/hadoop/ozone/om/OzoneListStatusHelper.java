@@ -27,6 +27,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfoView;
 import org.apache.hadoop.ozone.om.helpers.OmVolumeArgs;
 import org.apache.hadoop.ozone.om.helpers.OzoneFSUtils;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
@@ -36,15 +37,18 @@
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.TreeMap;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.stream.Collectors;
 
 
+import static org.apache.hadoop.ozone.OzoneConsts.OZONE_URI_DELIMITER;
 import static org.apache.hadoop.ozone.om.exceptions.OMException.
     ResultCodes.FILE_NOT_FOUND;
 
@@ -81,6 +85,14 @@ OzoneFileStatus apply(OmKeyArgs args, String clientAddress,
     this.omDefaultReplication = omDefaultReplication;
   }
 
+  /**
+   * List the children of a directory, or the keys under a partial prefix,
+   * in key order.
+   * <p>
+   * Paging is stateless.  The next page is requested with the last entry of
+   * the previous page as startKey, and the cache and DB iterators seek to
+   * it again.  No iterator is kept open on the OM between calls.
+   */
   public Collection<OzoneFileStatus> listStatusFSO(OmKeyArgs args,
       String startKey, long numEntries, String clientAddress,
       boolean allowPartialPrefixes) throws IOException {
@@ -175,11 +187,148 @@ public Collection<OzoneFileStatus> listStatusFSO(OmKeyArgs args,
       }
     }
     String startKeyPrefix = getStartKeyPrefixIfPresent(args, startKey, volumeInfo, omBucketInfo);
-    TreeMap<String, OzoneFileStatus> map =
-        getSortedEntries(numEntries,  prefixKey, dbPrefixKey, startKeyPrefix, omBucketInfo);
+    return getSortedEntries(numEntries, prefixKey, dbPrefixKey,
+        startKeyPrefix, omBucketInfo);
+  }
+
+  /**
+   * List the descendants of a directory depth-first: the entries of every
+   * directory are listed in name order, each subdirectory followed by its
+   * own descendants.
+   * <p>
+   * The listing continues from startKey, which is listed first if it exists,
+   * so a tree is paged through by passing the last entry of the previous
+   * page.  Each directory is read with {@link #listStatusFSO}, so a page
+   * takes a single call regardless of the number of directories in it.
+   */
+  public Collection<OzoneFileStatus> listStatusFSORecursive(OmKeyArgs args,
+      String startKey, long numEntries, String clientAddress)
+      throws IOException {
+    Preconditions.checkNotNull(args, "Key args can not be null");
+    final String keyName = OzoneFSUtils.removeTrailingSlashIfNeeded(
+        Strings.nullToEmpty(args.getKeyName()));
+    List<OzoneFileStatus> statuses = new ArrayList<>();
+    Deque<DirectoryListing> stack = new ArrayDeque<>();
 
-    return map.values().stream().filter(e -> e != null).collect(
-        Collectors.toList());
+    if (StringUtils.isBlank(startKey)) {
+      OzoneFileStatus status = getStatusHelper.apply(args, clientAddress,
+          false);
+      if (status.isFile()) {
+        return Collections.singletonList(status);
+      }
+      stack.push(new DirectoryListing(keyName, null));
+    } else {
+      startKey = OzoneFSUtils.removeTrailingSlashIfNeeded(startKey);
+      if (!keyName.isEmpty() &&
+          !startKey.startsWith(keyName + OZONE_URI_DELIMITER)) {
+        if (LOG.isDebugEnabled()) {
+          LOG.debug("StartKey {} is not a descendant of keyName {}." +
+              " Returns empty list", startKey, keyName);
+        }
+        return statuses;
+      }
+      // Resume the listing of every directory between keyName and startKey
+      // after the child on the way to startKey.
+      String child = startKey;
+      while (!child.equals(keyName)) {
+        String parent = OzoneFSUtils.getParentDir(child);
+        stack.addLast(new DirectoryListing(parent, child));
+        child = parent;
+      }
+
+      OzoneFileStatus status = getStatusHelper.apply(args.toBuilder()
+          .setKeyName(startKey).build(), clientAddress, true);
+      if (status != null) {
+        statuses.add(status);
+        if (status.isDirectory()) {
+          stack.push(new DirectoryListing(startKey, null));
+        }
+      }
+    }
+
+    while (statuses.size() < numEntries && !stack.isEmpty()) {
+      DirectoryListing dir = stack.peek();
+      if (!dir.hasNext()) {
+        if (dir.isExhausted()) {
+          stack.pop();
+          continue;
+        }
+        // One more entry than needed, as the last listed entry is repeated.
+        long pageSize = numEntries - statuses.size() + 1;
+        dir.setPage(listStatusFSO(args.toBuilder()
+            .setKeyName(dir.getPath())
+            .setSortDatanodesInPipeline(false)
+            .build(), dir.getLastChild(), pageSize, clientAddress, false),
+            pageSize);
+        continue;
+      }
+      OzoneFileStatus status = dir.next();
+      statuses.add(status);
+      if (status.isDirectory()) {
+        stack.push(new DirectoryListing(dir.getLastChild(), null));
+      }
+    }
+    return statuses;
+  }
+
+  /**
+   * The state of listing the entries of a directory in
+   * {@link #listStatusFSORecursive}.
+   */
+  private static final class DirectoryListing {
+    private final String path;
+    private String lastChild;
+    private Iterator<OzoneFileStatus> page = Collections.emptyIterator();
+    private boolean exhausted;
+
+    DirectoryListing(String path, String lastChild) {
+      this.path = path;
+      this.lastChild = lastChild;
+    }
+
+    String getPath() {
+      return path;
+    }
+
+    String getLastChild() {
+      return lastChild;
+    }
+
+    boolean isExhausted() {
+      return exhausted;
+    }
+
+    void setPage(Collection<OzoneFileStatus> entries, long pageSize) {
+      exhausted = entries.size() < pageSize;
+      List<OzoneFileStatus> children = new ArrayList<>(entries.size());
+      for (OzoneFileStatus entry : entries) {
+        String entryPath = getPath(entry);
+        // Skip the last listed child, and the path itself in case it has
+        // been replaced by a file.
+        if (!entryPath.equals(lastChild) && !entryPath.equals(path)) {
+          children.add(entry);
+        }
+      }
+      if (children.isEmpty()) {
+        exhausted = true;
+      }
+      page = children.iterator();
+    }
+
+    boolean hasNext() {
+      return page.hasNext();
+    }
+
+    OzoneFileStatus next() {
+      OzoneFileStatus status = page.next();
+      lastChild = getPath(status);
+      return status;
+    }
+
+    private static String getPath(OzoneFileStatus status) {
+      return OzoneFSUtils.removeTrailingSlashIfNeeded(
+          status.getKeyInfo().getKeyName());
+    }
   }
 
   /**
@@ -217,10 +366,13 @@ private String getStartKeyPrefixIfPresent(OmKeyArgs args, String startKey,
 
   /**
    *  fetch the sorted output using a min heap iterator where
-   *  every remove from the heap will give the smallest entry and return
-   *  a treemap.
+   *  every remove from the heap will give the smallest entry.
+   *  <p>
+   *  The heap returns the entries in key order, where the entries of the
+   *  same key are adjacent and the first one wins, so the output is built
+   *  in a single pass without buffering the entries in a sorted map.
    */
-  private TreeMap<String, OzoneFileStatus> getSortedEntries(long numEntries,
+  private List<OzoneFileStatus> getSortedEntries(long numEntries,
       String prefixKey, String dbPrefixKey, String startKeyPrefix,
       OmBucketInfo bucketInfo) throws IOException {
     String volumeName = bucketInfo.getVolumeName();
@@ -231,24 +383,30 @@ private TreeMap<String, OzoneFileStatus> getSortedEntries(long numEntries,
             .map(DefaultReplicationConfig::getReplicationConfig)
             .orElse(omDefaultReplication);
 
-    TreeMap<String, OzoneFileStatus> map = new TreeMap<>();
+    List<OzoneFileStatus> statuses = new ArrayList<>();
     try (
         ListIterator.MinHeapIterator heapIterator = new ListIterator.MinHeapIterator(
             metadataManager, dbPrefixKey, bucketLayout, startKeyPrefix,
             volumeName, bucketName)) {
 
       try {
-        while (map.size() < numEntries && heapIterator.hasNext()) {
+        String lastKey = null;
+        long count = 0;
+        while (count < numEntries && heapIterator.hasNext()) {
           ListIterator.HeapEntry entry = heapIterator.next();
-          OzoneFileStatus status = getStatus(prefixKey, scmBlockSize, volumeName, bucketName,
-                  replication, entry);
-          // Caution: DO NOT use putIfAbsent. putIfAbsent undesirably overwrites
-          // the value with `status` when the existing value in the map is null.
-          if (!map.containsKey(entry.getKey())) {
-            map.put(entry.getKey(), status);
+          if (entry.getKey().equals(lastKey)) {
+            // Only the first entry of a key is listed.
+            continue;
+          }
+          lastKey = entry.getKey();
+          count++;
+          OzoneFileStatus status = getStatus(prefixKey, scmBlockSize,
+              volumeName, bucketName, replication, entry);
+          if (status != null) {
+            statuses.add(status);
           }
         }
-        return map;
+        return statuses;
       } catch (NoSuchElementException e) {
         throw new IOException(e);
       } catch (UncheckedIOException e) {
@@ -277,8 +435,7 @@ private OzoneFileStatus getStatus(String prefixPath, long scmBlockSz,
           bucketName, dirInfo, dirName);
       keyInfo.setReplicationConfig(bucketReplication); // always overwrite
     } else {
-      Preconditions.checkArgument(value instanceof OmKeyInfo);
-      keyInfo = (OmKeyInfo) value;
+      keyInfo = getKeyInfo(value);
       keyInfo.setFileName(keyInfo.getKeyName());
       String fullKeyPath = OMFileRequest.getAbsolutePath(prefixPath,
           keyInfo.getKeyName());
@@ -287,6 +444,22 @@ private OzoneFileStatus getStatus(String prefixPath, long scmBlockSz,
     return new OzoneFileStatus(keyInfo, scmBlockSz, isDir);
   }
 
+  /**
+   * @return the key info of a file, which is read from the DB as a
+   * lazily-decoded {@link OmKeyInfoView}, or from the table cache.
+   */
+  private static OmKeyInfo getKeyInfo(Object value) {
+    if (value instanceof OmKeyInfoView) {
+      try {
+        return ((OmKeyInfoView) value).getKeyInfo();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    Preconditions.checkArgument(value instanceof OmKeyInfo);
+    return (OmKeyInfo) value;
+  }
+
   private String getDbKey(String key, OmKeyArgs args,
                           OmVolumeArgs volumeInfo,
                           OmBucketInfo omBucketInfo) throws IOException {
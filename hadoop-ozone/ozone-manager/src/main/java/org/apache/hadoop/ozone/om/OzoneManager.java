@@ -283,6 +283,8 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_ENABLE_FILESYSTEM_PATHS_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_KEY_PATH_LOCK_ENABLED;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_KEY_PATH_LOCK_ENABLED_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_FSO_KEY_PATH_LOCK_ENABLED;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_FSO_KEY_PATH_LOCK_ENABLED_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_HANDLER_COUNT_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_HANDLER_COUNT_KEY;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_HTTP_AUTH_TYPE;
@@ -627,7 +629,7 @@ private OzoneManager(OzoneConfiguration conf, StartupOption startupOption)
     this.scmClient = new ScmClient(scmBlockClient, scmContainerClient,
         configuration);
     this.ozoneLockProvider = new OzoneLockProvider(getKeyPathLockEnabled(),
-        getEnableFileSystemPaths());
+        getEnableFileSystemPaths(), getFsoKeyPathLockEnabled());
 
     // For testing purpose only, not hit scm from om as Hadoop UGI can't login
     // two principals in the same JVM.
@@ -4487,6 +4489,11 @@ public boolean getKeyPathLockEnabled() {
         OZONE_OM_KEY_PATH_LOCK_ENABLED_DEFAULT);
   }
 
+  public boolean getFsoKeyPathLockEnabled() {
+    return configuration.getBoolean(OZONE_OM_FSO_KEY_PATH_LOCK_ENABLED,
+        OZONE_OM_FSO_KEY_PATH_LOCK_ENABLED_DEFAULT);
+  }
+
   public OzoneLockProvider getOzoneLockProvider() {
     return this.ozoneLockProvider;
   }
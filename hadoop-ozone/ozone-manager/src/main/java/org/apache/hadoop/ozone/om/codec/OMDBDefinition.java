@@ -225,6 +225,20 @@ public final class OMDBDefinition extends DBDefinition.WithMap {
           // path to key in prev snapshot's key(file)/dir Table.
           StringCodec.get());
 
+  /**
+   * The blocks shared by keys copied without copying the data.
+   * A block is released by KeyDeletingService only when the last key
+   * referring to it is deleted.
+   */
+  public static final DBColumnFamilyDefinition<String, Long>
+      SHARED_BLOCK_TABLE =
+      new DBColumnFamilyDefinition<>(
+          OmMetadataManagerImpl.SHARED_BLOCK_TABLE,
+          // containerID/localID
+          StringCodec.get(),
+          // number of extra keys referring to the block
+          LongCodec.get());
+
   private static final Map<String, DBColumnFamilyDefinition<?, ?>>
       COLUMN_FAMILIES = DBColumnFamilyDefinition.newUnmodifiableMap(
           BUCKET_TABLE,
@@ -241,6 +255,7 @@ public final class OMDBDefinition extends DBDefinition.WithMap {
           PREFIX_TABLE,
           PRINCIPAL_TO_ACCESS_IDS_TABLE,
           S3_SECRET_TABLE,
+          SHARED_BLOCK_TABLE,
           SNAPSHOT_INFO_TABLE,
           SNAPSHOT_RENAMED_TABLE,
           COMPACTION_LOG_TABLE,
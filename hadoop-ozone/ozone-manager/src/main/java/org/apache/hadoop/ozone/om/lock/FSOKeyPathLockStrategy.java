@@ -0,0 +1,253 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.apache.hadoop.ozone.om.lock;
+
+import com.google.common.base.Preconditions;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
+import org.apache.hadoop.ozone.om.request.file.OMFileRequest;
+import org.apache.hadoop.util.Time;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.BUCKET_LOCK;
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.KEY_PATH_LOCK;
+
+/**
+ * Implementation of OzoneLockStrategy interface. Concrete strategy for
+ * hierarchical locking in FSO buckets.
+ * <p>
+ * The BUCKET_LOCK is taken in read mode as an intent lock, so that requests
+ * still holding the BUCKET_LOCK in write mode (delete, rename, ...) exclude
+ * every request using this strategy. The KEY_PATH_LOCK is then taken on the
+ * pair (parent directory object ID, child name) where the child is either
+ * the first missing directory of the key path, or the leaf of the key path
+ * if all its parent directories exist. Hence, creates in different
+ * directories of the same bucket do not exclude each other, while creates
+ * racing for the same missing directory are serialized. The Ratis state
+ * machine still applies one transaction at a time, so today the gain is
+ * that a create no longer blocks the requests holding the BUCKET_LOCK in
+ * read mode. The time spent waiting for and holding the KEY_PATH_LOCK is
+ * reported in {@link OMLockMetrics}.
+ * <p>
+ * The locked path element is resolved before acquiring the lock, so it is
+ * verified again once the lock is held. If a concurrent request has created
+ * the missing directory in the meantime, the lock is released and the
+ * resolution is retried one level deeper.
+ * <p>
+ * An instance keeps the locked path element between acquire and release,
+ * so it must not be shared by concurrent requests.
+ */
+public class FSOKeyPathLockStrategy implements OzoneLockStrategy {
+
+  private String lockedParentId;
+  private String lockedChildName;
+  private long lockedTimeNanos;
+
+  @Override
+  public OMLockDetails acquireWriteLock(OMMetadataManager omMetadataManager,
+                                  String volumeName, String bucketName,
+                                  String keyName) throws IOException {
+    return acquireLock(omMetadataManager, volumeName, bucketName, keyName,
+        false);
+  }
+
+  @Override
+  public OMLockDetails releaseWriteLock(OMMetadataManager omMetadataManager,
+                               String volumeName, String bucketName,
+                               String keyName) {
+    return releaseLock(omMetadataManager, volumeName, bucketName, false);
+  }
+
+  @Override
+  public OMLockDetails acquireReadLock(OMMetadataManager omMetadataManager,
+                                 String volumeName, String bucketName,
+                                 String keyName) throws IOException {
+    return acquireLock(omMetadataManager, volumeName, bucketName, keyName,
+        true);
+  }
+
+  @Override
+  public OMLockDetails releaseReadLock(OMMetadataManager omMetadataManager,
+                              String volumeName, String bucketName,
+                              String keyName) {
+    return releaseLock(omMetadataManager, volumeName, bucketName, true);
+  }
+
+  private OMLockDetails acquireLock(OMMetadataManager omMetadataManager,
+      String volumeName, String bucketName, String keyName,
+      boolean isReadLock) throws IOException {
+    OMFileRequest.validateBucket(omMetadataManager, volumeName, bucketName);
+    final IOzoneManagerLock lock = omMetadataManager.getLock();
+
+    OMLockDetails omLockDetails = lock.acquireReadLock(
+        BUCKET_LOCK, volumeName, bucketName);
+
+    Preconditions.checkArgument(omLockDetails.isLockAcquired(),
+        "BUCKET_LOCK should be acquired!");
+
+    PathElement element = null;
+    boolean acquired = false;
+    try {
+      final long volumeId = omMetadataManager.getVolumeId(volumeName);
+      final long bucketId = omMetadataManager.getBucketId(volumeName,
+          bucketName);
+      final Path keyPath = Paths.get(keyName);
+      while (true) {
+        final PathElement resolved = resolveLockElement(omMetadataManager,
+            volumeId, bucketId, keyPath);
+        final long startWaitingTimeNanos = Time.monotonicNowNanos();
+        omLockDetails.merge(acquireKeyPathLock(lock, volumeName, bucketName,
+            resolved, isReadLock));
+        element = resolved;
+        lockedTimeNanos = Time.monotonicNowNanos();
+        lock.getOMLockMetrics().setKeyPathLockWaitingTimeMsStat(
+            TimeUnit.NANOSECONDS.toMillis(
+                lockedTimeNanos - startWaitingTimeNanos));
+        // Ancestors cannot be deleted or renamed while the BUCKET_LOCK is
+        // held, only the missing directory may have been created since the
+        // resolution above.
+        if (element.isLeaf() || !isDirectory(omMetadataManager, volumeId,
+            bucketId, element)) {
+          lockedParentId = element.getParentId();
+          lockedChildName = element.getChildName();
+          acquired = true;
+          return omLockDetails;
+        }
+        omLockDetails.merge(releaseKeyPathLock(lock, volumeName, bucketName,
+            element.getParentId(), element.getChildName(), isReadLock));
+        updateHeldTimeMetrics(lock);
+        element = null;
+        lock.getOMLockMetrics().incKeyPathLockRetries();
+      }
+    } finally {
+      if (!acquired) {
+        if (element != null) {
+          releaseKeyPathLock(lock, volumeName, bucketName,
+              element.getParentId(), element.getChildName(), isReadLock);
+          updateHeldTimeMetrics(lock);
+        }
+        lock.releaseReadLock(BUCKET_LOCK, volumeName, bucketName);
+      }
+    }
+  }
+
+  private OMLockDetails releaseLock(OMMetadataManager omMetadataManager,
+      String volumeName, String bucketName, boolean isReadLock) {
+    Preconditions.checkState(lockedChildName != null,
+        "KEY_PATH_LOCK is not acquired");
+    final IOzoneManagerLock lock = omMetadataManager.getLock();
+    OMLockDetails omLockDetails = releaseKeyPathLock(lock, volumeName,
+        bucketName, lockedParentId, lockedChildName, isReadLock);
+    updateHeldTimeMetrics(lock);
+    lockedParentId = null;
+    lockedChildName = null;
+    omLockDetails.merge(lock.releaseReadLock(BUCKET_LOCK, volumeName,
+        bucketName));
+    return omLockDetails;
+  }
+
+  private void updateHeldTimeMetrics(IOzoneManagerLock lock) {
+    lock.getOMLockMetrics().setKeyPathLockHeldTimeMsStat(
+        TimeUnit.NANOSECONDS.toMillis(
+            Time.monotonicNowNanos() - lockedTimeNanos));
+  }
+
+  private static OMLockDetails acquireKeyPathLock(IOzoneManagerLock lock,
+      String volumeName, String bucketName, PathElement element,
+      boolean isReadLock) {
+    return isReadLock
+        ? lock.acquireReadLock(KEY_PATH_LOCK, volumeName, bucketName,
+            element.getParentId(), element.getChildName())
+        : lock.acquireWriteLock(KEY_PATH_LOCK, volumeName, bucketName,
+            element.getParentId(), element.getChildName());
+  }
+
+  private static OMLockDetails releaseKeyPathLock(IOzoneManagerLock lock,
+      String volumeName, String bucketName, String parentId,
+      String childName, boolean isReadLock) {
+    return isReadLock
+        ? lock.releaseReadLock(KEY_PATH_LOCK, volumeName, bucketName,
+            parentId, childName)
+        : lock.releaseWriteLock(KEY_PATH_LOCK, volumeName, bucketName,
+            parentId, childName);
+  }
+
+  /**
+   * Walks the directory table along the key path and returns the first
+   * missing directory, or the leaf if all the parent directories exist.
+   */
+  private static PathElement resolveLockElement(
+      OMMetadataManager omMetadataManager, long volumeId, long bucketId,
+      Path keyPath) throws IOException {
+    long parentId = bucketId;
+    final Iterator<Path> elements = keyPath.iterator();
+    while (true) {
+      final String childName = elements.next().toString();
+      final boolean leaf = !elements.hasNext();
+      if (leaf) {
+        return new PathElement(parentId, childName, true);
+      }
+      final String dbDirKey = omMetadataManager.getOzonePathKey(volumeId,
+          bucketId, parentId, childName);
+      final OmDirectoryInfo dirInfo = omMetadataManager.getDirectoryTable().get(dbDirKey);
+      if (dirInfo == null) {
+        return new PathElement(parentId, childName, false);
+      }
+      parentId = dirInfo.getObjectID();
+    }
+  }
+
+  private static boolean isDirectory(OMMetadataManager omMetadataManager,
+      long volumeId, long bucketId, PathElement element) throws IOException {
+    return omMetadataManager.getDirectoryTable().isExist(
+        omMetadataManager.getOzonePathKey(volumeId, bucketId,
+            Long.parseLong(element.getParentId()), element.getChildName()));
+  }
+
+  /**
+   * A path element identified by its parent directory object ID and name.
+   */
+  private static final class PathElement {
+    private final String parentId;
+    private final String childName;
+    private final boolean leaf;
+
+    private PathElement(long parentId, String childName, boolean leaf) {
+      this.parentId = String.valueOf(parentId);
+      this.childName = childName;
+      this.leaf = leaf;
+    }
+
+    String getParentId() {
+      return parentId;
+    }
+
+    String getChildName() {
+      return childName;
+    }
+
+    boolean isLeaf() {
+      return leaf;
+    }
+  }
+}
@@ -27,16 +27,29 @@ public class OzoneLockProvider {
 
   private boolean keyPathLockEnabled;
   private boolean enableFileSystemPaths;
+  private boolean fsoKeyPathLockEnabled;
 
   public OzoneLockProvider(boolean keyPathLockEnabled,
                            boolean enableFileSystemPaths) {
+    this(keyPathLockEnabled, enableFileSystemPaths, false);
+  }
+
+  public OzoneLockProvider(boolean keyPathLockEnabled,
+                           boolean enableFileSystemPaths,
+                           boolean fsoKeyPathLockEnabled) {
     this.keyPathLockEnabled = keyPathLockEnabled;
     this.enableFileSystemPaths = enableFileSystemPaths;
+    this.fsoKeyPathLockEnabled = fsoKeyPathLockEnabled;
   }
 
   public OzoneLockStrategy createLockStrategy(BucketLayout bucketLayout) {
 
-    // TODO: This can be extended to support FSO, LEGACY_FS in the future.
+    // TODO: This can be extended to support LEGACY_FS in the future.
+    if (fsoKeyPathLockEnabled &&
+        bucketLayout == BucketLayout.FILE_SYSTEM_OPTIMIZED) {
+      return new FSOKeyPathLockStrategy();
+    }
+
     if (keyPathLockEnabled) {
       if (bucketLayout == BucketLayout.OBJECT_STORE) {
         return new OBSKeyPathLockStrategy();
@@ -0,0 +1,144 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.ratis;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.apache.ratis.util.Preconditions;
+
+/**
+ * A bounded, lock-free, multi-producer single-consumer ring buffer used by
+ * {@link OzoneManagerDoubleBuffer} in
+ * {@link OzoneManagerDoubleBuffer.BufferMode#RING} mode.
+ * <p>
+ * Each slot carries a sequence number. A producer claims a position by
+ * advancing {@link #tail} with a CAS, writes the item and then publishes it
+ * by bumping the slot sequence. The single consumer only takes an item once
+ * its slot has been published, so items are always consumed in claim order.
+ * <p>
+ * Only one thread may call {@link #poll()} and {@link #drainTo(Collection)}
+ * at any time.
+ *
+ * @param <T> the item type.
+ */
+final class OMResponseRingBuffer<T> {
+  /** Returned by {@link #offer(Object)} when the ring is full. */
+  static final int FULL = -1;
+
+  private final AtomicReferenceArray<T> slots;
+  private final AtomicLongArray sequences;
+  private final int mask;
+
+  /** The next position to be claimed by a producer. */
+  private final AtomicLong tail = new AtomicLong();
+  /** The next position to be consumed; written only by the consumer. */
+  private final AtomicLong head = new AtomicLong();
+
+  OMResponseRingBuffer(int minCapacity) {
+    Preconditions.assertTrue(minCapacity > 0,
+        () -> "minCapacity = " + minCapacity + " <= 0");
+    Preconditions.assertTrue(minCapacity <= 1 << 30,
+        () -> "minCapacity = " + minCapacity + " is too large");
+    final int capacity = minCapacity == 1 ? 1
+        : Integer.highestOneBit(minCapacity - 1) << 1;
+    this.slots = new AtomicReferenceArray<>(capacity);
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+    this.mask = capacity - 1;
+  }
+
+  int capacity() {
+    return mask + 1;
+  }
+
+  /**
+   * Try to add the given item to the ring.
+   *
+   * @return {@link #FULL} if the ring is full;
+   *         otherwise, the number of CAS retries caused by other producers.
+   */
+  int offer(T item) {
+    Preconditions.assertNotNull(item, "item");
+    int retries = 0;
+    long position = tail.get();
+    for (;;) {
+      final int index = (int) (position & mask);
+      final long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          slots.lazySet(index, item);
+          sequences.set(index, position + 1);
+          return retries;
+        }
+      } else if (difference < 0) {
+        return FULL;
+      }
+      // Another producer has claimed the position; retry with the new tail.
+      retries++;
+      position = tail.get();
+    }
+  }
+
+  /**
+   * @return the head item, or null if the ring is empty
+   *         or the head item has been claimed but not yet published.
+   */
+  T poll() {
+    final long position = head.get();
+    final int index = (int) (position & mask);
+    if (sequences.get(index) != position + 1) {
+      return null;
+    }
+    final T item = slots.get(index);
+    slots.lazySet(index, null);
+    sequences.set(index, position + mask + 1);
+    head.lazySet(position + 1);
+    return item;
+  }
+
+  /**
+   * Move all the published items to the given collection in claim order.
+   *
+   * @return the number of items moved.
+   */
+  int drainTo(Collection<? super T> collection) {
+    int count = 0;
+    for (T item; (item = poll()) != null;) {
+      collection.add(item);
+      count++;
+    }
+    return count;
+  }
+
+  /** @return true iff the head item has been published. */
+  boolean hasNext() {
+    final long position = head.get();
+    return sequences.get((int) (position & mask)) == position + 1;
+  }
+
+  /** @return the number of claimed items, including unpublished ones. */
+  int size() {
+    final long size = tail.get() - head.get();
+    return (int) Math.max(0, Math.min(size, capacity()));
+  }
+}
@@ -19,24 +19,29 @@
 package org.apache.hadoop.ozone.om.ratis;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 import org.apache.hadoop.hdds.tracing.TracingUtil;
 import org.apache.hadoop.hdds.utils.TransactionInfo;
 import org.apache.hadoop.hdds.utils.db.BatchOperation;
@@ -47,8 +52,11 @@
 import org.apache.hadoop.ozone.om.response.OMClientResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
 import org.apache.hadoop.util.Daemon;
 import org.apache.hadoop.util.Time;
+import org.apache.hadoop.util.concurrent.HadoopExecutors;
 import org.apache.ratis.server.protocol.TermIndex;
 import org.apache.ratis.util.ExitUtils;
 import org.apache.ratis.util.Preconditions;
@@ -67,13 +75,36 @@
  * any entries, it swaps the buffer and creates a batch and commit to DB.
  * Adding OM request to doubleBuffer and swap of buffer are synchronized
  * methods.
- *
+ * <p>
+ * In {@link BufferMode#RING} mode, the currentBuffer is replaced by a
+ * bounded lock-free {@link OMResponseRingBuffer}: the apply threads add
+ * responses without taking the monitor and the flush thread drains the ring
+ * into the readyBuffer.
+ * <p>
+ * When the flush is pipelined, the flush thread only encodes the responses
+ * into a {@link BatchOperation}. The batch is committed by a separate commit
+ * thread, so that the next batch can be encoded while the previous one is
+ * being synced. The cache cleanup and the other post-commit work run on a
+ * separate cleanup thread.
  */
 public final class OzoneManagerDoubleBuffer {
 
   private static final Logger LOG =
       LoggerFactory.getLogger(OzoneManagerDoubleBuffer.class);
 
+  /**
+   * The command types whose responses may be encoded, in the pipelined flush,
+   * while the previous batch is still being committed.
+   * Their {@link OMClientResponse#addToDBBatch} only writes to the batch
+   * and never reads the DB, so it does not depend on the previous commit.
+   * A type must only be added here if its response satisfies the same.
+   * Any other batch waits for the previous commit before encoding.
+   */
+  private static final Set<Type> PIPELINED_CMD_TYPES =
+      Collections.unmodifiableSet(EnumSet.of(
+          Type.CreateKey, Type.CommitKey, Type.AllocateBlock,
+          Type.CreateFile, Type.CreateDirectory, Type.DeleteKey));
+
   /** Entry for {@link #currentBuffer} and {@link #readyBuffer}. */
   private static class Entry {
     private final TermIndex termIndex;
@@ -93,6 +124,14 @@ OMClientResponse getResponse() {
     }
   }
 
+  /** How responses are handed over from the apply threads to the flush thread. */
+  public enum BufferMode {
+    /** Swap two queues under the {@link OzoneManagerDoubleBuffer} monitor. */
+    SWAP,
+    /** Add to a lock-free ring buffer which is drained by the flush thread. */
+    RING
+  }
+
   /**
    *  Builder for creating OzoneManagerDoubleBuffer.
    */
@@ -105,6 +144,8 @@ public static final class Builder {
     private FlushNotifier flushNotifier;
     private S3SecretManager s3SecretManager;
     private String threadPrefix = "";
+    private BufferMode bufferMode = BufferMode.SWAP;
+    private boolean isFlushPipelined = false;
 
     private Builder() { }
 
@@ -148,12 +189,26 @@ public Builder setS3SecretManager(S3SecretManager s3SecretManager) {
       return this;
     }
 
+    public Builder setBufferMode(BufferMode bufferMode) {
+      this.bufferMode = bufferMode;
+      return this;
+    }
+
+    public Builder enableFlushPipeline(boolean enableFlushPipeline) {
+      this.isFlushPipelined = enableFlushPipeline;
+      return this;
+    }
+
     public OzoneManagerDoubleBuffer build() {
       Preconditions.assertTrue(isRatisEnabled == maxUnFlushedTransactionCount > 0L,
           () -> "Ratis is " + (isRatisEnabled ? "enabled" : "disabled")
               + " but maxUnFlushedTransactionCount = " + maxUnFlushedTransactionCount);
+      // The ring is sized by maxUnFlushedTransactionCount, which is only
+      // enforced when ratis is enabled.
+      Preconditions.assertTrue(bufferMode != BufferMode.RING || isRatisEnabled,
+          () -> "Buffer mode " + bufferMode + " requires ratis to be enabled");
       if (flushNotifier == null) {
-        flushNotifier = new FlushNotifier();
+        flushNotifier = new FlushNotifier(getNumUnNotifiedBuffers(isFlushPipelined));
       }
 
       return new OzoneManagerDoubleBuffer(this);
@@ -168,8 +223,46 @@ static Semaphore newSemaphore(int permits) {
     return permits > 0 ? new Semaphore(permits) : null;
   }
 
+  /**
+   * @return the max number of buffers which may have been added to
+   *         but not yet completely flushed at any time.
+   *         When the flush is pipelined, there is one more buffer
+   *         being committed or cleaned up in the background.
+   */
+  static int getNumUnNotifiedBuffers(boolean isFlushPipelined) {
+    return isFlushPipelined ? 3 : 2;
+  }
+
+  private static ExecutorService newFlushStageExecutor(String name) {
+    return HadoopExecutors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+        .setDaemon(true).setNameFormat(name).build());
+  }
+
+  /** A batch of entries encoded to a {@link BatchOperation}. */
+  private static final class FlushBatch {
+    private final Queue<Entry> buffer;
+    private final BatchOperation batchOperation;
+    private final Map<String, List<Long>> cleanupEpochs;
+    private final TermIndex lastTransaction;
+    private final String lastTraceId;
+
+    private FlushBatch(Queue<Entry> buffer, BatchOperation batchOperation,
+        Map<String, List<Long>> cleanupEpochs, TermIndex lastTransaction,
+        String lastTraceId) {
+      this.buffer = buffer;
+      this.batchOperation = batchOperation;
+      this.cleanupEpochs = cleanupEpochs;
+      this.lastTransaction = lastTransaction;
+      this.lastTraceId = lastTraceId;
+    }
+  }
+
   private Queue<Entry> currentBuffer;
   private Queue<Entry> readyBuffer;
+  /** Replace {@link #currentBuffer} in {@link BufferMode#RING} mode; otherwise, it is null. */
+  private final OMResponseRingBuffer<Entry> ringBuffer;
+  /** The flush thread parked in {@link #awaitRingBuffer()}, if there is any. */
+  private volatile Thread parkedFlushThread;
   /**
    * Limit the number of un-flushed transactions for {@link OzoneManagerStateMachine}.
    * It is set to null if ratis is disabled; see {@link #isRatisEnabled()}.
@@ -182,6 +275,20 @@ static Semaphore newSemaphore(int permits) {
   private final AtomicBoolean isRunning = new AtomicBoolean(false);
   /** Notify flush operations are completed by the {@link #daemon}. */
   private final FlushNotifier flushNotifier;
+  private final int numUnNotifiedBuffers;
+
+  /** Commit the batches when the flush is pipelined; otherwise, it is null. */
+  private final ExecutorService commitExecutor;
+  /** Complete the committed batches when the flush is pipelined; otherwise, it is null. */
+  private final ExecutorService cleanupExecutor;
+  /** The commit of the last batch submitted to {@link #commitExecutor}. */
+  private CompletableFuture<Void> pendingCommit = CompletableFuture.completedFuture(null);
+  /** The completion of the last batch submitted to {@link #cleanupExecutor}. */
+  private CompletableFuture<Void> pendingFlush = CompletableFuture.completedFuture(null);
+  /** The completion, including the flush notification, of the last swapped buffer. */
+  private CompletableFuture<Void> lastBufferFlush = CompletableFuture.completedFuture(null);
+  /** The completion, including the flush notification, of the buffer swapped before the last one. */
+  private CompletableFuture<Void> previousBufferFlush = CompletableFuture.completedFuture(null);
 
   private final OMMetadataManager omMetadataManager;
 
@@ -206,7 +313,17 @@ private OzoneManagerDoubleBuffer(Builder b) {
     this.s3SecretManager = b.s3SecretManager;
     this.updateLastAppliedIndex = b.updateLastAppliedIndex;
     this.flushNotifier = b.flushNotifier;
+    this.numUnNotifiedBuffers = getNumUnNotifiedBuffers(b.isFlushPipelined);
+    if (b.isFlushPipelined) {
+      this.commitExecutor = newFlushStageExecutor(b.threadPrefix + "OMDoubleBufferCommitThread");
+      this.cleanupExecutor = newFlushStageExecutor(b.threadPrefix + "OMDoubleBufferCleanupThread");
+    } else {
+      this.commitExecutor = null;
+      this.cleanupExecutor = null;
+    }
     this.unFlushedTransactions = newSemaphore(b.maxUnFlushedTransactionCount);
+    this.ringBuffer = b.bufferMode == BufferMode.RING
+        ? new OMResponseRingBuffer<>(b.maxUnFlushedTransactionCount) : null;
 
     this.isTracingEnabled = b.isTracingEnabled;
 
@@ -225,6 +342,10 @@ private boolean isRatisEnabled() {
     return unFlushedTransactions != null;
   }
 
+  private boolean isFlushPipelined() {
+    return commitExecutor != null;
+  }
+
   /**
    * Acquires the given number of permits from unFlushedTransactions,
    * blocking until all are available, or the thread is interrupted.
@@ -304,6 +425,11 @@ public void flushTransactions() {
   @VisibleForTesting
   void flushCurrentBuffer() {
     try {
+      if (isFlushPipelined()) {
+        // Together with the currentBuffer, at most three buffers
+        // may be un-notified; see getNumUnNotifiedBuffers(..).
+        previousBufferFlush.join();
+      }
       swapCurrentAndReadyBuffer();
 
       // For snapshot, we want to include all the keys that were committed
@@ -324,6 +450,17 @@ void flushCurrentBuffer() {
       // Flush #4: [snapshotRequest2]
       // Flush #5: [request4]
       final List<Queue<Entry>> bufferQueues = splitReadyBufferAtCreateSnapshot();
+      if (isFlushPipelined()) {
+        for (Queue<Entry> buffer : bufferQueues) {
+          flushBatchPipelined(buffer);
+        }
+        clearReadyBuffer();
+        previousBufferFlush = lastBufferFlush;
+        lastBufferFlush = pendingFlush.thenRun(flushNotifier::notifyFlush);
+        pendingFlush = lastBufferFlush;
+        return;
+      }
+
       for (Queue<Entry> buffer : bufferQueues) {
         flushBatch(buffer);
       }
@@ -338,36 +475,108 @@ void flushCurrentBuffer() {
   }
 
   private void flushBatch(Queue<Entry> buffer) throws IOException {
+    final FlushBatch batch = prepareBatch(buffer);
+    commitBatch(batch);
+    completeBatch(batch);
+  }
+
+  /**
+   * Same as {@link #flushBatch(Queue)} except that the batch is committed
+   * by the {@link #commitExecutor} and then completed by the
+   * {@link #cleanupExecutor}. This method returns once the batch is encoded
+   * and the previous batch is committed, so that the caller can encode the
+   * next batch while this batch is being committed.
+   */
+  private void flushBatchPipelined(Queue<Entry> buffer) throws IOException {
+    // The standalone batches, such as CreateSnapshot, require all the
+    // previous batches to be committed before encoding
+    // and must be committed before encoding the next batch.
+    final boolean isStandalone = isStandaloneBatchCmdTypes(
+        buffer.element().getResponse().getOMResponse());
+    if (isStandalone) {
+      awaitPipeline();
+    } else if (!isPipelined(buffer)) {
+      // The batch may read what the previous batch writes.
+      awaitCommit();
+    }
+
+    final FlushBatch batch = prepareBatch(buffer);
+
+    // Wait for the previous commit so that at most one batch is being
+    // committed while the next batch is being encoded.
+    awaitCommit();
+
+    pendingCommit = CompletableFuture.runAsync(
+        () -> runFlushStage(() -> commitBatch(batch)), commitExecutor);
+    // Complete the batches in order: after this commit and the previous completion.
+    pendingFlush = CompletableFuture.allOf(pendingCommit, pendingFlush).thenRunAsync(
+        () -> runFlushStage(() -> completeBatch(batch)), cleanupExecutor);
+
+    if (isStandalone) {
+      awaitPipeline();
+    }
+  }
+
+  /** Wait for all the batches submitted to the pipeline to be committed and completed. */
+  private void awaitPipeline() {
+    pendingFlush.join();
+  }
+
+  private void runFlushStage(CheckedRunnable<IOException> stage) {
+    try {
+      stage.run();
+    } catch (IOException ex) {
+      terminate(ex, 1);
+    } catch (Throwable t) {
+      terminate(t, 2);
+    }
+  }
+
+  /** Encode the responses in the given buffer to a new {@link BatchOperation}. */
+  private FlushBatch prepareBatch(Queue<Entry> buffer) throws IOException {
     Map<String, List<Long>> cleanupEpochs = new HashMap<>();
     // Commit transaction info to DB.
-    final List<TermIndex> flushedTransactions = buffer.stream()
+    final TermIndex lastTransaction = buffer.stream()
         .map(Entry::getTermIndex)
-        .sorted()
-        .collect(Collectors.toList());
-    final int flushedTransactionsSize = flushedTransactions.size();
-    final TermIndex lastTransaction = flushedTransactions.get(flushedTransactionsSize - 1);
-
-    try (BatchOperation batchOperation = omMetadataManager.getStore()
-        .initBatchOperation()) {
+        .max(TermIndex::compareTo)
+        .orElseThrow(() -> new IllegalStateException("Empty buffer"));
 
+    final BatchOperation batchOperation = omMetadataManager.getStore()
+        .initBatchOperation();
+    try {
       String lastTraceId = addToBatch(buffer, batchOperation);
 
       buffer.iterator().forEachRemaining(
           entry -> addCleanupEntry(entry, cleanupEpochs));
 
-
       addToBatchTransactionInfoWithTrace(lastTraceId,
           lastTransaction.getIndex(),
           () -> omMetadataManager.getTransactionInfoTable().putWithBatch(
               batchOperation, TRANSACTION_INFO_KEY, TransactionInfo.valueOf(lastTransaction)));
+      return new FlushBatch(buffer, batchOperation, cleanupEpochs,
+          lastTransaction, lastTraceId);
+    } catch (IOException | RuntimeException e) {
+      batchOperation.close();
+      throw e;
+    }
+  }
 
+  /** Commit the given batch to DB and then close it. */
+  private void commitBatch(FlushBatch batch) throws IOException {
+    try (BatchOperation batchOperation = batch.batchOperation) {
       long startTime = Time.monotonicNow();
-      flushBatchWithTrace(lastTraceId, buffer.size(),
+      flushBatchWithTrace(batch.lastTraceId, batch.buffer.size(),
           () -> omMetadataManager.getStore()
               .commitBatchOperation(batchOperation));
 
       metrics.updateFlushTime(Time.monotonicNow() - startTime);
     }
+  }
+
+  /** The post-commit work of the given batch: release the handlers, cleanup cache, etc. */
+  private void completeBatch(FlushBatch batch) {
+    final Queue<Entry> buffer = batch.buffer;
+    final int flushedTransactionsSize = buffer.size();
 
     // Complete futures first and then do other things.
     // So that handler threads will be released.
@@ -384,13 +593,13 @@ private void flushBatch(Queue<Entry> buffer) throws IOException {
         flushedIterations, flushedTransactionsSize, accumulativeCount);
 
     // Clean up committed transactions.
-    cleanupCache(cleanupEpochs);
+    cleanupCache(batch.cleanupEpochs);
 
     if (isRatisEnabled()) {
       releaseUnFlushedTransactions(flushedTransactionsSize);
     }
     // update the last updated index in OzoneManagerStateMachine.
-    updateLastAppliedIndex.accept(lastTransaction);
+    updateLastAppliedIndex.accept(batch.lastTransaction);
 
     // set metrics.
     metrics.updateFlush(flushedTransactionsSize);
@@ -460,6 +669,32 @@ private synchronized List<Queue<Entry>> splitReadyBufferAtCreateSnapshot() {
     return response;
   }
 
+  private void awaitCommit() {
+    final long startTime = Time.monotonicNow();
+    pendingCommit.join();
+    metrics.updatePipelineWaitTime(Time.monotonicNow() - startTime);
+  }
+
+  /**
+   * @return true if all the responses in the buffer can be encoded
+   *         while the previous batch is being committed.
+   * @see #PIPELINED_CMD_TYPES
+   */
+  private static boolean isPipelined(Queue<Entry> buffer) {
+    for (Entry entry : buffer) {
+      final OMResponse response = entry.getResponse().getOMResponse();
+      if (response == null) {
+        return false;
+      }
+      // Failed responses are not added to the batch.
+      if (response.getStatus() == Status.OK
+          && !PIPELINED_CMD_TYPES.contains(response.getCmdType())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private static boolean isStandaloneBatchCmdTypes(OMResponse response) {
     if (response == null) {
       return false;
@@ -516,6 +751,15 @@ private synchronized void clearReadyBuffer() {
   @SuppressWarnings("squid:S2142")
   public void stop() {
     stopDaemon();
+    if (isFlushPipelined()) {
+      try {
+        awaitPipeline();
+      } catch (RuntimeException e) {
+        LOG.warn("Failed to complete the pending flushes", e);
+      }
+      HadoopExecutors.shutdown(commitExecutor, LOG, 5, TimeUnit.SECONDS);
+      HadoopExecutors.shutdown(cleanupExecutor, LOG, 5, TimeUnit.SECONDS);
+    }
     metrics.unRegister();
   }
 
@@ -552,7 +796,15 @@ private void terminate(Throwable t, int status, OMResponse omResponse) {
   /**
    * Add OmResponseBufferEntry to buffer.
    */
-  public synchronized void add(OMClientResponse response, TermIndex termIndex) {
+  public void add(OMClientResponse response, TermIndex termIndex) {
+    if (ringBuffer != null) {
+      addToRingBuffer(new Entry(termIndex, response));
+    } else {
+      addToCurrentBuffer(response, termIndex);
+    }
+  }
+
+  private synchronized void addToCurrentBuffer(OMClientResponse response, TermIndex termIndex) {
     currentBuffer.add(new Entry(termIndex, response));
     notify();
 
@@ -561,6 +813,35 @@ public synchronized void add(OMClientResponse response, TermIndex termIndex) {
     }
   }
 
+  /**
+   * Add the entry to {@link #ringBuffer} without taking the monitor.
+   * The ring has room for maxUnFlushedTransactionCount entries,
+   * so it can only be full when the caller has not acquired
+   * {@link #unFlushedTransactions}; in such case, wait for the flush thread.
+   */
+  private void addToRingBuffer(Entry entry) {
+    for (;;) {
+      final int retries = ringBuffer.offer(entry);
+      if (retries != OMResponseRingBuffer.FULL) {
+        if (retries > 0) {
+          metrics.incrNumOfBufferAddRetries(retries);
+        }
+        break;
+      }
+      metrics.incrNumOfBufferFullWaits();
+      unparkFlushThread();
+      LockSupport.parkNanos(this, TimeUnit.MICROSECONDS.toNanos(100));
+    }
+    unparkFlushThread();
+  }
+
+  private void unparkFlushThread() {
+    final Thread parked = parkedFlushThread;
+    if (parked != null) {
+      LockSupport.unpark(parked);
+    }
+  }
+
   /**
    * Check if transactions can be flushed or not. It waits till currentBuffer
    * size is greater than zero. When any item gets added to currentBuffer,
@@ -568,35 +849,89 @@ public synchronized void add(OMClientResponse response, TermIndex termIndex) {
    * than zero. In case of any interruption, terminates the OM when daemon is
    * running otherwise returns false.
    */
-  private synchronized boolean canFlush() {
+  private boolean canFlush() {
+    if (isFlushPipelined() && getCurrentBufferSize() == 0) {
+      // All the buffers must be flushed before notifying the idle flushes.
+      awaitPipeline();
+    }
+    return ringBuffer != null ? awaitRingBuffer() : awaitCurrentBuffer();
+  }
+
+  private void notifyIdleFlush() {
+    // canFlush() only gets called when all the other buffers are empty.
+    // Notify once for each.
+    for (int i = 0; i < numUnNotifiedBuffers; i++) {
+      flushNotifier.notifyFlush();
+    }
+  }
+
+  private synchronized boolean awaitCurrentBuffer() {
     try {
       while (currentBuffer.isEmpty()) {
-        // canFlush() only gets called when the readyBuffer is empty.
-        // Since both buffers are empty, notify once for each.
-        flushNotifier.notifyFlush();
-        flushNotifier.notifyFlush();
+        notifyIdleFlush();
         wait(1000L);
       }
       return true;
     } catch (InterruptedException ex) {
-      Thread.currentThread().interrupt();
-      if (isRunning.get()) {
-        final String message = "OMDoubleBuffer flush thread " +
-            Thread.currentThread().getName() + " encountered Interrupted " +
-            "exception while running";
-        ExitUtils.terminate(1, message, ex, LOG);
+      return onFlushThreadInterrupted(ex);
+    }
+  }
+
+  /**
+   * Same as {@link #awaitCurrentBuffer()} for {@link BufferMode#RING} mode.
+   * The flush thread parks itself instead of waiting on the monitor;
+   * {@link #addToRingBuffer(Entry)} unparks it.
+   * The flush is idle only when no entry is claimed: an entry claimed but not
+   * yet published blocks the entries claimed after it, which may already
+   * have been added.
+   */
+  private boolean awaitRingBuffer() {
+    final Thread current = Thread.currentThread();
+    while (!ringBuffer.hasNext()) {
+      if (ringBuffer.size() == 0) {
+        notifyIdleFlush();
       }
-      LOG.info("OMDoubleBuffer flush thread {} is interrupted and will "
-          + "exit.", Thread.currentThread().getName());
-      return false;
+
+      parkedFlushThread = current;
+      // Check again after publishing parkedFlushThread
+      // so that a concurrent add cannot be missed.
+      if (!ringBuffer.hasNext()) {
+        LockSupport.parkNanos(this, TimeUnit.SECONDS.toNanos(1));
+      }
+      parkedFlushThread = null;
+
+      if (Thread.interrupted()) {
+        return onFlushThreadInterrupted(new InterruptedException(
+            "Interrupted while waiting for the ring buffer"));
+      }
+    }
+    return true;
+  }
+
+  private boolean onFlushThreadInterrupted(InterruptedException ex) {
+    Thread.currentThread().interrupt();
+    if (isRunning.get()) {
+      final String message = "OMDoubleBuffer flush thread " +
+          Thread.currentThread().getName() + " encountered Interrupted " +
+          "exception while running";
+      ExitUtils.terminate(1, message, ex, LOG);
     }
+    LOG.info("OMDoubleBuffer flush thread {} is interrupted and will "
+        + "exit.", Thread.currentThread().getName());
+    return false;
   }
 
   /**
    * Swaps the currentBuffer with readyBuffer so that the readyBuffer can be
    * used by sync thread to flush transactions to DB.
+   * In {@link BufferMode#RING} mode, the ring buffer is drained to the
+   * readyBuffer instead.
    */
   private synchronized void swapCurrentAndReadyBuffer() {
+    if (ringBuffer != null) {
+      ringBuffer.drainTo(readyBuffer);
+      return;
+    }
     final Queue<Entry> temp = currentBuffer;
     currentBuffer = readyBuffer;
     readyBuffer = temp;
@@ -617,7 +952,7 @@ long getFlushIterationsForTesting() {
   }
 
   int getCurrentBufferSize() {
-    return currentBuffer.size();
+    return ringBuffer != null ? ringBuffer.size() : currentBuffer.size();
   }
 
   synchronized int getReadyBufferSize() {
@@ -658,17 +993,29 @@ private int complete() {
       }
     }
 
-    /** The size of the map is at most two since it uses {@link #flushCount} + 2 in {@link #await()} .*/
+    /**
+     * The size of the map is at most {@link #numUnNotifiedBuffers}
+     * since it uses {@link #flushCount} + {@link #numUnNotifiedBuffers} in {@link #await()} .
+     */
     private final Map<Integer, Entry> flushFutures = new TreeMap<>();
+    private final int numUnNotifiedBuffers;
     private int awaitCount;
     private int flushCount;
 
+    FlushNotifier() {
+      this(2);
+    }
+
+    FlushNotifier(int numUnNotifiedBuffers) {
+      this.numUnNotifiedBuffers = numUnNotifiedBuffers;
+    }
+
     synchronized CompletableFuture<Integer> await() {
       awaitCount++;
-      final int flush = flushCount + 2;
+      final int flush = flushCount + numUnNotifiedBuffers;
       LOG.debug("await flush {}", flush);
       final Entry entry = flushFutures.computeIfAbsent(flush, key -> new Entry());
-      Preconditions.assertTrue(flushFutures.size() <= 2);
+      Preconditions.assertTrue(flushFutures.size() <= numUnNotifiedBuffers);
       return entry.await();
     }
 
@@ -60,6 +60,18 @@ public class OzoneManagerDoubleBufferMetrics {
   @Metric(about = "DoubleBuffer queue size.", valueName = "Size")
   private MutableStat queueSize;
 
+  @Metric(about = "Time the flush thread waits for the previous batch " +
+      "commit when the flush is pipelined.")
+  private MutableRate pipelineWaitTime;
+
+  @Metric(about = "Total number of retries caused by concurrent adds to " +
+      "the ring buffer in RING mode.")
+  private MutableCounterLong numOfBufferAddRetries;
+
+  @Metric(about = "Total number of times an add found the ring buffer full " +
+      "in RING mode and had to wait for the flush thread.")
+  private MutableCounterLong numOfBufferFullWaits;
+
   public static synchronized OzoneManagerDoubleBufferMetrics create() {
     if (instance != null) {
       return instance;
@@ -143,6 +155,30 @@ MutableStat getQueueSize() {
     return queueSize;
   }
 
+  public void updatePipelineWaitTime(long time) {
+    pipelineWaitTime.add(time);
+  }
+
+  MutableRate getPipelineWaitTime() {
+    return pipelineWaitTime;
+  }
+
+  public void incrNumOfBufferAddRetries(long retries) {
+    numOfBufferAddRetries.incr(retries);
+  }
+
+  public long getNumOfBufferAddRetries() {
+    return numOfBufferAddRetries.value();
+  }
+
+  public void incrNumOfBufferFullWaits() {
+    numOfBufferFullWaits.incr();
+  }
+
+  public long getNumOfBufferFullWaits() {
+    return numOfBufferFullWaits.value();
+  }
+
   public void unRegister() {
     MetricsSystem ms = DefaultMetricsSystem.instance();
     ms.unregisterSource(SOURCE_NAME);
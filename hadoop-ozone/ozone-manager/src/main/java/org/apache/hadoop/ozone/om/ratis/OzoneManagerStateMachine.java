@@ -449,10 +449,17 @@ public OzoneManagerDoubleBuffer buildDoubleBufferForRatis() {
     final int maxUnFlushedTransactionCount = ozoneManager.getConfiguration()
         .getInt(OMConfigKeys.OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT,
             OMConfigKeys.OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT_DEFAULT);
+    final OzoneManagerDoubleBuffer.BufferMode bufferMode = OzoneManagerDoubleBuffer.BufferMode.valueOf(
+        ozoneManager.getConfiguration().getTrimmed(OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_MODE,
+            OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_MODE_DEFAULT).toUpperCase());
     return OzoneManagerDoubleBuffer.newBuilder()
         .setOmMetadataManager(ozoneManager.getMetadataManager())
         .setUpdateLastAppliedIndex(this::updateLastAppliedTermIndex)
         .setMaxUnFlushedTransactionCount(maxUnFlushedTransactionCount)
+        .setBufferMode(bufferMode)
+        .enableFlushPipeline(ozoneManager.getConfiguration().getBoolean(
+            OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_FLUSH_PIPELINE_ENABLED,
+            OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_FLUSH_PIPELINE_ENABLED_DEFAULT))
         .setThreadPrefix(threadPrefix)
         .setS3SecretManager(ozoneManager.getS3SecretManager())
         .enableRatis(true)
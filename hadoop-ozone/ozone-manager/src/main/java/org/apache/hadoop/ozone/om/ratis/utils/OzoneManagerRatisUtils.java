@@ -303,6 +303,11 @@ public static OMClientRequest createClientRequest(OMRequest omRequest,
       volumeName = keyArgs.getVolumeName();
       bucketName = keyArgs.getBucketName();
       break;
+    case CopyKey:
+      keyArgs = omRequest.getCopyKeyRequest().getKeyArgs();
+      volumeName = keyArgs.getVolumeName();
+      bucketName = keyArgs.getBucketName();
+      break;
     case RenameKeys:
       OzoneManagerProtocolProtos.RenameKeysArgs renameKeysArgs =
           omRequest.getRenameKeysRequest().getRenameKeysArgs();
@@ -35,6 +35,7 @@
 import org.apache.hadoop.ozone.om.request.key.OMAllocateBlockRequest;
 import org.apache.hadoop.ozone.om.request.key.OMAllocateBlockRequestWithFSO;
 import org.apache.hadoop.ozone.om.request.key.OMKeyCommitRequest;
+import org.apache.hadoop.ozone.om.request.key.OMKeyCopyRequest;
 import org.apache.hadoop.ozone.om.request.key.OMKeyCommitRequestWithFSO;
 import org.apache.hadoop.ozone.om.request.key.OMKeySetTimesRequest;
 import org.apache.hadoop.ozone.om.request.key.OMKeySetTimesRequestWithFSO;
@@ -151,6 +152,11 @@ public final class BucketLayoutAwareOMKeyRequestFactory {
         OMKeysRenameRequest.class,
         BucketLayout.OBJECT_STORE);
 
+    // CopyKey
+    addRequestClass(Type.CopyKey,
+        OMKeyCopyRequest.class,
+        BucketLayout.OBJECT_STORE);
+
     // InitiateMultiPartUpload
     addRequestClass(Type.InitiateMultiPartUpload,
         S3InitiateMultipartUploadRequest.class,
@@ -28,6 +28,7 @@
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
+import org.apache.hadoop.ozone.om.lock.OzoneLockStrategy;
 import org.apache.hadoop.ozone.om.request.util.OmResponseUtil;
 import org.apache.hadoop.ozone.om.response.OMClientResponse;
 import org.apache.hadoop.ozone.om.response.file.OMDirectoryCreateResponseWithFSO;
@@ -57,7 +58,6 @@
 
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.FILE_ALREADY_EXISTS;
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.INVALID_KEY_NAME;
-import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.BUCKET_LOCK;
 import static org.apache.hadoop.ozone.om.request.file.OMFileRequest.OMDirectoryResult.DIRECTORY_EXISTS_IN_GIVENPATH;
 import static org.apache.hadoop.ozone.om.request.file.OMFileRequest.OMDirectoryResult.FILE_EXISTS;
 import static org.apache.hadoop.ozone.om.request.file.OMFileRequest.OMDirectoryResult.FILE_EXISTS_IN_GIVENPATH;
@@ -101,6 +101,7 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
 
     Map<String, String> auditMap = buildKeyArgsAuditMap(keyArgs);
     OMMetadataManager omMetadataManager = ozoneManager.getMetadataManager();
+    OzoneLockStrategy ozoneLockStrategy = getOzoneLockStrategy(ozoneManager);
     boolean acquiredLock = false;
     Exception exception = null;
     OMClientResponse omClientResponse = null;
@@ -116,8 +117,8 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
       }
       // acquire lock
       mergeOmLockDetails(
-          omMetadataManager.getLock().acquireWriteLock(BUCKET_LOCK, volumeName,
-              bucketName));
+          ozoneLockStrategy.acquireWriteLock(omMetadataManager, volumeName,
+              bucketName, keyName));
       acquiredLock = getOmLockDetails().isLockAcquired();
 
       validateBucketAndVolume(omMetadataManager, volumeName, bucketName);
@@ -155,8 +156,8 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
 
         // total number of keys created.
         numKeysCreated = missingParentInfos.size() + 1;
-        checkBucketQuotaInNamespace(omBucketInfo, numKeysCreated);
-        omBucketInfo.incrUsedNamespace(numKeysCreated);
+        final OmBucketInfo omBucketInfoCopy = incrUsedNamespace(
+            omBucketInfo, numKeysCreated, numKeysCreated);
 
         // prepare leafNode dir
         OmDirectoryInfo dirInfo = createDirectoryInfoWithACL(
@@ -172,7 +173,7 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
         omClientResponse =
             new OMDirectoryCreateResponseWithFSO(omResponse.build(),
                 volumeId, bucketId, dirInfo, missingParentInfos, result,
-                getBucketLayout(), omBucketInfo.copyObject());
+                getBucketLayout(), omBucketInfoCopy);
       } else {
         result = Result.DIRECTORY_ALREADY_EXISTS;
         omResponse.setStatus(Status.DIRECTORY_ALREADY_EXISTS);
@@ -185,8 +186,9 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
           createErrorOMResponse(omResponse, exception), result);
     } finally {
       if (acquiredLock) {
-        mergeOmLockDetails(omMetadataManager.getLock()
-            .releaseWriteLock(BUCKET_LOCK, volumeName, bucketName));
+        mergeOmLockDetails(ozoneLockStrategy
+            .releaseWriteLock(omMetadataManager, volumeName,
+                bucketName, keyName));
       }
       if (omClientResponse != null) {
         omClientResponse.setOmLockDetails(getOmLockDetails());
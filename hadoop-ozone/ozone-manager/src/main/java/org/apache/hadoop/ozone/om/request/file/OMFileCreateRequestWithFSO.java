@@ -31,6 +31,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.lock.OzoneLockStrategy;
 import org.apache.hadoop.ozone.om.request.util.OmResponseUtil;
 import org.apache.hadoop.ozone.om.response.OMClientResponse;
 import org.apache.hadoop.ozone.om.response.file.OMFileCreateResponseWithFSO;
@@ -51,8 +52,6 @@
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.BUCKET_LOCK;
-
 /**
  * Handles create file request layout version1.
  */
@@ -94,6 +93,7 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
     omMetrics.incNumCreateFile();
 
     OMMetadataManager omMetadataManager = ozoneManager.getMetadataManager();
+    OzoneLockStrategy ozoneLockStrategy = getOzoneLockStrategy(ozoneManager);
 
     boolean acquiredLock = false;
 
@@ -115,8 +115,9 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
       }
 
       // acquire lock
-      mergeOmLockDetails(omMetadataManager.getLock()
-          .acquireWriteLock(BUCKET_LOCK, volumeName, bucketName));
+      mergeOmLockDetails(
+          ozoneLockStrategy.acquireWriteLock(omMetadataManager, volumeName,
+              bucketName, keyName));
       acquiredLock = getOmLockDetails().isLockAcquired();
 
       validateBucketAndVolume(omMetadataManager, volumeName, bucketName);
@@ -194,8 +195,8 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
               .getRequiredNodes();
       checkBucketQuotaInBytes(omMetadataManager, omBucketInfo,
           preAllocatedSpace);
-      checkBucketQuotaInNamespace(omBucketInfo, numKeysCreated + 1L);
-      omBucketInfo.incrUsedNamespace(numKeysCreated);
+      final OmBucketInfo omBucketInfoCopy = incrUsedNamespace(
+          omBucketInfo, numKeysCreated + 1L, numKeysCreated);
 
       // Add to cache entry can be done outside of lock for this openKey.
       // Even if bucket gets deleted, when commitKey we shall identify if
@@ -220,7 +221,7 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
           .setCmdType(Type.CreateFile);
       omClientResponse = new OMFileCreateResponseWithFSO(omResponse.build(),
               omFileInfo, missingParentInfos, clientID,
-              omBucketInfo.copyObject(), volumeId);
+              omBucketInfoCopy, volumeId);
 
       result = Result.SUCCESS;
     } catch (IOException | InvalidPathException ex) {
@@ -232,8 +233,9 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
             omResponse, exception), getBucketLayout());
     } finally {
       if (acquiredLock) {
-        mergeOmLockDetails(omMetadataManager.getLock()
-            .releaseWriteLock(BUCKET_LOCK, volumeName, bucketName));
+        mergeOmLockDetails(ozoneLockStrategy
+            .releaseWriteLock(omMetadataManager, volumeName,
+                bucketName, keyName));
       }
       if (omClientResponse != null) {
         omClientResponse.setOmLockDetails(getOmLockDetails());
@@ -0,0 +1,344 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.request.key;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Preconditions;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.ozone.OmUtils;
+import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.audit.AuditLogger;
+import org.apache.hadoop.ozone.audit.OMAction;
+import org.apache.hadoop.ozone.om.OMConfigKeys;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OMMetrics;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
+import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.KeyValueUtil;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
+import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
+import org.apache.hadoop.ozone.om.request.util.OmResponseUtil;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.om.response.key.OMKeyCopyResponse;
+import org.apache.hadoop.ozone.om.upgrade.DisallowedUntilLayoutVersion;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CopyKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CopyKeyResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.security.acl.IAccessAuthorizer;
+import org.apache.hadoop.ozone.security.acl.OzoneObj;
+import org.apache.hadoop.util.Time;
+import org.apache.ratis.server.protocol.TermIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.KEY_NOT_FOUND;
+import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.NOT_SUPPORTED_OPERATION;
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.BUCKET_LOCK;
+import static org.apache.hadoop.ozone.om.upgrade.OMLayoutFeature.SHARED_BLOCKS;
+
+/**
+ * Handles copy key request.
+ * <p>
+ * The destination key refers to the blocks of the latest version of the
+ * source key, no data is copied.  Each block gets one more reference in the
+ * sharedBlockTable, so that KeyDeletingService deletes it only with the last
+ * key referring to it.
+ */
+public class OMKeyCopyRequest extends OMKeyRequest {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(OMKeyCopyRequest.class);
+
+  public OMKeyCopyRequest(OMRequest omRequest, BucketLayout bucketLayout) {
+    super(omRequest, bucketLayout);
+  }
+
+  @Override
+  @DisallowedUntilLayoutVersion(SHARED_BLOCKS)
+  public OMRequest preExecute(OzoneManager ozoneManager) throws IOException {
+    CopyKeyRequest copyKeyRequest = super.preExecute(ozoneManager)
+        .getCopyKeyRequest();
+    Preconditions.checkNotNull(copyKeyRequest);
+
+    if (getBucketLayout().shouldNormalizePaths(
+        ozoneManager.getEnableFileSystemPaths())) {
+      // The parent directories of the destination key are not created.
+      throw new OMException("Copy key is not supported in buckets with " +
+          "file system paths enabled", NOT_SUPPORTED_OPERATION);
+    }
+
+    // Verify key name
+    final boolean checkKeyNameEnabled = ozoneManager.getConfiguration()
+         .getBoolean(OMConfigKeys.OZONE_OM_KEYNAME_CHARACTER_CHECK_ENABLED_KEY,
+                 OMConfigKeys.OZONE_OM_KEYNAME_CHARACTER_CHECK_ENABLED_DEFAULT);
+    if (checkKeyNameEnabled) {
+      OmUtils.validateKeyName(copyKeyRequest.getToKeyName());
+    }
+
+    KeyArgs copyKeyArgs = copyKeyRequest.getKeyArgs();
+    String srcKey = copyKeyArgs.getKeyName();
+    String dstKey = copyKeyRequest.getToKeyName();
+
+    // Set modification time.
+    KeyArgs resolvedArgs = resolveBucketLink(ozoneManager,
+        copyKeyArgs.toBuilder().setModificationTime(Time.now()).build());
+
+    // check Acl
+    String volumeName = resolvedArgs.getVolumeName();
+    String bucketName = resolvedArgs.getBucketName();
+    checkKeyAcls(ozoneManager, volumeName, bucketName, srcKey,
+        IAccessAuthorizer.ACLType.READ, OzoneObj.ResourceType.KEY);
+    checkKeyAcls(ozoneManager, volumeName, bucketName, dstKey,
+        IAccessAuthorizer.ACLType.CREATE, OzoneObj.ResourceType.KEY);
+
+    return getOmRequest().toBuilder()
+        .setCopyKeyRequest(copyKeyRequest.toBuilder()
+            .setKeyArgs(resolvedArgs))
+        .setUserInfo(getUserIfNotExists(ozoneManager)).build();
+  }
+
+  @Override
+  @SuppressWarnings("methodlength")
+  public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIndex termIndex) {
+    final long trxnLogIndex = termIndex.getIndex();
+
+    CopyKeyRequest copyKeyRequest = getOmRequest().getCopyKeyRequest();
+    KeyArgs keyArgs = copyKeyRequest.getKeyArgs();
+    Map<String, String> auditMap = buildAuditMap(keyArgs, copyKeyRequest);
+
+    String volumeName = keyArgs.getVolumeName();
+    String bucketName = keyArgs.getBucketName();
+    String fromKeyName = keyArgs.getKeyName();
+    String toKeyName = copyKeyRequest.getToKeyName();
+
+    OMMetrics omMetrics = ozoneManager.getMetrics();
+    omMetrics.incNumKeyCopies();
+
+    AuditLogger auditLogger = ozoneManager.getAuditLogger();
+
+    OMResponse.Builder omResponse = OmResponseUtil.getOMResponseBuilder(
+        getOmRequest());
+
+    OMMetadataManager omMetadataManager = ozoneManager.getMetadataManager();
+    boolean acquiredLock = false;
+    OMClientResponse omClientResponse = null;
+    Exception exception = null;
+    Result result = null;
+    try {
+      if (toKeyName.isEmpty() || fromKeyName.isEmpty()) {
+        throw new OMException("Key name is empty",
+            OMException.ResultCodes.INVALID_KEY_NAME);
+      }
+      if (toKeyName.equals(fromKeyName)) {
+        throw new OMException("Cannot copy key " + fromKeyName +
+            " to itself", OMException.ResultCodes.INVALID_REQUEST);
+      }
+      mergeOmLockDetails(omMetadataManager.getLock()
+          .acquireWriteLock(BUCKET_LOCK, volumeName, bucketName));
+      acquiredLock = getOmLockDetails().isLockAcquired();
+
+      // Validate bucket and volume exists or not.
+      validateBucketAndVolume(omMetadataManager, volumeName, bucketName);
+      OmBucketInfo omBucketInfo =
+          getBucketInfo(omMetadataManager, volumeName, bucketName);
+      if (omBucketInfo.getIsVersionEnabled()) {
+        throw new OMException("Copy key is not supported in versioned " +
+            "bucket " + bucketName, NOT_SUPPORTED_OPERATION);
+      }
+
+      Table<String, OmKeyInfo> keyTable =
+          omMetadataManager.getKeyTable(getBucketLayout());
+      String fromKey = omMetadataManager.getOzoneKey(volumeName, bucketName,
+          fromKeyName);
+      String toKey = omMetadataManager.getOzoneKey(volumeName, bucketName,
+          toKeyName);
+
+      OmKeyInfo fromKeyValue = keyTable.get(fromKey);
+      if (fromKeyValue == null) {
+        throw new OMException("Key not found " + fromKey, KEY_NOT_FOUND);
+      }
+      if (fromKeyValue.isHsync()) {
+        throw new OMException("Cannot copy key " + fromKey +
+            " which is still being written", NOT_SUPPORTED_OPERATION);
+      }
+
+      OmKeyInfo toKeyValue = createKeyInfo(ozoneManager, keyArgs, toKeyName,
+          fromKeyValue, omBucketInfo, trxnLogIndex);
+
+      // The new references to the blocks of the source key.
+      Table<String, Long> sharedBlockTable =
+          omMetadataManager.getSharedBlockTable();
+      Map<String, Long> sharedBlocks = new HashMap<>();
+      for (OmKeyLocationInfo location
+          : toKeyValue.getLatestVersionLocations().getLocationList()) {
+        String block = OmMetadataManagerImpl.getSharedBlockKey(
+            location.getContainerID(), location.getLocalID());
+        Long count = sharedBlocks.get(block);
+        if (count == null) {
+          count = sharedBlockTable.get(block);
+        }
+        sharedBlocks.put(block, count == null ? 1 : count + 1);
+      }
+
+      // The overwritten key, if any, is deleted as in commit key.
+      Map<String, RepeatedOmKeyInfo> keysToDelete = null;
+      long correctedSpace = toKeyValue.getReplicatedSize();
+      OmKeyInfo keyToDelete = keyTable.get(toKey);
+      if (keyToDelete != null) {
+        correctedSpace -= keyToDelete.getReplicatedSize();
+        checkBucketQuotaInBytes(omMetadataManager, omBucketInfo,
+            correctedSpace);
+        RepeatedOmKeyInfo oldVerKeyInfo = getOldVersionsToCleanUp(
+            keyToDelete, trxnLogIndex, ozoneManager.isRatisEnabled());
+        // using pseudoObjId as objectId can be same in case of overwrite key
+        long pseudoObjId = ozoneManager.getObjectIdFromTxId(trxnLogIndex);
+        String delKeyName = omMetadataManager.getOzoneDeletePathKey(
+            pseudoObjId, toKey);
+        keysToDelete = Collections.singletonMap(delKeyName, oldVerKeyInfo);
+      } else {
+        checkBucketQuotaInNamespace(omBucketInfo, 1L);
+        checkBucketQuotaInBytes(omMetadataManager, omBucketInfo,
+            correctedSpace);
+        omBucketInfo.incrUsedNamespace(1L);
+      }
+      omBucketInfo.incrUsedBytes(correctedSpace);
+
+      // Add to cache.
+      keyTable.addCacheEntry(new CacheKey<>(toKey),
+          CacheValue.get(trxnLogIndex, toKeyValue));
+      for (Map.Entry<String, Long> entry : sharedBlocks.entrySet()) {
+        sharedBlockTable.addCacheEntry(new CacheKey<>(entry.getKey()),
+            CacheValue.get(trxnLogIndex, entry.getValue()));
+      }
+
+      omClientResponse = new OMKeyCopyResponse(omResponse
+          .setCopyKeyResponse(CopyKeyResponse.newBuilder()).build(),
+          toKey, toKeyValue, keysToDelete, sharedBlocks,
+          omBucketInfo.copyObject());
+
+      result = Result.SUCCESS;
+    } catch (IOException | InvalidPathException ex) {
+      result = Result.FAILURE;
+      exception = ex;
+      omClientResponse = new OMKeyCopyResponse(createErrorOMResponse(
+          omResponse, exception), getBucketLayout());
+    } finally {
+      if (acquiredLock) {
+        mergeOmLockDetails(omMetadataManager.getLock()
+            .releaseWriteLock(BUCKET_LOCK, volumeName, bucketName));
+      }
+      if (omClientResponse != null) {
+        omClientResponse.setOmLockDetails(getOmLockDetails());
+      }
+    }
+
+    markForAudit(auditLogger, buildAuditMessage(OMAction.COPY_KEY, auditMap,
+        exception, getOmRequest().getUserInfo()));
+
+    switch (result) {
+    case SUCCESS:
+      LOG.debug("Copy Key is successfully completed for volume:{} bucket:{}" +
+              " fromKey:{} toKey:{}. ", volumeName, bucketName, fromKeyName,
+          toKeyName);
+      break;
+    case FAILURE:
+      omMetrics.incNumKeyCopyFails();
+      LOG.error("Copy key failed for volume:{} bucket:{} fromKey:{} " +
+              "toKey:{}. Exception: {}.", volumeName, bucketName,
+          fromKeyName, toKeyName, exception.getMessage());
+      break;
+    default:
+      LOG.error("Unrecognized Result for OMKeyCopyRequest: {}",
+          copyKeyRequest);
+    }
+    return omClientResponse;
+  }
+
+  /**
+   * Creates the destination key, with the latest version of the blocks,
+   * whether it is a multipart key, the data size, the replication, the encryption info and the metadata
+   * of the source key.  The metadata and tags of the request, if any,
+   * replace the ones of the source key.
+   */
+  private OmKeyInfo createKeyInfo(OzoneManager ozoneManager, KeyArgs keyArgs,
+      String toKeyName, OmKeyInfo fromKeyValue, OmBucketInfo omBucketInfo,
+      long trxnLogIndex) {
+    KeyArgs toKeyArgs = keyArgs.toBuilder().setKeyName(toKeyName).build();
+    OmKeyLocationInfoGroup fromLocations =
+        fromKeyValue.getLatestVersionLocations();
+    List<OmKeyLocationInfo> locations =
+        new ArrayList<>(fromLocations.getLocationList());
+
+    OmKeyInfo.Builder builder = new OmKeyInfo.Builder()
+        .setVolumeName(keyArgs.getVolumeName())
+        .setBucketName(keyArgs.getBucketName())
+        .setKeyName(toKeyName)
+        // The parts of an encrypted multipart key are decrypted separately.
+        .setOmKeyLocationInfos(Collections.singletonList(
+            new OmKeyLocationInfoGroup(0, locations,
+                fromLocations.isMultipartKey())))
+        .setCreationTime(keyArgs.getModificationTime())
+        .setModificationTime(keyArgs.getModificationTime())
+        .setDataSize(fromKeyValue.getDataSize())
+        .setReplicationConfig(fromKeyValue.getReplicationConfig())
+        .setFileEncryptionInfo(fromKeyValue.getFileEncryptionInfo())
+        .setFileChecksum(fromKeyValue.getFileChecksum())
+        .setAcls(getAclsForKey(toKeyArgs, omBucketInfo, null,
+            ozoneManager.getPrefixManager()))
+        .setObjectID(ozoneManager.getObjectIdFromTxId(trxnLogIndex))
+        .setUpdateID(trxnLogIndex)
+        .setOwnerName(keyArgs.hasOwnerName() ? keyArgs.getOwnerName()
+            : fromKeyValue.getOwnerName())
+        .setFile(true);
+    if (keyArgs.getMetadataCount() > 0 || keyArgs.getTagsCount() > 0) {
+      builder.addAllMetadata(KeyValueUtil.getFromProtobuf(
+              keyArgs.getMetadataList()))
+          .addAllTags(KeyValueUtil.getFromProtobuf(keyArgs.getTagsList()));
+    } else {
+      builder.addAllMetadata(fromKeyValue.getMetadata())
+          .addAllTags(fromKeyValue.getTags());
+    }
+    return builder.build();
+  }
+
+  private Map<String, String> buildAuditMap(
+      KeyArgs keyArgs, CopyKeyRequest copyKeyRequest) {
+    Map<String, String> auditMap = buildKeyArgsAuditMap(keyArgs);
+    auditMap.remove(OzoneConsts.KEY);
+    auditMap.put(OzoneConsts.SRC_KEY, keyArgs.getKeyName());
+    auditMap.put(OzoneConsts.DST_KEY, copyKeyRequest.getToKeyName());
+    return auditMap;
+  }
+}
@@ -20,8 +20,11 @@
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.hadoop.hdds.utils.TransactionInfo;
+import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
@@ -37,6 +40,7 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PurgeKeysRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ReleasedSharedBlocks;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.SnapshotMoveKeyInfos;
 
 import org.slf4j.Logger;
@@ -115,8 +119,54 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
       return new OMKeyPurgeResponse(createErrorOMResponse(omResponse, e));
     }
 
+    final Map<String, Long> sharedBlocksToUpdate;
+    try {
+      sharedBlocksToUpdate = releaseSharedBlocks(omMetadataManager,
+          purgeKeysRequest.getReleasedSharedBlocksList(), termIndex.getIndex());
+    } catch (IOException e) {
+      return new OMKeyPurgeResponse(createErrorOMResponse(omResponse, e));
+    }
+
     return new OMKeyPurgeResponse(omResponse.build(),
-        keysToBePurgedList, fromSnapshotInfo, keysToUpdateList);
+        keysToBePurgedList, fromSnapshotInfo, keysToUpdateList,
+        sharedBlocksToUpdate);
+  }
+
+  /**
+   * Releases one reference to each of the given shared blocks in the
+   * sharedBlockTable of the active DB, which holds the references of the
+   * snapshots' keys as well.
+   *
+   * @return the new reference count of each block, 0 for blocks no longer
+   * shared, to be removed from the table.
+   */
+  private Map<String, Long> releaseSharedBlocks(
+      OmMetadataManagerImpl omMetadataManager,
+      List<ReleasedSharedBlocks> releasedSharedBlocksList,
+      long trxnLogIndex) throws IOException {
+    Map<String, Long> sharedBlocksToUpdate = new HashMap<>();
+    Table<String, Long> sharedBlockTable =
+        omMetadataManager.getSharedBlockTable();
+    for (ReleasedSharedBlocks released : releasedSharedBlocksList) {
+      for (String block : released.getBlocksList()) {
+        Long count = sharedBlocksToUpdate.get(block);
+        if (count == null) {
+          count = sharedBlockTable.get(block);
+        }
+        if (count == null || count <= 0) {
+          LOG.warn("Block {} of deleted key {} is no longer shared.",
+              block, released.getDeletedKey());
+          continue;
+        }
+        sharedBlocksToUpdate.put(block, count - 1);
+      }
+    }
+    for (Map.Entry<String, Long> entry : sharedBlocksToUpdate.entrySet()) {
+      sharedBlockTable.addCacheEntry(new CacheKey<>(entry.getKey()),
+          entry.getValue() == 0 ? CacheValue.get(trxnLogIndex)
+              : CacheValue.get(trxnLogIndex, entry.getValue()));
+    }
+    return sharedBlocksToUpdate;
   }
 
 }
@@ -663,6 +663,21 @@ protected void checkBucketQuotaInNamespace(OmBucketInfo omBucketInfo,
     }
   }
 
+  /**
+   * Check namespace quota and add the created entries to the bucket usage.
+   * FSOKeyPathLockStrategy holds the BUCKET_LOCK in read mode only, so the
+   * cached bucket info is updated under its monitor.
+   * @return a copy of the updated bucket info
+   */
+  protected OmBucketInfo incrUsedNamespace(OmBucketInfo omBucketInfo,
+      long allocatedNamespace, long numKeysCreated) throws IOException {
+    synchronized (omBucketInfo) {
+      checkBucketQuotaInNamespace(omBucketInfo, allocatedNamespace);
+      omBucketInfo.incrUsedNamespace(numKeysCreated);
+      return omBucketInfo.copyObject();
+    }
+  }
+
   /**
    * Check directory exists. If exists return true, else false.
    * @param volumeName
@@ -68,6 +68,23 @@ protected OmKeyInfo getOmKeyInfo(
     return keyStatus != null ? keyStatus.getKeyInfo() : null;
   }
 
+  /**
+   * The keys are resolved along their paths in the directory table, which
+   * are dependent lookups, hence they are not batched.
+   */
+  @Override
+  protected List<OmKeyInfo> getOmKeyInfos(
+      OzoneManager ozoneManager, OMMetadataManager omMetadataManager,
+      String volumeName, String bucketName, List<String> keyNames)
+      throws IOException {
+    List<OmKeyInfo> omKeyInfos = new ArrayList<>(keyNames.size());
+    for (String keyName : keyNames) {
+      omKeyInfos.add(getOmKeyInfo(ozoneManager, omMetadataManager,
+          volumeName, bucketName, keyName));
+    }
+    return omKeyInfos;
+  }
+
   @Override
   protected void addKeyToAppropriateList(List<OmKeyInfo> omKeyInfoList,
       OmKeyInfo omKeyInfo, List<OmKeyInfo> dirList, OzoneFileStatus keyStatus) {
@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.response.key;
+
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
+import org.apache.hadoop.ozone.om.response.CleanupTableInfo;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+
+import java.io.IOException;
+import java.util.Map;
+import jakarta.annotation.Nonnull;
+
+import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.BUCKET_TABLE;
+import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.DELETED_TABLE;
+import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.KEY_TABLE;
+import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.SHARED_BLOCK_TABLE;
+
+/**
+ * Response for CopyKey request.
+ */
+@CleanupTableInfo(cleanupTables = {KEY_TABLE, DELETED_TABLE,
+    SHARED_BLOCK_TABLE, BUCKET_TABLE})
+public class OMKeyCopyResponse extends OmKeyResponse {
+
+  private String toKeyName;
+  private OmKeyInfo toKeyInfo;
+  private Map<String, RepeatedOmKeyInfo> keysToDelete;
+  private Map<String, Long> sharedBlocks;
+  private OmBucketInfo omBucketInfo;
+
+  public OMKeyCopyResponse(@Nonnull OMResponse omResponse,
+      String toKeyName, @Nonnull OmKeyInfo toKeyInfo,
+      Map<String, RepeatedOmKeyInfo> keysToDelete,
+      @Nonnull Map<String, Long> sharedBlocks,
+      @Nonnull OmBucketInfo omBucketInfo) {
+    super(omResponse, omBucketInfo.getBucketLayout());
+    this.toKeyName = toKeyName;
+    this.toKeyInfo = toKeyInfo;
+    this.keysToDelete = keysToDelete;
+    this.sharedBlocks = sharedBlocks;
+    this.omBucketInfo = omBucketInfo;
+  }
+
+  /**
+   * For when the request is not successful.
+   * For a successful request, the other constructor should be used.
+   */
+  public OMKeyCopyResponse(@Nonnull OMResponse omResponse,
+      @Nonnull BucketLayout bucketLayout) {
+    super(omResponse, bucketLayout);
+    checkStatusNotOK();
+  }
+
+  @Override
+  public void addToDBBatch(OMMetadataManager omMetadataManager,
+      BatchOperation batchOperation) throws IOException {
+    omMetadataManager.getKeyTable(getBucketLayout())
+        .putWithBatch(batchOperation, toKeyName, toKeyInfo);
+
+    if (keysToDelete != null) {
+      for (Map.Entry<String, RepeatedOmKeyInfo> entry
+          : keysToDelete.entrySet()) {
+        omMetadataManager.getDeletedTable().putWithBatch(batchOperation,
+            entry.getKey(), entry.getValue());
+      }
+    }
+
+    for (Map.Entry<String, Long> entry : sharedBlocks.entrySet()) {
+      omMetadataManager.getSharedBlockTable().putWithBatch(batchOperation,
+          entry.getKey(), entry.getValue());
+    }
+
+    // update bucket usedBytes.
+    omMetadataManager.getBucketTable().putWithBatch(batchOperation,
+        omMetadataManager.getBucketKey(omBucketInfo.getVolumeName(),
+            omBucketInfo.getBucketName()), omBucketInfo);
+  }
+
+  public OmKeyInfo getToKeyInfo() {
+    return toKeyInfo;
+  }
+
+  public Map<String, Long> getSharedBlocks() {
+    return sharedBlocks;
+  }
+}
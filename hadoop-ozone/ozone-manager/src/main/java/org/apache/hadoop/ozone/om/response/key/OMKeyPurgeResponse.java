@@ -35,30 +35,45 @@
 import org.apache.hadoop.hdds.utils.db.BatchOperation;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import jakarta.annotation.Nonnull;
 
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.DELETED_TABLE;
+import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.SHARED_BLOCK_TABLE;
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.SNAPSHOT_INFO_TABLE;
 import static org.apache.hadoop.ozone.om.response.snapshot.OMSnapshotMoveDeletedKeysResponse.createRepeatedOmKeyInfo;
 
 /**
  * Response for {@link OMKeyPurgeRequest} request.
  */
-@CleanupTableInfo(cleanupTables = {DELETED_TABLE, SNAPSHOT_INFO_TABLE})
+@CleanupTableInfo(cleanupTables = {DELETED_TABLE, SNAPSHOT_INFO_TABLE,
+    SHARED_BLOCK_TABLE})
 public class OMKeyPurgeResponse extends OmKeyResponse {
   private List<String> purgeKeyList;
   private SnapshotInfo fromSnapshot;
   private List<SnapshotMoveKeyInfos> keysToUpdateList;
+  private Map<String, Long> sharedBlocksToUpdate;
 
   public OMKeyPurgeResponse(@Nonnull OMResponse omResponse,
       @Nonnull List<String> keyList,
       SnapshotInfo fromSnapshot,
       List<SnapshotMoveKeyInfos> keysToUpdate) {
+    this(omResponse, keyList, fromSnapshot, keysToUpdate,
+        Collections.emptyMap());
+  }
+
+  public OMKeyPurgeResponse(@Nonnull OMResponse omResponse,
+      @Nonnull List<String> keyList,
+      SnapshotInfo fromSnapshot,
+      List<SnapshotMoveKeyInfos> keysToUpdate,
+      @Nonnull Map<String, Long> sharedBlocksToUpdate) {
     super(omResponse);
     this.purgeKeyList = keyList;
     this.fromSnapshot = fromSnapshot;
     this.keysToUpdateList = keysToUpdate;
+    this.sharedBlocksToUpdate = sharedBlocksToUpdate;
   }
 
   /**
@@ -96,6 +111,20 @@ public void addToDBBatch(OMMetadataManager omMetadataManager,
       processKeys(batchOperation, omMetadataManager);
       processKeysToUpdate(batchOperation, omMetadataManager);
     }
+    processSharedBlocks(batchOperation, omMetadataManager);
+  }
+
+  private void processSharedBlocks(BatchOperation batchOp,
+      OMMetadataManager metadataManager) throws IOException {
+    for (Map.Entry<String, Long> entry : sharedBlocksToUpdate.entrySet()) {
+      if (entry.getValue() == 0) {
+        metadataManager.getSharedBlockTable().deleteWithBatch(batchOp,
+            entry.getKey());
+      } else {
+        metadataManager.getSharedBlockTable().putWithBatch(batchOp,
+            entry.getKey(), entry.getValue());
+      }
+    }
   }
 
   private void processKeysToUpdate(BatchOperation batchOp,
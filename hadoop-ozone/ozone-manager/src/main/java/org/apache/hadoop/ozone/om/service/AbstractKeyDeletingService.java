@@ -20,6 +20,7 @@
 import com.google.protobuf.ServiceException;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hadoop.hdds.HddsUtils;
+import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
 import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
 import org.apache.hadoop.hdds.utils.BackgroundService;
@@ -32,6 +33,7 @@
 import org.apache.hadoop.ozone.common.DeleteBlockGroupResult;
 import org.apache.hadoop.ozone.om.KeyManager;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
 import org.apache.hadoop.ozone.om.OzoneManager;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
@@ -43,6 +45,7 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PurgeKeysRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PurgePathRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ReleasedSharedBlocks;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.SnapshotMoveKeyInfos;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
 import org.apache.hadoop.util.Time;
@@ -51,6 +54,7 @@
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -77,6 +81,9 @@ public abstract class AbstractKeyDeletingService extends BackgroundService
   private final AtomicLong movedDirsCount;
   private final AtomicLong movedFilesCount;
   private final AtomicLong runCount;
+  // Call IDs of the purge path requests, which may be submitted
+  // concurrently by the tasks of the same run.
+  private final AtomicLong purgePathsCallId = new AtomicLong(0);
   private final BootstrapStateHandler.Lock lock =
       new BootstrapStateHandler.Lock();
 
@@ -100,31 +107,48 @@ protected int processKeyDeletes(List<BlockGroup> keyBlocksList,
 
     long startTime = Time.monotonicNow();
     int delCount = 0;
+    Map<String, List<String>> releasedSharedBlocks = new HashMap<>();
+    List<String> sharedKeys = new ArrayList<>();
+    List<BlockGroup> unsharedKeyBlocksList = filterSharedBlocks(
+        keyBlocksList, releasedSharedBlocks, sharedKeys);
     if (LOG.isDebugEnabled()) {
       LOG.debug("Send {} key(s) to SCM: {}",
-          keyBlocksList.size(), keyBlocksList);
+          unsharedKeyBlocksList.size(), unsharedKeyBlocksList);
     } else if (LOG.isInfoEnabled()) {
       int logSize = 10;
-      if (keyBlocksList.size() < logSize) {
-        logSize = keyBlocksList.size();
+      if (unsharedKeyBlocksList.size() < logSize) {
+        logSize = unsharedKeyBlocksList.size();
       }
       LOG.info("Send {} key(s) to SCM, first {} keys: {}",
-          keyBlocksList.size(), logSize, keyBlocksList.subList(0, logSize));
+          unsharedKeyBlocksList.size(), logSize,
+          unsharedKeyBlocksList.subList(0, logSize));
     }
     List<DeleteBlockGroupResult> blockDeletionResults =
-        scmClient.deleteKeyBlocks(keyBlocksList);
+        unsharedKeyBlocksList.isEmpty() ? Collections.emptyList()
+            : scmClient.deleteKeyBlocks(unsharedKeyBlocksList);
     LOG.info("{} BlockGroup deletion are acked by SCM in {} ms",
-        keyBlocksList.size(), Time.monotonicNow() - startTime);
+        unsharedKeyBlocksList.size(), Time.monotonicNow() - startTime);
+    if (blockDeletionResults != null && !sharedKeys.isEmpty()) {
+      // The keys whose blocks are all still shared with other keys are not
+      // sent to SCM, they are purged right away.
+      blockDeletionResults = new ArrayList<>(blockDeletionResults);
+      for (String sharedKey : sharedKeys) {
+        blockDeletionResults.add(new DeleteBlockGroupResult(sharedKey,
+            Collections.emptyList()));
+      }
+    }
     if (blockDeletionResults != null) {
       startTime = Time.monotonicNow();
       if (isRatisEnabled()) {
         delCount = submitPurgeKeysRequest(blockDeletionResults,
-            keysToModify, snapTableKey, expectedPreviousSnapshotId);
+            keysToModify, snapTableKey, expectedPreviousSnapshotId,
+            releasedSharedBlocks);
       } else {
         // TODO: Once HA and non-HA paths are merged, we should have
         //  only one code path here. Purge keys should go through an
         //  OMRequest model.
-        delCount = deleteAllKeys(blockDeletionResults, manager);
+        delCount = deleteAllKeys(blockDeletionResults, manager,
+            releasedSharedBlocks);
       }
       LOG.info("Blocks for {} (out of {}) keys are deleted from DB in {} ms",
           delCount, blockDeletionResults.size(), Time.monotonicNow() - startTime);
@@ -132,17 +156,77 @@ protected int processKeyDeletes(List<BlockGroup> keyBlocksList,
     return delCount;
   }
 
+  /**
+   * Removes the blocks still shared with other keys, which are not to be
+   * deleted by SCM, from the given block groups.  Each block of the
+   * sharedBlockTable is released at most as many times as it is shared,
+   * the next key of this batch referring to it deletes it.
+   *
+   * @param releasedSharedBlocks filled with the shared blocks of each key,
+   *                             whose references are to be released.
+   * @param sharedKeys filled with the keys having only shared blocks.
+   * @return the block groups to be deleted by SCM.
+   */
+  private List<BlockGroup> filterSharedBlocks(List<BlockGroup> keyBlocksList,
+      Map<String, List<String>> releasedSharedBlocks, List<String> sharedKeys)
+      throws IOException {
+    Table<String, Long> sharedBlockTable =
+        ozoneManager.getMetadataManager().getSharedBlockTable();
+    if (sharedBlockTable.isEmpty()) {
+      return keyBlocksList;
+    }
+    Map<String, Long> remainingReferences = new HashMap<>();
+    List<BlockGroup> unsharedKeyBlocksList =
+        new ArrayList<>(keyBlocksList.size());
+    for (BlockGroup group : keyBlocksList) {
+      List<BlockID> unsharedBlocks = new ArrayList<>();
+      List<String> sharedBlocks = new ArrayList<>();
+      for (BlockID blockID : group.getBlockIDList()) {
+        String block = OmMetadataManagerImpl.getSharedBlockKey(
+            blockID.getContainerID(), blockID.getLocalID());
+        Long remaining = remainingReferences.get(block);
+        if (remaining == null) {
+          remaining = sharedBlockTable.get(block);
+        }
+        if (remaining != null && remaining > 0) {
+          remainingReferences.put(block, remaining - 1);
+          sharedBlocks.add(block);
+        } else {
+          unsharedBlocks.add(blockID);
+        }
+      }
+      if (sharedBlocks.isEmpty()) {
+        unsharedKeyBlocksList.add(group);
+        continue;
+      }
+      releasedSharedBlocks.put(group.getGroupID(), sharedBlocks);
+      if (unsharedBlocks.isEmpty()) {
+        sharedKeys.add(group.getGroupID());
+      } else {
+        unsharedKeyBlocksList.add(BlockGroup.newBuilder()
+            .setKeyName(group.getGroupID())
+            .addAllBlockIDs(unsharedBlocks).build());
+      }
+    }
+    return unsharedKeyBlocksList;
+  }
+
   /**
    * Deletes all the keys that SCM has acknowledged and queued for delete.
    *
    * @param results DeleteBlockGroups returned by SCM.
+   * @param releasedSharedBlocks the shared blocks to release for each key.
    * @throws IOException      on Error
    */
   private int deleteAllKeys(List<DeleteBlockGroupResult> results,
-      KeyManager manager) throws IOException {
+      KeyManager manager, Map<String, List<String>> releasedSharedBlocks)
+      throws IOException {
     Table<String, RepeatedOmKeyInfo> deletedTable =
         manager.getMetadataManager().getDeletedTable();
     DBStore store = manager.getMetadataManager().getStore();
+    Table<String, Long> sharedBlockTable =
+        ozoneManager.getMetadataManager().getSharedBlockTable();
+    Map<String, Long> sharedBlocksToUpdate = new HashMap<>();
 
     // Put all keys to delete in a single transaction and call for delete.
     int deletedCount = 0;
@@ -152,12 +236,30 @@ private int deleteAllKeys(List<DeleteBlockGroupResult> results,
           // Purge key from OM DB.
           deletedTable.deleteWithBatch(writeBatch,
               result.getObjectKey());
+          for (String block : releasedSharedBlocks.getOrDefault(
+              result.getObjectKey(), Collections.emptyList())) {
+            Long count = sharedBlocksToUpdate.get(block);
+            if (count == null) {
+              count = sharedBlockTable.get(block);
+            }
+            if (count != null && count > 0) {
+              sharedBlocksToUpdate.put(block, count - 1);
+            }
+          }
           if (LOG.isDebugEnabled()) {
             LOG.debug("Key {} deleted from OM DB", result.getObjectKey());
           }
           deletedCount++;
         }
       }
+      for (Map.Entry<String, Long> entry : sharedBlocksToUpdate.entrySet()) {
+        if (entry.getValue() == 0) {
+          sharedBlockTable.deleteWithBatch(writeBatch, entry.getKey());
+        } else {
+          sharedBlockTable.putWithBatch(writeBatch, entry.getKey(),
+              entry.getValue());
+        }
+      }
       // Write a single transaction for delete.
       store.commitBatchOperation(writeBatch);
     }
@@ -169,12 +271,16 @@ private int deleteAllKeys(List<DeleteBlockGroupResult> results,
    * by SCM.
    * @param results DeleteBlockGroups returned by SCM.
    * @param keysToModify Updated list of RepeatedOmKeyInfo
+   * @param releasedSharedBlocks the shared blocks to release for each key.
    */
   private int submitPurgeKeysRequest(List<DeleteBlockGroupResult> results,
-      HashMap<String, RepeatedOmKeyInfo> keysToModify, String snapTableKey, UUID expectedPreviousSnapshotId) {
+      HashMap<String, RepeatedOmKeyInfo> keysToModify, String snapTableKey, UUID expectedPreviousSnapshotId,
+      Map<String, List<String>> releasedSharedBlocks) {
     Map<Pair<String, String>, List<String>> purgeKeysMapPerBucket =
         new HashMap<>();
 
+    List<ReleasedSharedBlocks> releasedSharedBlocksList = new ArrayList<>();
+
     // Put all keys to be purged in a list
     int deletedCount = 0;
     for (DeleteBlockGroupResult result : results) {
@@ -194,11 +300,19 @@ private int submitPurgeKeysRequest(List<DeleteBlockGroupResult> results,
             LOG.debug("Key {} set to be purged from OM DB", deletedKey);
           }
         }
+        List<String> sharedBlocks = releasedSharedBlocks.get(deletedKey);
+        if (sharedBlocks != null) {
+          releasedSharedBlocksList.add(ReleasedSharedBlocks.newBuilder()
+              .setDeletedKey(deletedKey)
+              .addAllBlocks(sharedBlocks)
+              .build());
+        }
         deletedCount++;
       }
     }
 
     PurgeKeysRequest.Builder purgeKeysRequest = PurgeKeysRequest.newBuilder();
+    purgeKeysRequest.addAllReleasedSharedBlocks(releasedSharedBlocksList);
     if (snapTableKey != null) {
       purgeKeysRequest.setSnapshotTableKey(snapTableKey);
     }
@@ -305,7 +419,8 @@ protected void submitPurgePaths(List<PurgePathRequest> requests,
 
     // Submit Purge paths request to OM
     try {
-      OzoneManagerRatisUtils.submitRequest(ozoneManager, omRequest, clientId, runCount.get());
+      OzoneManagerRatisUtils.submitRequest(ozoneManager, omRequest, clientId,
+          purgePathsCallId.incrementAndGet());
     } catch (ServiceException e) {
       LOG.error("PurgePaths request failed. Will retry at next run.");
     }
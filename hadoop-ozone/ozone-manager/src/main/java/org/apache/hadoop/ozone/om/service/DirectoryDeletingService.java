@@ -17,6 +17,7 @@
 package org.apache.hadoop.ozone.om.service;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.primitives.UnsignedBytes;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.conf.StorageUnit;
@@ -42,14 +43,22 @@
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_DIR_DELETING_SERVICE_WORKERS;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_DIR_DELETING_SERVICE_WORKERS_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_PATH_DELETING_LIMIT_PER_TASK;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_PATH_DELETING_LIMIT_PER_TASK_DEFAULT;
 
@@ -69,39 +78,67 @@
  * After moving all sub-files and sub-dirs the parent orphan directory will be
  * deleted by this service. It will continue traversing until all the leaf path
  * components of an orphan directory is visited.
+ *
+ * <p>
+ * The DeletedDirectoryTable is split into consecutive key ranges across
+ * {@link OMConfigKeys#OZONE_DIR_DELETING_SERVICE_WORKERS} tasks, which
+ * run in parallel and each submit their own purge request. Each task seeks
+ * to the start of its range, so it only reads the directories it deletes.
  */
 public class DirectoryDeletingService extends AbstractKeyDeletingService {
   public static final Logger LOG =
       LoggerFactory.getLogger(DirectoryDeletingService.class);
 
-  // Use only a single thread for DirDeletion. Multiple threads would read
-  // or write to same tables and can send deletion requests for same key
-  // multiple times.
-  private static final int DIR_DELETING_CORE_POOL_SIZE = 1;
   private static final int MIN_ERR_LIMIT_PER_TASK = 1000;
+  // The order of the keys in the DB.
+  private static final Comparator<byte[]> KEY_COMPARATOR =
+      UnsignedBytes.lexicographicalComparator();
 
   // Number of items(dirs/files) to be batched in an iteration.
   private final long pathLimitPerTask;
+  // The pending deleted directories are split into key ranges across the
+  // tasks, so that multiple tasks never send deletion requests for the same
+  // key.
+  private final int numShards;
+  // The first key of each range but the first one, which starts at the
+  // beginning of the table. The last range runs to the end of the table.
+  private volatile List<String> splitKeys = Collections.emptyList();
+  // The tasks which are queued or running. The ranges are only recomputed
+  // when there are none, so the ranges of concurrent tasks never overlap.
+  private final AtomicInteger activeTasks = new AtomicInteger();
+  // The bytes limit of the purge request of each task.
   private final int ratisByteLimit;
   private final AtomicBoolean suspended;
-  private AtomicBoolean isRunningOnAOS;
+  // The shards being processed. A shard is skipped by a run if its task of
+  // the previous run is still in progress.
+  private final Set<Integer> runningShards = ConcurrentHashMap.newKeySet();
+  private final DirectoryDeletingServiceMetrics metrics;
 
   public DirectoryDeletingService(long interval, TimeUnit unit,
       long serviceTimeout, OzoneManager ozoneManager,
       OzoneConfiguration configuration) {
     super(DirectoryDeletingService.class.getSimpleName(), interval, unit,
-        DIR_DELETING_CORE_POOL_SIZE, serviceTimeout, ozoneManager, null);
+        getNumWorkers(configuration), serviceTimeout, ozoneManager, null);
     this.pathLimitPerTask = configuration
         .getInt(OZONE_PATH_DELETING_LIMIT_PER_TASK,
             OZONE_PATH_DELETING_LIMIT_PER_TASK_DEFAULT);
+    this.numShards = getNumWorkers(configuration);
     int limit = (int) configuration.getStorageSize(
         OMConfigKeys.OZONE_OM_RATIS_LOG_APPENDER_QUEUE_BYTE_LIMIT,
         OMConfigKeys.OZONE_OM_RATIS_LOG_APPENDER_QUEUE_BYTE_LIMIT_DEFAULT,
         StorageUnit.BYTES);
-    // always go to 90% of max limit for request as other header will be added
-    this.ratisByteLimit = (int) (limit * 0.9);
+    // always go to 90% of max limit for request as other header will be added.
+    // The purge requests of the tasks may be in the appender queue at the
+    // same time, so the limit is divided across the tasks.
+    this.ratisByteLimit = (int) (limit * 0.9) / numShards;
     this.suspended = new AtomicBoolean(false);
-    this.isRunningOnAOS = new AtomicBoolean(false);
+    this.metrics = DirectoryDeletingServiceMetrics.create();
+  }
+
+  private static int getNumWorkers(OzoneConfiguration configuration) {
+    return Math.max(1, configuration.getInt(
+        OZONE_DIR_DELETING_SERVICE_WORKERS,
+        OZONE_DIR_DELETING_SERVICE_WORKERS_DEFAULT));
   }
 
   private boolean shouldRun() {
@@ -113,7 +150,17 @@ private boolean shouldRun() {
   }
 
   public boolean isRunningOnAOS() {
-    return isRunningOnAOS.get();
+    return !runningShards.isEmpty();
+  }
+
+  public DirectoryDeletingServiceMetrics getMetrics() {
+    return metrics;
+  }
+
+  @Override
+  public void shutdown() {
+    super.shutdown();
+    DirectoryDeletingServiceMetrics.unRegister();
   }
 
   /**
@@ -134,16 +181,92 @@ public void resume() {
 
   @Override
   public BackgroundTaskQueue getTasks() {
+    if (numShards > 1 && activeTasks.get() == 0 && shouldRun()) {
+      try {
+        splitKeys = computeSplitKeys();
+      } catch (IOException e) {
+        LOG.warn("Failed to split the deleted directories into ranges, " +
+            "reusing the ranges of the previous run.", e);
+      }
+    }
+    List<String> keys = splitKeys;
     BackgroundTaskQueue queue = new BackgroundTaskQueue();
-    queue.add(new DirectoryDeletingService.DirDeletingTask(this));
+    for (int shard = 0; shard <= keys.size(); shard++) {
+      String startKey = shard == 0 ? null : keys.get(shard - 1);
+      String endKey = shard == keys.size() ? null : keys.get(shard);
+      activeTasks.incrementAndGet();
+      queue.add(new DirectoryDeletingService.DirDeletingTask(
+          this, shard, startKey, endKey));
+    }
     return queue;
   }
 
+  /**
+   * Splits the directories the tasks can process in a run, i.e. the first
+   * numShards * pathLimitPerTask keys of the DeletedDirectoryTable, into
+   * numShards ranges of about the same number of keys.
+   * @return the first key of each range but the first one
+   */
+  private List<String> computeSplitKeys() throws IOException {
+    List<String> keys = new ArrayList<>();
+    long maxKeys = numShards * pathLimitPerTask;
+    // Only the keys are read, the values are not decoded.
+    try (TableIterator<String, ? extends KeyValue<String, OmKeyInfo>>
+             iterator = getOzoneManager().getMetadataManager()
+                 .getDeletedDirTable().iterator()) {
+      while (keys.size() < maxKeys && iterator.hasNext()) {
+        keys.add(iterator.next().getKey());
+      }
+    }
+    List<String> result = new ArrayList<>();
+    int previous = 0;
+    for (int shard = 1; shard < numShards; shard++) {
+      int index = (int) ((long) keys.size() * shard / numShards);
+      if (index > previous) {
+        result.add(keys.get(index));
+        previous = index;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  protected void submitPurgePaths(List<PurgePathRequest> requests,
+      String snapTableKey, UUID expectedPreviousSnapshotId) {
+    super.submitPurgePaths(requests, snapTableKey, expectedPreviousSnapshotId);
+    long dirsPurged = 0;
+    long subDirsMoved = 0;
+    long subFilesMoved = 0;
+    for (PurgePathRequest request : requests) {
+      if (request.hasDeletedDir() && !request.getDeletedDir().isEmpty()) {
+        dirsPurged++;
+      }
+      subDirsMoved += request.getMarkDeletedSubDirsCount();
+      subFilesMoved += request.getDeletedSubFilesCount();
+    }
+    metrics.incrPurgeRequests(dirsPurged, subDirsMoved, subFilesMoved);
+  }
+
   private final class DirDeletingTask implements BackgroundTask {
     private final DirectoryDeletingService directoryDeletingService;
+    private final int shard;
+    // The range of the DeletedDirectoryTable of this task, null for the
+    // beginning and the end of the table.
+    private final String startKey;
+    private final byte[] endKey;
 
-    private DirDeletingTask(DirectoryDeletingService service) {
+    private DirDeletingTask(DirectoryDeletingService service, int shard,
+        String startKey, String endKey) {
       this.directoryDeletingService = service;
+      this.shard = shard;
+      this.startKey = startKey;
+      this.endKey = endKey == null ? null
+          : endKey.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private boolean isAfterRange(String deletedDirKey) {
+      return endKey != null && KEY_COMPARATOR.compare(
+          deletedDirKey.getBytes(StandardCharsets.UTF_8), endKey) >= 0;
     }
 
     @Override
@@ -153,12 +276,23 @@ public int getPriority() {
 
     @Override
     public BackgroundTaskResult call() {
-      if (shouldRun()) {
+      try {
+        runShard();
+      } finally {
+        activeTasks.decrementAndGet();
+      }
+      // place holder by returning empty results of this call back.
+      return BackgroundTaskResult.EmptyTaskResult.newResult();
+    }
+
+    private void runShard() {
+      if (shouldRun() && runningShards.add(shard)) {
         if (LOG.isDebugEnabled()) {
-          LOG.debug("Running DirectoryDeletingService");
+          LOG.debug("Running DirectoryDeletingService shard {}", shard);
+        }
+        if (shard == 0) {
+          getRunCount().incrementAndGet();
         }
-        isRunningOnAOS.set(true);
-        getRunCount().incrementAndGet();
         long dirNum = 0L;
         long subDirNum = 0L;
         long subFileNum = 0L;
@@ -170,9 +304,17 @@ public BackgroundTaskResult call() {
 
         Table.KeyValue<String, OmKeyInfo> pendingDeletedDirInfo;
 
+        final Table<String, OmKeyInfo> deletedDirTable =
+            getOzoneManager().getMetadataManager().getDeletedDirTable();
         try (TableIterator<String, ? extends KeyValue<String, OmKeyInfo>>
-                 deleteTableIterator = getOzoneManager().getMetadataManager().
-            getDeletedDirTable().iterator()) {
+                 deleteTableIterator = deletedDirTable.iterator()) {
+          if (shard == 0) {
+            metrics.setNumPendingDeletedDirs(
+                deletedDirTable.getEstimatedKeyCount());
+          }
+          if (startKey != null) {
+            deleteTableIterator.seek(startKey);
+          }
           // This is to avoid race condition b/w purge request and snapshot chain updation. For AOS taking the global
           // snapshotId since AOS could process multiple buckets in one iteration.
           UUID expectedPreviousSnapshotId =
@@ -182,6 +324,9 @@ public BackgroundTaskResult call() {
           long startTime = Time.monotonicNow();
           while (remainNum > 0 && deleteTableIterator.hasNext()) {
             pendingDeletedDirInfo = deleteTableIterator.next();
+            if (isAfterRange(pendingDeletedDirInfo.getKey())) {
+              break;
+            }
             // Do not reclaim if the directory is still being referenced by
             // the previous snapshot.
             if (previousSnapshotHasDir(pendingDeletedDirInfo)) {
@@ -231,14 +376,13 @@ public BackgroundTaskResult call() {
         } catch (IOException e) {
           LOG.error("Error while running delete directories and files " +
               "background task. Will retry at next run.", e);
-        }
-        isRunningOnAOS.set(false);
-        synchronized (directoryDeletingService) {
-          this.directoryDeletingService.notify();
+        } finally {
+          runningShards.remove(shard);
+          synchronized (directoryDeletingService) {
+            this.directoryDeletingService.notifyAll();
+          }
         }
       }
-      // place holder by returning empty results of this call back.
-      return BackgroundTaskResult.EmptyTaskResult.newResult();
     }
 
     private boolean previousSnapshotHasDir(
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.hadoop.ozone.om.service;
+
+import org.apache.hadoop.hdds.annotation.InterfaceAudience;
+import org.apache.hadoop.metrics2.MetricsSystem;
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
+
+/**
+ * Metrics related to the {@link DirectoryDeletingService} running on OM.
+ */
+@InterfaceAudience.Private
+@Metrics(about = "Directory Deleting Service Metrics", context = "dfs")
+public final class DirectoryDeletingServiceMetrics {
+  private static DirectoryDeletingServiceMetrics instance;
+  public static final String SOURCE_NAME =
+      DirectoryDeletingServiceMetrics.class.getSimpleName();
+
+  @Metric(about = "The number of purge requests submitted.")
+  private MutableCounterLong numPurgeRequests;
+
+  @Metric(about = "The number of deleted directories purged.")
+  private MutableCounterLong numDirsPurged;
+
+  @Metric(about = "The number of sub-directories moved to the"
+      + " DeletedDirectoryTable.")
+  private MutableCounterLong numSubDirsMoved;
+
+  @Metric(about = "The number of sub-files moved to the DeletedTable.")
+  private MutableCounterLong numSubFilesMoved;
+
+  @Metric(about = "The estimated number of deleted directories pending"
+      + " in the DeletedDirectoryTable.")
+  private MutableGaugeLong numPendingDeletedDirs;
+
+  private DirectoryDeletingServiceMetrics() {
+  }
+
+  public static synchronized DirectoryDeletingServiceMetrics create() {
+    if (instance == null) {
+      MetricsSystem ms = DefaultMetricsSystem.instance();
+      instance = ms.register(SOURCE_NAME,
+          "Directory Deleting Service Metrics",
+          new DirectoryDeletingServiceMetrics());
+    }
+    return instance;
+  }
+
+  /**
+   * Unregister the metrics instance.
+   */
+  public static synchronized void unRegister() {
+    instance = null;
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    ms.unregisterSource(SOURCE_NAME);
+  }
+
+  public void incrPurgeRequests(long dirsPurged, long subDirsMoved,
+      long subFilesMoved) {
+    numPurgeRequests.incr();
+    numDirsPurged.incr(dirsPurged);
+    numSubDirsMoved.incr(subDirsMoved);
+    numSubFilesMoved.incr(subFilesMoved);
+  }
+
+  public void setNumPendingDeletedDirs(long pending) {
+    numPendingDeletedDirs.set(pending);
+  }
+
+  public long getNumPurgeRequests() {
+    return numPurgeRequests.value();
+  }
+
+  public long getNumDirsPurged() {
+    return numDirsPurged.value();
+  }
+
+  public long getNumSubDirsMoved() {
+    return numSubDirsMoved.value();
+  }
+
+  public long getNumSubFilesMoved() {
+    return numSubFilesMoved.value();
+  }
+
+  public long getNumPendingDeletedDirs() {
+    return numPendingDeletedDirs.value();
+  }
+}
@@ -19,23 +19,40 @@
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.CacheLoader;
+import org.apache.hadoop.hdds.utils.db.DBStore;
+import org.apache.hadoop.hdds.utils.db.RDBStore;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.OMMetrics;
 import org.apache.hadoop.hdds.utils.Scheduler;
 import org.apache.hadoop.ozone.om.OmSnapshot;
+import org.apache.hadoop.ozone.om.OmSnapshotMetrics;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
 
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.FILE_NOT_FOUND;
 
 /**
  * Thread-safe custom unbounded LRU cache to manage open snapshot DB instances.
+ * <p>
+ * The cache is bounded by soft limits, enforced by its cleanup service:
+ * the number of DB instances, and optionally the estimated native memory of
+ * their memtables and table readers.  When the native memory limit is
+ * exceeded, the least recently used instances which are not referenced are
+ * closed first.
  */
 public class SnapshotCache implements ReferenceCountedCallback, AutoCloseable {
 
@@ -58,13 +75,34 @@ public class SnapshotCache implements ReferenceCountedCallback, AutoCloseable {
       "SnapshotCacheCleanupService";
 
   private final OMMetrics omMetrics;
+  private final OmSnapshotMetrics snapshotMetrics;
+
+  // Soft-limit of the native memory used by the snapshot DB instances,
+  // or 0 if there is no limit.
+  private final long maxNativeMemory;
+  private final ToLongFunction<OmSnapshot> nativeMemoryEstimator;
+  // Key:   SnapshotId
+  // Value: the last access time of the instance, by a logical clock.
+  private final ConcurrentHashMap<UUID, Long> lastAccess;
+  private final AtomicLong accessClock = new AtomicLong();
 
   public SnapshotCache(CacheLoader<UUID, OmSnapshot> cacheLoader, int cacheSizeLimit, OMMetrics omMetrics,
                        long cleanupInterval) {
+    this(cacheLoader, cacheSizeLimit, 0, SnapshotCache::estimateNativeMemory,
+        omMetrics, cleanupInterval);
+  }
+
+  public SnapshotCache(CacheLoader<UUID, OmSnapshot> cacheLoader, int cacheSizeLimit, long maxNativeMemory,
+                       ToLongFunction<OmSnapshot> nativeMemoryEstimator, OMMetrics omMetrics,
+                       long cleanupInterval) {
     this.dbMap = new ConcurrentHashMap<>();
     this.cacheLoader = cacheLoader;
     this.cacheSizeLimit = cacheSizeLimit;
+    this.maxNativeMemory = maxNativeMemory;
+    this.nativeMemoryEstimator = nativeMemoryEstimator;
+    this.lastAccess = new ConcurrentHashMap<>();
     this.omMetrics = omMetrics;
+    this.snapshotMetrics = OmSnapshotMetrics.getInstance();
     this.pendingEvictionQueue = ConcurrentHashMap.newKeySet();
     if (cleanupInterval > 0) {
       this.scheduler = new Scheduler(SNAPSHOT_CACHE_CLEANUP_SERVICE,
@@ -81,6 +119,25 @@ ConcurrentHashMap<UUID, ReferenceCounted<OmSnapshot>> getDbMap() {
     return dbMap;
   }
 
+  /**
+   * @return the estimated native memory used by the memtables and the table
+   *         readers of the DB instance of the given snapshot.
+   */
+  public static long estimateNativeMemory(OmSnapshot snapshot) {
+    final OMMetadataManager metadataManager = snapshot.getMetadataManager();
+    final DBStore store = metadataManager == null ? null
+        : metadataManager.getStore();
+    if (store instanceof RDBStore && !store.isClosed()) {
+      try {
+        return ((RDBStore) store).getEstimatedNativeMemory();
+      } catch (IOException e) {
+        LOG.warn("Failed to estimate the native memory of snapshot {}",
+            snapshot.getSnapshotTableKey(), e);
+      }
+    }
+    return 0;
+  }
+
   /**
    * @return number of DB instances currently held in cache.
    */
@@ -104,6 +161,7 @@ public void invalidate(UUID key) {
         }
         omMetrics.decNumSnapshotCacheSize();
       }
+      lastAccess.remove(k);
       return null;
     });
   }
@@ -153,6 +211,7 @@ public ReferenceCounted<OmSnapshot> get(UUID key) throws IOException {
     ReferenceCounted<OmSnapshot> rcOmSnapshot =
         dbMap.compute(key, (k, v) -> {
           if (v == null) {
+            snapshotMetrics.incNumSnapshotCacheMisses();
             LOG.info("Loading SnapshotId: '{}'", k);
             try {
               v = new ReferenceCounted<>(cacheLoader.load(key), false, this);
@@ -169,10 +228,13 @@ public ReferenceCounted<OmSnapshot> get(UUID key) throws IOException {
               throw new IllegalStateException(ex);
             }
             omMetrics.incNumSnapshotCacheSize();
+          } else {
+            snapshotMetrics.incNumSnapshotCacheHits();
           }
           if (v != null) {
             // When RC OmSnapshot is successfully loaded
             v.incrementRefCount();
+            lastAccess.put(k, accessClock.incrementAndGet());
           }
           return v;
         });
@@ -202,35 +264,77 @@ public void release(UUID key) {
   /**
    * If cache size exceeds soft limit, attempt to clean up and close the
      instances that has zero reference count.
+     If the native memory exceeds its soft limit, close the least recently
+     used instances that has zero reference count until it is below the limit.
    */
   @VisibleForTesting
   void cleanup() {
     if (dbMap.size() > cacheSizeLimit) {
       for (UUID evictionKey : pendingEvictionQueue) {
-        dbMap.compute(evictionKey, (k, v) -> {
-          pendingEvictionQueue.remove(k);
-          if (v == null) {
-            throw new IllegalStateException("SnapshotId '" + k + "' does not exist in cache. The RocksDB " +
-                "instance of the Snapshot may not be closed properly.");
-          }
+        evict(evictionKey);
+      }
+    }
 
-          if (v.getTotalRefCount() > 0) {
-            LOG.debug("SnapshotId {} is still being referenced ({}), skipping its clean up.", k, v.getTotalRefCount());
-            return v;
-          } else {
-            LOG.debug("Closing SnapshotId {}. It is not being referenced anymore.", k);
-            // Close the instance, which also closes its DB handle.
-            try {
-              v.get().close();
-            } catch (IOException ex) {
-              throw new IllegalStateException("Error while closing snapshot DB.", ex);
-            }
-            omMetrics.decNumSnapshotCacheSize();
-            return null;
-          }
-        });
+    final Map<UUID, Long> nativeMemory = new HashMap<>();
+    long totalNativeMemory = 0;
+    for (Map.Entry<UUID, ReferenceCounted<OmSnapshot>> e : dbMap.entrySet()) {
+      final long bytes = nativeMemoryEstimator.applyAsLong(e.getValue().get());
+      nativeMemory.put(e.getKey(), bytes);
+      totalNativeMemory += bytes;
+    }
+
+    if (maxNativeMemory > 0 && totalNativeMemory > maxNativeMemory) {
+      final List<UUID> candidates = new ArrayList<>(pendingEvictionQueue);
+      candidates.sort(Comparator.comparingLong(
+          k -> lastAccess.getOrDefault(k, 0L)));
+      for (UUID evictionKey : candidates) {
+        if (totalNativeMemory <= maxNativeMemory) {
+          break;
+        }
+        if (evict(evictionKey)) {
+          totalNativeMemory -= nativeMemory.getOrDefault(evictionKey, 0L);
+        }
+      }
+      if (totalNativeMemory > maxNativeMemory) {
+        LOG.warn("Snapshot cache native memory ({} bytes) exceeds configured" +
+            " soft-limit ({} bytes).", totalNativeMemory, maxNativeMemory);
       }
     }
+    snapshotMetrics.setSnapshotCacheNativeMemory(totalNativeMemory);
+  }
+
+  /**
+   * Close the given instance if it has zero reference count.
+   * @return true if the instance has been closed.
+   */
+  private boolean evict(UUID evictionKey) {
+    final boolean[] evicted = {false};
+    dbMap.compute(evictionKey, (k, v) -> {
+      pendingEvictionQueue.remove(k);
+      if (v == null) {
+        throw new IllegalStateException("SnapshotId '" + k + "' does not exist in cache. The RocksDB " +
+            "instance of the Snapshot may not be closed properly.");
+      }
+
+      if (v.getTotalRefCount() > 0) {
+        LOG.debug("SnapshotId {} is still being referenced ({}), skipping its clean up.", k, v.getTotalRefCount());
+        return v;
+      } else {
+        LOG.debug("Closing SnapshotId {}. It is not being referenced anymore.", k);
+        // Close the instance, which also closes its DB handle.
+        try {
+          v.get().close();
+        } catch (IOException ex) {
+          throw new IllegalStateException("Error while closing snapshot DB.", ex);
+        }
+        omMetrics.decNumSnapshotCacheSize();
+        snapshotMetrics.incNumSnapshotCacheEvictions();
+        lastAccess.remove(k);
+        evicted[0] = true;
+        return null;
+      }
+    });
+    return evicted[0];
   }
 
   /**
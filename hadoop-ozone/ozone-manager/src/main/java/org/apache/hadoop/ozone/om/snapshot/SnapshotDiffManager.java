@@ -21,6 +21,7 @@
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.apache.commons.io.file.PathUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hadoop.hdds.StringUtils;
@@ -59,6 +60,9 @@
 import org.apache.ozone.rocksdiff.RocksDBCheckpointDiffer;
 import org.apache.ozone.rocksdiff.RocksDiffUtils;
 import jakarta.annotation.Nonnull;
+import org.apache.ratis.util.function.CheckedConsumer;
+import org.apache.ratis.util.function.CheckedFunction;
+import org.apache.ratis.util.function.CheckedSupplier;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.RocksDBException;
@@ -68,14 +72,18 @@
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -84,10 +92,15 @@
 import java.util.UUID;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
 
@@ -104,6 +117,10 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_MAX_ALLOWED_KEYS_CHANGED_PER_DIFF_JOB_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_THREAD_POOL_SIZE;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_THREAD_POOL_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_WORKER_BATCH_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_WORKER_BATCH_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_WORKER_THREAD_POOL_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_WORKER_THREAD_POOL_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_FORCE_FULL_DIFF;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_FORCE_FULL_DIFF_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_DISABLE_NATIVE_LIBS;
@@ -169,6 +186,16 @@ public class SnapshotDiffManager implements AutoCloseable {
   private final PersistentMap<String, SnapshotDiffJob> snapDiffJobTable;
   private final ExecutorService snapDiffExecutor;
 
+  /**
+   * Workers shared by the snapDiff jobs to process the batches of a job in
+   * parallel. It is null if each job processes its batches on its own thread.
+   */
+  private final ExecutorService snapDiffWorkerExecutor;
+  private final int diffWorkerBatchSize;
+  // The maximum number of batches of a job submitted to the workers but not
+  // yet merged into the job's intermediate tables.
+  private final int maxDiffBatchesInFlight;
+
   /**
    * Directory to keep hardlinks of SST files for a snapDiff job temporarily.
    * It is to make sure that SST files don't get deleted for the in_progress
@@ -250,6 +277,30 @@ public SnapshotDiffManager(ManagedRocksDB db,
             .build()
     );
 
+    int workerPoolSize = ozoneManager.getConfiguration().getInt(
+        OZONE_OM_SNAPSHOT_DIFF_WORKER_THREAD_POOL_SIZE,
+        OZONE_OM_SNAPSHOT_DIFF_WORKER_THREAD_POOL_SIZE_DEFAULT
+    );
+    this.diffWorkerBatchSize = Math.max(1, ozoneManager.getConfiguration()
+        .getInt(OZONE_OM_SNAPSHOT_DIFF_WORKER_BATCH_SIZE,
+            OZONE_OM_SNAPSHOT_DIFF_WORKER_BATCH_SIZE_DEFAULT));
+    this.maxDiffBatchesInFlight = 2 * Math.max(1, workerPoolSize);
+    if (workerPoolSize > 1) {
+      this.snapDiffWorkerExecutor = new ThreadPoolExecutor(workerPoolSize,
+          workerPoolSize,
+          0,
+          TimeUnit.MILLISECONDS,
+          new LinkedBlockingQueue<>(),
+          new ThreadFactoryBuilder()
+              .setNameFormat(ozoneManager.getThreadNamePrefix() +
+                  "snapshot-diff-worker-thread-id-%d")
+              .setDaemon(true)
+              .build()
+      );
+    } else {
+      this.snapDiffWorkerExecutor = null;
+    }
+
     RDBStore rdbStore = (RDBStore) ozoneManager.getMetadataManager().getStore();
     Objects.requireNonNull(rdbStore, "DBStore can't be null.");
     Path path = Paths.get(rdbStore.getSnapshotMetadataDir(), "snapDiff");
@@ -1070,42 +1121,24 @@ void addToObjectIdMap(Table<String, ? extends WithParentObjectId> fsTable,
     try (Stream<String> keysToCheck = nativeRocksToolsLoaded ?
         sstFileReader.getKeyStreamWithTombstone(sstFileReaderLowerBound, sstFileReaderUpperBound)
         : sstFileReader.getKeyStream(sstFileReaderLowerBound, sstFileReaderUpperBound)) {
-      keysToCheck.forEach(key -> {
-        try {
-          final WithParentObjectId fromObjectId = fsTable.get(key);
-          final WithParentObjectId toObjectId = tsTable.get(key);
-          if (areKeysEqual(fromObjectId, toObjectId) || !isKeyInBucket(key,
-              tablePrefixes, fsTable.getName())) {
-            // We don't have to do anything.
-            return;
-          }
-          if (fromObjectId != null) {
-            byte[] rawObjId = codecRegistry.asRawData(
-                fromObjectId.getObjectID());
-            // Removing volume bucket info by removing the table bucket Prefix
-            // from the key.
-            // For FSO buckets will be left with the parent id/keyname.
-            // For OBS buckets will be left with the complete path
-            byte[] rawValue = codecRegistry.asRawData(
-                key.substring(tablePrefix.length()));
-            oldObjIdToKeyMap.put(rawObjId, rawValue);
-            objectIdToIsDirMap.put(rawObjId, isDirectoryTable);
-            oldParentIds.ifPresent(set -> set.add(
-                fromObjectId.getParentObjectID()));
-          }
-          if (toObjectId != null) {
-            byte[] rawObjId = codecRegistry.asRawData(toObjectId.getObjectID());
-            byte[] rawValue = codecRegistry.asRawData(
-                key.substring(tablePrefix.length()));
-            newObjIdToKeyMap.put(rawObjId, rawValue);
-            objectIdToIsDirMap.put(rawObjId, isDirectoryTable);
-            newParentIds.ifPresent(set -> set.add(toObjectId
-                .getParentObjectID()));
-          }
-        } catch (IOException e) {
-          throw new RuntimeException(e);
-        }
-      });
+      processInBatches(keysToCheck.iterator(),
+          keys -> getChangedObjects(fsTable, tsTable, keys, tablePrefix,
+              tablePrefixes),
+          changedObjects -> {
+            for (Pair<byte[], byte[]> entry : changedObjects.getOldObjects()) {
+              oldObjIdToKeyMap.put(entry.getKey(), entry.getValue());
+              objectIdToIsDirMap.put(entry.getKey(), isDirectoryTable);
+            }
+            for (Pair<byte[], byte[]> entry : changedObjects.getNewObjects()) {
+              newObjIdToKeyMap.put(entry.getKey(), entry.getValue());
+              objectIdToIsDirMap.put(entry.getKey(), isDirectoryTable);
+            }
+            oldParentIds.ifPresent(
+                set -> set.addAll(changedObjects.getOldParentIds()));
+            newParentIds.ifPresent(
+                set -> set.addAll(changedObjects.getNewParentIds()));
+          },
+          () -> true);
     } catch (RocksDBException rocksDBException) {
       // TODO: [SNAPSHOT] Gracefully handle exception
       //  e.g. when input files do not exist
@@ -1113,6 +1146,45 @@ void addToObjectIdMap(Table<String, ? extends WithParentObjectId> fsTable,
     }
   }
 
+  /**
+   * Finds the objects changed between the snapshots for a batch of keys of
+   * the delta SST files. It only reads from the snapshots, so that batches
+   * can be processed in parallel.
+   */
+  private ChangedObjects getChangedObjects(
+      Table<String, ? extends WithParentObjectId> fsTable,
+      Table<String, ? extends WithParentObjectId> tsTable,
+      List<String> keys, String tablePrefix,
+      Map<String, String> tablePrefixes) throws IOException {
+    ChangedObjects changedObjects = new ChangedObjects();
+    for (String key : keys) {
+      final WithParentObjectId fromObjectId = fsTable.get(key);
+      final WithParentObjectId toObjectId = tsTable.get(key);
+      if (areKeysEqual(fromObjectId, toObjectId) || !isKeyInBucket(key,
+          tablePrefixes, fsTable.getName())) {
+        // We don't have to do anything.
+        continue;
+      }
+      // Removing volume bucket info by removing the table bucket Prefix
+      // from the key.
+      // For FSO buckets will be left with the parent id/keyname.
+      // For OBS buckets will be left with the complete path
+      byte[] rawValue = codecRegistry.asRawData(
+          key.substring(tablePrefix.length()));
+      if (fromObjectId != null) {
+        changedObjects.addOldObject(
+            codecRegistry.asRawData(fromObjectId.getObjectID()), rawValue,
+            fromObjectId.getParentObjectID());
+      }
+      if (toObjectId != null) {
+        changedObjects.addNewObject(
+            codecRegistry.asRawData(toObjectId.getObjectID()), rawValue,
+            toObjectId.getParentObjectID());
+      }
+    }
+    return changedObjects;
+  }
+
   @VisibleForTesting
   @SuppressWarnings("checkstyle:ParameterNumber")
   Set<String> getDeltaFiles(OmSnapshot fromSnapshot,
@@ -1263,96 +1335,23 @@ long generateDiffReport(
 
       try (ClosableIterator<Map.Entry<byte[], Boolean>>
                iterator = objectIdToIsDirMap.iterator()) {
-        // This counter is used, so that we can check every 100 elements
-        // if the job is cancelled and snapshots are still active.
-        int counter = 0;
-        while (iterator.hasNext()) {
-          if (counter % 100 == 0 &&
-              !areDiffJobAndSnapshotsActive(volumeName, bucketName,
-                  fromSnapshotName, toSnapshotName)) {
-            return -1L;
-          }
-
-          Map.Entry<byte[], Boolean> nextEntry = iterator.next();
-          byte[] id = nextEntry.getKey();
-          boolean isDirectoryObject = nextEntry.getValue();
-
-          /*
-           * This key can be
-           * -> Created after the old snapshot was taken, which means it will be
-           *    missing in oldKeyTable and present in newKeyTable.
-           * -> Deleted after the old snapshot was taken, which means it will be
-           *    present in oldKeyTable and missing in newKeyTable.
-           * -> Modified after the old snapshot was taken, which means it will
-           *    be present in oldKeyTable and present in newKeyTable with same
-           *    Object ID but with different metadata.
-           * -> Renamed after the old snapshot was taken, which means it will be
-           *    present in oldKeyTable and present in newKeyTable but with
-           *    different name and same Object ID.
-           */
-          byte[] oldKeyName = oldObjIdToKeyMap.get(id);
-          byte[] newKeyName = newObjIdToKeyMap.get(id);
-
-          if (oldKeyName == null && newKeyName == null) {
-            // This cannot happen.
-            throw new IllegalStateException(
-                "Old and new key name both are null");
-          } else if (oldKeyName == null) { // Key Created.
-            String key = resolveBucketRelativePath(isFSOBucket,
-                newParentIdPathMap, newKeyName, true);
-            if (key != null) {
-              DiffReportEntry entry =
-                  SnapshotDiffReportOzone.getDiffReportEntry(CREATE, key);
-              createDiffs.add(codecRegistry.asRawData(entry));
-            }
-          } else if (newKeyName == null) { // Key Deleted.
-            String key = resolveBucketRelativePath(isFSOBucket,
-                oldParentIdPathMap, oldKeyName, false);
-            DiffReportEntry entry =
-                SnapshotDiffReportOzone.getDiffReportEntry(DELETE, key);
-            deleteDiffs.add(codecRegistry.asRawData(entry));
-          } else if (isDirectoryObject &&
-              Arrays.equals(oldKeyName, newKeyName)) {
-            String key = resolveBucketRelativePath(isFSOBucket,
-                newParentIdPathMap, newKeyName, true);
-            if (key != null) {
-              DiffReportEntry entry =
-                  SnapshotDiffReportOzone.getDiffReportEntry(MODIFY, key);
-              modifyDiffs.add(codecRegistry.asRawData(entry));
-            }
-          } else {
-            String keyPrefix = getTablePrefix(tablePrefix,
-                (isDirectoryObject ? fsDirTable : fsTable).getName());
-            String oldKey = resolveBucketRelativePath(isFSOBucket,
-                oldParentIdPathMap, oldKeyName, false);
-            String newKey = resolveBucketRelativePath(isFSOBucket,
-                newParentIdPathMap, newKeyName, true);
-            if (newKey == null) {
-              deleteDiffs.add(codecRegistry.asRawData(SnapshotDiffReportOzone
-                  .getDiffReportEntry(DELETE, oldKey)));
-            } else {
-              // Check if block location is same or not. If it is not same,
-              // key must have been overridden as well.
-              boolean isObjectModified = isObjectModified(
-                  keyPrefix + codecRegistry.asObject(oldKeyName, String.class),
-                  keyPrefix + codecRegistry.asObject(newKeyName, String.class),
-                  isDirectoryObject ? fsDirTable : fsTable,
-                  isDirectoryObject ? tsDirTable : tsTable);
-              if (isObjectModified) {
-                // Here, oldKey name is returned as modified. Modified key name
-                // is based on base snapshot (from snapshot).
-                modifyDiffs.add(codecRegistry.asRawData(SnapshotDiffReportOzone
-                    .getDiffReportEntry(MODIFY, oldKey)));
-              }
-              if (!isObjectModified || !Arrays.equals(oldKeyName, newKeyName)) {
-                renameDiffs.add(codecRegistry.asRawData(
-                    SnapshotDiffReportOzone.getDiffReportEntry(RENAME, oldKey,
-                        newKey)));
-              }
-            }
-          }
-
-          counter++;
+        final CheckedSupplier<Boolean, IOException> isJobActive =
+            () -> areDiffJobAndSnapshotsActive(volumeName, bucketName,
+                fromSnapshotName, toSnapshotName);
+        boolean isActive = processInBatches(iterator,
+            entries -> getDiffEntries(entries, fsTable, tsTable, fsDirTable,
+                tsDirTable, oldObjIdToKeyMap, newObjIdToKeyMap, isFSOBucket,
+                oldParentIdPathMap, newParentIdPathMap, tablePrefix,
+                isJobActive),
+            diffEntries -> {
+              diffEntries.getDeleteDiffs().forEach(deleteDiffs::add);
+              diffEntries.getRenameDiffs().forEach(renameDiffs::add);
+              diffEntries.getCreateDiffs().forEach(createDiffs::add);
+              diffEntries.getModifyDiffs().forEach(modifyDiffs::add);
+            },
+            isJobActive);
+        if (!isActive) {
+          return -1L;
         }
       }
 
@@ -1408,6 +1407,210 @@ long generateDiffReport(
     }
   }
 
+  /**
+   * Generates the diff entries of a batch of the changed objects. It only
+   * reads from the snapshots and the objectId to key maps, so that batches
+   * can be processed in parallel.
+   *
+   * @return null if the job was cancelled or a snapshot is no longer
+   *         active, which is checked every 100 entries.
+   */
+  @SuppressWarnings("checkstyle:ParameterNumber")
+  private DiffEntries getDiffEntries(
+      final List<Map.Entry<byte[], Boolean>> entries,
+      final Table<String, OmKeyInfo> fsTable,
+      final Table<String, OmKeyInfo> tsTable,
+      final Table<String, OmDirectoryInfo> fsDirTable,
+      final Table<String, OmDirectoryInfo> tsDirTable,
+      final PersistentMap<byte[], byte[]> oldObjIdToKeyMap,
+      final PersistentMap<byte[], byte[]> newObjIdToKeyMap,
+      final boolean isFSOBucket,
+      final Optional<Map<Long, Path>> oldParentIdPathMap,
+      final Optional<Map<Long, Path>> newParentIdPathMap,
+      final Map<String, String> tablePrefix,
+      final CheckedSupplier<Boolean, IOException> isJobActive)
+      throws IOException {
+    DiffEntries diffEntries = new DiffEntries();
+    int counter = 0;
+    for (Map.Entry<byte[], Boolean> nextEntry : entries) {
+      if (++counter % 100 == 0 && !isJobActive.get()) {
+        return null;
+      }
+      byte[] id = nextEntry.getKey();
+      boolean isDirectoryObject = nextEntry.getValue();
+
+      /*
+       * This key can be
+       * -> Created after the old snapshot was taken, which means it will be
+       *    missing in oldKeyTable and present in newKeyTable.
+       * -> Deleted after the old snapshot was taken, which means it will be
+       *    present in oldKeyTable and missing in newKeyTable.
+       * -> Modified after the old snapshot was taken, which means it will
+       *    be present in oldKeyTable and present in newKeyTable with same
+       *    Object ID but with different metadata.
+       * -> Renamed after the old snapshot was taken, which means it will be
+       *    present in oldKeyTable and present in newKeyTable but with
+       *    different name and same Object ID.
+       */
+      byte[] oldKeyName = oldObjIdToKeyMap.get(id);
+      byte[] newKeyName = newObjIdToKeyMap.get(id);
+
+      if (oldKeyName == null && newKeyName == null) {
+        // This cannot happen.
+        throw new IllegalStateException(
+            "Old and new key name both are null");
+      } else if (oldKeyName == null) { // Key Created.
+        String key = resolveBucketRelativePath(isFSOBucket,
+            newParentIdPathMap, newKeyName, true);
+        if (key != null) {
+          DiffReportEntry entry =
+              SnapshotDiffReportOzone.getDiffReportEntry(CREATE, key);
+          diffEntries.getCreateDiffs().add(codecRegistry.asRawData(entry));
+        }
+      } else if (newKeyName == null) { // Key Deleted.
+        String key = resolveBucketRelativePath(isFSOBucket,
+            oldParentIdPathMap, oldKeyName, false);
+        DiffReportEntry entry =
+            SnapshotDiffReportOzone.getDiffReportEntry(DELETE, key);
+        diffEntries.getDeleteDiffs().add(codecRegistry.asRawData(entry));
+      } else if (isDirectoryObject &&
+          Arrays.equals(oldKeyName, newKeyName)) {
+        String key = resolveBucketRelativePath(isFSOBucket,
+            newParentIdPathMap, newKeyName, true);
+        if (key != null) {
+          DiffReportEntry entry =
+              SnapshotDiffReportOzone.getDiffReportEntry(MODIFY, key);
+          diffEntries.getModifyDiffs().add(codecRegistry.asRawData(entry));
+        }
+      } else {
+        String keyPrefix = getTablePrefix(tablePrefix,
+            (isDirectoryObject ? fsDirTable : fsTable).getName());
+        String oldKey = resolveBucketRelativePath(isFSOBucket,
+            oldParentIdPathMap, oldKeyName, false);
+        String newKey = resolveBucketRelativePath(isFSOBucket,
+            newParentIdPathMap, newKeyName, true);
+        if (newKey == null) {
+          diffEntries.getDeleteDiffs().add(codecRegistry.asRawData(
+              SnapshotDiffReportOzone.getDiffReportEntry(DELETE, oldKey)));
+        } else {
+          // Check if block location is same or not. If it is not same,
+          // key must have been overridden as well.
+          boolean isObjectModified = isObjectModified(
+              keyPrefix + codecRegistry.asObject(oldKeyName, String.class),
+              keyPrefix + codecRegistry.asObject(newKeyName, String.class),
+              isDirectoryObject ? fsDirTable : fsTable,
+              isDirectoryObject ? tsDirTable : tsTable);
+          if (isObjectModified) {
+            // Here, oldKey name is returned as modified. Modified key name
+            // is based on base snapshot (from snapshot).
+            diffEntries.getModifyDiffs().add(codecRegistry.asRawData(
+                SnapshotDiffReportOzone.getDiffReportEntry(MODIFY, oldKey)));
+          }
+          if (!isObjectModified || !Arrays.equals(oldKeyName, newKeyName)) {
+            diffEntries.getRenameDiffs().add(codecRegistry.asRawData(
+                SnapshotDiffReportOzone.getDiffReportEntry(RENAME, oldKey,
+                    newKey)));
+          }
+        }
+      }
+    }
+    return diffEntries;
+  }
+
+  /**
+   * Splits the entries into batches and processes them on the worker
+   * threads, if any, or else on the calling thread. The results are passed
+   * to the consumer on the calling thread in the order of the batches, so
+   * the intermediate tables of a job are only written by the job's thread.
+   *
+   * @return false if the job was cancelled or a snapshot is no longer
+   *         active, which is checked before each batch, or if the processor
+   *         stopped a batch for the same reason by returning null.
+   */
+  private <T, R> boolean processInBatches(Iterator<T> entries,
+      CheckedFunction<List<T>, R, IOException> processor,
+      CheckedConsumer<R, IOException> consumer,
+      CheckedSupplier<Boolean, IOException> isActive) throws IOException {
+    final Deque<Future<R>> inFlight = new ArrayDeque<>();
+    final AtomicBoolean abandoned = new AtomicBoolean();
+    try {
+      while (entries.hasNext()) {
+        final List<T> batch = new ArrayList<>(diffWorkerBatchSize);
+        while (batch.size() < diffWorkerBatchSize && entries.hasNext()) {
+          batch.add(entries.next());
+        }
+        if (!isActive.get()) {
+          return false;
+        }
+        if (snapDiffWorkerExecutor == null) {
+          if (!accept(consumer, processor.apply(batch))) {
+            return false;
+          }
+          continue;
+        }
+        inFlight.add(snapDiffWorkerExecutor.submit(
+            () -> abandoned.get() ? null : processor.apply(batch)));
+        if (inFlight.size() >= maxDiffBatchesInFlight
+            && !accept(consumer, getBatchResult(inFlight.remove()))) {
+          return false;
+        }
+      }
+      while (!inFlight.isEmpty()) {
+        if (!accept(consumer, getBatchResult(inFlight.remove()))) {
+          return false;
+        }
+      }
+      return true;
+    } finally {
+      // Only left over if the job is cancelled or failed. The caller closes
+      // the snapshots and the maps the workers read once this returns, so
+      // wait for the running batches, and skip the ones not started yet.
+      // Cancelling is not enough, as get() of a cancelled future does not
+      // wait for the task.
+      abandoned.set(true);
+      for (Future<R> future : inFlight) {
+        try {
+          Uninterruptibles.getUninterruptibly(future);
+        } catch (ExecutionException | CancellationException e) {
+          LOG.debug("Discarded the result of a snapDiff batch.", e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Passes the result of a batch to the consumer.
+   * @return false if the batch was stopped, i.e. its result is null
+   */
+  private static <R> boolean accept(CheckedConsumer<R, IOException> consumer,
+      R result) throws IOException {
+    if (result == null) {
+      return false;
+    }
+    consumer.accept(result);
+    return true;
+  }
+
+  private static <R> R getBatchResult(Future<R> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(
+          "Interrupted while waiting for a snapDiff batch.");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+
   /**
    * Checks if the key has been modified b/w snapshots.
    * @param fromKey Key info in source snapshot.
@@ -1650,6 +1853,9 @@ public void close() {
     if (snapDiffExecutor != null) {
       closeExecutorService(snapDiffExecutor, "SnapDiffExecutor");
     }
+    if (snapDiffWorkerExecutor != null) {
+      closeExecutorService(snapDiffWorkerExecutor, "SnapDiffWorkerExecutor");
+    }
   }
 
   private void closeExecutorService(ExecutorService executorService,
@@ -1668,4 +1874,67 @@ private void closeExecutorService(ExecutorService executorService,
       }
     }
   }
+
+  /**
+   * The objects changed between the snapshots in a batch of keys.
+   * Each object is the raw objectId and the raw bucket relative key name.
+   */
+  private static final class ChangedObjects {
+    private final List<Pair<byte[], byte[]>> oldObjects = new ArrayList<>();
+    private final List<Pair<byte[], byte[]>> newObjects = new ArrayList<>();
+    private final Set<Long> oldParentIds = new HashSet<>();
+    private final Set<Long> newParentIds = new HashSet<>();
+
+    void addOldObject(byte[] objectId, byte[] keyName, long parentId) {
+      oldObjects.add(Pair.of(objectId, keyName));
+      oldParentIds.add(parentId);
+    }
+
+    void addNewObject(byte[] objectId, byte[] keyName, long parentId) {
+      newObjects.add(Pair.of(objectId, keyName));
+      newParentIds.add(parentId);
+    }
+
+    List<Pair<byte[], byte[]>> getOldObjects() {
+      return oldObjects;
+    }
+
+    List<Pair<byte[], byte[]>> getNewObjects() {
+      return newObjects;
+    }
+
+    Set<Long> getOldParentIds() {
+      return oldParentIds;
+    }
+
+    Set<Long> getNewParentIds() {
+      return newParentIds;
+    }
+  }
+
+  /**
+   * The raw diff report entries generated for a batch of changed objects.
+   */
+  private static final class DiffEntries {
+    private final List<byte[]> deleteDiffs = new ArrayList<>();
+    private final List<byte[]> renameDiffs = new ArrayList<>();
+    private final List<byte[]> createDiffs = new ArrayList<>();
+    private final List<byte[]> modifyDiffs = new ArrayList<>();
+
+    List<byte[]> getDeleteDiffs() {
+      return deleteDiffs;
+    }
+
+    List<byte[]> getRenameDiffs() {
+      return renameDiffs;
+    }
+
+    List<byte[]> getCreateDiffs() {
+      return createDiffs;
+    }
+
+    List<byte[]> getModifyDiffs() {
+      return modifyDiffs;
+    }
+  }
 }
@@ -48,6 +48,7 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.apache.hadoop.hdds.protocol.MockDatanodeDetails.randomDatanodeDetails;
 import static org.apache.hadoop.hdds.protocol.proto
@@ -81,6 +82,11 @@ public class ScmBlockLocationTestingClient implements ScmBlockLocationProtocol {
 
   // The number of blocks deleted by this client
   private int numBlocksDeleted = 0;
+  // The blocks deleted by this client, in order
+  private final List<BlockID> deletedBlocks =
+      Collections.synchronizedList(new ArrayList<>());
+  // Local IDs are unique, even for blocks allocated at the same time
+  private final AtomicLong nextLocalID = new AtomicLong(Time.monotonicNow());
 
   /**
    * If ClusterID or SCMID is blank a per instance ID is generated.
@@ -129,7 +135,7 @@ public List<AllocatedBlock> allocateBlock(long size, int num,
     DatanodeDetails datanodeDetails = randomDatanodeDetails();
     Pipeline pipeline = createPipeline(datanodeDetails);
     long containerID = Time.monotonicNow();
-    long localID = Time.monotonicNow();
+    long localID = nextLocalID.incrementAndGet();
     AllocatedBlock.Builder abb =
         new AllocatedBlock.Builder()
             .setContainerBlockID(new ContainerBlockID(containerID, localID))
@@ -163,6 +169,7 @@ public List<DeleteBlockGroupResult> deleteKeyBlocks(
         case 0:
           result = success;
           numBlocksDeleted++;
+          deletedBlocks.add(blockKey);
           break;
         case 1:
           result = unknownFailure;
@@ -173,6 +180,7 @@ public List<DeleteBlockGroupResult> deleteKeyBlocks(
           } else {
             result = success;
             numBlocksDeleted++;
+            deletedBlocks.add(blockKey);
           }
         }
         blockResultList.add(new DeleteBlockResult(blockKey, result));
@@ -218,6 +226,16 @@ public int getNumberOfDeletedBlocks() {
     return numBlocksDeleted;
   }
 
+  /**
+   * Return the blocks puesdo deleted by this testing client, a block as many
+   * times as it was deleted.
+   */
+  public List<BlockID> getDeletedBlocks() {
+    synchronized (deletedBlocks) {
+      return new ArrayList<>(deletedBlocks);
+    }
+  }
+
   @Override
   public void close() throws IOException {
 
@@ -702,4 +702,70 @@ public void listStatus() throws Exception {
         null, Long.MAX_VALUE, client);
     verify(containerClient, times(1)).getContainerWithPipelineBatch(anySet());
   }
+
+  @Test
+  public void listStatusRecursiveFSO() throws Exception {
+    String volume = volumeName();
+    String bucket = "fsobucket";
+    OMRequestTestUtils.addVolumeToDB(volume, OzoneConsts.OZONE,
+        metadataManager);
+    OMRequestTestUtils.addBucketToDB(volume, bucket, metadataManager,
+        BucketLayout.FILE_SYSTEM_OPTIMIZED);
+
+    // a/b/f2, a/c, a/f1, z
+    long bucketId = metadataManager.getBucketId(volume, bucket);
+    long dirB = OMRequestTestUtils.addParentsToDirTable(volume, bucket,
+        "a/b", metadataManager);
+    long dirA = OMRequestTestUtils.addParentsToDirTable(volume, bucket,
+        "a", metadataManager);
+    addFile(volume, bucket, "f2", dirB, 101);
+    addFile(volume, bucket, "c", dirA, 102);
+    addFile(volume, bucket, "f1", dirA, 103);
+    addFile(volume, bucket, "z", bucketId, 104);
+
+    OmKeyArgs args = new OmKeyArgs.Builder()
+        .setVolumeName(volume)
+        .setBucketName(bucket)
+        .setKeyName("")
+        .build();
+    assertEquals(Arrays.asList("a", "a/b", "a/b/f2", "a/c", "a/f1", "z"),
+        listRecursive(args, "", 100));
+
+    // Pages continue from the last entry of the previous page.
+    assertEquals(Arrays.asList("a", "a/b", "a/b/f2"),
+        listRecursive(args, "", 3));
+    assertEquals(Arrays.asList("a/b/f2", "a/c", "a/f1"),
+        listRecursive(args, "a/b/f2", 3));
+    assertEquals(Arrays.asList("a/f1", "z"),
+        listRecursive(args, "a/f1", 3));
+
+    OmKeyArgs subDir = args.toBuilder().setKeyName("a").build();
+    assertEquals(Arrays.asList("a/b", "a/b/f2", "a/c", "a/f1"),
+        listRecursive(subDir, "", 100));
+    assertEquals(Arrays.asList("a/c", "a/f1"),
+        listRecursive(subDir, "a/c", 100));
+    assertEquals(Collections.emptyList(), listRecursive(subDir, "z", 100));
+  }
+
+  private void addFile(String volume, String bucket, String fileName,
+      long parentId, long objectId) throws Exception {
+    OmKeyInfo keyInfo = OMRequestTestUtils.createOmKeyInfo(volume, bucket,
+            fileName, RatisReplicationConfig.getInstance(
+                ReplicationFactor.THREE))
+        .setObjectID(objectId)
+        .setParentObjectID(parentId)
+        .build();
+    OMRequestTestUtils.addFileToKeyTable(false, true, fileName, keyInfo, -1,
+        objectId, metadataManager);
+  }
+
+  private List<String> listRecursive(OmKeyArgs args, String startKey,
+      long numEntries) throws IOException {
+    List<String> keys = new ArrayList<>();
+    for (OzoneFileStatus status : keyManager.listStatus(args, true,
+        startKey, numEntries)) {
+      keys.add(status.getKeyInfo().getKeyName());
+    }
+    return keys;
+  }
 }
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
+import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link ListIterator}.
+ */
+public class TestListIterator {
+  private static final String VOLUME = "vol";
+  private static final String BUCKET = "bucket";
+  private static final String PREFIX = "/1/2/3/";
+
+  @TempDir
+  private Path folder;
+
+  private OMMetadataManager omMetadataManager;
+  private Table<String, OmDirectoryInfo> dirTable;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(OMConfigKeys.OZONE_OM_DB_DIRS,
+        folder.toAbsolutePath().toString());
+    omMetadataManager = new OmMetadataManagerImpl(conf, null);
+    dirTable = omMetadataManager.getDirectoryTable();
+  }
+
+  @AfterEach
+  public void stop() throws Exception {
+    omMetadataManager.stop();
+  }
+
+  private static OmDirectoryInfo dir(String name) {
+    return OMRequestTestUtils.createOmDirectoryInfo(name, 10L, 3L);
+  }
+
+  private List<String> list(String startKey) throws Exception {
+    List<String> keys = new ArrayList<>();
+    try (ListIterator.MinHeapIterator iterator =
+             new ListIterator.MinHeapIterator(omMetadataManager, PREFIX,
+                 startKey, VOLUME, BUCKET, dirTable)) {
+      while (iterator.hasNext()) {
+        ListIterator.HeapEntry entry = iterator.next();
+        assertEquals(entry.getKey(), PREFIX
+            + ((OmDirectoryInfo) entry.getValue()).getName());
+        keys.add(entry.getKey());
+      }
+    }
+    return keys;
+  }
+
+  @Test
+  public void testMergeCacheAndTable() throws Exception {
+    for (String name : Arrays.asList("a", "c", "e", "g")) {
+      dirTable.put(PREFIX + name, dir(name));
+    }
+    // Not under the prefix.
+    dirTable.put("/1/2/30/b", dir("b"));
+
+    // Created in the cache only.
+    dirTable.addCacheEntry(new CacheKey<>(PREFIX + "b"),
+        CacheValue.get(1L, dir("b")));
+    dirTable.addCacheEntry(new CacheKey<>(PREFIX + "f"),
+        CacheValue.get(1L, dir("f")));
+    // Deleted in the cache, but not yet from the table.
+    dirTable.addCacheEntry(new CacheKey<>(PREFIX + "c"),
+        CacheValue.get(1L));
+    // Updated in the cache, listed once.
+    dirTable.addCacheEntry(new CacheKey<>(PREFIX + "e"),
+        CacheValue.get(1L, dir("e")));
+
+    assertEquals(Arrays.asList(PREFIX + "a", PREFIX + "b", PREFIX + "e",
+        PREFIX + "f", PREFIX + "g"), list(""));
+    assertEquals(Arrays.asList(PREFIX + "e", PREFIX + "f", PREFIX + "g"),
+        list(PREFIX + "d"));
+    assertTrue(list(PREFIX + "h").isEmpty());
+  }
+
+  @Test
+  public void testHeapEntryOrder() {
+    ListIterator.HeapEntry a0 = new ListIterator.HeapEntry(0, "t", "a", null);
+    ListIterator.HeapEntry a1 = new ListIterator.HeapEntry(1, "t", "a", null);
+    ListIterator.HeapEntry b0 = new ListIterator.HeapEntry(0, "t", "b", null);
+    assertTrue(a0.compareTo(a1) < 0);
+    assertTrue(a1.compareTo(b0) < 0);
+    assertTrue(b0.compareTo(a0) > 0);
+    assertEquals(0, a1.compareTo(new ListIterator.HeapEntry(1, "u", "a", 1)));
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.lock;
+
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.om.OMConfigKeys;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
+import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.BUCKET_LOCK;
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.KEY_PATH_LOCK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link FSOKeyPathLockStrategy}.
+ */
+public class TestFSOKeyPathLockStrategy {
+
+  private static final long DIR_OBJECT_ID = 1000L;
+
+  @TempDir
+  private Path folder;
+
+  private OMMetadataManager omMetadataManager;
+  private IOzoneManagerLock lock;
+  private String volumeName;
+  private String bucketName;
+  private long bucketId;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(OMConfigKeys.OZONE_OM_DB_DIRS,
+        folder.toAbsolutePath().toString());
+    omMetadataManager = new OmMetadataManagerImpl(conf, null);
+    lock = omMetadataManager.getLock();
+
+    volumeName = UUID.randomUUID().toString();
+    bucketName = UUID.randomUUID().toString();
+    OMRequestTestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        omMetadataManager, BucketLayout.FILE_SYSTEM_OPTIMIZED);
+    bucketId = omMetadataManager.getBucketId(volumeName, bucketName);
+
+    // Create directory "a" right under the bucket.
+    OmDirectoryInfo dirInfo = OMRequestTestUtils.createOmDirectoryInfo("a",
+        DIR_OBJECT_ID, bucketId);
+    OMRequestTestUtils.addDirKeyToDirTable(true, dirInfo, volumeName,
+        bucketName, 1L, omMetadataManager);
+  }
+
+  @AfterEach
+  public void stop() throws Exception {
+    omMetadataManager.stop();
+  }
+
+  @Test
+  public void testLockLeafWhenParentsExist() throws Exception {
+    OzoneLockStrategy strategy = new FSOKeyPathLockStrategy();
+    strategy.acquireWriteLock(omMetadataManager, volumeName, bucketName,
+        "a/file1");
+
+    assertEquals(1, lock.getReadHoldCount(BUCKET_LOCK, volumeName,
+        bucketName));
+    assertTrue(lock.isWriteLockedByCurrentThread(KEY_PATH_LOCK, volumeName,
+        bucketName, String.valueOf(DIR_OBJECT_ID), "file1"));
+
+    strategy.releaseWriteLock(omMetadataManager, volumeName, bucketName,
+        "a/file1");
+    assertEquals(0, lock.getReadHoldCount(BUCKET_LOCK, volumeName,
+        bucketName));
+    assertFalse(lock.isWriteLockedByCurrentThread(KEY_PATH_LOCK, volumeName,
+        bucketName, String.valueOf(DIR_OBJECT_ID), "file1"));
+  }
+
+  @Test
+  public void testLockFirstMissingDirectory() throws Exception {
+    OzoneLockStrategy strategy = new FSOKeyPathLockStrategy();
+    strategy.acquireWriteLock(omMetadataManager, volumeName, bucketName,
+        "a/b/c/file1");
+    assertTrue(lock.isWriteLockedByCurrentThread(KEY_PATH_LOCK, volumeName,
+        bucketName, String.valueOf(DIR_OBJECT_ID), "b"));
+    strategy.releaseWriteLock(omMetadataManager, volumeName, bucketName,
+        "a/b/c/file1");
+
+    strategy.acquireWriteLock(omMetadataManager, volumeName, bucketName,
+        "x/file1");
+    assertTrue(lock.isWriteLockedByCurrentThread(KEY_PATH_LOCK, volumeName,
+        bucketName, String.valueOf(bucketId), "x"));
+    strategy.releaseWriteLock(omMetadataManager, volumeName, bucketName,
+        "x/file1");
+    assertEquals(0, lock.getReadHoldCount(BUCKET_LOCK, volumeName,
+        bucketName));
+  }
+
+  @Test
+  public void testBucketLockHeldInReadMode() throws Exception {
+    OzoneLockStrategy strategy = new FSOKeyPathLockStrategy();
+    strategy.acquireWriteLock(omMetadataManager, volumeName, bucketName,
+        "a/file1");
+    try {
+      // Another thread can still take the BUCKET_LOCK in read mode.
+      CompletableFuture.runAsync(() -> {
+        lock.acquireReadLock(BUCKET_LOCK, volumeName, bucketName);
+        lock.releaseReadLock(BUCKET_LOCK, volumeName, bucketName);
+      }).get(10, TimeUnit.SECONDS);
+    } finally {
+      strategy.releaseWriteLock(omMetadataManager, volumeName, bucketName,
+          "a/file1");
+    }
+  }
+}
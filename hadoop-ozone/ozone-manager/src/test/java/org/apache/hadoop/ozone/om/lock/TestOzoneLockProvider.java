@@ -92,4 +92,24 @@ public void testOzoneLockProviderUtil(BucketLayout bucketLayout) {
       assertInstanceOf(RegularBucketLockStrategy.class, ozoneLockStrategy);
     }
   }
+
+  @ParameterizedTest
+  @MethodSource("data")
+  public void testFSOKeyPathLockProvider(boolean setKeyPathLock,
+                                         boolean setFileSystemPaths) {
+    OzoneLockProvider provider = new OzoneLockProvider(setKeyPathLock,
+        setFileSystemPaths, true);
+    OzoneLockProvider expectedProvider = new OzoneLockProvider(setKeyPathLock,
+        setFileSystemPaths);
+    for (BucketLayout bucketLayout : BucketLayout.values()) {
+      OzoneLockStrategy strategy = provider.createLockStrategy(bucketLayout);
+      if (bucketLayout == BucketLayout.FILE_SYSTEM_OPTIMIZED) {
+        assertInstanceOf(FSOKeyPathLockStrategy.class, strategy);
+      } else {
+        // Other layouts are not affected by the FSO KEY_PATH_LOCK flag.
+        assertInstanceOf(expectedProvider.createLockStrategy(bucketLayout)
+            .getClass(), strategy);
+      }
+    }
+  }
 }
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.ratis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link OMResponseRingBuffer}.
+ */
+@Timeout(120)
+public class TestOMResponseRingBuffer {
+
+  @Test
+  public void testCapacity() {
+    assertEquals(1, new OMResponseRingBuffer<Integer>(1).capacity());
+    assertEquals(8, new OMResponseRingBuffer<Integer>(8).capacity());
+    assertEquals(16, new OMResponseRingBuffer<Integer>(9).capacity());
+    assertEquals(16384, new OMResponseRingBuffer<Integer>(10000).capacity());
+  }
+
+  @Test
+  public void testOfferAndPoll() {
+    final OMResponseRingBuffer<Integer> ring = new OMResponseRingBuffer<>(4);
+    assertFalse(ring.hasNext());
+    assertNull(ring.poll());
+
+    // Wrap around the ring a few times.
+    for (int round = 0; round < 3; round++) {
+      for (int i = 0; i < 4; i++) {
+        assertEquals(0, ring.offer(i));
+      }
+      assertEquals(OMResponseRingBuffer.FULL, ring.offer(4));
+      assertEquals(4, ring.size());
+
+      assertTrue(ring.hasNext());
+      assertEquals(0, ring.poll());
+      assertEquals(0, ring.offer(4));
+
+      final List<Integer> drained = new ArrayList<>();
+      assertEquals(4, ring.drainTo(drained));
+      assertEquals(List.of(1, 2, 3, 4), drained);
+      assertEquals(0, ring.size());
+      assertFalse(ring.hasNext());
+    }
+  }
+
+  @Test
+  public void testConcurrentProducers() throws Exception {
+    final int numProducers = 8;
+    final int numItemsPerProducer = 100_000;
+    final OMResponseRingBuffer<long[]> ring = new OMResponseRingBuffer<>(1024);
+    final ExecutorService executor = Executors.newFixedThreadPool(numProducers);
+    try {
+      final List<CompletableFuture<Void>> producers = new ArrayList<>();
+      for (int p = 0; p < numProducers; p++) {
+        final int producer = p;
+        producers.add(CompletableFuture.runAsync(() -> {
+          for (int i = 0; i < numItemsPerProducer; i++) {
+            final long[] item = {producer, i};
+            while (ring.offer(item) == OMResponseRingBuffer.FULL) {
+              Thread.yield();
+            }
+          }
+        }, executor));
+      }
+
+      // Items from the same producer must be consumed in order.
+      final long[] next = new long[numProducers];
+      final List<long[]> drained = new ArrayList<>();
+      long count = 0;
+      while (count < (long) numProducers * numItemsPerProducer) {
+        drained.clear();
+        count += ring.drainTo(drained);
+        for (long[] item : drained) {
+          assertEquals(next[(int) item[0]]++, item[1]);
+        }
+      }
+      CompletableFuture.allOf(producers.toArray(new CompletableFuture[0])).get();
+      for (long n : next) {
+        assertEquals(numItemsPerProducer, n);
+      }
+      assertNull(ring.poll());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
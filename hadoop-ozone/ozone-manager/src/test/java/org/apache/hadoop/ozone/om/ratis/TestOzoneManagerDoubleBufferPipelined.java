@@ -0,0 +1,307 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.ratis;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.TransactionInfo;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.response.CleanupTableInfo;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateBucketResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.util.Time;
+import org.apache.ratis.server.protocol.TermIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.apache.hadoop.hdds.HddsConfigKeys.OZONE_METADATA_DIRS;
+import static org.apache.hadoop.ozone.OzoneConsts.TRANSACTION_INFO_KEY;
+import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.BUCKET_TABLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Tests {@link OzoneManagerDoubleBuffer} with concurrent adds, mostly with the
+ * flush pipeline enabled.
+ */
+@Timeout(300)
+public class TestOzoneManagerDoubleBufferPipelined {
+  private static final long TERM = 1L;
+
+  private OMMetadataManager omMetadataManager;
+  private OzoneManagerDoubleBuffer doubleBuffer;
+  private final AtomicLong trxId = new AtomicLong(0);
+  private final AtomicReference<TermIndex> lastAppliedIndex = new AtomicReference<>();
+  @TempDir
+  private Path folder;
+
+  @BeforeEach
+  public void setup() throws IOException {
+    OzoneConfiguration configuration = new OzoneConfiguration();
+    configuration.set(OZONE_METADATA_DIRS,
+        folder.toAbsolutePath().toString());
+    omMetadataManager = new OmMetadataManagerImpl(configuration, null);
+  }
+
+  @AfterEach
+  public void stop() throws Exception {
+    if (doubleBuffer != null) {
+      doubleBuffer.stop();
+    }
+    omMetadataManager.stop();
+  }
+
+  @ParameterizedTest
+  @EnumSource(OzoneManagerDoubleBuffer.BufferMode.class)
+  public void testPipelinedFlush(OzoneManagerDoubleBuffer.BufferMode bufferMode)
+      throws Exception {
+    final int numThreads = 8;
+    final int numBucketsPerThread = 500;
+    final int maxUnFlushedTransactionCount = 1000;
+    doubleBuffer = OzoneManagerDoubleBuffer.newBuilder()
+        .setOmMetadataManager(omMetadataManager)
+        .setUpdateLastAppliedIndex(lastAppliedIndex::set)
+        .setMaxUnFlushedTransactionCount(maxUnFlushedTransactionCount)
+        .setBufferMode(bufferMode)
+        .enableFlushPipeline(true)
+        .enableRatis(true)
+        .build()
+        .start();
+
+    addBucketsConcurrently(numThreads, numBucketsPerThread, new AtomicLong());
+
+    // All the transactions added before awaitFlush must be flushed.
+    doubleBuffer.awaitFlush();
+
+    final long total = (long) numThreads * numBucketsPerThread;
+    assertEquals(total, doubleBuffer.getFlushedTransactionCountForTesting());
+    assertEquals(total, omMetadataManager.countRowsInTable(
+        omMetadataManager.getBucketTable()));
+    assertEquals(TermIndex.valueOf(TERM, total), lastAppliedIndex.get());
+
+    final TransactionInfo transactionInfo =
+        omMetadataManager.getTransactionInfoTable().get(TRANSACTION_INFO_KEY);
+    assertNotNull(transactionInfo);
+    assertEquals(total, transactionInfo.getTransactionIndex());
+    assertEquals(TERM, transactionInfo.getTerm());
+  }
+
+  /**
+   * A batch with a response not known to be safe to pipeline must be encoded
+   * only after the previous batch is committed, so that its addToDBBatch
+   * can read what the previous batches wrote.
+   */
+  @ParameterizedTest
+  @EnumSource(OzoneManagerDoubleBuffer.BufferMode.class)
+  public void testReadingResponseWaitsForPreviousCommit(
+      OzoneManagerDoubleBuffer.BufferMode bufferMode) throws Exception {
+    final int numBuckets = 2000;
+    doubleBuffer = OzoneManagerDoubleBuffer.newBuilder()
+        .setOmMetadataManager(omMetadataManager)
+        .setUpdateLastAppliedIndex(lastAppliedIndex::set)
+        .setMaxUnFlushedTransactionCount(1000)
+        .setBufferMode(bufferMode)
+        .enableFlushPipeline(true)
+        .enableRatis(true)
+        .build()
+        .start();
+
+    final String volumeName = UUID.randomUUID().toString();
+    final Map<BatchOperation, Long> encodedPerBatch = new IdentityHashMap<>();
+    final List<String> failures = new ArrayList<>();
+    for (long i = 0; i < numBuckets; i++) {
+      final long previous = i;
+      final OmBucketInfo omBucketInfo = newBucketInfo(volumeName);
+      final OMClientResponse response = new OMTestCreateBucketResponse(
+          omBucketInfo, createBucketOMResponse()) {
+        @Override
+        public void addToDBBatch(OMMetadataManager metadataManager,
+            BatchOperation batchOperation) throws IOException {
+          // Each previous bucket is either committed or in this batch.
+          final long committed = metadataManager.countRowsInTable(
+              metadataManager.getBucketTable());
+          final long encoded = encodedPerBatch.getOrDefault(batchOperation, 0L);
+          if (committed + encoded != previous) {
+            failures.add("bucket " + previous + ": committed=" + committed
+                + ", encoded=" + encoded);
+          }
+          encodedPerBatch.put(batchOperation, encoded + 1);
+          super.addToDBBatch(metadataManager, batchOperation);
+        }
+      };
+      doubleBuffer.add(response, TermIndex.valueOf(TERM, trxId.incrementAndGet()));
+    }
+    doubleBuffer.awaitFlush();
+
+    assertThat(failures).isEmpty();
+    assertEquals(numBuckets, omMetadataManager.countRowsInTable(
+        omMetadataManager.getBucketTable()));
+  }
+
+  /**
+   * awaitFlush must not return before the transactions added before it are
+   * flushed, even when an entry claimed earlier in the ring buffer is not
+   * published yet.
+   */
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  public void testAwaitFlushWhileAddingToRingBuffer(boolean pipelined)
+      throws Exception {
+    final int numThreads = 8;
+    final int numBucketsPerThread = 500;
+    doubleBuffer = OzoneManagerDoubleBuffer.newBuilder()
+        .setOmMetadataManager(omMetadataManager)
+        .setUpdateLastAppliedIndex(lastAppliedIndex::set)
+        .setMaxUnFlushedTransactionCount(1000)
+        .setBufferMode(OzoneManagerDoubleBuffer.BufferMode.RING)
+        .enableFlushPipeline(pipelined)
+        .enableRatis(true)
+        .build()
+        .start();
+
+    final AtomicLong added = new AtomicLong();
+    final AtomicBoolean adding = new AtomicBoolean(true);
+    final CompletableFuture<Void> checker = CompletableFuture.runAsync(() -> {
+      while (adding.get()) {
+        final long addedBeforeAwait = added.get();
+        try {
+          doubleBuffer.awaitFlush();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException(e);
+        }
+        assertThat(doubleBuffer.getFlushedTransactionCountForTesting())
+            .isGreaterThanOrEqualTo(addedBeforeAwait);
+      }
+    });
+    try {
+      addBucketsConcurrently(numThreads, numBucketsPerThread, added);
+    } finally {
+      adding.set(false);
+    }
+    checker.get();
+
+    doubleBuffer.awaitFlush();
+    assertEquals((long) numThreads * numBucketsPerThread,
+        doubleBuffer.getFlushedTransactionCountForTesting());
+  }
+
+  /**
+   * Add bucket responses from the given number of threads.
+   * @param added counts the transactions added.
+   */
+  private void addBucketsConcurrently(int numThreads, int numBucketsPerThread,
+      AtomicLong added) throws Exception {
+    final String volumeName = UUID.randomUUID().toString();
+    final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    try {
+      final List<CompletableFuture<Void>> futures = new ArrayList<>();
+      for (int t = 0; t < numThreads; t++) {
+        futures.add(CompletableFuture.runAsync(() -> {
+          for (int i = 0; i < numBucketsPerThread; i++) {
+            try {
+              doubleBuffer.acquireUnFlushedTransactions(1);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              throw new IllegalStateException(e);
+            }
+            // Add under the lock to keep the TermIndex order,
+            // same as the OM state machine apply order.
+            synchronized (trxId) {
+              doubleBuffer.add(createBucketResponse(volumeName),
+                  TermIndex.valueOf(TERM, trxId.incrementAndGet()));
+            }
+            added.incrementAndGet();
+          }
+        }, executor));
+      }
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static OMClientResponse createBucketResponse(String volumeName) {
+    return new OMTestCreateBucketResponse(newBucketInfo(volumeName),
+        createBucketOMResponse());
+  }
+
+  private static OmBucketInfo newBucketInfo(String volumeName) {
+    return OmBucketInfo.newBuilder()
+        .setVolumeName(volumeName)
+        .setBucketName(UUID.randomUUID().toString())
+        .setCreationTime(Time.now())
+        .build();
+  }
+
+  private static OMResponse createBucketOMResponse() {
+    return OMResponse.newBuilder()
+        .setCmdType(OzoneManagerProtocolProtos.Type.CreateBucket)
+        .setStatus(OzoneManagerProtocolProtos.Status.OK)
+        .setCreateBucketResponse(CreateBucketResponse.newBuilder().build())
+        .build();
+  }
+
+  /**
+   * Create bucket response used in testing.
+   */
+  @CleanupTableInfo(cleanupTables = {BUCKET_TABLE})
+  private static class OMTestCreateBucketResponse extends OMClientResponse {
+    private final OmBucketInfo omBucketInfo;
+
+    OMTestCreateBucketResponse(OmBucketInfo omBucketInfo,
+        OMResponse omResponse) {
+      super(omResponse);
+      this.omBucketInfo = omBucketInfo;
+    }
+
+    @Override
+    public void addToDBBatch(OMMetadataManager omMetadataManager,
+        BatchOperation batchOperation) throws IOException {
+      String dbBucketKey = omMetadataManager.getBucketKey(
+          omBucketInfo.getVolumeName(), omBucketInfo.getBucketName());
+      omMetadataManager.getBucketTable().putWithBatch(batchOperation,
+          dbBucketKey, omBucketInfo);
+    }
+  }
+}
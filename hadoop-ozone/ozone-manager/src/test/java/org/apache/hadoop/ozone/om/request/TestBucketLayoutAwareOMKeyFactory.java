@@ -111,8 +111,8 @@ public void testGetRequestInstanceFromMap() {
         });
 
     assertEquals(13, omKeyReqsFSO.size());
-    assertEquals(14, omKeyReqsLegacy.size());
-    assertEquals(14, omKeyReqsOBS.size());
+    assertEquals(15, omKeyReqsLegacy.size());
+    assertEquals(15, omKeyReqsOBS.size());
     // Check if the number of instantiated OMKeyRequest classes is equal to
     // the number of keys in the mapping.
     assertEquals(
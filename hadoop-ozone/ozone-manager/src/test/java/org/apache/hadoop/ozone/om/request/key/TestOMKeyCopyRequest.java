@@ -0,0 +1,219 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.request.key;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.UUID;
+
+import org.apache.hadoop.crypto.CipherSuite;
+import org.apache.hadoop.crypto.CryptoProtocolVersion;
+import org.apache.hadoop.fs.FileEncryptionInfo;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
+import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CopyKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DeletedKeys;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PurgeKeysRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ReleasedSharedBlocks;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests CopyKey request.
+ */
+public class TestOMKeyCopyRequest extends TestOMKeyRequest {
+  private OmKeyInfo fromKeyInfo;
+  private String fromKeyName;
+  private String toKeyName;
+  private String sharedBlock;
+
+  @BeforeEach
+  public void createSourceKey() throws Exception {
+    OMRequestTestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        omMetadataManager, getBucketLayout());
+    fromKeyName = "fromKey";
+    toKeyName = "toKey";
+    fromKeyInfo = OMRequestTestUtils.createOmKeyInfo(volumeName, bucketName,
+        fromKeyName, replicationConfig).build();
+    OMRequestTestUtils.addKeyLocationInfo(fromKeyInfo, 0, 1000L);
+    OmKeyLocationInfo block =
+        fromKeyInfo.getLatestVersionLocations().getLocationList().get(0);
+    sharedBlock = OmMetadataManagerImpl.getSharedBlockKey(
+        block.getContainerID(), block.getLocalID());
+  }
+
+  @Test
+  public void testValidateAndUpdateCache() throws Exception {
+    String dbFromKey = addKeyToTable(fromKeyInfo);
+
+    OMClientResponse response = copyKey(fromKeyName, toKeyName, 100L);
+    assertEquals(OzoneManagerProtocolProtos.Status.OK,
+        response.getOMResponse().getStatus());
+
+    // Both keys refer to the same block, shared once.
+    assertNotNull(omMetadataManager.getKeyTable(getBucketLayout())
+        .get(dbFromKey));
+    OmKeyInfo toKeyInfo = omMetadataManager.getKeyTable(getBucketLayout())
+        .get(omMetadataManager.getOzoneKey(volumeName, bucketName, toKeyName));
+    assertNotNull(toKeyInfo);
+    assertEquals(fromKeyInfo.getDataSize(), toKeyInfo.getDataSize());
+    assertEquals(fromKeyInfo.getLatestVersionLocations().getLocationList(),
+        toKeyInfo.getLatestVersionLocations().getLocationList());
+    assertEquals(1L, omMetadataManager.getSharedBlockTable().get(sharedBlock));
+
+    // Overwriting a copy adds one more reference.
+    response = copyKey(fromKeyName, toKeyName, 101L);
+    assertEquals(OzoneManagerProtocolProtos.Status.OK,
+        response.getOMResponse().getStatus());
+    assertEquals(2L, omMetadataManager.getSharedBlockTable().get(sharedBlock));
+  }
+
+  @Test
+  public void testCopyEncryptedMultipartKey() throws Exception {
+    FileEncryptionInfo encryptionInfo = new FileEncryptionInfo(
+        CipherSuite.AES_CTR_NOPADDING, CryptoProtocolVersion.ENCRYPTION_ZONES,
+        new byte[] {1, 2, 3}, new byte[16], "ezKey", "ezKeyVersion");
+    OmKeyInfo mpuKeyInfo = OMRequestTestUtils.createOmKeyInfo(volumeName,
+        bucketName, fromKeyName, replicationConfig,
+        new OmKeyLocationInfoGroup(0, new ArrayList<>(), true))
+        .setFileEncryptionInfo(encryptionInfo)
+        .build();
+    OMRequestTestUtils.addKeyLocationInfo(mpuKeyInfo, 0, 1000L);
+    addKeyToTable(mpuKeyInfo);
+
+    OMClientResponse response = copyKey(fromKeyName, toKeyName, 100L);
+    assertEquals(OzoneManagerProtocolProtos.Status.OK,
+        response.getOMResponse().getStatus());
+
+    // The parts of the copy are decrypted separately, as the source's.
+    OmKeyInfo toKeyInfo = omMetadataManager.getKeyTable(getBucketLayout())
+        .get(omMetadataManager.getOzoneKey(volumeName, bucketName, toKeyName));
+    assertNotNull(toKeyInfo);
+    assertTrue(toKeyInfo.getLatestVersionLocations().isMultipartKey());
+    assertEquals(mpuKeyInfo.getLatestVersionLocations().getLocationList(),
+        toKeyInfo.getLatestVersionLocations().getLocationList());
+    assertNotNull(toKeyInfo.getFileEncryptionInfo());
+    assertArrayEquals(encryptionInfo.getEncryptedDataEncryptionKey(),
+        toKeyInfo.getFileEncryptionInfo().getEncryptedDataEncryptionKey());
+    assertEquals(encryptionInfo.getKeyName(),
+        toKeyInfo.getFileEncryptionInfo().getKeyName());
+  }
+
+  @Test
+  public void testReleaseSharedBlocks() throws Exception {
+    addKeyToTable(fromKeyInfo);
+    copyKey(fromKeyName, toKeyName, 100L);
+    copyKey(fromKeyName, "otherKey", 101L);
+    assertEquals(2L, omMetadataManager.getSharedBlockTable().get(sharedBlock));
+
+    purgeKey("deletedKey1", 102L);
+    assertEquals(1L, omMetadataManager.getSharedBlockTable().get(sharedBlock));
+    purgeKey("deletedKey2", 103L);
+    assertNull(omMetadataManager.getSharedBlockTable().get(sharedBlock));
+  }
+
+  @Test
+  public void testValidateAndUpdateCacheWithKeyNotFound() throws Exception {
+    OMClientResponse response = copyKey(fromKeyName, toKeyName, 100L);
+
+    assertEquals(OzoneManagerProtocolProtos.Status.KEY_NOT_FOUND,
+        response.getOMResponse().getStatus());
+    assertNull(omMetadataManager.getSharedBlockTable().get(sharedBlock));
+  }
+
+  @Test
+  public void testValidateAndUpdateCacheToItself() throws Exception {
+    addKeyToTable(fromKeyInfo);
+    OMClientResponse response = copyKey(fromKeyName, fromKeyName, 100L);
+
+    assertEquals(OzoneManagerProtocolProtos.Status.INVALID_REQUEST,
+        response.getOMResponse().getStatus());
+    assertNull(omMetadataManager.getSharedBlockTable().get(sharedBlock));
+  }
+
+  @Test
+  public void testPreExecuteWithFileSystemPaths() throws Exception {
+    // The parent directories of the destination key would be missing.
+    when(ozoneManager.getEnableFileSystemPaths()).thenReturn(true);
+    addKeyToTable(fromKeyInfo);
+
+    OMException e = assertThrows(OMException.class,
+        () -> copyKey(fromKeyName, "dir/" + toKeyName, 100L));
+    assertEquals(OMException.ResultCodes.NOT_SUPPORTED_OPERATION,
+        e.getResult());
+    assertNull(omMetadataManager.getSharedBlockTable().get(sharedBlock));
+  }
+
+  private OMClientResponse copyKey(String fromKey, String toKey,
+      long trxnLogIndex) throws Exception {
+    KeyArgs keyArgs = KeyArgs.newBuilder().setKeyName(fromKey)
+        .setVolumeName(volumeName).setBucketName(bucketName).build();
+    OMRequest omRequest = OMRequest.newBuilder()
+        .setClientId(UUID.randomUUID().toString())
+        .setCopyKeyRequest(CopyKeyRequest.newBuilder()
+            .setKeyArgs(keyArgs).setToKeyName(toKey))
+        .setCmdType(OzoneManagerProtocolProtos.Type.CopyKey).build();
+
+    OMKeyCopyRequest request = new OMKeyCopyRequest(
+        new OMKeyCopyRequest(omRequest, getBucketLayout())
+            .preExecute(ozoneManager), getBucketLayout());
+    return request.validateAndUpdateCache(ozoneManager, trxnLogIndex);
+  }
+
+  private void purgeKey(String deletedKey, long trxnLogIndex) {
+    String dbDeletedKey = omMetadataManager.getOzoneKey(volumeName,
+        bucketName, deletedKey);
+    OMRequest omRequest = OMRequest.newBuilder()
+        .setClientId(UUID.randomUUID().toString())
+        .setPurgeKeysRequest(PurgeKeysRequest.newBuilder()
+            .addDeletedKeys(DeletedKeys.newBuilder()
+                .setVolumeName(volumeName).setBucketName(bucketName)
+                .addKeys(dbDeletedKey))
+            .addReleasedSharedBlocks(ReleasedSharedBlocks.newBuilder()
+                .setDeletedKey(dbDeletedKey).addBlocks(sharedBlock)))
+        .setCmdType(OzoneManagerProtocolProtos.Type.PurgeKeys).build();
+
+    OMClientResponse response = new OMKeyPurgeRequest(omRequest)
+        .validateAndUpdateCache(ozoneManager, trxnLogIndex);
+    assertEquals(OzoneManagerProtocolProtos.Status.OK,
+        response.getOMResponse().getStatus());
+  }
+
+  private String addKeyToTable(OmKeyInfo keyInfo) throws Exception {
+    OMRequestTestUtils.addKeyToTable(false, false, keyInfo, clientID, 0L,
+        omMetadataManager);
+    return omMetadataManager.getOzoneKey(keyInfo.getVolumeName(),
+        keyInfo.getBucketName(), keyInfo.getKeyName());
+  }
+}
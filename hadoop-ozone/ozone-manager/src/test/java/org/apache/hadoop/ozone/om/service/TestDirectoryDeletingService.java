@@ -50,6 +50,7 @@
 
 import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor.ONE;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_DIR_DELETING_SERVICE_INTERVAL;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_DIR_DELETING_SERVICE_WORKERS;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_PATH_DELETING_LIMIT_PER_TASK_DEFAULT;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -213,4 +214,65 @@ public void testDeleteDirectoryFlatDirsHavingNoChilds() throws Exception {
       return dirDeletingService.getDeletedDirsCount() >= dirCreatesCount;
     }, 500, 300000);
   }
+
+  @Test
+  public void testDeleteDirectoryWithMultipleWorkers() throws Exception {
+    OzoneConfiguration conf = createConfAndInitValues();
+    conf.setInt(OZONE_DIR_DELETING_SERVICE_WORKERS, 4);
+    OmTestManagers omTestManagers
+        = new OmTestManagers(conf);
+    KeyManager keyManager = omTestManagers.getKeyManager();
+    writeClient = omTestManagers.getWriteClient();
+    om = omTestManagers.getOzoneManager();
+
+    OMRequestTestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        om.getMetadataManager(), BucketLayout.FILE_SYSTEM_OPTIMIZED);
+    String bucketKey = om.getMetadataManager().getBucketKey(volumeName, bucketName);
+    OmBucketInfo bucketInfo = om.getMetadataManager().getBucketTable().get(bucketKey);
+
+    // create base directories, each having a single sub-directory
+    int baseDirCount = 20;
+    for (int i = 0; i < baseDirCount; ++i) {
+      long baseId = 1000L * (i + 1);
+      OmDirectoryInfo baseDir = new OmDirectoryInfo.Builder().setName("base" + i)
+          .setCreationTime(Time.now()).setModificationTime(Time.now())
+          .setObjectID(baseId).setParentObjectID(bucketInfo.getObjectID())
+          .setUpdateID(0).build();
+      OMRequestTestUtils.addDirKeyToDirTable(true, baseDir, volumeName, bucketName,
+          1L, om.getMetadataManager());
+      OmDirectoryInfo subDir = new OmDirectoryInfo.Builder().setName("sub" + i)
+          .setCreationTime(Time.now()).setModificationTime(Time.now())
+          .setObjectID(baseId + 1).setParentObjectID(baseId)
+          .setUpdateID(0).build();
+      OMRequestTestUtils.addDirKeyToDirTable(true, subDir, volumeName, bucketName,
+          1L, om.getMetadataManager());
+    }
+
+    DirectoryDeletingService dirDeletingService = keyManager.getDirDeletingService();
+    long deletedDirsBase = dirDeletingService.getDeletedDirsCount();
+    for (int i = 0; i < baseDirCount; ++i) {
+      OmKeyArgs delArgs = new OmKeyArgs.Builder()
+          .setVolumeName(volumeName).setBucketName(bucketName).setKeyName("base" + i)
+          .setReplicationConfig(StandaloneReplicationConfig.getInstance(ONE))
+          .setDataSize(0).setRecursive(true).build();
+      writeClient.deleteKey(delArgs);
+    }
+
+    // the base directories and then their moved sub-directories are
+    // purged by the shards
+    GenericTestUtils.waitFor(
+        () -> dirDeletingService.getDeletedDirsCount() - deletedDirsBase
+            >= 2L * baseDirCount, 500, 60000);
+    GenericTestUtils.waitFor(() -> {
+      try {
+        return om.getMetadataManager().getDeletedDirTable().isEmpty();
+      } catch (Exception e) {
+        return false;
+      }
+    }, 500, 60000);
+    assertThat(dirDeletingService.getMetrics().getNumPurgeRequests())
+        .isGreaterThan(0);
+    assertThat(dirDeletingService.getMetrics().getNumDirsPurged())
+        .isGreaterThanOrEqualTo(2L * baseDirCount);
+  }
 }
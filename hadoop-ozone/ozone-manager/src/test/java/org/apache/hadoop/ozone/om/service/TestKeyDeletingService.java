@@ -25,6 +25,7 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -32,15 +33,19 @@
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 import com.google.common.collect.ImmutableMap;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.client.ContainerBlockID;
 import org.apache.hadoop.hdds.client.RatisReplicationConfig;
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.hdds.utils.db.TableIterator;
 import org.apache.hadoop.ozone.om.KeyManager;
 import org.apache.hadoop.ozone.om.KeyManagerImpl;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
 import org.apache.hadoop.ozone.om.OmSnapshot;
 import org.apache.hadoop.ozone.om.OmSnapshotManager;
 import org.apache.hadoop.ozone.om.OmTestManagers;
@@ -66,6 +71,8 @@
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 import org.slf4j.Logger;
@@ -88,6 +95,7 @@
 import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor.THREE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_BLOCK_DELETING_SERVICE_INTERVAL;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_SNAPSHOT_DELETING_SERVICE_INTERVAL;
+import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_SNAPSHOT_DEEP_CLEANING_ENABLED;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_SNAPSHOT_SST_FILTERING_SERVICE_INTERVAL;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -97,6 +105,7 @@
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.Test;
@@ -612,6 +621,159 @@ void testSnapshotExclusiveSize() throws Exception {
         }
       }
     }
+
+    /**
+     * A key and its copy purged in the same batch: the shared blocks are
+     * released by the first one and deleted by SCM with the second one.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void testPurgeKeyAndCopyInSameBatch(boolean ratis) throws Exception {
+      keyDeletingService.suspend();
+      final String volumeName = getTestName();
+      final String bucketName = uniqueObjectName("bucket");
+      createVolumeAndBucket(volumeName, bucketName, false);
+
+      final String keyName = uniqueObjectName("key");
+      final String copyName = uniqueObjectName("copy");
+      OmKeyArgs keyArgs = createAndCommitKey(volumeName, bucketName, keyName, 2);
+      writeClient.copyKey(keyArgs, copyName);
+      assertSharedBlocks(keyArgs, 1L);
+
+      deleteKey(volumeName, bucketName, keyName);
+      deleteKey(volumeName, bucketName, copyName);
+      List<ContainerBlockID> deleted =
+          purgeDeletedKeys(volumeName, bucketName, ratis);
+
+      assertThat(deleted)
+          .containsExactlyInAnyOrderElementsOf(getBlocks(keyArgs));
+      assertSharedBlocks(keyArgs, null);
+    }
+
+    /**
+     * A key with two copies purged one by one: the blocks are deleted by SCM
+     * only when the last reference is purged, whichever key it is.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void testPurgeKeyAndCopiesOneByOne(boolean ratis) throws Exception {
+      keyDeletingService.suspend();
+      final String volumeName = getTestName();
+      final String bucketName = uniqueObjectName("bucket");
+      createVolumeAndBucket(volumeName, bucketName, false);
+
+      final String keyName = uniqueObjectName("key");
+      final String copyName1 = uniqueObjectName("copy");
+      final String copyName2 = uniqueObjectName("copy");
+      OmKeyArgs keyArgs = createAndCommitKey(volumeName, bucketName, keyName, 2);
+      writeClient.copyKey(keyArgs, copyName1);
+      writeClient.copyKey(keyArgs, copyName2);
+      assertSharedBlocks(keyArgs, 2L);
+
+      deleteKey(volumeName, bucketName, copyName1);
+      assertThat(purgeDeletedKeys(volumeName, bucketName, ratis)).isEmpty();
+      assertSharedBlocks(keyArgs, 1L);
+      assertNotNull(writeClient.lookupKey(keyArgs));
+
+      deleteKey(volumeName, bucketName, keyName);
+      assertThat(purgeDeletedKeys(volumeName, bucketName, ratis)).isEmpty();
+      assertSharedBlocks(keyArgs, null);
+
+      deleteKey(volumeName, bucketName, copyName2);
+      assertThat(purgeDeletedKeys(volumeName, bucketName, ratis))
+          .containsExactlyInAnyOrderElementsOf(getBlocks(keyArgs));
+    }
+
+    /**
+     * A copy overwritten by another copy and then by a new key: the blocks
+     * of the source key are kept until the source key itself is purged.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void testPurgeOverwrittenCopy(boolean ratis) throws Exception {
+      keyDeletingService.suspend();
+      final String volumeName = getTestName();
+      final String bucketName = uniqueObjectName("bucket");
+      createVolumeAndBucket(volumeName, bucketName, false);
+
+      final String keyName = uniqueObjectName("key");
+      final String copyName = uniqueObjectName("copy");
+      OmKeyArgs keyArgs = createAndCommitKey(volumeName, bucketName, keyName, 2);
+      writeClient.copyKey(keyArgs, copyName);
+      writeClient.copyKey(keyArgs, copyName);
+      assertSharedBlocks(keyArgs, 2L);
+
+      OmKeyArgs newKeyArgs =
+          createAndCommitKey(volumeName, bucketName, copyName, 1);
+      assertThat(purgeDeletedKeys(volumeName, bucketName, ratis)).isEmpty();
+      assertSharedBlocks(keyArgs, null);
+      assertNotNull(writeClient.lookupKey(keyArgs));
+
+      deleteKey(volumeName, bucketName, keyName);
+      deleteKey(volumeName, bucketName, copyName);
+      List<ContainerBlockID> expected = new ArrayList<>(getBlocks(keyArgs));
+      expected.addAll(getBlocks(newKeyArgs));
+      assertThat(purgeDeletedKeys(volumeName, bucketName, ratis))
+          .containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    /**
+     * Purges the deleted keys of the bucket with a single batch of the
+     * KeyDeletingService, through Ratis or directly in the DB.
+     * @return the blocks deleted by SCM for the batch.
+     */
+    private List<ContainerBlockID> purgeDeletedKeys(String volumeName,
+        String bucketName, boolean ratis) throws Exception {
+      final String prefix =
+          metadataManager.getBucketKey(volumeName, bucketName) + OM_KEY_PREFIX;
+      List<BlockGroup> keyBlocksList = getPendingDeletionKeys(prefix);
+      assertThat(keyBlocksList).isNotEmpty();
+      // Keys are purged directly in the DB without Ratis
+      om.awaitDoubleBufferFlush();
+
+      final int deletedBlocks =
+          scmBlockTestingClient.getDeletedBlocks().size();
+      KeyDeletingService service = Mockito.spy(keyDeletingService);
+      doReturn(ratis).when(service).isRatisEnabled();
+      assertEquals(keyBlocksList.size(), service.processKeyDeletes(
+          keyBlocksList, keyManager, new HashMap<>(), null,
+          ((OmMetadataManagerImpl) metadataManager).getSnapshotChainManager()
+              .getLatestGlobalSnapshotId()));
+      GenericTestUtils.waitFor(
+          () -> getPendingDeletionKeys(prefix).isEmpty(), 100, 10000);
+      om.awaitDoubleBufferFlush();
+
+      List<BlockID> allDeleted = scmBlockTestingClient.getDeletedBlocks();
+      return allDeleted.subList(deletedBlocks, allDeleted.size()).stream()
+          .map(BlockID::getContainerBlockID)
+          .collect(Collectors.toList());
+    }
+
+    private List<BlockGroup> getPendingDeletionKeys(String prefix) {
+      try {
+        return keyManager.getPendingDeletionKeys(Integer.MAX_VALUE)
+            .getKeyBlocksList().stream()
+            .filter(group -> group.getGroupID().startsWith(prefix))
+            .collect(Collectors.toList());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private List<ContainerBlockID> getBlocks(OmKeyArgs keyArgs) {
+      return keyArgs.getLocationInfoList().stream()
+          .map(block -> block.getBlockID().getContainerBlockID())
+          .collect(Collectors.toList());
+    }
+
+    private void assertSharedBlocks(OmKeyArgs keyArgs, Long expected)
+        throws IOException {
+      for (ContainerBlockID block : getBlocks(keyArgs)) {
+        assertEquals(expected, metadataManager.getSharedBlockTable().get(
+            OmMetadataManagerImpl.getSharedBlockKey(
+                block.getContainerID(), block.getLocalID())));
+      }
+    }
   }
 
   /**
@@ -20,6 +20,7 @@
 import com.google.common.cache.CacheLoader;
 import org.apache.hadoop.ozone.om.OMMetrics;
 import org.apache.hadoop.ozone.om.OmSnapshot;
+import org.apache.hadoop.ozone.om.OmSnapshotMetrics;
 import org.apache.ozone.test.GenericTestUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -36,9 +37,11 @@
 import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
@@ -334,4 +337,50 @@ void testEviction3WithClose() throws IOException, InterruptedException, TimeoutE
     assertEquals(1, snapshotCache.size());
     assertEquals(1, omMetrics.getNumSnapshotCacheSize());
   }
+
+  @Test
+  @DisplayName("Cache eviction of least recently used entries exceeding native memory soft limit")
+  void testEviction4NativeMemory() throws IOException {
+    final long snapshotNativeMemory = 1000;
+    final OmSnapshotMetrics snapshotMetrics = OmSnapshotMetrics.getInstance();
+    final long hits = snapshotMetrics.getNumSnapshotCacheHits();
+    final long misses = snapshotMetrics.getNumSnapshotCacheMisses();
+    final long evictions = snapshotMetrics.getNumSnapshotCacheEvictions();
+    // No cleanup service, the cleanup is triggered by the test.
+    snapshotCache.close();
+    snapshotCache = new SnapshotCache(cacheLoader, CACHE_SIZE_LIMIT, 2 * snapshotNativeMemory,
+        snapshot -> snapshotNativeMemory, omMetrics, 0);
+
+    final UUID dbKey1 = UUID.randomUUID();
+    final UUID dbKey2 = UUID.randomUUID();
+    final UUID dbKey3 = UUID.randomUUID();
+    for (UUID dbKey : new UUID[] {dbKey1, dbKey2, dbKey3, dbKey1}) {
+      try (ReferenceCounted<OmSnapshot> rcOmSnapshot = snapshotCache.get(dbKey)) {
+        assertNotNull(rcOmSnapshot.get());
+      }
+    }
+    assertEquals(3, snapshotCache.size());
+    assertEquals(hits + 1, snapshotMetrics.getNumSnapshotCacheHits());
+    assertEquals(misses + 3, snapshotMetrics.getNumSnapshotCacheMisses());
+
+    // The count is within its soft limit, but dbKey2 is the least recently
+    // used entry exceeding the native memory soft limit.
+    snapshotCache.cleanup();
+    assertEquals(2, snapshotCache.size());
+    assertFalse(snapshotCache.getDbMap().containsKey(dbKey2));
+    assertEquals(evictions + 1, snapshotMetrics.getNumSnapshotCacheEvictions());
+    assertEquals(2 * snapshotNativeMemory, snapshotMetrics.getSnapshotCacheNativeMemory());
+
+    // A referenced entry is not evicted, even if least recently used.
+    final UUID dbKey4 = UUID.randomUUID();
+    try (ReferenceCounted<OmSnapshot> rcOmSnapshot3 = snapshotCache.get(dbKey3);
+         ReferenceCounted<OmSnapshot> rcOmSnapshot4 = snapshotCache.get(dbKey4)) {
+      snapshotCache.cleanup();
+      assertEquals(2, snapshotCache.size());
+      assertFalse(snapshotCache.getDbMap().containsKey(dbKey1));
+      assertTrue(snapshotCache.getDbMap().containsKey(dbKey3));
+      assertEquals(evictions + 2, snapshotMetrics.getNumSnapshotCacheEvictions());
+    }
+    snapshotCache.close();
+  }
 }
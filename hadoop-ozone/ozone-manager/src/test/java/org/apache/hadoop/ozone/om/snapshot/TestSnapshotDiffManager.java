@@ -112,6 +112,7 @@
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -126,6 +127,10 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_MAX_ALLOWED_KEYS_CHANGED_PER_DIFF_JOB_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_THREAD_POOL_SIZE;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_THREAD_POOL_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_WORKER_BATCH_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_WORKER_BATCH_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_WORKER_THREAD_POOL_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_WORKER_THREAD_POOL_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_FORCE_FULL_DIFF;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_FORCE_FULL_DIFF_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_LOAD_NATIVE_LIB;
@@ -332,6 +337,14 @@ public void init() throws RocksDBException, IOException, ExecutionException {
         .getInt(OZONE_OM_SNAPSHOT_DIFF_THREAD_POOL_SIZE,
             OZONE_OM_SNAPSHOT_DIFF_THREAD_POOL_SIZE_DEFAULT))
         .thenReturn(OZONE_OM_SNAPSHOT_DIFF_THREAD_POOL_SIZE_DEFAULT);
+    when(configuration
+        .getInt(OZONE_OM_SNAPSHOT_DIFF_WORKER_THREAD_POOL_SIZE,
+            OZONE_OM_SNAPSHOT_DIFF_WORKER_THREAD_POOL_SIZE_DEFAULT))
+        .thenReturn(OZONE_OM_SNAPSHOT_DIFF_WORKER_THREAD_POOL_SIZE_DEFAULT);
+    when(configuration
+        .getInt(OZONE_OM_SNAPSHOT_DIFF_WORKER_BATCH_SIZE,
+            OZONE_OM_SNAPSHOT_DIFF_WORKER_BATCH_SIZE_DEFAULT))
+        .thenReturn(OZONE_OM_SNAPSHOT_DIFF_WORKER_BATCH_SIZE_DEFAULT);
     when(configuration.getBoolean(OZONE_OM_SNAPSHOT_LOAD_NATIVE_LIB,
         OZONE_OM_SNAPSHOT_LOAD_NATIVE_LIB_DEFAULT))
         .thenReturn(OZONE_OM_SNAPSHOT_LOAD_NATIVE_LIB_DEFAULT);
@@ -626,18 +639,25 @@ private WithParentObjectId getKeyInfo(int objectId, int updateId,
    * with object Ids in the range 0-50.
    * Function should return 25-50 in the new Persistent map.
    * In the case of reading tombstones old Snapshot Persistent map should have
-   * object Ids in the range 50-100 & should be empty otherwise
+   * object Ids in the range 50-100 & should be empty otherwise.
+   * With multiple workers, the keys are processed in parallel batches.
    */
   @ParameterizedTest
-  @CsvSource({"false," + OmMetadataManagerImpl.DIRECTORY_TABLE,
-      "true," + OmMetadataManagerImpl.DIRECTORY_TABLE,
-      "false," + OmMetadataManagerImpl.FILE_TABLE,
-      "true," + OmMetadataManagerImpl.FILE_TABLE,
-      "false," + OmMetadataManagerImpl.KEY_TABLE,
-      "true," + OmMetadataManagerImpl.KEY_TABLE})
+  @CsvSource({"false," + OmMetadataManagerImpl.DIRECTORY_TABLE + ",1",
+      "true," + OmMetadataManagerImpl.DIRECTORY_TABLE + ",1",
+      "false," + OmMetadataManagerImpl.FILE_TABLE + ",1",
+      "true," + OmMetadataManagerImpl.FILE_TABLE + ",1",
+      "false," + OmMetadataManagerImpl.KEY_TABLE + ",1",
+      "true," + OmMetadataManagerImpl.KEY_TABLE + ",1",
+      "false," + OmMetadataManagerImpl.DIRECTORY_TABLE + ",4",
+      "true," + OmMetadataManagerImpl.KEY_TABLE + ",4"})
   public void testObjectIdMapWithTombstoneEntries(boolean nativeLibraryLoaded,
-                                                  String snapshotTableName)
+                                                  String snapshotTableName,
+                                                  int workers)
       throws IOException, RocksDBException {
+    if (workers > 1) {
+      useDiffWorkers(workers, 7);
+    }
     Set<String> keysIncludingTombstones = IntStream.range(0, 100)
         .boxed().map(i -> (i + 100) + "/key" + i).collect(Collectors.toSet());
     // Mocking SST file with keys in SST file excluding tombstones
@@ -870,6 +890,199 @@ public void testGenerateDiffReport() throws IOException {
     }
   }
 
+  /**
+   * Recreates the SnapshotDiffManager with the given number of diff workers.
+   */
+  private void useDiffWorkers(int workers, int batchSize) {
+    when(configuration
+        .getInt(OZONE_OM_SNAPSHOT_DIFF_WORKER_THREAD_POOL_SIZE,
+            OZONE_OM_SNAPSHOT_DIFF_WORKER_THREAD_POOL_SIZE_DEFAULT))
+        .thenReturn(workers);
+    when(configuration
+        .getInt(OZONE_OM_SNAPSHOT_DIFF_WORKER_BATCH_SIZE,
+            OZONE_OM_SNAPSHOT_DIFF_WORKER_BATCH_SIZE_DEFAULT))
+        .thenReturn(batchSize);
+    snapshotDiffManager.close();
+    snapshotDiffManager = new SnapshotDiffManager(db, differ, ozoneManager,
+        snapDiffJobTable, snapDiffReportTable, columnFamilyOptions,
+        codecRegistry);
+  }
+
+  /**
+   * Adds objects 0-29 as deleted, 30-59 as created and 60-99 as renamed and
+   * modified.
+   */
+  private void addChangedObjects(
+      PersistentMap<byte[], Boolean> objectIdToIsDirMap,
+      PersistentMap<byte[], byte[]> oldObjectIdKeyMap,
+      PersistentMap<byte[], byte[]> newObjectIdKeyMap) throws IOException {
+    for (long objectId = 0; objectId < 100; objectId++) {
+      byte[] objectIdVal = codecRegistry.asRawData(objectId);
+      objectIdToIsDirMap.put(objectIdVal, false);
+      if (objectId < 30 || objectId >= 60) {
+        oldObjectIdKeyMap.put(objectIdVal,
+            codecRegistry.asRawData("key" + objectId));
+      }
+      if (objectId >= 30) {
+        newObjectIdKeyMap.put(objectIdVal,
+            codecRegistry.asRawData("new-key" + objectId));
+      }
+    }
+  }
+
+  private long generateDiffReport(SnapshotDiffManager manager, String jobId,
+      Table<String, OmKeyInfo> fromSnapTable,
+      Table<String, OmKeyInfo> toSnapTable,
+      PersistentMap<byte[], Boolean> objectIdToIsDirMap,
+      PersistentMap<byte[], byte[]> oldObjectIdKeyMap,
+      PersistentMap<byte[], byte[]> newObjectIdKeyMap) {
+    Map<String, String> tablePrefixes = mock(Map.class);
+    when(tablePrefixes.get(anyString())).thenReturn("");
+    return manager.generateDiffReport(jobId, fromSnapTable, toSnapTable,
+        null, null, objectIdToIsDirMap, oldObjectIdKeyMap, newObjectIdKeyMap,
+        "vol", "buck", "fs", "ts", false, Optional.empty(), Optional.empty(),
+        tablePrefixes);
+  }
+
+  private Table<String, OmKeyInfo> getMockedKeyTable(OmKeyInfo keyInfo)
+      throws IOException {
+    Table<String, OmKeyInfo> table = mock(Table.class);
+    when(table.get(anyString())).thenReturn(keyInfo);
+    when(table.getName()).thenReturn("table");
+    return table;
+  }
+
+  /**
+   * The report of a job processed by parallel workers matches the report
+   * processed on the job's thread, in order.
+   */
+  @Test
+  public void testGenerateDiffReportWithWorkers() throws IOException {
+    PersistentMap<byte[], Boolean> objectIdToIsDirMap =
+        new StubbedPersistentMap<>();
+    PersistentMap<byte[], byte[]> oldObjectIdKeyMap =
+        new StubbedPersistentMap<>();
+    PersistentMap<byte[], byte[]> newObjectIdKeyMap =
+        new StubbedPersistentMap<>();
+    addChangedObjects(objectIdToIsDirMap, oldObjectIdKeyMap,
+        newObjectIdKeyMap);
+    // Mocked keys are never the same, so each renamed key is also modified.
+    Table<String, OmKeyInfo> fromSnapTable =
+        getMockedKeyTable(mock(OmKeyInfo.class));
+    Table<String, OmKeyInfo> toSnapTable =
+        getMockedKeyTable(mock(OmKeyInfo.class));
+
+    SnapshotDiffManager spy = spy(snapshotDiffManager);
+    doReturn(true).when(spy).areDiffJobAndSnapshotsActive(
+        "vol", "buck", "fs", "ts");
+    long expectedEntries = generateDiffReport(spy, "jobId", fromSnapTable,
+        toSnapTable, objectIdToIsDirMap, oldObjectIdKeyMap,
+        newObjectIdKeyMap);
+    assertEquals(140, expectedEntries);
+
+    useDiffWorkers(4, 3);
+    spy = spy(snapshotDiffManager);
+    doReturn(true).when(spy).areDiffJobAndSnapshotsActive(
+        "vol", "buck", "fs", "ts");
+    long totalDiffEntries = generateDiffReport(spy, "parallelJobId",
+        fromSnapTable, toSnapTable, objectIdToIsDirMap, oldObjectIdKeyMap,
+        newObjectIdKeyMap);
+    assertEquals(expectedEntries, totalDiffEntries);
+
+    List<DiffReportEntry> expected = snapshotDiffManager.createPageResponse(
+        new SnapshotDiffJob(0, "jobId", JobStatus.DONE, "vol", "buck", "fs",
+            "ts", false, true, expectedEntries),
+        "vol", "buck", "fs", "ts", 0, Integer.MAX_VALUE).getDiffList();
+    List<DiffReportEntry> actual = snapshotDiffManager.createPageResponse(
+        new SnapshotDiffJob(0, "parallelJobId", JobStatus.DONE, "vol", "buck",
+            "fs", "ts", false, true, totalDiffEntries),
+        "vol", "buck", "fs", "ts", 0, Integer.MAX_VALUE).getDiffList();
+    assertEquals(expected, actual);
+  }
+
+  /**
+   * A cancelled job returns only once its running batches are done, as the
+   * snapshots and maps they read are closed after that.
+   */
+  @Test
+  public void testGenerateDiffReportCancelledWithWorkers()
+      throws IOException, InterruptedException {
+    useDiffWorkers(4, 3);
+    PersistentMap<byte[], Boolean> objectIdToIsDirMap =
+        new StubbedPersistentMap<>();
+    PersistentMap<byte[], byte[]> oldObjectIdKeyMap =
+        new StubbedPersistentMap<>();
+    PersistentMap<byte[], byte[]> newObjectIdKeyMap =
+        new StubbedPersistentMap<>();
+    addChangedObjects(objectIdToIsDirMap, oldObjectIdKeyMap,
+        newObjectIdKeyMap);
+
+    AtomicInteger started = new AtomicInteger();
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger reads = new AtomicInteger();
+    OmKeyInfo keyInfo = mock(OmKeyInfo.class);
+    Table<String, OmKeyInfo> fromSnapTable = getMockedKeyTable(keyInfo);
+    when(fromSnapTable.get(anyString())).thenAnswer(i -> {
+      started.incrementAndGet();
+      running.incrementAndGet();
+      try {
+        Thread.sleep(5);
+        reads.incrementAndGet();
+        return keyInfo;
+      } finally {
+        running.decrementAndGet();
+      }
+    });
+    Table<String, OmKeyInfo> toSnapTable = getMockedKeyTable(keyInfo);
+
+    // Cancelled once a worker reads the snapshots.
+    SnapshotDiffManager spy = spy(snapshotDiffManager);
+    doAnswer(i -> started.get() == 0).when(spy).areDiffJobAndSnapshotsActive(
+        "vol", "buck", "fs", "ts");
+
+    assertEquals(-1L, generateDiffReport(spy, "jobId", fromSnapTable,
+        toSnapTable, objectIdToIsDirMap, oldObjectIdKeyMap,
+        newObjectIdKeyMap));
+    assertEquals(0, running.get());
+    int readsAtReturn = reads.get();
+    // The batches not started when the job was cancelled are skipped.
+    assertTrue(readsAtReturn < 40);
+    Thread.sleep(50);
+    assertEquals(readsAtReturn, reads.get());
+  }
+
+  /**
+   * A failed batch fails the job, once the other batches are done.
+   */
+  @Test
+  public void testGenerateDiffReportFailureWithWorkers() throws IOException {
+    useDiffWorkers(4, 3);
+    PersistentMap<byte[], Boolean> objectIdToIsDirMap =
+        new StubbedPersistentMap<>();
+    PersistentMap<byte[], byte[]> oldObjectIdKeyMap =
+        new StubbedPersistentMap<>();
+    PersistentMap<byte[], byte[]> newObjectIdKeyMap =
+        new StubbedPersistentMap<>();
+    addChangedObjects(objectIdToIsDirMap, oldObjectIdKeyMap,
+        newObjectIdKeyMap);
+    // Neither snapshot has a key for this object.
+    objectIdToIsDirMap.put(codecRegistry.asRawData(1000L), false);
+
+    Table<String, OmKeyInfo> fromSnapTable =
+        getMockedKeyTable(mock(OmKeyInfo.class));
+    Table<String, OmKeyInfo> toSnapTable =
+        getMockedKeyTable(mock(OmKeyInfo.class));
+    SnapshotDiffManager spy = spy(snapshotDiffManager);
+    doReturn(true).when(spy).areDiffJobAndSnapshotsActive(
+        "vol", "buck", "fs", "ts");
+
+    IllegalStateException exception = assertThrows(IllegalStateException.class,
+        () -> generateDiffReport(spy, "jobId", fromSnapTable, toSnapTable,
+            objectIdToIsDirMap, oldObjectIdKeyMap, newObjectIdKeyMap));
+    assertEquals("Old and new key name both are null",
+        exception.getMessage());
+  }
+
   private DiffReportEntry getTestDiffEntry(String jobId,
                                            int idx) throws IOException {
     return new DiffReportEntry(
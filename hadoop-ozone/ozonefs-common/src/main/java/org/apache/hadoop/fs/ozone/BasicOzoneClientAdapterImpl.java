@@ -58,6 +58,7 @@
 import org.apache.hadoop.ozone.OmUtils;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.OzoneFsServerDefaults;
+import org.apache.hadoop.ozone.OzoneManagerVersion;
 import org.apache.hadoop.ozone.client.ObjectStore;
 import org.apache.hadoop.ozone.client.OzoneBucket;
 import org.apache.hadoop.ozone.client.OzoneClient;
@@ -610,6 +611,12 @@ public boolean isFSOptimizedBucket() {
     return bucket.getBucketLayout().isFileSystemOptimized();
   }
 
+  @Override
+  public boolean isRecursiveListStatusSupported() {
+    return ozoneClient.getObjectStore().getClientProxy().getOmVersion()
+        .compareTo(OzoneManagerVersion.RECURSIVE_LIST_STATUS) >= 0;
+  }
+
   @Override
   public FileChecksum getFileChecksum(String keyName, long length)
       throws IOException {
@@ -940,7 +940,21 @@ public boolean isFile(Path f) throws IOException {
   public RemoteIterator<LocatedFileStatus> listFiles(Path f, boolean recursive)
       throws IOException {
     incrementCounter(Statistic.INVOCATION_LIST_FILES);
-    return super.listFiles(f, recursive);
+    if (!recursive || !adapter.isRecursiveListStatusSupported()) {
+      return super.listFiles(f, recursive);
+    }
+    // List the whole tree with recursive listStatus calls, instead of a
+    // listStatus call for each directory.
+    final String key = pathToKey(f);
+    return new OzoneRecursiveFileIterator(startKey -> {
+      incrementCounter(Statistic.INVOCATION_LIST_STATUS, 1);
+      statistics.incrementReadOps(1);
+      return adapter.listStatus(key, true, startKey, listingPageSize, uri,
+              workingDir, getUsername())
+          .stream()
+          .map(this::convertFileStatus)
+          .collect(Collectors.toList());
+    }, this::pathToKey);
   }
 
   @Override
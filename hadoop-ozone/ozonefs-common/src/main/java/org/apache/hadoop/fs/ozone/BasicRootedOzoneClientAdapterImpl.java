@@ -66,6 +66,7 @@
 import org.apache.hadoop.ozone.OmUtils;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.OzoneFsServerDefaults;
+import org.apache.hadoop.ozone.OzoneManagerVersion;
 import org.apache.hadoop.ozone.client.BucketArgs;
 import org.apache.hadoop.ozone.client.ObjectStore;
 import org.apache.hadoop.ozone.client.OzoneBucket;
@@ -1256,6 +1257,12 @@ public boolean isFSOptimizedBucket() {
     return false;
   }
 
+  @Override
+  public boolean isRecursiveListStatusSupported() {
+    return proxy.getOmVersion()
+        .compareTo(OzoneManagerVersion.RECURSIVE_LIST_STATUS) >= 0;
+  }
+
   @Override
   public FileChecksum getFileChecksum(String keyName, long length)
       throws IOException {
@@ -1171,7 +1171,24 @@ public boolean isFile(Path f) throws IOException {
   public RemoteIterator<LocatedFileStatus> listFiles(Path f, boolean recursive)
       throws IOException {
     incrementCounter(Statistic.INVOCATION_LIST_FILES);
-    return super.listFiles(f, recursive);
+    OFSPath ofsPath = new OFSPath(f, ozoneConfiguration);
+    if (!recursive || ofsPath.isRoot() || ofsPath.isVolume()
+        || ofsPath.isSnapshotPath()
+        || !adapter.isRecursiveListStatusSupported()) {
+      return super.listFiles(f, recursive);
+    }
+    // List the whole tree with recursive listStatus calls, instead of a
+    // listStatus call for each directory.
+    final String key = pathToKey(f);
+    return new OzoneRecursiveFileIterator(startKey -> {
+      incrementCounter(Statistic.INVOCATION_LIST_STATUS, 1);
+      statistics.incrementReadOps(1);
+      return adapter.listStatus(key, true, startKey, listingPageSize, uri,
+              workingDir, getUsername())
+          .stream()
+          .map(this::convertFileStatus)
+          .collect(Collectors.toList());
+    }, this::pathToKey);
   }
 
   @Override
@@ -37,6 +37,8 @@ public boolean hasCapability(String capability) {
     case StreamCapabilities.UNBUFFER:
     case StreamCapabilities.PREADBYTEBUFFER:
       return true;
+    case StreamCapabilities.VECTOREDIO:
+      return hasParallelVectoredRead();
     default:
       return false;
     }
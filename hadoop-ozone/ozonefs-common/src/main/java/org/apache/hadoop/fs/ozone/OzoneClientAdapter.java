@@ -91,6 +91,12 @@ FileStatusAdapter getFileStatus(String key, URI uri,
 
   boolean isFSOptimizedBucket();
 
+  /**
+   * @return true if the OM lists the files of FSO buckets recursively,
+   *         older OMs reject recursive listStatus in FSO buckets.
+   */
+  boolean isRecursiveListStatusSupported();
+
   FileChecksum getFileChecksum(String keyName, long length) throws IOException;
 
   String createSnapshot(String pathStr, String snapshotName) throws IOException;
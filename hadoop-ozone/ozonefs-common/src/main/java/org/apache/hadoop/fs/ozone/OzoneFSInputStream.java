@@ -23,6 +23,10 @@
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.ReadOnlyBufferException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
 
 import io.opentracing.Scope;
 import io.opentracing.Span;
@@ -33,10 +37,17 @@
 import org.apache.hadoop.fs.ByteBufferReadable;
 import org.apache.hadoop.fs.ByteBufferPositionedReadable;
 import org.apache.hadoop.fs.FSInputStream;
+import org.apache.hadoop.fs.FileRange;
 import org.apache.hadoop.fs.FileSystem.Statistics;
 import org.apache.hadoop.fs.Seekable;
+import org.apache.hadoop.fs.impl.CombinedFileRange;
+import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
 import org.apache.hadoop.hdds.tracing.TracingUtil;
 
+import static org.apache.hadoop.fs.VectoredReadUtils.mergeSortedRanges;
+import static org.apache.hadoop.fs.VectoredReadUtils.sliceTo;
+import static org.apache.hadoop.fs.VectoredReadUtils.validateNonOverlappingAndReturnSortedRanges;
+
 /**
  * The input stream for Ozone file system.
  *
@@ -207,4 +218,68 @@ public void readFully(long position, ByteBuffer buf) throws IOException {
       }
     }
   }
+
+  /**
+   * Ranges close to each other are merged into a single read, and the
+   * blocks of the key are read in parallel, each by a single reader.
+   * The data of all the ranges is available when this method returns.
+   */
+  @Override
+  public void readVectored(List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate) throws IOException {
+    if (!hasParallelVectoredRead()) {
+      super.readVectored(ranges, allocate);
+      return;
+    }
+    TracingUtil.executeInNewSpan("OzoneFSInputStream.readVectored",
+        () -> readVectoredInTrace(ranges, allocate));
+  }
+
+  private void readVectoredInTrace(List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate) throws IOException {
+    List<? extends FileRange> sortedRanges =
+        validateNonOverlappingAndReturnSortedRanges(ranges);
+    for (FileRange range : sortedRanges) {
+      range.setData(new CompletableFuture<>());
+    }
+    List<CombinedFileRange> combinedRanges = mergeSortedRanges(sortedRanges,
+        1, minSeekForVectorReads(), maxReadSizeForVectorReads());
+
+    long[] offsets = new long[combinedRanges.size()];
+    List<ByteBuffer> buffers = new ArrayList<>(combinedRanges.size());
+    long bytes = 0;
+    for (int i = 0; i < offsets.length; i++) {
+      CombinedFileRange combined = combinedRanges.get(i);
+      offsets[i] = combined.getOffset();
+      buffers.add(allocate.apply(combined.getLength()));
+      bytes += combined.getLength();
+    }
+
+    try {
+      ((MultipartInputStream) inputStream).readFully(offsets, buffers);
+    } catch (IOException e) {
+      for (FileRange range : sortedRanges) {
+        range.getData().completeExceptionally(e);
+      }
+      return;
+    }
+    for (int i = 0; i < offsets.length; i++) {
+      ByteBuffer buffer = buffers.get(i);
+      buffer.flip();
+      for (FileRange range : combinedRanges.get(i).getUnderlying()) {
+        range.getData().complete(sliceTo(buffer, offsets[i], range));
+      }
+    }
+    if (statistics != null) {
+      statistics.incrementBytesRead(bytes);
+    }
+  }
+
+  /**
+   * @return true if {@link #readVectored} reads the blocks of the key in
+   *         parallel, otherwise it reads the ranges one by one.
+   */
+  boolean hasParallelVectoredRead() {
+    return inputStream instanceof MultipartInputStream;
+  }
 }
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.fs.ozone;
+
+import org.apache.hadoop.fs.BlockLocation;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.LocatedFileStatus;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RemoteIterator;
+import org.apache.ratis.util.function.CheckedFunction;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Iterates the files under a path, fetching them a page at a time with
+ * recursive listStatus calls, so that a whole tree is listed without a call
+ * for each directory.
+ */
+class OzoneRecursiveFileIterator implements RemoteIterator<LocatedFileStatus> {
+
+  /** Lists a page of the tree, starting at the given key, inclusive. */
+  private final CheckedFunction<String, List<FileStatus>, IOException> lister;
+  private final Function<Path, String> pathToKey;
+
+  private Iterator<FileStatus> page;
+  private String startKey = "";
+  private boolean exhausted;
+  private LocatedFileStatus next;
+
+  OzoneRecursiveFileIterator(
+      CheckedFunction<String, List<FileStatus>, IOException> lister,
+      Function<Path, String> pathToKey) throws IOException {
+    this.lister = lister;
+    this.pathToKey = pathToKey;
+    fetchPage();
+  }
+
+  @Override
+  public boolean hasNext() throws IOException {
+    while (next == null) {
+      if (!page.hasNext()) {
+        if (exhausted) {
+          return false;
+        }
+        fetchPage();
+        continue;
+      }
+      FileStatus status = page.next();
+      startKey = pathToKey.apply(status.getPath());
+      if (status.isFile()) {
+        next = status instanceof LocatedFileStatus
+            ? (LocatedFileStatus) status
+            : new LocatedFileStatus(status, new BlockLocation[0]);
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public LocatedFileStatus next() throws IOException {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No more files");
+    }
+    LocatedFileStatus status = next;
+    next = null;
+    return status;
+  }
+
+  private void fetchPage() throws IOException {
+    List<FileStatus> statuses = lister.apply(startKey);
+    if (!statuses.isEmpty() && !startKey.isEmpty()
+        && startKey.equals(pathToKey.apply(statuses.get(0).getPath()))) {
+      // The start key was returned by the previous page.
+      statuses = statuses.subList(1, statuses.size());
+    }
+    // The server may return fewer entries than requested, so the listing
+    // ends only when a page has nothing new.
+    exhausted = statuses.isEmpty();
+    page = statuses.iterator();
+  }
+}
@@ -157,6 +157,11 @@ public final class  ReconServerConfigKeys {
   public static final long
       OZONE_RECON_CONTAINER_KEY_FLUSH_TO_DB_MAX_THRESHOLD_DEFAULT = 150 * 1000L;
 
+  public static final String OZONE_RECON_TASK_REPROCESS_MAX_THREADS =
+      "ozone.recon.task.reprocess.max.threads";
+
+  public static final int OZONE_RECON_TASK_REPROCESS_MAX_THREADS_DEFAULT = 4;
+
   public static final String OZONE_RECON_SCM_SNAPSHOT_TASK_INTERVAL_DELAY =
       "ozone.recon.scm.snapshot.task.interval.delay";
 
@@ -583,7 +583,8 @@ private void getPendingForDeletionDirInfo(
 
   /**
    * Given an object ID, return total data size (no replication)
-   * under this object. Note:- This method is RECURSIVE.
+   * under this object. Note:- This method is RECURSIVE for summaries
+   * without subtree totals.
    *
    * @param objectId the object's ID
    * @return total used data size in bytes
@@ -595,6 +596,9 @@ protected long fetchSizeForDeletedDirectory(long objectId)
     if (nsSummary == null) {
       return 0L;
     }
+    if (nsSummary.hasSubtreeTotals()) {
+      return nsSummary.getTotalSizeOfFiles();
+    }
     long totalSize = nsSummary.getSizeOfFiles();
     for (long childId : nsSummary.getChildDir()) {
       totalSize += fetchSizeForDeletedDirectory(childId);
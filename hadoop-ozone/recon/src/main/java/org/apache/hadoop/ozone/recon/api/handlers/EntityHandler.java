@@ -211,6 +211,9 @@ protected int[] getTotalFileSizeDist(long objectId) throws IOException {
     if (nsSummary == null) {
       return new int[ReconConstants.NUM_OF_FILE_SIZE_BINS];
     }
+    if (nsSummary.hasSubtreeTotals()) {
+      return nsSummary.getTotalFileSizeBucket();
+    }
     int[] res = nsSummary.getFileSizeBucket();
     for (long childId: nsSummary.getChildDir()) {
       int[] subDirFileSizeDist = getTotalFileSizeDist(childId);
@@ -227,6 +230,9 @@ protected int getTotalDirCount(long objectId) throws IOException {
     if (nsSummary == null) {
       return 0;
     }
+    if (nsSummary.hasSubtreeTotals()) {
+      return (int) nsSummary.getTotalNumOfDirs();
+    }
     Set<Long> subdirs = nsSummary.getChildDir();
     int totalCnt = subdirs.size();
     for (long subdir : subdirs) {
@@ -246,6 +252,9 @@ protected long getTotalKeyCount(long objectId) throws IOException {
     if (nsSummary == null) {
       return 0L;
     }
+    if (nsSummary.hasSubtreeTotals()) {
+      return nsSummary.getTotalNumOfFiles();
+    }
     long totalCnt = nsSummary.getNumOfFiles();
     for (long childId: nsSummary.getChildDir()) {
       totalCnt += getTotalKeyCount(childId);
@@ -265,6 +274,9 @@ protected long getTotalSize(long objectId) throws IOException {
     if (nsSummary == null) {
       return 0L;
     }
+    if (nsSummary.hasSubtreeTotals()) {
+      return nsSummary.getTotalSizeOfFiles();
+    }
     long totalSize = nsSummary.getSizeOfFiles();
     for (long childId: nsSummary.getChildDir()) {
       totalSize += getTotalSize(childId);
@@ -123,6 +123,16 @@ public EntityType determineKeyPath(String keyName)
   @Override
   public long calculateDUUnderObject(long parentId)
       throws IOException {
+    NSSummary nsSummary = getReconNamespaceSummaryManager()
+            .getNSSummary(parentId);
+    // empty bucket
+    if (nsSummary == null) {
+      return 0;
+    }
+    if (nsSummary.hasSubtreeTotals()) {
+      return nsSummary.getTotalReplicatedSizeOfFiles();
+    }
+
     Table<String, OmKeyInfo> keyTable = getOmMetadataManager().getFileTable();
 
     long totalDU = 0L;
@@ -153,13 +163,6 @@ public long calculateDUUnderObject(long parentId)
     }
 
     // handle nested keys (DFS)
-    NSSummary nsSummary = getReconNamespaceSummaryManager()
-            .getNSSummary(parentId);
-    // empty bucket
-    if (nsSummary == null) {
-      return 0;
-    }
-
     Set<Long> subDirIds = nsSummary.getChildDir();
     for (long subDirId: subDirIds) {
       totalDU += calculateDUUnderObject(subDirId);
@@ -133,6 +133,9 @@ public long calculateDUUnderObject(long parentId)
     if (nsSummary == null) {
       return 0;
     }
+    if (nsSummary.hasSubtreeTotals()) {
+      return nsSummary.getTotalReplicatedSizeOfFiles();
+    }
 
     if (omBucketInfo.getObjectID() != parentId) {
       String dirName = nsSummary.getDirName();
@@ -166,7 +166,8 @@ public long handleDirectKeys(long parentId, boolean withReplica,
    * Calculates the total disk usage (DU) for an Object Store Bucket (OBS) by
    * summing the sizes of all keys contained within the bucket.
    * Since OBS buckets operate on a flat hierarchy, this method iterates through
-   * all the keys in the bucket without the need to traverse directories.
+   * all the keys in the bucket without the need to traverse directories,
+   * unless the bucket's namespace summary already holds the total.
    *
    * @param parentId The identifier for the parent bucket.
    * @return The total disk usage of all keys within the specified OBS bucket.
@@ -174,6 +175,12 @@ public long handleDirectKeys(long parentId, boolean withReplica,
    */
   @Override
   public long calculateDUUnderObject(long parentId) throws IOException {
+    NSSummary nsSummary = getReconNamespaceSummaryManager()
+        .getNSSummary(parentId);
+    if (nsSummary != null && nsSummary.hasSubtreeTotals()) {
+      return nsSummary.getTotalSizeOfFiles();
+    }
+
     // Initialize the total disk usage variable.
     long totalDU = 0L;
 
@@ -28,6 +28,9 @@
 
 /**
  * Class to encapsulate namespace metadata summaries from OM.
+ * Besides the direct files and child directories of an object, a summary
+ * holds totals rolled up over its whole subtree, so that the size and counts
+ * under a path are available without visiting every directory below it.
  */
 
 public class NSSummary {
@@ -37,12 +40,26 @@ public class NSSummary {
   private Set<Long> childDir;
   private String dirName;
   private long parentId = 0;
+  // Totals over the whole subtree, the direct files and dirs included.
+  // A negative file count means the totals are unknown, e.g. for a summary
+  // written before the totals were tracked.
+  private long totalNumOfFiles = -1;
+  private long totalSizeOfFiles;
+  private long totalReplicatedSizeOfFiles;
+  private int[] totalFileSizeBucket =
+      new int[ReconConstants.NUM_OF_FILE_SIZE_BINS];
+  private long totalNumOfDirs;
 
   public NSSummary() {
     this(0, 0L, new int[ReconConstants.NUM_OF_FILE_SIZE_BINS],
         new HashSet<>(), "", 0);
+    this.totalNumOfFiles = 0;
   }
 
+  /**
+   * Creates a summary from its direct files and child dirs only.
+   * Its subtree totals are unknown.
+   */
   public NSSummary(int numOfFiles,
                    long sizeOfFiles,
                    int[] bucket,
@@ -118,4 +135,64 @@ public long getParentId() {
   public void setParentId(long parentId) {
     this.parentId = parentId;
   }
+
+  /**
+   * @return true if the subtree totals of this summary are known.
+   */
+  public boolean hasSubtreeTotals() {
+    return totalNumOfFiles >= 0;
+  }
+
+  /**
+   * Marks the subtree totals of this summary as unknown.
+   */
+  public void clearSubtreeTotals() {
+    this.totalNumOfFiles = -1;
+    this.totalSizeOfFiles = 0;
+    this.totalReplicatedSizeOfFiles = 0;
+    this.totalFileSizeBucket = new int[ReconConstants.NUM_OF_FILE_SIZE_BINS];
+    this.totalNumOfDirs = 0;
+  }
+
+  public long getTotalNumOfFiles() {
+    return totalNumOfFiles;
+  }
+
+  public long getTotalSizeOfFiles() {
+    return totalSizeOfFiles;
+  }
+
+  public long getTotalReplicatedSizeOfFiles() {
+    return totalReplicatedSizeOfFiles;
+  }
+
+  public int[] getTotalFileSizeBucket() {
+    return Arrays.copyOf(totalFileSizeBucket,
+        ReconConstants.NUM_OF_FILE_SIZE_BINS);
+  }
+
+  public long getTotalNumOfDirs() {
+    return totalNumOfDirs;
+  }
+
+  public void setTotalNumOfFiles(long totalNumOfFiles) {
+    this.totalNumOfFiles = totalNumOfFiles;
+  }
+
+  public void setTotalSizeOfFiles(long totalSizeOfFiles) {
+    this.totalSizeOfFiles = totalSizeOfFiles;
+  }
+
+  public void setTotalReplicatedSizeOfFiles(long totalReplicatedSizeOfFiles) {
+    this.totalReplicatedSizeOfFiles = totalReplicatedSizeOfFiles;
+  }
+
+  public void setTotalFileSizeBucket(int[] totalFileSizeBucket) {
+    this.totalFileSizeBucket = Arrays.copyOf(totalFileSizeBucket,
+        ReconConstants.NUM_OF_FILE_SIZE_BINS);
+  }
+
+  public void setTotalNumOfDirs(long totalNumOfDirs) {
+    this.totalNumOfDirs = totalNumOfDirs;
+  }
 }
@@ -73,7 +73,10 @@ public byte[] toPersistedFormat(NSSummary object) throws IOException {
         + (numOfChildDirs + 1) * Long.BYTES // 1 long field for parentId + list size
         + Short.BYTES // 2 dummy shorts to track length
         + stringLen // directory name length
-        + Long.BYTES; // Added space for parentId serialization
+        + Long.BYTES // Added space for parentId serialization
+        + 4 * Long.BYTES // subtree totals
+        + Short.BYTES // dummy short to track length
+        + ReconConstants.NUM_OF_FILE_SIZE_BINS * Integer.BYTES; // subtree bins
 
     ByteArrayOutputStream out = new ByteArrayOutputStream(resSize);
     out.write(integerCodec.toPersistedFormat(object.getNumOfFiles()));
@@ -91,6 +94,17 @@ public byte[] toPersistedFormat(NSSummary object) throws IOException {
     out.write(integerCodec.toPersistedFormat(stringLen));
     out.write(stringCodec.toPersistedFormat(dirName));
     out.write(longCodec.toPersistedFormat(object.getParentId()));
+    out.write(longCodec.toPersistedFormat(object.getTotalNumOfFiles()));
+    out.write(longCodec.toPersistedFormat(object.getTotalSizeOfFiles()));
+    out.write(longCodec.toPersistedFormat(
+        object.getTotalReplicatedSizeOfFiles()));
+    out.write(longCodec.toPersistedFormat(object.getTotalNumOfDirs()));
+    out.write(shortCodec.toPersistedFormat(
+        (short) ReconConstants.NUM_OF_FILE_SIZE_BINS));
+    int[] totalFileSizeBucket = object.getTotalFileSizeBucket();
+    for (int i = 0; i < ReconConstants.NUM_OF_FILE_SIZE_BINS; ++i) {
+      out.write(integerCodec.toPersistedFormat(totalFileSizeBucket[i]));
+    }
 
     return out.toByteArray();
   }
@@ -117,23 +131,39 @@ public NSSummary fromPersistedFormat(byte[] rawData) throws IOException {
     res.setChildDir(childDir);
 
     int strLen = in.readInt();
-    if (strLen == 0) {
-      return res;
+    if (strLen > 0) {
+      byte[] buffer = new byte[strLen];
+      int bytesRead = in.read(buffer);
+      assert (bytesRead == strLen);
+      String dirName = stringCodec.fromPersistedFormat(buffer);
+      res.setDirName(dirName);
     }
-    byte[] buffer = new byte[strLen];
-    int bytesRead = in.read(buffer);
-    assert (bytesRead == strLen);
-    String dirName = stringCodec.fromPersistedFormat(buffer);
-    res.setDirName(dirName);
 
     // Check if there is enough data available to read the parentId
     if (in.available() >= Long.BYTES) {
       long parentId = in.readLong();
       res.setParentId(parentId);
-    } else {
+    } else if (strLen > 0) {
       // Set default parentId to -1 indicating it's from old format
       res.setParentId(-1);
     }
+
+    // Summaries from an older format have no subtree totals
+    if (in.available() == 0) {
+      res.clearSubtreeTotals();
+      return res;
+    }
+    res.setTotalNumOfFiles(in.readLong());
+    res.setTotalSizeOfFiles(in.readLong());
+    res.setTotalReplicatedSizeOfFiles(in.readLong());
+    res.setTotalNumOfDirs(in.readLong());
+    short totalLen = in.readShort();
+    assert (totalLen == (short) ReconConstants.NUM_OF_FILE_SIZE_BINS);
+    int[] totalFileSizeBucket = new int[totalLen];
+    for (int i = 0; i < totalLen; ++i) {
+      totalFileSizeBucket[i] = in.readInt();
+    }
+    res.setTotalFileSizeBucket(totalFileSizeBucket);
     return res;
   }
 
@@ -146,6 +176,11 @@ public NSSummary copyObject(NSSummary object) {
     copy.setChildDir(object.getChildDir());
     copy.setDirName(object.getDirName());
     copy.setParentId(object.getParentId());
+    copy.setTotalNumOfFiles(object.getTotalNumOfFiles());
+    copy.setTotalSizeOfFiles(object.getTotalSizeOfFiles());
+    copy.setTotalReplicatedSizeOfFiles(object.getTotalReplicatedSizeOfFiles());
+    copy.setTotalFileSizeBucket(object.getTotalFileSizeBucket());
+    copy.setTotalNumOfDirs(object.getTotalNumOfDirs());
     return copy;
   }
 }
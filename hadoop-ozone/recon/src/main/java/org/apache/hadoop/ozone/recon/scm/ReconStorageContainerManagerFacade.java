@@ -161,6 +161,7 @@
   private ReconNodeManager nodeManager;
   private ReconPipelineManager pipelineManager;
   private ReconContainerManager containerManager;
+  private ContainerReportHandler containerReportHandler;
   private NetworkTopology clusterMap;
   private StorageContainerServiceProvider scmServiceProvider;
   private Set<ReconScmTask> reconScmTasks = new HashSet<>();
@@ -292,7 +293,7 @@ public ReconStorageContainerManagerFacade(OzoneConfiguration conf,
         pipelineManager, containerManager, scmServiceProvider,
         containerHealthTask, pipelineSyncTask, containerSizeCountTask);
 
-    ContainerReportHandler containerReportHandler =
+    containerReportHandler =
         new ReconContainerReportHandler(nodeManager, containerManager);
     IncrementalContainerReportHandler icrHandler =
         new ReconIncrementalContainerReportHandler(nodeManager,
@@ -471,6 +472,7 @@ public void stop() {
     } catch (Exception ex) {
       LOG.error("SCM Event Queue stop failed", ex);
     }
+    IOUtils.cleanupWithLogger(LOG, containerReportHandler);
     IOUtils.cleanupWithLogger(LOG, nodeManager);
     IOUtils.cleanupWithLogger(LOG, containerManager);
     IOUtils.cleanupWithLogger(LOG, pipelineManager);
@@ -48,6 +48,22 @@ void reinitWithNewContainerDataFromOm(Map<ContainerKeyPrefix, Integer>
                                     containerKeyPrefixCounts)
       throws IOException;
 
+  /**
+   * Bulk store the container to Key prefix mapping into the Recon Container
+   * DB, by ingesting SST files built from the mapping. This is much cheaper
+   * than batched puts for the large amounts of new mappings of a reprocess.
+   * Each call ingests one SST file per table. The files of different calls
+   * may overlap, so they land in level 0 and are merged by the following
+   * compactions. Callers should pass large maps, so that a reprocess writes
+   * a few large files rather than many small ones.
+   *
+   * @param containerKeyPrefixCounts Map of containerId, key-prefix tuple to
+   *                                 key count.
+   */
+  void bulkStoreContainerKeyMappings(Map<ContainerKeyPrefix, Integer>
+                                         containerKeyPrefixCounts)
+      throws IOException;
+
   /**
    * Store the container to Key prefix mapping into the Recon Container DB.
    *
@@ -25,7 +25,9 @@
 import static org.apache.hadoop.ozone.recon.spi.impl.ReconDBDefinition.CONTAINER_KEY;
 import static org.apache.hadoop.ozone.recon.spi.impl.ReconDBDefinition.CONTAINER_KEY_COUNT;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -33,15 +35,19 @@
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.UUID;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import com.google.common.primitives.UnsignedBytes;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.hdds.utils.db.BatchOperation;
 import org.apache.hadoop.hdds.utils.db.RDBBatchOperation;
+import org.apache.hadoop.hdds.utils.db.RDBSstFileWriter;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.recon.ReconUtils;
@@ -190,6 +196,60 @@ public void batchStoreContainerKeyMapping(BatchOperation batch,
     }
   }
 
+  @Override
+  public void bulkStoreContainerKeyMappings(Map<ContainerKeyPrefix, Integer>
+                                                containerKeyPrefixCounts)
+      throws IOException {
+    // SST files must be sorted in the order of the DB.
+    SortedMap<byte[], byte[]> containerKeyEntries =
+        new TreeMap<>(UnsignedBytes.lexicographicalComparator());
+    SortedMap<byte[], byte[]> keyContainerEntries =
+        new TreeMap<>(UnsignedBytes.lexicographicalComparator());
+    for (Map.Entry<ContainerKeyPrefix, Integer> entry :
+        containerKeyPrefixCounts.entrySet()) {
+      byte[] count =
+          CONTAINER_KEY.getValueCodec().toPersistedFormat(entry.getValue());
+      containerKeyEntries.put(
+          CONTAINER_KEY.getKeyCodec().toPersistedFormat(entry.getKey()),
+          count);
+      KeyPrefixContainer keyPrefixContainer =
+          entry.getKey().toKeyPrefixContainer();
+      if (keyPrefixContainer != null) {
+        keyContainerEntries.put(
+            KEY_CONTAINER.getKeyCodec().toPersistedFormat(keyPrefixContainer),
+            count);
+      }
+    }
+    ingestEntries(containerKeyTable, containerKeyEntries);
+    ingestEntries(keyContainerTable, keyContainerEntries);
+  }
+
+  /**
+   * Write the sorted, encoded entries into an SST file next to the container
+   * DB and ingest it into the table. A file overlapping the table's existing
+   * keys is ingested into level 0, where it adds to the compaction work.
+   */
+  private void ingestEntries(Table<?, ?> table,
+                             SortedMap<byte[], byte[]> entries)
+      throws IOException {
+    if (entries.isEmpty()) {
+      return;
+    }
+    File sstFile = File.createTempFile(table.getName(), ".sst",
+        containerDbStore.getDbLocation().getParentFile());
+    try {
+      try (RDBSstFileWriter sstFileWriter = new RDBSstFileWriter()) {
+        sstFileWriter.open(sstFile);
+        for (Map.Entry<byte[], byte[]> entry : entries.entrySet()) {
+          sstFileWriter.put(entry.getKey(), entry.getValue());
+        }
+      }
+      table.loadFromFile(sstFile);
+    } finally {
+      Files.deleteIfExists(sstFile.toPath());
+    }
+  }
+
   /**
    * Store the containerID -&gt; no. of keys count into the container DB store.
    *
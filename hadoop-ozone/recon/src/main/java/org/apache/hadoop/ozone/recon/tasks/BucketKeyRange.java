@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.recon.tasks;
+
+import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.hdds.utils.db.TableIterator;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A range of keys of an OM table, from a start key, inclusive, to an end key,
+ * exclusive. The ranges are split at bucket prefixes, so each holds whole
+ * buckets. Reprocess runs process the ranges of a table in parallel, as the
+ * keys, and the namespace summaries, of different buckets are disjoint.
+ */
+final class BucketKeyRange {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(BucketKeyRange.class);
+
+  /** Orders keys as RocksDB does. */
+  private static final Comparator<byte[]> KEY_COMPARATOR =
+      UnsignedBytes.lexicographicalComparator();
+
+  /** Number of ranges per thread, to even out buckets of different sizes. */
+  private static final int RANGES_PER_THREAD = 4;
+
+  /** Start of the range, or null for the start of the table. */
+  private final String startKey;
+  /** End of the range, or null for the end of the table. */
+  private final byte[] endKey;
+
+  private BucketKeyRange(String startKey, byte[] endKey) {
+    this.startKey = startKey;
+    this.endKey = endKey;
+  }
+
+  /**
+   * Handles an entry of a range.
+   * @param <V> type of the table values
+   */
+  interface EntryHandler<V> {
+    /**
+     * @return false to stop processing the range
+     */
+    boolean handle(Table.KeyValue<String, V> kv) throws IOException;
+  }
+
+  /**
+   * Splits a table into ranges that together cover the whole table.
+   * With a single thread, the whole table is a single range.
+   *
+   * @param bucketPrefixes DB key prefixes of the buckets in the table
+   * @param maxThreads number of threads the ranges are processed with
+   */
+  static List<BucketKeyRange> split(Collection<String> bucketPrefixes,
+      int maxThreads) {
+    if (maxThreads <= 1) {
+      return Collections.singletonList(new BucketKeyRange(null, null));
+    }
+    List<byte[]> splitKeys = new ArrayList<>();
+    for (String prefix : bucketPrefixes) {
+      splitKeys.add(prefix.getBytes(StandardCharsets.UTF_8));
+    }
+    splitKeys.sort(KEY_COMPARATOR);
+
+    int maxRanges = maxThreads * RANGES_PER_THREAD;
+    int step = Math.max(1, (splitKeys.size() + maxRanges - 1) / maxRanges);
+    List<BucketKeyRange> ranges = new ArrayList<>();
+    String start = null;
+    for (int i = step; i < splitKeys.size(); i += step) {
+      byte[] end = splitKeys.get(i);
+      ranges.add(new BucketKeyRange(start, end));
+      start = new String(end, StandardCharsets.UTF_8);
+    }
+    ranges.add(new BucketKeyRange(start, null));
+    return ranges;
+  }
+
+  /**
+   * Returns the DB key prefixes of the buckets whose keys are in the file
+   * and directory tables if fso is true, or else in the key table.
+   */
+  static List<String> getBucketPrefixes(OMMetadataManager omMetadataManager,
+      boolean fso) throws IOException {
+    List<String> prefixes = new ArrayList<>();
+    try (TableIterator<String, ? extends Table.KeyValue<String, OmBucketInfo>>
+             iterator = omMetadataManager.getBucketTable().iterator()) {
+      while (iterator.hasNext()) {
+        OmBucketInfo bucketInfo = iterator.next().getValue();
+        boolean fsoBucket = bucketInfo.getBucketLayout() ==
+            BucketLayout.FILE_SYSTEM_OPTIMIZED;
+        if (fsoBucket != fso) {
+          continue;
+        }
+        String volumeName = bucketInfo.getVolumeName();
+        String bucketName = bucketInfo.getBucketName();
+        if (!fso) {
+          prefixes.add(omMetadataManager.getBucketKeyPrefix(
+              volumeName, bucketName));
+          continue;
+        }
+        try {
+          prefixes.add(omMetadataManager.getBucketKeyPrefixFSO(
+              volumeName, bucketName));
+        } catch (IOException e) {
+          // A missing split point only makes a range larger.
+          LOG.debug("Unable to get the key prefix of bucket {}/{}.",
+              volumeName, bucketName, e);
+        }
+      }
+    }
+    return prefixes;
+  }
+
+  /**
+   * Calls the handler for each entry of the table in this range.
+   * @return false if the handler stopped processing the range,
+   *         or the thread was interrupted
+   */
+  <V> boolean forEach(Table<String, V> table, EntryHandler<V> handler)
+      throws IOException {
+    try (TableIterator<String, ? extends Table.KeyValue<String, V>>
+             iterator = table.iterator()) {
+      if (startKey != null) {
+        iterator.seek(startKey);
+      }
+      while (iterator.hasNext()) {
+        if (Thread.currentThread().isInterrupted()) {
+          LOG.warn("Interrupted while processing the range {}.", this);
+          return false;
+        }
+        Table.KeyValue<String, V> kv = iterator.next();
+        if (endKey != null && KEY_COMPARATOR.compare(
+            kv.getKey().getBytes(StandardCharsets.UTF_8), endKey) >= 0) {
+          break;
+        }
+        if (!handler.handle(kv)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Runs the tasks in parallel on at most maxThreads threads.
+   * @return true if every task returned true
+   */
+  static boolean runAll(List<Callable<Boolean>> tasks, int maxThreads,
+      String threadNameFormat) {
+    if (tasks.size() == 1) {
+      try {
+        return tasks.get(0).call();
+      } catch (Exception e) {
+        LOG.error("Error while reprocessing a range of keys.", e);
+        return false;
+      }
+    }
+    ExecutorService executorService = Executors.newFixedThreadPool(
+        Math.max(1, Math.min(maxThreads, tasks.size())),
+        new ThreadFactoryBuilder().setNameFormat(threadNameFormat)
+            .setDaemon(true).build());
+    try {
+      boolean success = true;
+      for (Future<Boolean> result : executorService.invokeAll(tasks)) {
+        success &= result.get();
+      }
+      return success;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.error("Interrupted while reprocessing ranges of keys.", e);
+      return false;
+    } catch (ExecutionException e) {
+      LOG.error("Error while reprocessing a range of keys.", e);
+      return false;
+    } finally {
+      executorService.shutdownNow();
+      awaitTermination(executorService);
+    }
+  }
+
+  /**
+   * Waits for the tasks to stop, so that none of them is still writing to the
+   * DB when {@link #runAll} returns.
+   */
+  private static void awaitTermination(ExecutorService executorService) {
+    // Clear the interrupt, if any, to be able to wait.
+    boolean interrupted = Thread.interrupted();
+    try {
+      while (!executorService.awaitTermination(1, TimeUnit.MINUTES)) {
+        LOG.info("Waiting for the reprocess tasks to stop.");
+      }
+    } catch (InterruptedException e) {
+      LOG.warn("Interrupted while waiting for the reprocess tasks to stop.");
+      interrupted = true;
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "[" + startKey + ", " + (endKey == null ? null
+        : new String(endKey, StandardCharsets.UTF_8)) + ")";
+  }
+}
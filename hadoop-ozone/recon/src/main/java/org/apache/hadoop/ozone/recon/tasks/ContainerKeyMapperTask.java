@@ -34,6 +34,9 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
@@ -66,6 +69,7 @@ public class ContainerKeyMapperTask implements ReconOmTask {
 
   private ReconContainerMetadataManager reconContainerMetadataManager;
   private final long containerKeyFlushToDBMaxThreshold;
+  private final int reprocessMaxThreads;
 
   @Inject
   public ContainerKeyMapperTask(ReconContainerMetadataManager
@@ -78,21 +82,24 @@ public ContainerKeyMapperTask(ReconContainerMetadataManager
         ReconServerConfigKeys.
             OZONE_RECON_CONTAINER_KEY_FLUSH_TO_DB_MAX_THRESHOLD_DEFAULT
     );
+    this.reprocessMaxThreads = configuration.getInt(
+        ReconServerConfigKeys.OZONE_RECON_TASK_REPROCESS_MAX_THREADS,
+        ReconServerConfigKeys.OZONE_RECON_TASK_REPROCESS_MAX_THREADS_DEFAULT);
   }
 
   /**
    * Read Key -&gt; ContainerId data from OM snapshot DB and write reverse map
    * (container, key) -&gt; count to Recon Container DB.
+   * The key and file tables are split into ranges of whole buckets that are
+   * processed in parallel. The mappings of each range are bulk loaded into
+   * the container DB, and the per container key counts are merged at the end.
    */
   @Override
   public Pair<String, Boolean> reprocess(OMMetadataManager omMetadataManager) {
-    long omKeyCount = 0;
+    AtomicLong omKeyCount = new AtomicLong();
 
-    // In-memory maps for fast look up and batch write
-    // (container, key) -> count
-    Map<ContainerKeyPrefix, Integer> containerKeyMap = new HashMap<>();
-    // containerId -> key count
-    Map<Long, Long> containerKeyCountMap = new HashMap<>();
+    // containerId -> key count, merged from all the ranges
+    Map<Long, Long> containerKeyCountMap = new ConcurrentHashMap<>();
     try {
       LOG.debug("Starting a 'reprocess' run of ContainerKeyMapperTask.");
       Instant start = Instant.now();
@@ -102,46 +109,40 @@ public Pair<String, Boolean> reprocess(OMMetadataManager omMetadataManager) {
               .reinitWithNewContainerDataFromOm(new HashMap<>());
 
       // loop over both key table and file table
+      List<Callable<Boolean>> tasks = new ArrayList<>();
       for (BucketLayout layout : Arrays.asList(BucketLayout.LEGACY,
           BucketLayout.FILE_SYSTEM_OPTIMIZED)) {
-        // (HDDS-8580) Since "reprocess" iterate over the whole key table,
-        // containerKeyMap needs to be incrementally flushed to DB based on
-        // configured batch threshold.
-        // containerKeyCountMap can be flushed at the end since the number
-        // of containers in a cluster will not have significant memory overhead.
         Table<String, OmKeyInfo> omKeyInfoTable =
             omMetadataManager.getKeyTable(layout);
-        try (
-            TableIterator<String, ? extends Table.KeyValue<String, OmKeyInfo>>
-                keyIter = omKeyInfoTable.iterator()) {
-          while (keyIter.hasNext()) {
-            Table.KeyValue<String, OmKeyInfo> kv = keyIter.next();
-            OmKeyInfo omKeyInfo = kv.getValue();
-            handleKeyReprocess(kv.getKey(), omKeyInfo, containerKeyMap,
-                containerKeyCountMap);
-            if (!checkAndCallFlushToDB(containerKeyMap)) {
-              LOG.error("Unable to flush containerKey information to the DB");
-              return new ImmutablePair<>(getTaskName(), false);
-            }
-            omKeyCount++;
-          }
+        List<BucketKeyRange> ranges = BucketKeyRange.split(
+            BucketKeyRange.getBucketPrefixes(omMetadataManager,
+                layout == BucketLayout.FILE_SYSTEM_OPTIMIZED),
+            reprocessMaxThreads);
+        for (BucketKeyRange range : ranges) {
+          tasks.add(() -> reprocessRange(range, omKeyInfoTable,
+              containerKeyCountMap, omKeyCount));
         }
       }
+      if (!BucketKeyRange.runAll(tasks, reprocessMaxThreads,
+          "Recon-ContainerKeyMapperTask-%d")) {
+        return new ImmutablePair<>(getTaskName(), false);
+      }
 
-      // flush and commit left out keys at end,
-      // also batch write containerKeyCountMap to the containerKeyCountTable
-      if (!flushAndCommitContainerKeyInfoToDB(containerKeyMap,
+      // batch write containerKeyCountMap to the containerKeyCountTable
+      long containerCount = containerKeyCountMap.size();
+      if (!flushAndCommitContainerKeyInfoToDB(new HashMap<>(),
           containerKeyCountMap)) {
-        LOG.error("Unable to flush Container Key Count and " +
-            "remaining Container Key information to the DB");
+        LOG.error("Unable to flush Container Key Count information " +
+            "to the DB");
         return new ImmutablePair<>(getTaskName(), false);
       }
+      reconContainerMetadataManager.storeContainerCount(containerCount);
 
       LOG.debug("Completed 'reprocess' of ContainerKeyMapperTask.");
       Instant end = Instant.now();
       long duration = Duration.between(start, end).toMillis();
       LOG.debug("It took me {} seconds to process {} keys.",
-          (double) duration / 1000.0, omKeyCount);
+          (double) duration / 1000.0, omKeyCount.get());
     } catch (IOException ioEx) {
       LOG.error("Unable to populate Container Key data in Recon DB. ",
           ioEx);
@@ -150,6 +151,57 @@ public Pair<String, Boolean> reprocess(OMMetadataManager omMetadataManager) {
     return new ImmutablePair<>(getTaskName(), true);
   }
 
+  /**
+   * Reprocess a range of the key or file table.
+   * (HDDS-8580) Since "reprocess" iterates over the whole table,
+   * containerKeyMap is incrementally bulk loaded into the DB based on the
+   * configured batch threshold. Each bulk load ingests an SST file per table,
+   * so a larger threshold leaves fewer level 0 files for RocksDB to compact
+   * after the reprocess. The key counts of the range are kept in
+   * memory and merged into containerKeyCountMap at the end, since the number
+   * of containers in a cluster will not have significant memory overhead.
+   *
+   * @return true if the range was reprocessed
+   */
+  private boolean reprocessRange(BucketKeyRange range,
+                                 Table<String, OmKeyInfo> omKeyInfoTable,
+                                 Map<Long, Long> containerKeyCountMap,
+                                 AtomicLong omKeyCount) throws IOException {
+    // (container, key) -> count
+    Map<ContainerKeyPrefix, Integer> containerKeyMap = new HashMap<>();
+    // containerId -> key count
+    Map<Long, Long> rangeKeyCountMap = new HashMap<>();
+    boolean success = range.forEach(omKeyInfoTable, kv -> {
+      handleKeyReprocess(kv.getKey(), kv.getValue(), containerKeyMap,
+          rangeKeyCountMap);
+      omKeyCount.incrementAndGet();
+      if (containerKeyMap.size() >= containerKeyFlushToDBMaxThreshold) {
+        return bulkStoreContainerKeyInfo(containerKeyMap);
+      }
+      return true;
+    });
+    if (!success || !bulkStoreContainerKeyInfo(containerKeyMap)) {
+      LOG.error("Unable to flush containerKey information to the DB");
+      return false;
+    }
+    rangeKeyCountMap.forEach((containerId, keyCount) ->
+        containerKeyCountMap.merge(containerId, keyCount, Long::sum));
+    return true;
+  }
+
+  private boolean bulkStoreContainerKeyInfo(
+      Map<ContainerKeyPrefix, Integer> containerKeyMap) {
+    try {
+      reconContainerMetadataManager
+          .bulkStoreContainerKeyMappings(containerKeyMap);
+      containerKeyMap.clear();
+    } catch (IOException e) {
+      LOG.error("Unable to write Container Key data in Recon DB.", e);
+      return false;
+    }
+    return true;
+  }
+
   private boolean flushAndCommitContainerKeyInfoToDB(
       Map<ContainerKeyPrefix, Integer> containerKeyMap,
       Map<Long, Long> containerKeyCountMap) {
@@ -168,17 +220,6 @@ private boolean flushAndCommitContainerKeyInfoToDB(
     return true;
   }
 
-  private boolean checkAndCallFlushToDB(
-      Map<ContainerKeyPrefix, Integer> containerKeyMap) {
-    // if containerKeyMap more than entries, flush to DB and clear the map
-    if (null != containerKeyMap && containerKeyMap.size() >=
-          containerKeyFlushToDBMaxThreshold) {
-      return flushAndCommitContainerKeyInfoToDB(containerKeyMap,
-          Collections.emptyMap());
-    }
-    return true;
-  }
-
   @Override
   public String getTaskName() {
     return "ContainerKeyMapperTask";
@@ -444,25 +485,24 @@ private void handlePutOMKeyEvent(String key, OmKeyInfo omKeyInfo,
   }
 
   /**
-   * Write an OM key to container DB and update containerID -> no. of keys
-   * count to the Global Stats table.
+   * Note to add an OM key to the container DB and update containerID -> no.
+   * of keys count. The container DB is empty at the start of a reprocess and
+   * each key is read once, so the key's mappings only need to be deduplicated
+   * among themselves, without looking them up in the DB.
    *
    * @param key key String
    * @param omKeyInfo omKeyInfo value
    * @param containerKeyMap we keep the added containerKeys in this map
-   *                        to allow incremental batching to containerKeyTable
-   * @param containerKeyCountMap we keep the containerKey counts in this map 
+   *                        to allow incremental bulk loads to containerKeyTable
+   * @param containerKeyCountMap we keep the containerKey counts in this map
    *                             to allow batching to containerKeyCountTable
    *                             after reprocessing is done
-   * @throws IOException if unable to write to recon DB.
    */
   private void handleKeyReprocess(String key,
                                   OmKeyInfo omKeyInfo,
                                   Map<ContainerKeyPrefix, Integer>
                                       containerKeyMap,
-                                  Map<Long, Long> containerKeyCountMap)
-      throws IOException {
-    long containerCountToIncrement = 0;
+                                  Map<Long, Long> containerKeyCountMap) {
     for (OmKeyLocationInfoGroup omKeyLocationInfoGroup : omKeyInfo
         .getKeyLocationVersions()) {
       long keyVersion = omKeyLocationInfoGroup.getVersion();
@@ -471,34 +511,14 @@ private void handleKeyReprocess(String key,
         long containerId = omKeyLocationInfo.getContainerID();
         ContainerKeyPrefix containerKeyPrefix = ContainerKeyPrefix.get(
             containerId, key, keyVersion);
-        if (reconContainerMetadataManager.getCountForContainerKeyPrefix(
-            containerKeyPrefix) == 0
-            && !containerKeyMap.containsKey(containerKeyPrefix)) {
-          // Save on writes. No need to save same container-key prefix
-          // mapping again.
-          containerKeyMap.put(containerKeyPrefix, 1);
-
-          // check if container already exists and
-          // if it exists, update the count of keys for the given containerID
-          // else, increment the count of containers and initialize keyCount
-          long keyCount;
-          if (containerKeyCountMap.containsKey(containerId)) {
-            keyCount = containerKeyCountMap.get(containerId);
-          } else {
-            containerCountToIncrement++;
-            keyCount = 0;
-          }
-
+        // Save on writes. No need to save same container-key prefix
+        // mapping again.
+        if (containerKeyMap.putIfAbsent(containerKeyPrefix, 1) == null) {
           // increment the count and update containerKeyCount.
-          containerKeyCountMap.put(containerId, ++keyCount);
+          containerKeyCountMap.merge(containerId, 1L, Long::sum);
         }
       }
     }
-
-    if (containerCountToIncrement > 0) {
-      reconContainerMetadataManager
-          .incrementContainerCountBy(containerCountToIncrement);
-    }
   }
 
 }
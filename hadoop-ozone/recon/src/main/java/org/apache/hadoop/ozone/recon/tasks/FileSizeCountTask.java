@@ -24,6 +24,7 @@
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfoView;
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.hdds.utils.db.TableIterator;
 import org.apache.hadoop.ozone.recon.ReconUtils;
@@ -103,13 +104,16 @@ public Pair<String, Boolean> reprocess(OMMetadataManager omMetadataManager) {
   private boolean reprocessBucketLayout(BucketLayout bucketLayout,
                                OMMetadataManager omMetadataManager,
                                Map<FileSizeCountKey, Long> fileSizeCountMap) {
-    Table<String, OmKeyInfo> omKeyInfoTable =
-        omMetadataManager.getKeyTable(bucketLayout);
-    try (TableIterator<String, ? extends Table.KeyValue<String, OmKeyInfo>>
-             keyIter = omKeyInfoTable.iterator()) {
+    // Only the volume, bucket and size are needed, use the lazily-decoded
+    // view to avoid parsing the block locations of every key.
+    try (TableIterator<String, ? extends Table.KeyValue<String, OmKeyInfoView>>
+             keyIter = omMetadataManager.getKeyTableView(bucketLayout)
+                 .iterator()) {
       while (keyIter.hasNext()) {
-        Table.KeyValue<String, OmKeyInfo> kv = keyIter.next();
-        handlePutKeyEvent(kv.getValue(), fileSizeCountMap);
+        OmKeyInfoView keyInfoView = keyIter.next().getValue();
+        incrementCount(new FileSizeCountKey(keyInfoView.getVolumeName(),
+            keyInfoView.getBucketName(), ReconUtils.getFileSizeUpperBound(
+                keyInfoView.getDataSize())), fileSizeCountMap);
         //  The time complexity of .size() method is constant time, O(1)
         if (fileSizeCountMap.size() >= 100000) {
           writeCountsToDB(true, fileSizeCountMap);
@@ -262,7 +266,11 @@ private FileSizeCountKey getFileSizeCountKey(OmKeyInfo omKeyInfo) {
    */
   private void handlePutKeyEvent(OmKeyInfo omKeyInfo,
                                  Map<FileSizeCountKey, Long> fileSizeCountMap) {
-    FileSizeCountKey key = getFileSizeCountKey(omKeyInfo);
+    incrementCount(getFileSizeCountKey(omKeyInfo), fileSizeCountMap);
+  }
+
+  private static void incrementCount(FileSizeCountKey key,
+                                     Map<FileSizeCountKey, Long> fileSizeCountMap) {
     Long count = fileSizeCountMap.containsKey(key) ?
         fileSizeCountMap.get(key) + 1L : 1L;
     fileSizeCountMap.put(key, count);
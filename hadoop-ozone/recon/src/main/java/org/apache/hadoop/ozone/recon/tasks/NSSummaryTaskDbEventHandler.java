@@ -30,10 +30,16 @@
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_NSSUMMARY_FLUSH_TO_DB_MAX_THRESHOLD;
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_NSSUMMARY_FLUSH_TO_DB_MAX_THRESHOLD_DEFAULT;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_TASK_REPROCESS_MAX_THREADS;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_TASK_REPROCESS_MAX_THREADS_DEFAULT;
 
 /**
  * Class for holding all NSSummaryTask methods
@@ -48,6 +54,7 @@ public class NSSummaryTaskDbEventHandler {
   private ReconOMMetadataManager reconOMMetadataManager;
 
   private final long nsSummaryFlushToDBMaxThreshold;
+  private final int reprocessMaxThreads;
 
   public NSSummaryTaskDbEventHandler(ReconNamespaceSummaryManager
                                      reconNamespaceSummaryManager,
@@ -60,6 +67,9 @@ public NSSummaryTaskDbEventHandler(ReconNamespaceSummaryManager
     nsSummaryFlushToDBMaxThreshold = ozoneConfiguration.getLong(
         OZONE_RECON_NSSUMMARY_FLUSH_TO_DB_MAX_THRESHOLD,
         OZONE_RECON_NSSUMMARY_FLUSH_TO_DB_MAX_THRESHOLD_DEFAULT);
+    reprocessMaxThreads = ozoneConfiguration.getInt(
+        OZONE_RECON_TASK_REPROCESS_MAX_THREADS,
+        OZONE_RECON_TASK_REPROCESS_MAX_THREADS_DEFAULT);
   }
 
   public ReconNamespaceSummaryManager getReconNamespaceSummaryManager() {
@@ -70,6 +80,49 @@ public ReconOMMetadataManager getReconOMMetadataManager() {
     return reconOMMetadataManager;
   }
 
+  int getReprocessMaxThreads() {
+    return reprocessMaxThreads;
+  }
+
+  /**
+   * Reprocesses a range of OM tables into a map of summaries.
+   */
+  interface RangeReprocessor {
+    /**
+     * @return false if the reprocess failed
+     */
+    boolean reprocess(BucketKeyRange range, Map<Long, NSSummary> nsSummaryMap)
+        throws IOException;
+  }
+
+  /**
+   * Reprocesses the ranges in parallel, each into its own map of summaries.
+   * The ranges hold whole buckets, so the summaries they update are disjoint.
+   * @return true if all the ranges were reprocessed and written to the DB
+   */
+  boolean reprocessInParallel(List<BucketKeyRange> ranges,
+      RangeReprocessor reprocessor) {
+    List<Callable<Boolean>> tasks = new ArrayList<>();
+    for (BucketKeyRange range : ranges) {
+      tasks.add(() -> {
+        Map<Long, NSSummary> nsSummaryMap = new HashMap<>();
+        try {
+          if (!reprocessor.reprocess(range, nsSummaryMap)) {
+            return false;
+          }
+        } catch (IOException ioEx) {
+          LOG.error("Unable to reprocess Namespace Summary data in Recon DB. ",
+              ioEx);
+          return false;
+        }
+        // flush and commit left out entries at end
+        return flushAndCommitNSToDB(nsSummaryMap);
+      });
+    }
+    return BucketKeyRange.runAll(tasks, reprocessMaxThreads,
+        "Recon-" + getClass().getSimpleName() + "-%d");
+  }
+
   protected void writeNSSummariesToDB(Map<Long, NSSummary> nsSummaryMap)
       throws IOException {
     try (RDBBatchOperation rdbBatchOperation = new RDBBatchOperation()) {
@@ -111,6 +164,10 @@ protected void handlePutKeyEvent(OmKeyInfo keyInfo, Map<Long,
     ++fileBucket[binIndex];
     nsSummary.setFileSizeBucket(fileBucket);
     nsSummaryMap.put(parentObjectId, nsSummary);
+
+    NSSummary delta = getFileDelta(keyInfo);
+    addToSubtreeTotals(nsSummary, delta, 1);
+    propagateToAncestors(parentObjectId, nsSummary, delta, 1, nsSummaryMap);
   }
 
   protected void handlePutDirEvent(OmDirectoryInfo directoryInfo,
@@ -148,8 +205,16 @@ protected void handlePutDirEvent(OmDirectoryInfo directoryInfo,
       // as this is a new ID
       nsSummary = new NSSummary();
     }
+    boolean linked = !nsSummary.getChildDir().contains(objectId);
     nsSummary.addChildDir(objectId);
     nsSummaryMap.put(parentObjectId, nsSummary);
+
+    // The subtree of a newly linked directory now counts towards its parent
+    if (linked) {
+      NSSummary delta = getSubtreeDelta(curNSSummary);
+      addToSubtreeTotals(nsSummary, delta, 1);
+      propagateToAncestors(parentObjectId, nsSummary, delta, 1, nsSummaryMap);
+    }
   }
 
   protected void handleDeleteKeyEvent(OmKeyInfo keyInfo,
@@ -183,6 +248,10 @@ protected void handleDeleteKeyEvent(OmKeyInfo keyInfo,
     --fileBucket[binIndex];
     nsSummary.setFileSizeBucket(fileBucket);
     nsSummaryMap.put(parentObjectId, nsSummary);
+
+    NSSummary delta = getFileDelta(keyInfo);
+    addToSubtreeTotals(nsSummary, delta, -1);
+    propagateToAncestors(parentObjectId, nsSummary, delta, -1, nsSummaryMap);
   }
 
   protected void handleDeleteDirEvent(OmDirectoryInfo directoryInfo,
@@ -203,8 +272,116 @@ protected void handleDeleteDirEvent(OmDirectoryInfo directoryInfo,
       return;
     }
 
+    if (!nsSummary.getChildDir().contains(objectId)) {
+      return;
+    }
     nsSummary.removeChildDir(objectId);
     nsSummaryMap.put(parentObjectId, nsSummary);
+
+    // The subtree of the directory no longer counts towards its ancestors.
+    // Its own summary is kept, as its files are deleted separately.
+    NSSummary curNSSummary = getNSSummary(objectId, nsSummaryMap);
+    NSSummary delta = getSubtreeDelta(
+        curNSSummary != null ? curNSSummary : new NSSummary());
+    addToSubtreeTotals(nsSummary, delta, -1);
+    propagateToAncestors(parentObjectId, nsSummary, delta, -1, nsSummaryMap);
+  }
+
+  private NSSummary getNSSummary(long objectId,
+      Map<Long, NSSummary> nsSummaryMap) throws IOException {
+    NSSummary nsSummary = nsSummaryMap.get(objectId);
+    if (nsSummary == null) {
+      nsSummary = reconNamespaceSummaryManager.getNSSummary(objectId);
+    }
+    return nsSummary;
+  }
+
+  /**
+   * Returns the subtree totals contributed by a single file.
+   */
+  private static NSSummary getFileDelta(OmKeyInfo keyInfo) {
+    NSSummary delta = new NSSummary();
+    long dataSize = keyInfo.getDataSize();
+    delta.setTotalNumOfFiles(1);
+    delta.setTotalSizeOfFiles(dataSize);
+    delta.setTotalReplicatedSizeOfFiles(keyInfo.getReplicatedSize());
+    int[] fileBucket = delta.getTotalFileSizeBucket();
+    ++fileBucket[ReconUtils.getFileSizeBinIndex(dataSize)];
+    delta.setTotalFileSizeBucket(fileBucket);
+    return delta;
+  }
+
+  /**
+   * Returns the subtree totals contributed by a directory, itself included.
+   */
+  private static NSSummary getSubtreeDelta(NSSummary dirSummary) {
+    NSSummary delta = new NSSummary();
+    if (!dirSummary.hasSubtreeTotals()) {
+      delta.clearSubtreeTotals();
+      return delta;
+    }
+    delta.setTotalNumOfFiles(dirSummary.getTotalNumOfFiles());
+    delta.setTotalSizeOfFiles(dirSummary.getTotalSizeOfFiles());
+    delta.setTotalReplicatedSizeOfFiles(
+        dirSummary.getTotalReplicatedSizeOfFiles());
+    delta.setTotalFileSizeBucket(dirSummary.getTotalFileSizeBucket());
+    delta.setTotalNumOfDirs(dirSummary.getTotalNumOfDirs() + 1);
+    return delta;
+  }
+
+  /**
+   * Adds (sign 1) or subtracts (sign -1) the delta from the subtree totals of
+   * the summary. Unknown totals on either side leave the summary's totals
+   * unknown.
+   */
+  private static void addToSubtreeTotals(NSSummary nsSummary, NSSummary delta,
+      int sign) {
+    if (!nsSummary.hasSubtreeTotals()) {
+      return;
+    }
+    if (!delta.hasSubtreeTotals()) {
+      nsSummary.clearSubtreeTotals();
+      return;
+    }
+    nsSummary.setTotalNumOfFiles(
+        nsSummary.getTotalNumOfFiles() + sign * delta.getTotalNumOfFiles());
+    nsSummary.setTotalSizeOfFiles(
+        nsSummary.getTotalSizeOfFiles() + sign * delta.getTotalSizeOfFiles());
+    nsSummary.setTotalReplicatedSizeOfFiles(
+        nsSummary.getTotalReplicatedSizeOfFiles()
+            + sign * delta.getTotalReplicatedSizeOfFiles());
+    nsSummary.setTotalNumOfDirs(
+        nsSummary.getTotalNumOfDirs() + sign * delta.getTotalNumOfDirs());
+    int[] fileBucket = nsSummary.getTotalFileSizeBucket();
+    int[] deltaBucket = delta.getTotalFileSizeBucket();
+    for (int i = 0; i < fileBucket.length; ++i) {
+      fileBucket[i] += sign * deltaBucket[i];
+    }
+    nsSummary.setTotalFileSizeBucket(fileBucket);
+  }
+
+  /**
+   * Applies the delta to the subtree totals of every ancestor of the object.
+   * The walk stops at the bucket, or at the first ancestor that no longer
+   * links to the subtree, e.g. a directory pending deletion, whose totals
+   * were already taken out of its former ancestors.
+   */
+  private void propagateToAncestors(long objectId, NSSummary nsSummary,
+      NSSummary delta, int sign, Map<Long, NSSummary> nsSummaryMap)
+      throws IOException {
+    long childId = objectId;
+    long parentId = nsSummary.getParentId();
+    while (parentId > 0) {
+      NSSummary parentSummary = getNSSummary(parentId, nsSummaryMap);
+      if (parentSummary == null ||
+          !parentSummary.getChildDir().contains(childId)) {
+        return;
+      }
+      addToSubtreeTotals(parentSummary, delta, sign);
+      nsSummaryMap.put(parentId, parentSummary);
+      childId = parentId;
+      parentId = parentSummary.getParentId();
+    }
   }
 
   protected boolean flushAndCommitNSToDB(Map<Long, NSSummary> nsSummaryMap) {
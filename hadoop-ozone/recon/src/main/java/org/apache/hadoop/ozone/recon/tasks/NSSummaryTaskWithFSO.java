@@ -19,7 +19,6 @@
 package org.apache.hadoop.ozone.recon.tasks;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.utils.db.Table;
-import org.apache.hadoop.hdds.utils.db.TableIterator;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
@@ -35,6 +34,7 @@
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.DIRECTORY_TABLE;
@@ -167,47 +167,33 @@ public boolean processWithFSO(OMUpdateEventBatch events) {
   }
 
   public boolean reprocessWithFSO(OMMetadataManager omMetadataManager) {
-    Map<Long, NSSummary> nsSummaryMap = new HashMap<>();
-
+    List<BucketKeyRange> ranges;
     try {
-      Table<String, OmDirectoryInfo> dirTable =
-          omMetadataManager.getDirectoryTable();
-      try (TableIterator<String,
-              ? extends Table.KeyValue<String, OmDirectoryInfo>>
-                dirTableIter = dirTable.iterator()) {
-        while (dirTableIter.hasNext()) {
-          Table.KeyValue<String, OmDirectoryInfo> kv = dirTableIter.next();
-          OmDirectoryInfo directoryInfo = kv.getValue();
-          handlePutDirEvent(directoryInfo, nsSummaryMap);
-          if (!checkAndCallFlushToDB(nsSummaryMap)) {
-            return false;
-          }
-        }
-      }
-
-      // Get fileTable used by FSO
-      Table<String, OmKeyInfo> keyTable =
-          omMetadataManager.getFileTable();
-
-      try (TableIterator<String, ? extends Table.KeyValue<String, OmKeyInfo>>
-              keyTableIter = keyTable.iterator()) {
-        while (keyTableIter.hasNext()) {
-          Table.KeyValue<String, OmKeyInfo> kv = keyTableIter.next();
-          OmKeyInfo keyInfo = kv.getValue();
-          handlePutKeyEvent(keyInfo, nsSummaryMap);
-          if (!checkAndCallFlushToDB(nsSummaryMap)) {
-            return false;
-          }
-        }
-      }
-
+      ranges = BucketKeyRange.split(
+          BucketKeyRange.getBucketPrefixes(omMetadataManager, true),
+          getReprocessMaxThreads());
     } catch (IOException ioEx) {
       LOG.error("Unable to reprocess Namespace Summary data in Recon DB. ",
               ioEx);
       return false;
     }
-    // flush and commit left out keys at end
-    if (!flushAndCommitNSToDB(nsSummaryMap)) {
+
+    Table<String, OmDirectoryInfo> dirTable =
+        omMetadataManager.getDirectoryTable();
+    // Get fileTable used by FSO
+    Table<String, OmKeyInfo> keyTable =
+        omMetadataManager.getFileTable();
+
+    // Directories first, so that files find their parents linked.
+    boolean success = reprocessInParallel(ranges,
+        (range, nsSummaryMap) -> range.forEach(dirTable, kv -> {
+          handlePutDirEvent(kv.getValue(), nsSummaryMap);
+          return checkAndCallFlushToDB(nsSummaryMap);
+        }) && range.forEach(keyTable, kv -> {
+          handlePutKeyEvent(kv.getValue(), nsSummaryMap);
+          return checkAndCallFlushToDB(nsSummaryMap);
+        }));
+    if (!success) {
       return false;
     }
     LOG.debug("Completed a reprocess run of NSSummaryTaskWithFSO");
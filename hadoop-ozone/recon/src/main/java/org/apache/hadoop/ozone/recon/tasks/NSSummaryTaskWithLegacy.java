@@ -19,7 +19,6 @@
 package org.apache.hadoop.ozone.recon.tasks;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.utils.db.Table;
-import org.apache.hadoop.hdds.utils.db.TableIterator;
 import org.apache.hadoop.ozone.om.OMConfigKeys;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
@@ -37,6 +36,7 @@
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
@@ -238,17 +238,22 @@ private void processWithObjectStoreLayout(OmKeyInfo updatedKeyInfo,
   }
 
   public boolean reprocessWithLegacy(OMMetadataManager omMetadataManager) {
-    Map<Long, NSSummary> nsSummaryMap = new HashMap<>();
-
+    List<BucketKeyRange> ranges;
     try {
-      Table<String, OmKeyInfo> keyTable =
-          omMetadataManager.getKeyTable(LEGACY_BUCKET_LAYOUT);
+      ranges = BucketKeyRange.split(
+          BucketKeyRange.getBucketPrefixes(omMetadataManager, false),
+          getReprocessMaxThreads());
+    } catch (IOException ioEx) {
+      LOG.error("Unable to reprocess Namespace Summary data in Recon DB. ",
+          ioEx);
+      return false;
+    }
 
-      try (TableIterator<String, ? extends Table.KeyValue<String, OmKeyInfo>>
-          keyTableIter = keyTable.iterator()) {
+    Table<String, OmKeyInfo> keyTable =
+        omMetadataManager.getKeyTable(LEGACY_BUCKET_LAYOUT);
 
-        while (keyTableIter.hasNext()) {
-          Table.KeyValue<String, OmKeyInfo> kv = keyTableIter.next();
+    boolean success = reprocessInParallel(ranges,
+        (range, nsSummaryMap) -> range.forEach(keyTable, kv -> {
           OmKeyInfo keyInfo = kv.getValue();
 
           // KeyTable entries belong to both Legacy and OBS buckets.
@@ -256,7 +261,7 @@ public boolean reprocessWithLegacy(OMMetadataManager omMetadataManager) {
           // continue to the next iteration.
           if (!isBucketLayoutValid((ReconOMMetadataManager) omMetadataManager,
               keyInfo)) {
-            continue;
+            return true;
           }
 
           if (enableFileSystemPaths) {
@@ -279,19 +284,9 @@ public boolean reprocessWithLegacy(OMMetadataManager omMetadataManager) {
             setParentBucketId(keyInfo);
             handlePutKeyEvent(keyInfo, nsSummaryMap);
           }
-          if (!checkAndCallFlushToDB(nsSummaryMap)) {
-            return false;
-          }
-        }
-      }
-    } catch (IOException ioEx) {
-      LOG.error("Unable to reprocess Namespace Summary data in Recon DB. ",
-          ioEx);
-      return false;
-    }
-
-    // flush and commit left out entries at end
-    if (!flushAndCommitNSToDB(nsSummaryMap)) {
+          return checkAndCallFlushToDB(nsSummaryMap);
+        }));
+    if (!success) {
       return false;
     }
     LOG.debug("Completed a reprocess run of NSSummaryTaskWithLegacy");
@@ -20,7 +20,6 @@
 
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.utils.db.Table;
-import org.apache.hadoop.hdds.utils.db.TableIterator;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
@@ -35,6 +34,7 @@
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import static org.apache.hadoop.ozone.om.OmMetadataManagerImpl.KEY_TABLE;
@@ -61,17 +61,22 @@ public NSSummaryTaskWithOBS(
 
 
   public boolean reprocessWithOBS(OMMetadataManager omMetadataManager) {
-    Map<Long, NSSummary> nsSummaryMap = new HashMap<>();
-
+    List<BucketKeyRange> ranges;
     try {
-      Table<String, OmKeyInfo> keyTable =
-          omMetadataManager.getKeyTable(BUCKET_LAYOUT);
+      ranges = BucketKeyRange.split(
+          BucketKeyRange.getBucketPrefixes(omMetadataManager, false),
+          getReprocessMaxThreads());
+    } catch (IOException ioEx) {
+      LOG.error("Unable to reprocess Namespace Summary data in Recon DB. ",
+          ioEx);
+      return false;
+    }
 
-      try (TableIterator<String, ? extends Table.KeyValue<String, OmKeyInfo>>
-               keyTableIter = keyTable.iterator()) {
+    Table<String, OmKeyInfo> keyTable =
+        omMetadataManager.getKeyTable(BUCKET_LAYOUT);
 
-        while (keyTableIter.hasNext()) {
-          Table.KeyValue<String, OmKeyInfo> kv = keyTableIter.next();
+    boolean success = reprocessInParallel(ranges,
+        (range, nsSummaryMap) -> range.forEach(keyTable, kv -> {
           OmKeyInfo keyInfo = kv.getValue();
 
           // KeyTable entries belong to both Legacy and OBS buckets.
@@ -86,25 +91,15 @@ public boolean reprocessWithOBS(OMMetadataManager omMetadataManager) {
               .getBucketTable().getSkipCache(bucketDBKey);
 
           if (omBucketInfo.getBucketLayout() != BUCKET_LAYOUT) {
-            continue;
+            return true;
           }
 
           setKeyParentID(keyInfo);
 
           handlePutKeyEvent(keyInfo, nsSummaryMap);
-          if (!checkAndCallFlushToDB(nsSummaryMap)) {
-            return false;
-          }
-        }
-      }
-    } catch (IOException ioEx) {
-      LOG.error("Unable to reprocess Namespace Summary data in Recon DB. ",
-          ioEx);
-      return false;
-    }
-
-    // flush and commit left out entries at end
-    if (!flushAndCommitNSToDB(nsSummaryMap)) {
+          return checkAndCallFlushToDB(nsSummaryMap);
+        }));
+    if (!success) {
       return false;
     }
     LOG.debug("Completed a reprocess run of NSSummaryTaskWithOBS");
@@ -18,11 +18,21 @@
 
 package org.apache.hadoop.ozone.recon;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
 
 import org.apache.hadoop.ozone.recon.api.types.ContainerKeyPrefix;
+import org.apache.hadoop.ozone.recon.api.types.NSSummary;
+import org.apache.hadoop.ozone.recon.codec.NSSummaryCodec;
 import org.apache.hadoop.ozone.recon.spi.impl.ContainerKeyPrefixCodec;
 import org.apache.hadoop.hdds.utils.db.Codec;
 import org.apache.hadoop.hdds.utils.db.IntegerCodec;
@@ -46,6 +56,96 @@ public void testContainerKeyPrefixCodec() throws IOException {
     assertEquals(containerKeyPrefix, fromPersistedFormat);
   }
 
+  @Test
+  public void testNSSummaryCodec() throws IOException {
+    int[] fileSizeBucket = new int[ReconConstants.NUM_OF_FILE_SIZE_BINS];
+    fileSizeBucket[1] = 2;
+    int[] totalFileSizeBucket = new int[ReconConstants.NUM_OF_FILE_SIZE_BINS];
+    totalFileSizeBucket[1] = 3;
+    totalFileSizeBucket[5] = 4;
+    NSSummary nsSummary = new NSSummary(2, 2048L, fileSizeBucket,
+        new HashSet<>(Arrays.asList(10L, 11L)), "dir1", 5L);
+    nsSummary.setTotalNumOfFiles(7L);
+    nsSummary.setTotalSizeOfFiles(123456L);
+    nsSummary.setTotalReplicatedSizeOfFiles(370368L);
+    nsSummary.setTotalFileSizeBucket(totalFileSizeBucket);
+    nsSummary.setTotalNumOfDirs(3L);
+
+    Codec<NSSummary> codec = NSSummaryCodec.get();
+    NSSummary decoded =
+        codec.fromPersistedFormat(codec.toPersistedFormat(nsSummary));
+    assertNSSummaryEquals(nsSummary, decoded);
+    assertTrue(decoded.hasSubtreeTotals());
+    assertEquals(7L, decoded.getTotalNumOfFiles());
+    assertEquals(123456L, decoded.getTotalSizeOfFiles());
+    assertEquals(370368L, decoded.getTotalReplicatedSizeOfFiles());
+    assertArrayEquals(totalFileSizeBucket, decoded.getTotalFileSizeBucket());
+    assertEquals(3L, decoded.getTotalNumOfDirs());
+    assertNSSummaryEquals(nsSummary, codec.copyObject(nsSummary));
+
+    // Unknown totals stay unknown.
+    nsSummary.clearSubtreeTotals();
+    decoded = codec.fromPersistedFormat(codec.toPersistedFormat(nsSummary));
+    assertFalse(decoded.hasSubtreeTotals());
+    assertNSSummaryEquals(nsSummary, decoded);
+    assertFalse(codec.copyObject(nsSummary).hasSubtreeTotals());
+  }
+
+  /**
+   * A summary written before the subtree totals were added is decoded with
+   * unknown totals.
+   */
+  @Test
+  public void testNSSummaryCodecWithOldFormat() throws IOException {
+    int[] fileSizeBucket = new int[ReconConstants.NUM_OF_FILE_SIZE_BINS];
+    fileSizeBucket[2] = 1;
+    byte[] dirName = "dir1".getBytes(StandardCharsets.UTF_8);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(1); // numOfFiles
+      out.writeLong(4096L); // sizeOfFiles
+      out.writeShort(ReconConstants.NUM_OF_FILE_SIZE_BINS);
+      for (int count : fileSizeBucket) {
+        out.writeInt(count);
+      }
+      out.writeInt(1); // number of child dirs
+      out.writeLong(10L);
+      out.writeInt(dirName.length);
+      out.write(dirName);
+      out.writeLong(5L); // parentId
+    }
+
+    NSSummary decoded =
+        NSSummaryCodec.get().fromPersistedFormat(bytes.toByteArray());
+    assertEquals(1, decoded.getNumOfFiles());
+    assertEquals(4096L, decoded.getSizeOfFiles());
+    assertArrayEquals(fileSizeBucket, decoded.getFileSizeBucket());
+    assertEquals(new HashSet<>(Arrays.asList(10L)), decoded.getChildDir());
+    assertEquals("dir1", decoded.getDirName());
+    assertEquals(5L, decoded.getParentId());
+    assertFalse(decoded.hasSubtreeTotals());
+  }
+
+  private static void assertNSSummaryEquals(NSSummary expected,
+      NSSummary actual) {
+    assertEquals(expected.getNumOfFiles(), actual.getNumOfFiles());
+    assertEquals(expected.getSizeOfFiles(), actual.getSizeOfFiles());
+    assertArrayEquals(expected.getFileSizeBucket(),
+        actual.getFileSizeBucket());
+    assertEquals(expected.getChildDir(), actual.getChildDir());
+    assertEquals(expected.getDirName(), actual.getDirName());
+    assertEquals(expected.getParentId(), actual.getParentId());
+    assertEquals(expected.hasSubtreeTotals(), actual.hasSubtreeTotals());
+    assertEquals(expected.getTotalNumOfFiles(), actual.getTotalNumOfFiles());
+    assertEquals(expected.getTotalSizeOfFiles(), actual.getTotalSizeOfFiles());
+    assertEquals(expected.getTotalReplicatedSizeOfFiles(),
+        actual.getTotalReplicatedSizeOfFiles());
+    assertArrayEquals(expected.getTotalFileSizeBucket(),
+        actual.getTotalFileSizeBucket());
+    assertEquals(expected.getTotalNumOfDirs(), actual.getTotalNumOfDirs());
+  }
+
   @Test
   public void testIntegerCodec() throws IOException {
     Integer i = 1000;
@@ -1903,6 +1903,7 @@ public void testListKeysLegacyBucketWithFSEnabledAndPagination() {
   private NSSummary getNsSummary(long size) {
     NSSummary summary = new NSSummary();
     summary.setSizeOfFiles(size);
+    summary.setTotalSizeOfFiles(size);
     return summary;
   }
 }
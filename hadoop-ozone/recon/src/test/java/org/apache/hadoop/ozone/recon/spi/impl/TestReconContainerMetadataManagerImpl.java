@@ -191,6 +191,62 @@ public void testBatchStoreContainerKeyMapping() throws Exception {
                 0)).longValue());
   }
 
+  @Test
+  public void testBulkStoreContainerKeyMappings() throws Exception {
+    long containerId = 1L;
+    long nextContainerId = 2L;
+    Map<ContainerKeyPrefix, Integer> prefixCounts = new HashMap<>();
+    prefixCounts.put(ContainerKeyPrefix.get(containerId, keyPrefix1, 0), 1);
+    prefixCounts.put(ContainerKeyPrefix.get(nextContainerId, keyPrefix2, 0), 2);
+    reconContainerMetadataManager.bulkStoreContainerKeyMappings(prefixCounts);
+
+    // A second bulk store overlaps the keys of the first one.
+    prefixCounts.clear();
+    prefixCounts.put(ContainerKeyPrefix.get(containerId, keyPrefix3, 0), 3);
+    prefixCounts.put(ContainerKeyPrefix.get(nextContainerId, keyPrefix1, 1), 4);
+    reconContainerMetadataManager.bulkStoreContainerKeyMappings(prefixCounts);
+
+    // An empty map stores nothing.
+    reconContainerMetadataManager.bulkStoreContainerKeyMappings(
+        new HashMap<>());
+
+    // containerKeyTable
+    Map<ContainerKeyPrefix, Integer> keyPrefixes =
+        reconContainerMetadataManager.getKeyPrefixesForContainer(containerId);
+    assertEquals(2, keyPrefixes.size());
+    assertEquals(1, keyPrefixes.get(
+        ContainerKeyPrefix.get(containerId, keyPrefix1, 0)).intValue());
+    assertEquals(3, keyPrefixes.get(
+        ContainerKeyPrefix.get(containerId, keyPrefix3, 0)).intValue());
+    keyPrefixes = reconContainerMetadataManager.getKeyPrefixesForContainer(
+        nextContainerId);
+    assertEquals(2, keyPrefixes.size());
+    assertEquals(2, keyPrefixes.get(
+        ContainerKeyPrefix.get(nextContainerId, keyPrefix2, 0)).intValue());
+    assertEquals(4, keyPrefixes.get(
+        ContainerKeyPrefix.get(nextContainerId, keyPrefix1, 1)).intValue());
+
+    // keyContainerTable
+    Map<KeyPrefixContainer, Integer> containers =
+        reconContainerMetadataManager.getContainerForKeyPrefixes(keyPrefix1,
+            -1);
+    assertEquals(2, containers.size());
+    assertEquals(1, containers.get(
+        KeyPrefixContainer.get(keyPrefix1, 0, containerId)).intValue());
+    assertEquals(4, containers.get(
+        KeyPrefixContainer.get(keyPrefix1, 1, nextContainerId)).intValue());
+    containers = reconContainerMetadataManager.getContainerForKeyPrefixes(
+        keyPrefix2, 0);
+    assertEquals(1, containers.size());
+    assertEquals(2, containers.get(
+        KeyPrefixContainer.get(keyPrefix2, 0, nextContainerId)).intValue());
+    containers = reconContainerMetadataManager.getContainerForKeyPrefixes(
+        keyPrefix3, 0);
+    assertEquals(1, containers.size());
+    assertEquals(3, containers.get(
+        KeyPrefixContainer.get(keyPrefix3, 0, containerId)).intValue());
+  }
+
   @Test
   public void testStoreContainerKeyCount() throws Exception {
     long containerId = 1L;
@@ -0,0 +1,289 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.recon.tasks;
+
+import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor.ONE;
+import static org.apache.hadoop.ozone.recon.OMMetadataManagerTestUtils.TEST_USER;
+import static org.apache.hadoop.ozone.recon.OMMetadataManagerTestUtils.initializeEmptyOmMetadataManager;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.apache.hadoop.hdds.client.StandaloneReplicationConfig;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.hdds.utils.db.TableIterator;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmVolumeArgs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests {@link BucketKeyRange}.
+ */
+public class TestBucketKeyRange {
+
+  private static final String VOL = "vol";
+  private static final long VOL_OBJECT_ID = 1L;
+  // Bucket names and FSO bucket IDs that are prefixes of each other.
+  private static final List<String> LEGACY_BUCKETS =
+      Arrays.asList("b", "b1", "b10", "c");
+  private static final List<Long> FSO_BUCKET_IDS =
+      Arrays.asList(10L, 100L, 1000L, 11L);
+  private static final int KEYS_PER_BUCKET = 5;
+
+  @TempDir
+  private Path temporaryFolder;
+
+  private OMMetadataManager omMetadataManager;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    omMetadataManager = initializeEmptyOmMetadataManager(
+        temporaryFolder.resolve("om").toFile());
+    omMetadataManager.getVolumeTable().put(omMetadataManager.getVolumeKey(VOL),
+        OmVolumeArgs.newBuilder()
+            .setObjectID(VOL_OBJECT_ID)
+            .setVolume(VOL)
+            .setAdminName(TEST_USER)
+            .setOwnerName(TEST_USER)
+            .build());
+
+    for (String bucket : LEGACY_BUCKETS) {
+      addBucket(bucket, 0, BucketLayout.LEGACY);
+      for (int i = 0; i < KEYS_PER_BUCKET; i++) {
+        // Key names that sort before and after the other bucket names.
+        String keyName = (i % 2 == 0 ? "0" : "z") + i;
+        omMetadataManager.getKeyTable(BucketLayout.LEGACY).put(
+            omMetadataManager.getOzoneKey(VOL, bucket, keyName),
+            newKeyInfo(bucket, keyName));
+      }
+    }
+    for (long bucketId : FSO_BUCKET_IDS) {
+      String bucket = "fso" + bucketId;
+      addBucket(bucket, bucketId, BucketLayout.FILE_SYSTEM_OPTIMIZED);
+      for (int i = 0; i < KEYS_PER_BUCKET; i++) {
+        String fileName = "file" + i;
+        // Files directly under the bucket and under a directory.
+        long parentId = i % 2 == 0 ? bucketId : bucketId * 7 + i;
+        omMetadataManager.getFileTable().put(
+            omMetadataManager.getOzonePathKey(VOL_OBJECT_ID, bucketId,
+                parentId, fileName),
+            newKeyInfo(bucket, fileName));
+      }
+    }
+  }
+
+  @AfterEach
+  public void tearDown() throws Exception {
+    omMetadataManager.stop();
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 8})
+  public void testSplitKeepsBucketsWhole(int maxThreads) throws Exception {
+    assertSplitKeepsBucketsWhole(
+        omMetadataManager.getKeyTable(BucketLayout.LEGACY), false, maxThreads);
+    assertSplitKeepsBucketsWhole(
+        omMetadataManager.getFileTable(), true, maxThreads);
+  }
+
+  private void assertSplitKeepsBucketsWhole(Table<String, OmKeyInfo> table,
+      boolean fso, int maxThreads) throws IOException {
+    List<String> prefixes =
+        BucketKeyRange.getBucketPrefixes(omMetadataManager, fso);
+    assertEquals(fso ? FSO_BUCKET_IDS.size() : LEGACY_BUCKETS.size(),
+        prefixes.size());
+
+    List<BucketKeyRange> ranges = BucketKeyRange.split(prefixes, maxThreads);
+    if (maxThreads == 1) {
+      assertEquals(1, ranges.size());
+    } else if (maxThreads >= prefixes.size()) {
+      // Each bucket prefix but the first is a split point.
+      assertEquals(prefixes.size(), ranges.size());
+    }
+
+    List<String> visited = new ArrayList<>();
+    // bucket -> the ranges its keys are in
+    Map<String, Set<Integer>> bucketRanges = new HashMap<>();
+    for (int i = 0; i < ranges.size(); i++) {
+      final int rangeIndex = i;
+      Set<String> rangeBuckets = new HashSet<>();
+      assertTrue(ranges.get(i).forEach(table, kv -> {
+        visited.add(kv.getKey());
+        String bucket = getBucket(kv.getKey());
+        rangeBuckets.add(bucket);
+        bucketRanges.computeIfAbsent(bucket, k -> new HashSet<>())
+            .add(rangeIndex);
+        return true;
+      }));
+      if (maxThreads >= prefixes.size()) {
+        assertEquals(1, rangeBuckets.size());
+      }
+    }
+
+    // Every key is visited exactly once.
+    Set<String> allKeys = new TreeSet<>();
+    try (TableIterator<String, ? extends Table.KeyValue<String, OmKeyInfo>>
+             iterator = table.iterator()) {
+      iterator.forEachRemaining(kv -> allKeys.add(kv.getKey()));
+    }
+    assertEquals(prefixes.size() * KEYS_PER_BUCKET, allKeys.size());
+    assertEquals(allKeys.size(), visited.size());
+    assertEquals(allKeys, new TreeSet<>(visited));
+
+    // The keys of a bucket are in a single range.
+    assertEquals(prefixes.size(), bucketRanges.size());
+    bucketRanges.forEach((bucket, rangeIndexes) ->
+        assertEquals(1, rangeIndexes.size(), bucket));
+  }
+
+  @Test
+  public void testSplitWithoutBuckets() throws Exception {
+    List<BucketKeyRange> ranges =
+        BucketKeyRange.split(Collections.emptyList(), 8);
+    assertEquals(1, ranges.size());
+    List<String> visited = new ArrayList<>();
+    assertTrue(ranges.get(0).forEach(
+        omMetadataManager.getKeyTable(BucketLayout.LEGACY), kv -> {
+          visited.add(kv.getKey());
+          return true;
+        }));
+    assertEquals(LEGACY_BUCKETS.size() * KEYS_PER_BUCKET, visited.size());
+  }
+
+  @Test
+  public void testForEachStops() throws Exception {
+    List<String> visited = new ArrayList<>();
+    BucketKeyRange range = BucketKeyRange.split(Collections.emptyList(), 1)
+        .get(0);
+    assertFalse(range.forEach(
+        omMetadataManager.getKeyTable(BucketLayout.LEGACY), kv -> {
+          visited.add(kv.getKey());
+          return visited.size() < 2;
+        }));
+    assertEquals(2, visited.size());
+  }
+
+  @Test
+  public void testRunAllFails() {
+    List<Callable<Boolean>> tasks = new ArrayList<>();
+    tasks.add(() -> true);
+    tasks.add(() -> false);
+    assertFalse(BucketKeyRange.runAll(tasks, 2, "TestBucketKeyRange-%d"));
+
+    tasks.set(1, () -> {
+      throw new IOException("Test");
+    });
+    assertFalse(BucketKeyRange.runAll(tasks, 2, "TestBucketKeyRange-%d"));
+
+    tasks.set(1, () -> true);
+    assertTrue(BucketKeyRange.runAll(tasks, 2, "TestBucketKeyRange-%d"));
+  }
+
+  /**
+   * An interrupted runAll returns only after its running tasks stop.
+   */
+  @Test
+  public void testRunAllWaitsForTasksWhenInterrupted() throws Exception {
+    CountDownLatch started = new CountDownLatch(2);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicBoolean running = new AtomicBoolean();
+    List<Callable<Boolean>> tasks = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      tasks.add(() -> {
+        running.set(true);
+        started.countDown();
+        // Ignores the interrupt, like a task in the middle of a DB write.
+        Uninterruptibles.awaitUninterruptibly(release);
+        running.set(false);
+        return true;
+      });
+    }
+
+    AtomicBoolean runningOnReturn = new AtomicBoolean(true);
+    Thread runner = new Thread(() -> {
+      BucketKeyRange.runAll(tasks, 2, "TestBucketKeyRange-%d");
+      runningOnReturn.set(running.get());
+    });
+    runner.start();
+    assertTrue(started.await(1, TimeUnit.MINUTES));
+    runner.interrupt();
+
+    // runAll keeps waiting for the tasks.
+    runner.join(500);
+    assertTrue(runner.isAlive());
+
+    release.countDown();
+    runner.join(TimeUnit.MINUTES.toMillis(1));
+    assertFalse(runner.isAlive());
+    assertFalse(runningOnReturn.get());
+  }
+
+  private void addBucket(String bucket, long objectId, BucketLayout layout)
+      throws IOException {
+    omMetadataManager.getBucketTable().put(
+        omMetadataManager.getBucketKey(VOL, bucket),
+        OmBucketInfo.newBuilder()
+            .setVolumeName(VOL)
+            .setBucketName(bucket)
+            .setObjectID(objectId)
+            .setBucketLayout(layout)
+            .build());
+  }
+
+  private static OmKeyInfo newKeyInfo(String bucket, String keyName) {
+    return new OmKeyInfo.Builder()
+        .setVolumeName(VOL)
+        .setBucketName(bucket)
+        .setKeyName(keyName)
+        .setReplicationConfig(StandaloneReplicationConfig.getInstance(ONE))
+        .build();
+  }
+
+  /**
+   * @return the bucket name, or the bucket ID for FSO, of a DB key
+   */
+  private static String getBucket(String dbKey) {
+    return dbKey.split("/")[2];
+  }
+}
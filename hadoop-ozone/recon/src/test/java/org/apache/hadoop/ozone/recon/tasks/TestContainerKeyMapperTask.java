@@ -26,13 +26,17 @@
 import static org.apache.hadoop.ozone.recon.OMMetadataManagerTestUtils.initializeNewOmMetadataManager;
 import static org.apache.hadoop.ozone.recon.OMMetadataManagerTestUtils.writeDataToOm;
 
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_CONTAINER_KEY_FLUSH_TO_DB_MAX_THRESHOLD;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_TASK_REPROCESS_MAX_THREADS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Iterator;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -44,11 +48,13 @@
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
 import org.apache.hadoop.ozone.recon.ReconTestInjector;
 import org.apache.hadoop.ozone.recon.api.types.ContainerKeyPrefix;
+import org.apache.hadoop.ozone.recon.api.types.KeyPrefixContainer;
 import org.apache.hadoop.ozone.recon.recovery.ReconOMMetadataManager;
 import org.apache.hadoop.ozone.recon.spi.ReconContainerMetadataManager;
 import org.apache.hadoop.ozone.recon.spi.impl.OzoneManagerServiceProviderImpl;
@@ -167,6 +173,90 @@ public void testKeyTableReprocess() throws Exception {
     assertEquals(2, reconContainerMetadataManager.getCountForContainers());
   }
 
+  /**
+   * Reprocessing the buckets in parallel must give the same mappings and
+   * counts as reprocessing the whole table on a single thread.
+   */
+  @Test
+  public void testReprocessInParallel() throws Exception {
+    // Bucket names that are prefixes of each other.
+    List<String> buckets = Arrays.asList("pb", "pb1", "pb10", "pb2");
+    List<String> omKeys = new ArrayList<>();
+    Pipeline pipeline = getRandomPipeline();
+    long localId = 0;
+    long expectedKeyCount = 0;
+    for (String bucket : buckets) {
+      reconOMMetadataManager.getBucketTable().put(
+          reconOMMetadataManager.getBucketKey(VOLUME_NAME, bucket),
+          OmBucketInfo.newBuilder()
+              .setVolumeName(VOLUME_NAME)
+              .setBucketName(bucket)
+              .setBucketLayout(BucketLayout.LEGACY)
+              .build());
+      for (int i = 0; i < 10; i++) {
+        String key = "key" + i;
+        List<OmKeyLocationInfo> locations = new ArrayList<>();
+        // Containers shared by the keys of all the buckets.
+        long containerOne = i % 3 + 1;
+        long containerTwo = i % 5 + 1;
+        locations.add(getOmKeyLocationInfo(
+            new BlockID(containerOne, ++localId), pipeline));
+        locations.add(getOmKeyLocationInfo(
+            new BlockID(containerTwo, ++localId), pipeline));
+        expectedKeyCount += containerOne == containerTwo ? 1 : 2;
+        writeDataToOm(reconOMMetadataManager, key, bucket, VOLUME_NAME,
+            Collections.singletonList(
+                new OmKeyLocationInfoGroup(0, locations)));
+        omKeys.add(omMetadataManager.getOzoneKey(VOLUME_NAME, bucket, key));
+      }
+    }
+
+    OzoneConfiguration configuration = new OzoneConfiguration();
+    // Bulk load the mappings of each range in several files.
+    configuration.setLong(OZONE_RECON_CONTAINER_KEY_FLUSH_TO_DB_MAX_THRESHOLD,
+        3);
+    configuration.setInt(OZONE_RECON_TASK_REPROCESS_MAX_THREADS, 1);
+    assertTrue(new ContainerKeyMapperTask(reconContainerMetadataManager,
+        configuration).reprocess(reconOMMetadataManager).getRight());
+    List<Object> expected = getContainerKeyData(omKeys);
+
+    configuration.setInt(OZONE_RECON_TASK_REPROCESS_MAX_THREADS, 8);
+    assertTrue(new ContainerKeyMapperTask(reconContainerMetadataManager,
+        configuration).reprocess(reconOMMetadataManager).getRight());
+    assertEquals(expected, getContainerKeyData(omKeys));
+
+    assertEquals(5, reconContainerMetadataManager.getCountForContainers());
+    long keyCount = 0;
+    for (long containerId = 1; containerId <= 5; containerId++) {
+      keyCount += reconContainerMetadataManager.getKeyCountForContainer(
+          containerId);
+    }
+    assertEquals(expectedKeyCount, keyCount);
+  }
+
+  /**
+   * @return the data of both container key tables and the container key
+   *         count table for containers 1 to 5 and the given keys
+   */
+  private List<Object> getContainerKeyData(List<String> omKeys)
+      throws IOException {
+    List<Object> data = new ArrayList<>();
+    for (long containerId = 1; containerId <= 5; containerId++) {
+      data.add(reconContainerMetadataManager.getKeyPrefixesForContainer(
+          containerId));
+      data.add(reconContainerMetadataManager.getKeyCountForContainer(
+          containerId));
+    }
+    for (String omKey : omKeys) {
+      Map<KeyPrefixContainer, Integer> containers =
+          reconContainerMetadataManager.getContainerForKeyPrefixes(omKey, 0);
+      assertThat(containers).isNotEmpty();
+      data.add(containers);
+    }
+    data.add(reconContainerMetadataManager.getCountForContainers());
+    return data;
+  }
+
   @Test
   public void testFileTableReprocess() throws Exception {
     // Make sure the key prefixes are empty for container 1
@@ -23,6 +23,7 @@
 import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfoView;
 import org.apache.hadoop.hdds.utils.db.TypedTable;
 import org.apache.hadoop.ozone.recon.persistence.AbstractReconSqlDBTest;
 import org.apache.hadoop.ozone.recon.tasks.OMDBUpdateEvent.OMUpdateEventBuilder;
@@ -78,15 +79,15 @@ public void setUp() {
 
   @Test
   public void testReprocess() throws IOException {
-    OmKeyInfo[] omKeyInfos = new OmKeyInfo[3];
+    OmKeyInfoView[] omKeyInfos = new OmKeyInfoView[3];
     String[] keyNames = {"key1", "key2", "key3"};
     String[] volumeNames = {"vol1", "vol1", "vol1"};
     String[] bucketNames = {"bucket1", "bucket1", "bucket1"};
     Long[] dataSizes = {1000L, 100000L, 1125899906842624L * 4};
 
-    // Loop to initialize each instance of OmKeyInfo
+    // Loop to initialize each instance of OmKeyInfoView
     for (int i = 0; i < 3; i++) {
-      omKeyInfos[i] = mock(OmKeyInfo.class);
+      omKeyInfos[i] = mock(OmKeyInfoView.class);
       given(omKeyInfos[i].getKeyName()).willReturn(keyNames[i]);
       given(omKeyInfos[i].getVolumeName()).willReturn(volumeNames[i]);
       given(omKeyInfos[i].getBucketName()).willReturn(bucketNames[i]);
@@ -96,15 +97,15 @@ public void testReprocess() throws IOException {
     // Create two mock instances of TypedTable, one for FILE_SYSTEM_OPTIMIZED
     // layout and one for LEGACY layout
     OMMetadataManager omMetadataManager = mock(OmMetadataManagerImpl.class);
-    TypedTable<String, OmKeyInfo> keyTableLegacy = mock(TypedTable.class);
-    TypedTable<String, OmKeyInfo> keyTableFso = mock(TypedTable.class);
+    TypedTable<String, OmKeyInfoView> keyTableLegacy = mock(TypedTable.class);
+    TypedTable<String, OmKeyInfoView> keyTableFso = mock(TypedTable.class);
 
-    // Set return values for getKeyTable() for FILE_SYSTEM_OPTIMIZED
+    // Set return values for getKeyTableView() for FILE_SYSTEM_OPTIMIZED
     // and LEGACY layout
-    when(omMetadataManager.getKeyTable(eq(BucketLayout.LEGACY)))
+    when(omMetadataManager.getKeyTableView(eq(BucketLayout.LEGACY)))
         .thenReturn(keyTableLegacy);
-    when(omMetadataManager.getKeyTable(eq(BucketLayout.FILE_SYSTEM_OPTIMIZED)))
-        .thenReturn(keyTableFso);
+    when(omMetadataManager.getKeyTableView(
+        eq(BucketLayout.FILE_SYSTEM_OPTIMIZED))).thenReturn(keyTableFso);
 
     // Create two mock instances of TypedTableIterator, one for each
     // instance of TypedTable
@@ -272,12 +273,12 @@ public void testProcess() {
   public void testReprocessAtScale() throws IOException {
     // generate mocks for 2 volumes, 500 buckets each volume
     // and 42 keys in each bucket.
-    List<OmKeyInfo> omKeyInfoList = new ArrayList<>();
+    List<OmKeyInfoView> omKeyInfoList = new ArrayList<>();
     List<Boolean> hasNextAnswer = new ArrayList<>();
     for (int volIndex = 1; volIndex <= 2; volIndex++) {
       for (int bktIndex = 1; bktIndex <= 500; bktIndex++) {
         for (int keyIndex = 1; keyIndex <= 42; keyIndex++) {
-          OmKeyInfo omKeyInfo = mock(OmKeyInfo.class);
+          OmKeyInfoView omKeyInfo = mock(OmKeyInfoView.class);
           given(omKeyInfo.getKeyName()).willReturn("key" + keyIndex);
           given(omKeyInfo.getVolumeName()).willReturn("vol" + volIndex);
           given(omKeyInfo.getBucketName()).willReturn("bucket" + bktIndex);
@@ -292,8 +293,8 @@ public void testReprocessAtScale() throws IOException {
     hasNextAnswer.add(false);
 
     OMMetadataManager omMetadataManager = mock(OmMetadataManagerImpl.class);
-    TypedTable<String, OmKeyInfo> keyTableLegacy = mock(TypedTable.class);
-    TypedTable<String, OmKeyInfo> keyTableFso = mock(TypedTable.class);
+    TypedTable<String, OmKeyInfoView> keyTableLegacy = mock(TypedTable.class);
+    TypedTable<String, OmKeyInfoView> keyTableFso = mock(TypedTable.class);
 
     TypedTable.TypedTableIterator mockKeyIterLegacy = mock(TypedTable
         .TypedTableIterator.class);
@@ -307,9 +308,9 @@ public void testReprocessAtScale() throws IOException {
     when(keyTableLegacy.iterator()).thenReturn(mockKeyIterLegacy);
     when(keyTableFso.iterator()).thenReturn(mockKeyIterFso);
 
-    when(omMetadataManager.getKeyTable(BucketLayout.LEGACY))
+    when(omMetadataManager.getKeyTableView(BucketLayout.LEGACY))
         .thenReturn(keyTableLegacy);
-    when(omMetadataManager.getKeyTable(BucketLayout.FILE_SYSTEM_OPTIMIZED))
+    when(omMetadataManager.getKeyTableView(BucketLayout.FILE_SYSTEM_OPTIMIZED))
         .thenReturn(keyTableFso);
 
     when(mockKeyIterLegacy.hasNext())
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.recon.tasks;
+
+import static org.apache.hadoop.ozone.recon.OMMetadataManagerTestUtils.TEST_USER;
+import static org.apache.hadoop.ozone.recon.OMMetadataManagerTestUtils.getMockOzoneManagerServiceProviderWithFSO;
+import static org.apache.hadoop.ozone.recon.OMMetadataManagerTestUtils.getTestReconOmMetadataManager;
+import static org.apache.hadoop.ozone.recon.OMMetadataManagerTestUtils.initializeEmptyOmMetadataManager;
+import static org.apache.hadoop.ozone.recon.OMMetadataManagerTestUtils.writeDirToOm;
+import static org.apache.hadoop.ozone.recon.OMMetadataManagerTestUtils.writeKeyToOm;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_NSSUMMARY_FLUSH_TO_DB_MAX_THRESHOLD;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_TASK_REPROCESS_MAX_THREADS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmVolumeArgs;
+import org.apache.hadoop.ozone.recon.ReconTestInjector;
+import org.apache.hadoop.ozone.recon.api.types.NSSummary;
+import org.apache.hadoop.ozone.recon.recovery.ReconOMMetadataManager;
+import org.apache.hadoop.ozone.recon.spi.ReconNamespaceSummaryManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that reprocessing the namespace summaries of many buckets in
+ * parallel gives the same summaries as a single threaded reprocess.
+ */
+public class TestNSSummaryTaskReprocessInParallel {
+
+  private static final String VOL = "vol";
+  private static final long VOL_OBJECT_ID = 1L;
+  // FSO bucket IDs that are prefixes of each other.
+  private static final List<Long> BUCKET_IDS =
+      Arrays.asList(10L, 100L, 1000L, 11L, 12L, 13L);
+  private static final int FILES_PER_BUCKET = 5;
+  private static final int DIRS_PER_BUCKET = 2;
+
+  @TempDir
+  private File tmpDir;
+
+  private ReconNamespaceSummaryManager reconNamespaceSummaryManager;
+  private ReconOMMetadataManager reconOMMetadataManager;
+  // The IDs of all the buckets and directories.
+  private final List<Long> summaryIds = new ArrayList<>();
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    reconOMMetadataManager = getTestReconOmMetadataManager(
+        initializeEmptyOmMetadataManager(new File(tmpDir, "om")),
+        new File(tmpDir, "recon"));
+    ReconTestInjector reconTestInjector =
+        new ReconTestInjector.Builder(tmpDir)
+            .withReconOm(reconOMMetadataManager)
+            .withOmServiceProvider(getMockOzoneManagerServiceProviderWithFSO())
+            .withReconSqlDb()
+            .withContainerDB()
+            .build();
+    reconNamespaceSummaryManager =
+        reconTestInjector.getInstance(ReconNamespaceSummaryManager.class);
+    populateOMDB();
+  }
+
+  @Test
+  public void testReprocessWithFSO() throws Exception {
+    List<String> expected = reprocessWithFSO(1);
+
+    // Each bucket has its files and directories in its subtree totals.
+    for (long bucketId : BUCKET_IDS) {
+      NSSummary bucketSummary =
+          reconNamespaceSummaryManager.getNSSummary(bucketId);
+      assertNotNull(bucketSummary);
+      assertTrue(bucketSummary.hasSubtreeTotals());
+      assertEquals(FILES_PER_BUCKET, bucketSummary.getTotalNumOfFiles());
+      assertEquals(DIRS_PER_BUCKET, bucketSummary.getTotalNumOfDirs());
+    }
+
+    assertEquals(expected, reprocessWithFSO(2));
+    assertEquals(expected, reprocessWithFSO(8));
+  }
+
+  /**
+   * Reprocesses the FSO tables with the given number of threads.
+   * @return the resulting summaries of all the buckets and directories
+   */
+  private List<String> reprocessWithFSO(int maxThreads) throws IOException {
+    OzoneConfiguration configuration = new OzoneConfiguration();
+    configuration.setLong(OZONE_RECON_NSSUMMARY_FLUSH_TO_DB_MAX_THRESHOLD, 3);
+    configuration.setInt(OZONE_RECON_TASK_REPROCESS_MAX_THREADS, maxThreads);
+    NSSummaryTaskWithFSO task = new NSSummaryTaskWithFSO(
+        reconNamespaceSummaryManager, reconOMMetadataManager, configuration);
+
+    reconNamespaceSummaryManager.clearNSSummaryTable();
+    assertTrue(task.reprocessWithFSO(reconOMMetadataManager));
+
+    List<String> summaries = new ArrayList<>();
+    for (long id : summaryIds) {
+      NSSummary summary = reconNamespaceSummaryManager.getNSSummary(id);
+      assertNotNull(summary, "summary of " + id);
+      summaries.add(id + ": " + toString(summary));
+    }
+    return summaries;
+  }
+
+  private static String toString(NSSummary summary) {
+    return "numOfFiles=" + summary.getNumOfFiles()
+        + ", sizeOfFiles=" + summary.getSizeOfFiles()
+        + ", fileSizeBucket=" + Arrays.toString(summary.getFileSizeBucket())
+        + ", childDir=" + new TreeSet<>(summary.getChildDir())
+        + ", dirName=" + summary.getDirName()
+        + ", parentId=" + summary.getParentId()
+        + ", hasSubtreeTotals=" + summary.hasSubtreeTotals()
+        + ", totalNumOfFiles=" + summary.getTotalNumOfFiles()
+        + ", totalSizeOfFiles=" + summary.getTotalSizeOfFiles()
+        + ", totalReplicatedSizeOfFiles="
+        + summary.getTotalReplicatedSizeOfFiles()
+        + ", totalFileSizeBucket="
+        + Arrays.toString(summary.getTotalFileSizeBucket())
+        + ", totalNumOfDirs=" + summary.getTotalNumOfDirs();
+  }
+
+  /**
+   * Writes to each bucket:
+   * file0, file1, dir1/file2, dir1/dir2/file3 and dir1/dir2/file4.
+   */
+  private void populateOMDB() throws IOException {
+    reconOMMetadataManager.getVolumeTable().put(
+        reconOMMetadataManager.getVolumeKey(VOL),
+        OmVolumeArgs.newBuilder()
+            .setObjectID(VOL_OBJECT_ID)
+            .setVolume(VOL)
+            .setAdminName(TEST_USER)
+            .setOwnerName(TEST_USER)
+            .build());
+
+    long objectId = 100000L;
+    for (long bucketId : BUCKET_IDS) {
+      String bucket = "bucket" + bucketId;
+      reconOMMetadataManager.getBucketTable().put(
+          reconOMMetadataManager.getBucketKey(VOL, bucket),
+          OmBucketInfo.newBuilder()
+              .setVolumeName(VOL)
+              .setBucketName(bucket)
+              .setObjectID(bucketId)
+              .setBucketLayout(BucketLayout.FILE_SYSTEM_OPTIMIZED)
+              .build());
+      summaryIds.add(bucketId);
+
+      long dirOneId = ++objectId;
+      long dirTwoId = ++objectId;
+      writeDirToOm(reconOMMetadataManager, dirOneId, bucketId, bucketId,
+          VOL_OBJECT_ID, "dir1");
+      writeDirToOm(reconOMMetadataManager, dirTwoId, dirOneId, bucketId,
+          VOL_OBJECT_ID, "dir2");
+      summaryIds.add(dirOneId);
+      summaryIds.add(dirTwoId);
+
+      long[] parentIds = {bucketId, bucketId, dirOneId, dirTwoId, dirTwoId};
+      String[] paths = {"", "", "dir1/", "dir1/dir2/", "dir1/dir2/"};
+      for (int i = 0; i < FILES_PER_BUCKET; i++) {
+        String fileName = "file" + i;
+        writeKeyToOm(reconOMMetadataManager, paths[i] + fileName, bucket, VOL,
+            fileName, ++objectId, parentIds[i], bucketId, VOL_OBJECT_ID,
+            (bucketId + i) * 1000L, BucketLayout.FILE_SYSTEM_OPTIMIZED);
+      }
+    }
+  }
+}
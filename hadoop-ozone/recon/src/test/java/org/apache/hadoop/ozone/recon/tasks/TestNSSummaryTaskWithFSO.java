@@ -54,6 +54,7 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Test for NSSummaryTaskWithFSO.
@@ -301,6 +302,31 @@ public void testDirectoryParentIdAssignment() throws Exception {
           "DIR_THREE's parent ID should match DIR_ONE_OBJECT_ID.");
     }
 
+    @Test
+    public void testReprocessSubtreeTotals() throws IOException {
+      // Bucket one holds file1, and file3 under dir1/dir2.
+      assertTrue(nsSummaryForBucket1.hasSubtreeTotals());
+      assertEquals(2, nsSummaryForBucket1.getTotalNumOfFiles());
+      assertEquals(KEY_ONE_SIZE + KEY_THREE_SIZE,
+          nsSummaryForBucket1.getTotalSizeOfFiles());
+      assertEquals(3, nsSummaryForBucket1.getTotalNumOfDirs());
+      int[] fileDistBucket1 = nsSummaryForBucket1.getTotalFileSizeBucket();
+      assertEquals(1, fileDistBucket1[0]);
+      assertEquals(1, fileDistBucket1[fileDistBucket1.length - 1]);
+
+      NSSummary nsSummaryInDir1 = reconNamespaceSummaryManager
+          .getNSSummary(DIR_ONE_OBJECT_ID);
+      assertEquals(1, nsSummaryInDir1.getTotalNumOfFiles());
+      assertEquals(KEY_THREE_SIZE, nsSummaryInDir1.getTotalSizeOfFiles());
+      assertEquals(2, nsSummaryInDir1.getTotalNumOfDirs());
+
+      // Bucket two has no dirs, so its totals are its direct files.
+      assertEquals(2, nsSummaryForBucket2.getTotalNumOfFiles());
+      assertEquals(KEY_TWO_OLD_SIZE + KEY_FOUR_SIZE,
+          nsSummaryForBucket2.getTotalSizeOfFiles());
+      assertEquals(0, nsSummaryForBucket2.getTotalNumOfDirs());
+    }
+
   }
 
   /**
@@ -494,6 +520,30 @@ public void testProcessDirDeleteRename() throws IOException {
       assertEquals(DIR_ONE_RENAME, nsSummaryForDir1.getDirName());
     }
 
+    @Test
+    public void testProcessSubtreeTotals() throws IOException {
+      // file1 and dir3 are gone and dir4 is added; dir1 is renamed in place.
+      NSSummary nsSummaryForBucket1 =
+          reconNamespaceSummaryManager.getNSSummary(BUCKET_ONE_OBJECT_ID);
+      assertEquals(1, nsSummaryForBucket1.getTotalNumOfFiles());
+      assertEquals(3, nsSummaryForBucket1.getTotalNumOfDirs());
+      int[] fileDistBucket1 = nsSummaryForBucket1.getTotalFileSizeBucket();
+      assertEquals(0, fileDistBucket1[0]);
+      assertEquals(1, fileDistBucket1[fileDistBucket1.length - 1]);
+
+      NSSummary nsSummaryForDir1 = reconNamespaceSummaryManager
+          .getNSSummary(DIR_ONE_OBJECT_ID);
+      assertEquals(1, nsSummaryForDir1.getTotalNumOfFiles());
+      assertEquals(1, nsSummaryForDir1.getTotalNumOfDirs());
+
+      NSSummary nsSummaryForBucket2 =
+          reconNamespaceSummaryManager.getNSSummary(BUCKET_TWO_OBJECT_ID);
+      assertEquals(3, nsSummaryForBucket2.getTotalNumOfFiles());
+      assertEquals(KEY_FOUR_SIZE + KEY_FIVE_SIZE + KEY_TWO_UPDATE_SIZE,
+          nsSummaryForBucket2.getTotalSizeOfFiles());
+      assertEquals(1, nsSummaryForBucket2.getTotalNumOfDirs());
+    }
+
     @Test
     public void testParentIdAfterProcessEventBatch() throws IOException {
 
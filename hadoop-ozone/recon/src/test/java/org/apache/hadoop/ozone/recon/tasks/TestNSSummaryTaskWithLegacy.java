@@ -55,6 +55,7 @@
 import static org.apache.hadoop.ozone.recon.OMMetadataManagerTestUtils.getTestReconOmMetadataManager;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 /**
@@ -273,6 +274,32 @@ public void testReprocessDirsUnderDir() throws Exception {
       assertEquals(DIR_ONE + OM_KEY_PREFIX + DIR_TWO,
           nsSummaryInDir2.getDirName());
     }
+
+    @Test
+    public void testReprocessSubtreeTotals() throws IOException {
+      // Bucket one holds file1, and file3 under dir1/dir2.
+      assertTrue(nsSummaryForBucket1.hasSubtreeTotals());
+      assertEquals(2, nsSummaryForBucket1.getTotalNumOfFiles());
+      assertEquals(KEY_ONE_SIZE + KEY_THREE_SIZE,
+          nsSummaryForBucket1.getTotalSizeOfFiles());
+      assertEquals(3, nsSummaryForBucket1.getTotalNumOfDirs());
+      int[] fileDistBucket1 = nsSummaryForBucket1.getTotalFileSizeBucket();
+      assertEquals(1, fileDistBucket1[0]);
+      assertEquals(1, fileDistBucket1[fileDistBucket1.length - 1]);
+
+      NSSummary nsSummaryInDir1 = reconNamespaceSummaryManager
+          .getNSSummary(DIR_ONE_OBJECT_ID);
+      assertTrue(nsSummaryInDir1.hasSubtreeTotals());
+      assertEquals(1, nsSummaryInDir1.getTotalNumOfFiles());
+      assertEquals(KEY_THREE_SIZE, nsSummaryInDir1.getTotalSizeOfFiles());
+      assertEquals(2, nsSummaryInDir1.getTotalNumOfDirs());
+
+      // Bucket two has no dirs, so its totals are its direct files.
+      assertEquals(2, nsSummaryForBucket2.getTotalNumOfFiles());
+      assertEquals(KEY_TWO_OLD_SIZE + KEY_FOUR_SIZE,
+          nsSummaryForBucket2.getTotalSizeOfFiles());
+      assertEquals(0, nsSummaryForBucket2.getTotalNumOfDirs());
+    }
   }
 
   /**
@@ -497,6 +524,28 @@ public void testProcessDirDeleteRename() throws IOException {
       // after renaming dir1, check its new name
       assertEquals(DIR_ONE_RENAME, nsSummaryForDir1.getDirName());
     }
+
+    @Test
+    public void testProcessSubtreeTotals() throws IOException {
+      // file1 and dir3 are gone and dir4 is added; dir1 is renamed in place.
+      assertTrue(nsSummaryForBucket1.hasSubtreeTotals());
+      assertEquals(1, nsSummaryForBucket1.getTotalNumOfFiles());
+      assertEquals(KEY_THREE_SIZE, nsSummaryForBucket1.getTotalSizeOfFiles());
+      assertEquals(3, nsSummaryForBucket1.getTotalNumOfDirs());
+      int[] fileDistBucket1 = nsSummaryForBucket1.getTotalFileSizeBucket();
+      assertEquals(0, fileDistBucket1[0]);
+      assertEquals(1, fileDistBucket1[fileDistBucket1.length - 1]);
+
+      NSSummary nsSummaryForDir1 = reconNamespaceSummaryManager
+          .getNSSummary(DIR_ONE_OBJECT_ID);
+      assertEquals(1, nsSummaryForDir1.getTotalNumOfFiles());
+      assertEquals(1, nsSummaryForDir1.getTotalNumOfDirs());
+
+      assertEquals(3, nsSummaryForBucket2.getTotalNumOfFiles());
+      assertEquals(KEY_FOUR_SIZE + KEY_FIVE_SIZE + KEY_TWO_UPDATE_SIZE,
+          nsSummaryForBucket2.getTotalSizeOfFiles());
+      assertEquals(1, nsSummaryForBucket2.getTotalNumOfDirs());
+    }
   }
 
   /**
@@ -52,9 +52,11 @@
 import static org.apache.hadoop.ozone.recon.OMMetadataManagerTestUtils.getTestReconOmMetadataManager;
 import static org.apache.hadoop.ozone.recon.OMMetadataManagerTestUtils.writeKeyToOm;
 import static org.apache.hadoop.ozone.recon.OMMetadataManagerTestUtils.getMockOzoneManagerServiceProviderWithFSO;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Unit test for NSSummaryTaskWithOBS.
@@ -217,6 +219,24 @@ public void testReprocessFileBucketSize() {
       }
     }
 
+    @Test
+    public void testReprocessSubtreeTotals() {
+      // OBS buckets have no directories, so the totals are the bucket's keys.
+      assertTrue(nsSummaryForBucket1.hasSubtreeTotals());
+      assertEquals(3, nsSummaryForBucket1.getTotalNumOfFiles());
+      assertEquals(KEY_ONE_SIZE + KEY_TWO_OLD_SIZE + KEY_THREE_SIZE,
+          nsSummaryForBucket1.getTotalSizeOfFiles());
+      assertEquals(0, nsSummaryForBucket1.getTotalNumOfDirs());
+      assertArrayEquals(nsSummaryForBucket1.getFileSizeBucket(),
+          nsSummaryForBucket1.getTotalFileSizeBucket());
+
+      assertTrue(nsSummaryForBucket2.hasSubtreeTotals());
+      assertEquals(2, nsSummaryForBucket2.getTotalNumOfFiles());
+      assertEquals(KEY_FOUR_SIZE + KEY_FIVE_SIZE,
+          nsSummaryForBucket2.getTotalSizeOfFiles());
+      assertEquals(0, nsSummaryForBucket2.getTotalNumOfDirs());
+    }
+
   }
 
   /**
@@ -379,6 +399,23 @@ public void testProcessFileBucketSize() {
       }
     }
 
+    @Test
+    public void testProcessSubtreeTotals() {
+      // key1 is deleted, key7 is added and key2 grows in bucket one.
+      assertTrue(nsSummaryForBucket1.hasSubtreeTotals());
+      assertEquals(3, nsSummaryForBucket1.getTotalNumOfFiles());
+      assertEquals(KEY_THREE_SIZE + KEY_SEVEN_SIZE + KEY_TWO_OLD_SIZE + 100,
+          nsSummaryForBucket1.getTotalSizeOfFiles());
+      assertArrayEquals(nsSummaryForBucket1.getFileSizeBucket(),
+          nsSummaryForBucket1.getTotalFileSizeBucket());
+
+      // key6 is added in bucket two.
+      assertEquals(3, nsSummaryForBucket2.getTotalNumOfFiles());
+      assertEquals(KEY_FOUR_SIZE + KEY_FIVE_SIZE + KEY_SIX_SIZE,
+          nsSummaryForBucket2.getTotalSizeOfFiles());
+      assertEquals(0, nsSummaryForBucket2.getTotalNumOfDirs());
+    }
+
   }
 
   /**
@@ -1263,12 +1263,24 @@ private CopyObjectResponse copyObject(OzoneVolume volume,
         throw ex;
       }
 
-      try (OzoneInputStream src = getClientProtocol().getKey(volume.getName(),
-          sourceBucket, sourceKey)) {
-        getMetrics().updateCopyKeyMetadataStats(startNanos);
-        sourceDigestInputStream = new DigestInputStream(src, getMessageDigestInstance());
-        copy(volume, sourceDigestInputStream, sourceKeyLen, destkey, destBucket, replicationConfig,
-                customMetadata, perf, startNanos, tags);
+      boolean copied = false;
+      if (sourceBucket.equals(destBucket)
+          && !CopyDirective.REPLACE.name().equals(tagCopyDirective)
+          && !CopyDirective.REPLACE.name().equals(metadataCopyDirective)
+          && sourceKeyDetails.getReplicationConfig().equals(replicationConfig)) {
+        copied = copyKeySharingData(volume, destBucket, sourceKey, destkey);
+        if (copied) {
+          getMetrics().updateCopyKeyMetadataStats(startNanos);
+        }
+      }
+      if (!copied) {
+        try (OzoneInputStream src = getClientProtocol().getKey(volume.getName(),
+            sourceBucket, sourceKey)) {
+          getMetrics().updateCopyKeyMetadataStats(startNanos);
+          sourceDigestInputStream = new DigestInputStream(src, getMessageDigestInstance());
+          copy(volume, sourceDigestInputStream, sourceKeyLen, destkey, destBucket, replicationConfig,
+                  customMetadata, perf, startNanos, tags);
+        }
       }
 
       final OzoneKeyDetails destKeyDetails = getClientProtocol().getKeyDetails(
@@ -1298,6 +1310,32 @@ private CopyObjectResponse copyObject(OzoneVolume volume,
     }
   }
 
+  /**
+   * Copy the key within the bucket in OM, the new key sharing the blocks of
+   * the source key, as the data, the metadata and the replication of the
+   * keys are the same.
+   *
+   * @return false if not supported by the bucket, e.g. FSO buckets, or by
+   *         the OMs, which may not be upgraded or finalized yet.
+   */
+  private boolean copyKeySharingData(OzoneVolume volume, String bucket,
+      String sourceKey, String destKey) throws IOException {
+    try {
+      getClientProtocol().copyKey(volume.getName(), bucket, sourceKey,
+          destKey);
+      return true;
+    } catch (OMException ex) {
+      if (ex.getResult() != ResultCodes.NOT_SUPPORTED_OPERATION
+          && ex.getResult()
+          != ResultCodes.NOT_SUPPORTED_OPERATION_PRIOR_FINALIZATION) {
+        throw ex;
+      }
+      LOG.debug("Copying the data of {}/{} to {}: {}", bucket, sourceKey,
+          destKey, ex.getMessage());
+      return false;
+    }
+  }
+
   /**
    * Parse the key and bucket name from copy header.
    */
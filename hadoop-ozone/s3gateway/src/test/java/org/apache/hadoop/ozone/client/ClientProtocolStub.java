@@ -28,6 +28,7 @@
 import org.apache.hadoop.hdds.protocol.StorageType;
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.ozone.OzoneFsServerDefaults;
+import org.apache.hadoop.ozone.OzoneManagerVersion;
 import org.apache.hadoop.ozone.OzoneAcl;
 import org.apache.hadoop.ozone.client.io.OzoneDataStreamOutput;
 import org.apache.hadoop.ozone.client.io.OzoneInputStream;
@@ -287,6 +288,13 @@ public void renameKey(String volumeName, String bucketName,
 
   }
 
+  @Override
+  public void copyKey(String volumeName, String bucketName,
+                      String fromKeyName, String toKeyName)
+      throws IOException {
+    getBucket(volumeName, bucketName).copyKey(fromKeyName, toKeyName);
+  }
+
   @Override
   public void renameKeys(String volumeName, String bucketName,
                          Map<String, String> keyMap) throws IOException {
@@ -771,4 +779,9 @@ public void recoverKey(OmKeyArgs args, long clientID) throws IOException {
 
   }
 
+  @Override
+  public OzoneManagerVersion getOmVersion() {
+    return OzoneManagerVersion.CURRENT;
+  }
+
 }
@@ -408,6 +408,26 @@ public void renameKey(String fromKeyName, String toKeyName)
     throw new UnsupportedOperationException();
   }
 
+  @Override
+  public void copyKey(String fromKeyName, String toKeyName)
+      throws IOException {
+    OzoneKeyDetails source = getKey(fromKeyName);
+    keyContents.put(toKeyName, keyContents.get(fromKeyName));
+    keyDetails.put(toKeyName, new OzoneKeyDetails(
+        getVolumeName(),
+        getName(),
+        toKeyName,
+        source.getDataSize(),
+        System.currentTimeMillis(),
+        System.currentTimeMillis(),
+        new ArrayList<>(), source.getReplicationConfig(),
+        new HashMap<>(source.getMetadata()), null,
+        () -> readKey(toKeyName), true,
+        UserGroupInformation.getCurrentUser().getShortUserName(),
+        new HashMap<>(source.getTags())
+    ));
+  }
+
   @Override
   public OmMultipartInfo initiateMultipartUpload(String keyName,
                                                  ReplicationType type,
@@ -48,6 +48,9 @@
 import org.apache.hadoop.ozone.client.OzoneKeyDetails;
 import org.apache.hadoop.ozone.client.OzoneVolume;
 import org.apache.hadoop.ozone.client.io.OzoneInputStream;
+import org.apache.hadoop.ozone.client.protocol.ClientProtocol;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.s3.exception.OS3Exception;
 import org.apache.hadoop.ozone.s3.exception.S3ErrorTable;
@@ -56,6 +59,7 @@
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -79,7 +83,10 @@
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.spy;
@@ -528,6 +535,50 @@ void testCopyObject() throws IOException, OS3Exception {
     assertThat(e.getCode()).contains("NoSuchBucket");
   }
 
+  @Test
+  void testCopyObjectInSameBucketSharesData() throws IOException, OS3Exception {
+    ClientProtocol protocol = spy(clientStub.getProxy());
+    doReturn(protocol).when(objectEndpoint).getClientProtocol();
+
+    copyObjectInSameBucket();
+    verify(protocol, times(1)).copyKey(any(), eq(BUCKET_NAME), eq(KEY_NAME),
+        eq(DEST_KEY));
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = ResultCodes.class, names = {"NOT_SUPPORTED_OPERATION",
+      "NOT_SUPPORTED_OPERATION_PRIOR_FINALIZATION"})
+  void testCopyObjectInSameBucketFallsBackToCopyData(ResultCodes result)
+      throws IOException, OS3Exception {
+    ClientProtocol protocol = spy(clientStub.getProxy());
+    doReturn(protocol).when(objectEndpoint).getClientProtocol();
+    doThrow(new OMException("copyKey", result))
+        .when(protocol).copyKey(any(), any(), any(), any());
+
+    copyObjectInSameBucket();
+    verify(protocol, times(1)).copyKey(any(), eq(BUCKET_NAME), eq(KEY_NAME),
+        eq(DEST_KEY));
+  }
+
+  private void copyObjectInSameBucket() throws IOException, OS3Exception {
+    ByteArrayInputStream body =
+        new ByteArrayInputStream(CONTENT.getBytes(UTF_8));
+    objectEndpoint.put(BUCKET_NAME, KEY_NAME, CONTENT.length(), 1, null, body);
+    when(headers.getHeaderString(COPY_SOURCE_HEADER)).thenReturn(
+        BUCKET_NAME + "/" + urlEncode(KEY_NAME));
+
+    Response response = objectEndpoint.put(BUCKET_NAME, DEST_KEY,
+        CONTENT.length(), 1, null, body);
+
+    assertEquals(200, response.getStatus());
+    try (OzoneInputStream ozoneInputStream = clientStub.getObjectStore()
+        .getS3Bucket(BUCKET_NAME).readKey(DEST_KEY)) {
+      assertEquals(CONTENT, IOUtils.toString(ozoneInputStream, UTF_8));
+    }
+    assertEquals(bucket.getKey(KEY_NAME).getMetadata().get(OzoneConsts.ETAG),
+        bucket.getKey(DEST_KEY).getMetadata().get(OzoneConsts.ETAG));
+  }
+
   @Test
   public void testCopyObjectMessageDigestResetDuringException() throws IOException, OS3Exception {
     // Put object in to source bucket